@@ -81,10 +81,13 @@ CREATE TABLE if not exists room_type_inventory (
                                      total        INT          NOT NULL DEFAULT 0,
                                      reserved     INT          NOT NULL DEFAULT 0,
                                      blocked      INT          NOT NULL DEFAULT 0,
+                                     allotted     INT          NOT NULL DEFAULT 0,
+                                     out_of_order INT          NOT NULL DEFAULT 0,
                                      available    INT          NOT NULL DEFAULT 0,
                                      updated_at   DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
                                      UNIQUE KEY uq_inv_hotel_type_date (hotel_id, room_type_id, stay_date),
-                                     CHECK (total >= 0 AND reserved >= 0 AND blocked >= 0 AND available >= 0)
+                                     CHECK (total >= 0 AND reserved >= 0 AND blocked >= 0 AND available >= 0),
+                                     CHECK (allotted >= 0 AND out_of_order >= 0 AND allotted + out_of_order <= blocked)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- ========= room_type_daily_price =========
@@ -139,6 +142,13 @@ CREATE TABLE if not exists reservations (
                               upgraded_at             DATETIME,
                               canceled_at             DATETIME,
                               UNIQUE KEY uq_res_client_src_code (client_id, source_reservation_code),
+                              -- keyset pagination of the manager listing on (check_in_date, id)
+                              KEY idx_res_hotel_checkin_id (hotel_id, check_in_date, id),
+                              KEY idx_res_hotel_status_checkin_id (hotel_id, status, check_in_date, id),
+                              -- keyset pagination of departures on (check_out_date, id)
+                              KEY idx_res_hotel_checkout_id (hotel_id, check_out_date, id),
+                              -- the longest stay that bounds overlap queries
+                              KEY idx_res_hotel_nights (hotel_id, nights),
                               CHECK (nights > 0),
                               CHECK (num_guests > 0)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -167,3 +177,32 @@ CREATE TABLE if not exists reservations_nightly_prices (
                                              currency       CHAR(3)      NOT NULL,
                                              UNIQUE KEY uq_resnight_res_date (reservation_id, stay_date)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- ========= inventory_holds =========
+-- each row blocks one room of the type on every night of [check_in_date, check_out_date)
+CREATE TABLE if not exists inventory_holds (
+                                             id             BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                                             user_id        BIGINT   NOT NULL,
+                                             hotel_id       BIGINT   NOT NULL,
+                                             room_type_id   BIGINT   NOT NULL,
+                                             check_in_date  DATE     NOT NULL,
+                                             check_out_date DATE     NOT NULL,
+                                             expires_at     DATETIME NOT NULL,
+                                             created_at     DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                             KEY idx_hold_expires_at (expires_at),
+                                             KEY idx_hold_user_expires_at (user_id, expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- ========= idempotency_keys =========
+CREATE TABLE if not exists idempotency_keys (
+                                             id            BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                                             user_id       BIGINT       NOT NULL,
+                                             idem_key      VARCHAR(255) NOT NULL,
+                                             request_hash  CHAR(64)     NOT NULL,
+                                             claim_token   CHAR(36)     NOT NULL,
+                                             state         ENUM('IN_PROGRESS','COMPLETED') NOT NULL,
+                                             response_body TEXT,
+                                             expires_at    DATETIME     NOT NULL,
+                                             UNIQUE KEY uq_idem_user_key (user_id, idem_key),
+                                             KEY idx_idem_expires_at (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,114 @@
+package com.project.airhotel.hotel.service;
+
+import com.project.airhotel.hotel.domain.Hotels;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Latency of typeahead lookups against {@link HotelSearchIndex} with 10k and
+ * 100k synthetic hotels. Sample-time mode reports percentiles, so p99 can be
+ * read directly from the output. Not part of the unit test run; start it from
+ * the IDE or with
+ * {@code mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.project.airhotel.hotel.service.HotelSuggestBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotelSuggestBenchmark {
+
+  private static final String[] WORDS = {"grand", "park", "plaza", "royal",
+      "harbor", "garden", "central", "palace", "river", "square", "sunset",
+      "ocean", "crown", "station", "tower", "mountain", "lake", "airport"};
+  private static final String[] KINDS = {"Hotel", "Inn", "Suites", "Resort",
+      "Lodge"};
+  private static final String[] SYLLABLES = {"san", "new", "ber", "mar",
+      "por", "lon", "vi", "ta", "ro", "del", "ka", "li", "mo", "chi", "ra"};
+
+  @Param({"10000", "100000"})
+  private int hotelCount;
+
+  private HotelSearchIndex index;
+  private String[] shortQueries;
+  private String[] longQueries;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Random random = new Random(42);
+    final List<String> cities = new ArrayList<>();
+    for (int i = 0; i < hotelCount / 20; i++) {
+      cities.add(capitalize(pick(random, SYLLABLES) + pick(random, SYLLABLES)
+          + pick(random, SYLLABLES)) + " " + i);
+    }
+    final List<Hotels> hotels = new ArrayList<>(hotelCount);
+    for (long id = 1; id <= hotelCount; id++) {
+      final String city = cities.get(random.nextInt(cities.size()));
+      hotels.add(Hotels.builder()
+          .id(id)
+          .name(capitalize(pick(random, WORDS)) + " "
+              + capitalize(pick(random, WORDS)) + " "
+              + pick(random, KINDS) + " " + city)
+          .city(city)
+          .country("US")
+          .starRating(BigDecimal.valueOf(10 + random.nextInt(41), 1))
+          .build());
+    }
+    index = new HotelSearchIndex(null);
+    index.load(hotels);
+
+    shortQueries = new String[] {"s", "ne", "p", "ro", "g", "ch"};
+    longQueries = new String[] {"sanmar", "grand pa", "newlo", "harb",
+        "plaza ro", "delka", "tower"};
+  }
+
+  @Benchmark
+  public Object suggestShortPrefix() {
+    return index.suggest(shortQueries[next++ % shortQueries.length], 10);
+  }
+
+  @Benchmark
+  public Object suggestLongPrefix() {
+    return index.suggest(longQueries[next++ % longQueries.length], 10);
+  }
+
+  @Benchmark
+  public Object searchByCity() {
+    return index.searchByCity(longQueries[next++ % longQueries.length]);
+  }
+
+  private static String pick(final Random random, final String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  private static String capitalize(final String word) {
+    return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(HotelSuggestBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
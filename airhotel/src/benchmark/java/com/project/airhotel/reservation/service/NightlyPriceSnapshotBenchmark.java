@@ -0,0 +1,105 @@
+package com.project.airhotel.reservation.service;
+
+import com.project.airhotel.AirhotelApplication;
+import com.project.airhotel.reservation.domain.ReservationsNightlyPrices;
+import com.project.airhotel.reservation.repository.ReservationsNightlyPricesRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Throughput of writing the nightly price snapshot of one reservation,
+ * comparing entity saves, which Hibernate cannot batch with IDENTITY ids,
+ * against the JDBC batch used by {@link ReservationNightlyPriceService}.
+ * Runs against the in-memory H2 database of the test profile, so it shows
+ * the statement overhead only; over a network the gap grows with the round
+ * trips saved. Start it from the IDE or with
+ * {@code mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.project.airhotel.reservation.service.NightlyPriceSnapshotBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NightlyPriceSnapshotBenchmark {
+
+  @Param({"3", "14"})
+  private int nights;
+
+  private ConfigurableApplicationContext context;
+  private ReservationsNightlyPricesRepository repository;
+  private TransactionTemplate tx;
+  private long nextReservationId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new SpringApplicationBuilder(AirhotelApplication.class)
+        .profiles("test")
+        .properties("spring.main.web-application-type=none")
+        .run();
+    repository = context.getBean(ReservationsNightlyPricesRepository.class);
+    tx = context.getBean(TransactionTemplate.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Object entitySaves() {
+    final List<ReservationsNightlyPrices> rows = rows();
+    return tx.execute(status -> repository.saveAll(rows));
+  }
+
+  @Benchmark
+  public Object jdbcBatch() {
+    final List<ReservationsNightlyPrices> rows = rows();
+    return tx.execute(status -> repository.insertAll(rows));
+  }
+
+  private List<ReservationsNightlyPrices> rows() {
+    final long reservationId = ++nextReservationId;
+    final LocalDate checkIn = LocalDate.of(2030, 1, 1);
+    final List<ReservationsNightlyPrices> rows = new ArrayList<>(nights);
+    for (int i = 0; i < nights; i++) {
+      rows.add(ReservationsNightlyPrices.builder()
+          .reservationId(reservationId)
+          .stayDate(checkIn.plusDays(i))
+          .roomTypeId(1L)
+          .price(new BigDecimal("120.00"))
+          .currency("USD")
+          .build());
+    }
+    return rows;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(NightlyPriceSnapshotBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,116 @@
+package com.project.airhotel.reservation.service;
+
+import com.project.airhotel.AirhotelApplication;
+import com.project.airhotel.hotel.domain.Hotels;
+import com.project.airhotel.hotel.repository.HotelsRepository;
+import com.project.airhotel.reservation.service.ReservationExportService.ExportFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Time to stream every reservation of one hotel through
+ * {@link ReservationExportService} into a discarding output stream, with a
+ * million rows seeded into the in-memory H2 database of the test profile.
+ * The export reads them in keyset batches of
+ * {@link ReservationExportService#BATCH_SIZE} rows under a 512 MB heap.
+ * Divide the row count by the reported time for rows per second. Heap use
+ * can be watched with {@code -prof gc}; it should not grow with the row
+ * count. Start it from the IDE or with
+ * {@code mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.project.airhotel.reservation.service.ReservationExportBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = "-Xmx512m")
+public class ReservationExportBenchmark {
+
+  private static final int SEED_BATCH = 10_000;
+
+  @Param({"1000000"})
+  private int rows;
+
+  @Param({"CSV", "NDJSON"})
+  private ExportFormat format;
+
+  private ConfigurableApplicationContext context;
+  private ReservationExportService exportService;
+  private Long hotelId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new SpringApplicationBuilder(AirhotelApplication.class)
+        .profiles("test")
+        .properties("spring.main.web-application-type=none")
+        .run();
+    exportService = context.getBean(ReservationExportService.class);
+    hotelId = context.getBean(HotelsRepository.class).save(Hotels.builder()
+        .name("Export Inn")
+        .addressLine1("1 Main St")
+        .city("Boston")
+        .country("US")
+        .build()).getId();
+    seed(context.getBean(JdbcTemplate.class));
+  }
+
+  private void seed(final JdbcTemplate jdbc) {
+    final LocalDate first = LocalDate.of(2030, 1, 1);
+    final List<Object[]> batch = new ArrayList<>(SEED_BATCH);
+    for (int i = 0; i < rows; i++) {
+      final LocalDate checkIn = first.plusDays(i % 365);
+      batch.add(new Object[] {hotelId, 1L + i % 5, Date.valueOf(checkIn),
+          Date.valueOf(checkIn.plusDays(2)), 1000L + i});
+      if (batch.size() == SEED_BATCH || i == rows - 1) {
+        jdbc.batchUpdate("INSERT INTO reservations (hotel_id, room_type_id, "
+            + "status, check_in_date, check_out_date, nights, num_guests, "
+            + "currency, price_total, upgrade_status, created_at, user_id) "
+            + "VALUES (?, ?, 'CONFIRMED', ?, ?, 2, 2, 'USD', 240.00, "
+            + "'NOT_ELIGIBLE', CURRENT_TIMESTAMP, ?)", batch);
+        batch.clear();
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public long export() throws IOException {
+    return exportService.export(hotelId, null, null, null, null, format,
+        OutputStream.nullOutputStream());
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(ReservationExportBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
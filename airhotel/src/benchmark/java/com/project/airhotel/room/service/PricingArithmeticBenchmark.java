@@ -0,0 +1,91 @@
+package com.project.airhotel.room.service;
+
+import com.project.airhotel.common.model.MinorUnits;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost of totaling a stay of 1, 7 and 30 nights from a rate calendar: the
+ * {@code long} minor-unit sum of {@link RateCalendarCache.RateCalendar}
+ * against summing one {@link BigDecimal} per night, as pricing did before.
+ * Run with the GC profiler to compare allocation rates, from the IDE or with
+ * {@code mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.project.airhotel.room.service.PricingArithmeticBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingArithmeticBenchmark {
+
+  @Param({"1", "7", "30"})
+  private int nights;
+
+  private RateCalendarCache.RateCalendar calendar;
+  private BigDecimal[] dailyPrices;
+  private BigDecimal baseRate;
+  private LocalDate checkIn;
+  private LocalDate checkOut;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Random random = new Random(7);
+    final LocalDate first = LocalDate.now();
+    final long[] nightly = new long[RateCalendarCache.WINDOW_DAYS];
+    dailyPrices = new BigDecimal[nightly.length];
+    Arrays.fill(nightly, RateCalendarCache.NO_PRICE);
+    for (int i = 0; i < nightly.length; i++) {
+      // Roughly two nights in three carry an explicit price
+      if (random.nextInt(3) > 0) {
+        nightly[i] = 8000 + random.nextInt(20000);
+        dailyPrices[i] = MinorUnits.toAmount(nightly[i]);
+      }
+    }
+    baseRate = new BigDecimal("120.00");
+    calendar = new RateCalendarCache.RateCalendar(first.toEpochDay(),
+        MinorUnits.of(baseRate), nightly, Long.MAX_VALUE);
+    checkIn = first.plusDays(10);
+    checkOut = checkIn.plusDays(nights);
+  }
+
+  @Benchmark
+  public BigDecimal minorUnits() {
+    return calendar.total(checkIn, checkOut);
+  }
+
+  @Benchmark
+  public BigDecimal bigDecimal() {
+    BigDecimal total = BigDecimal.ZERO;
+    for (int i = 10; i < 10 + nights; i++) {
+      total = total.add(dailyPrices[i] != null ? dailyPrices[i] : baseRate);
+    }
+    return total;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(PricingArithmeticBenchmark.class.getSimpleName())
+        .addProfiler("gc")
+        .build()).run();
+  }
+}
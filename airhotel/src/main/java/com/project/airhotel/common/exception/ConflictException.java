@@ -0,0 +1,17 @@
+package com.project.airhotel.common.exception;
+
+/**
+ * Domain-level unchecked exception representing a 409 Conflict. It indicates
+ * that the request clashes with another request or with the current state of
+ * the resource and may succeed if retried later.
+ */
+public class ConflictException extends RuntimeException {
+  /**
+   * Construct a ConflictException with a human-readable message.
+   *
+   * @param message explanation of the conflict
+   */
+  public ConflictException(final String message) {
+    super(message);
+  }
+}
@@ -61,6 +61,23 @@ public class GlobalExceptionHandler {
         req.getRequestURI());
   }
 
+  /**
+   * Handle ConflictException and return 409 ApiError.
+   *
+   * @param ex  the thrown ConflictException
+   * @param req current HTTP servlet request
+   * @return ApiError with code 409 and message from the exception
+   */
+  @ExceptionHandler(ConflictException.class)
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public ApiError handleConflict(final ConflictException ex,
+      final HttpServletRequest req) {
+    return ApiError.of(
+        HttpStatus.CONFLICT.value(),
+        ex.getMessage(),
+        req.getRequestURI());
+  }
+
   /**
    * Handle bean validation errors raised during request body binding and return 400 ApiError with
    * field details.
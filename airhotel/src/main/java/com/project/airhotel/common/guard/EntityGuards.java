@@ -9,6 +9,7 @@ import com.project.airhotel.room.domain.RoomTypes;
 import com.project.airhotel.room.domain.Rooms;
 import com.project.airhotel.room.repository.RoomTypesRepository;
 import com.project.airhotel.room.repository.RoomsRepository;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -16,7 +17,10 @@ import org.springframework.stereotype.Component;
  * Entity boundary guards for domain operations. Centralizes existence checks
  * and ownership validations across hotels, rooms, room types, and reservations.
  * Methods throw NotFoundException for missing entities and BadRequestException
- * for scope or ownership violations.
+ * for scope or ownership violations. Hotels, room types and rooms that pass a
+ * guard are remembered in a {@link GuardContext} for the rest of the current
+ * transaction, so repeated guards and downstream lookups in one operation do
+ * not read them again.
  */
 @Component
 @RequiredArgsConstructor
@@ -49,9 +53,14 @@ public class EntityGuards {
    * @throws NotFoundException when the hotel does not exist
    */
   public void ensureHotelExists(final Long hotelId) {
+    final GuardContext ctx = GuardContext.current();
+    if (ctx.hotelExists(hotelId)) {
+      return;
+    }
     if (!hotelsRepository.existsById(hotelId)) {
       throw new NotFoundException("Hotel does not exist: " + hotelId);
     }
+    ctx.rememberHotel(hotelId);
   }
 
   /**
@@ -67,9 +76,14 @@ public class EntityGuards {
    */
   public Rooms getRoomInHotelOrThrow(final Long hotelId, final Long roomId) {
     ensureHotelExists(hotelId);
-    final Rooms room = roomsRepository.findById(roomId)
-        .orElseThrow(()
-            -> new NotFoundException("Room Id does not exist: " + roomId));
+    final GuardContext ctx = GuardContext.current();
+    Rooms room = ctx.room(roomId);
+    if (room == null) {
+      room = roomsRepository.findById(roomId)
+          .orElseThrow(()
+              -> new NotFoundException("Room Id does not exist: " + roomId));
+      ctx.rememberRoom(room);
+    }
     if (!room.getHotelId().equals(hotelId)) {
       throw new BadRequestException("Room does not belong to this hotel.");
     }
@@ -113,8 +127,24 @@ public class EntityGuards {
    */
   public void ensureRoomTypeInHotelOrThrow(final Long hotelId,
                                            final Long roomTypeId) {
+    getRoomTypeInHotelOrThrow(hotelId, roomTypeId);
+  }
+
+  /**
+   * Resolves a room type by id and asserts it belongs to the given hotel.
+   *
+   * @param hotelId    expected owning hotel id
+   * @param roomTypeId room type id to resolve
+   * @return the resolved room type
+   * @throws NotFoundException   when the room type does not exist or the hotel
+   *                             does not exist
+   * @throws BadRequestException when the room type does not belong to the given
+   *                             hotel
+   */
+  public RoomTypes getRoomTypeInHotelOrThrow(final Long hotelId,
+                                             final Long roomTypeId) {
     ensureHotelExists(hotelId);
-    final RoomTypes rt = roomTypesRepository.findById(roomTypeId)
+    final RoomTypes rt = findRoomType(roomTypeId)
         .orElseThrow(()
             -> new NotFoundException("Room type does not exist: "
             + roomTypeId));
@@ -122,6 +152,26 @@ public class EntityGuards {
       throw new BadRequestException("Room type does not belong to hotel "
           + hotelId);
     }
+    return rt;
+  }
+
+  /**
+   * Looks up a room type without any ownership check, reusing one already
+   * loaded in the current transaction. Lets downstream services such as
+   * pricing and inventory share the entity the guards loaded.
+   *
+   * @param roomTypeId room type id
+   * @return the room type, or empty when it does not exist
+   */
+  public Optional<RoomTypes> findRoomType(final Long roomTypeId) {
+    final GuardContext ctx = GuardContext.current();
+    final RoomTypes cached = ctx.roomType(roomTypeId);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    final Optional<RoomTypes> loaded = roomTypesRepository.findById(roomTypeId);
+    loaded.ifPresent(ctx::rememberRoomType);
+    return loaded;
   }
 
   /**
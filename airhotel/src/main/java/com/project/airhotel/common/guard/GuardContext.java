@@ -0,0 +1,89 @@
+package com.project.airhotel.common.guard;
+
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.domain.Rooms;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Memo of the hotels, room types and rooms that {@link EntityGuards} has
+ * already validated or loaded. Inside a transaction one context is bound for
+ * the transaction's lifetime, so repeated guards and downstream lookups in the
+ * same operation read the database once; outside a transaction every call
+ * gets a fresh, unshared context. Only successful lookups are remembered.
+ */
+final class GuardContext {
+
+  /**
+   * Hotel ids known to exist.
+   */
+  private final Set<Long> existingHotels = new HashSet<>();
+  /**
+   * Loaded room types by id.
+   */
+  private final Map<Long, RoomTypes> roomTypes = new HashMap<>();
+  /**
+   * Loaded rooms by id.
+   */
+  private final Map<Long, Rooms> rooms = new HashMap<>();
+
+  private GuardContext() {
+  }
+
+  /**
+   * Returns the context of the current transaction, binding a new one on
+   * first use and unbinding it when the transaction completes.
+   *
+   * @return the transaction's context, or a fresh one outside a transaction
+   */
+  static GuardContext current() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return new GuardContext();
+    }
+    final Object bound =
+        TransactionSynchronizationManager.getResource(GuardContext.class);
+    if (bound != null) {
+      return (GuardContext) bound;
+    }
+    final GuardContext created = new GuardContext();
+    TransactionSynchronizationManager.bindResource(GuardContext.class,
+        created);
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(final int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(
+                GuardContext.class);
+          }
+        });
+    return created;
+  }
+
+  boolean hotelExists(final Long hotelId) {
+    return existingHotels.contains(hotelId);
+  }
+
+  void rememberHotel(final Long hotelId) {
+    existingHotels.add(hotelId);
+  }
+
+  RoomTypes roomType(final Long roomTypeId) {
+    return roomTypes.get(roomTypeId);
+  }
+
+  void rememberRoomType(final RoomTypes roomType) {
+    roomTypes.put(roomType.getId(), roomType);
+  }
+
+  Rooms room(final Long roomId) {
+    return rooms.get(roomId);
+  }
+
+  void rememberRoom(final Rooms room) {
+    rooms.put(room.getId(), room);
+  }
+}
@@ -5,5 +5,6 @@
  * - Verifying a room type belongs to a specific hotel
  * - Verifying a room belongs to a hotel and matches an expected room type
  * - Asserting a reservation exists and is scoped to the given hotel
+ * Entities that pass a guard are memoized for the current transaction.
  */
 package com.project.airhotel.common.guard;
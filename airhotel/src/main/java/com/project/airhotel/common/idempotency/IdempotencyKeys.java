@@ -0,0 +1,109 @@
+package com.project.airhotel.common.idempotency;
+
+import com.project.airhotel.common.model.ModelConstants;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Durable record of an idempotency key presented by a user. While the first
+ * request runs the row is {@link State#IN_PROGRESS} and its expiry is a
+ * short lease; once it succeeds the row holds the serialized response until
+ * the key's TTL ends. The unique (user_id, idem_key) constraint makes the
+ * insert of this row the claim that lets exactly one request run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "idempotency_keys", uniqueConstraints = {
+    @UniqueConstraint(name = "uq_idem_user_key", columnNames = {
+        "user_id", "idem_key"})
+}, indexes = {
+    @Index(name = "idx_idem_expires_at", columnList = "expires_at")
+})
+public class IdempotencyKeys {
+
+  /**
+   * Lifecycle of a key.
+   */
+  public enum State {
+    /**
+     * The first request with the key is running.
+     */
+    IN_PROGRESS,
+    /**
+     * The first request succeeded and its response is stored.
+     */
+    COMPLETED
+  }
+
+  /**
+   * Surrogate primary key.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /**
+   * User that presented the key.
+   */
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  /**
+   * Key as sent in the Idempotency-Key header.
+   */
+  @Column(name = "idem_key", nullable = false,
+      length = IdempotencyStore.MAX_KEY_LENGTH)
+  private String idemKey;
+
+  /**
+   * SHA-256 of the request payload, so a key cannot be reused for a
+   * different request.
+   */
+  @Column(name = "request_hash", nullable = false, length = 64)
+  private String requestHash;
+
+  /**
+   * Random token of the request currently holding the key. A takeover
+   * replaces it, so a request whose lease lapsed can neither complete nor
+   * release the key of the request that took over.
+   */
+  @Column(name = "claim_token", nullable = false, length = 36)
+  private String claimToken;
+
+  /**
+   * Current state.
+   */
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = ModelConstants.LEN_20)
+  private State state;
+
+  /**
+   * Serialized response body; null while in progress.
+   */
+  @Column(name = "response_body", columnDefinition = "TEXT")
+  private String responseBody;
+
+  /**
+   * End of the in-progress lease, or of the key's TTL once completed. An
+   * expired row may be taken over by a new request and is purged in the
+   * background.
+   */
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+}
@@ -0,0 +1,147 @@
+package com.project.airhotel.common.idempotency;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data JPA repository for IdempotencyKeys. Each write runs in its own
+ * short transaction so that a claim is visible to other nodes before the
+ * guarded request starts, except {@link #complete}, which joins the
+ * request's transaction.
+ */
+@Repository
+public interface IdempotencyKeysRepository
+    extends JpaRepository<IdempotencyKeys, Long> {
+
+  /**
+   * Finds the record of a user's key.
+   *
+   * @param userId  user identifier
+   * @param idemKey idempotency key
+   * @return the record if the key has been claimed
+   */
+  Optional<IdempotencyKeys> findByUserIdAndIdemKey(Long userId,
+                                                   String idemKey);
+
+  /**
+   * Takes over an expired record for a new request: an abandoned in-progress
+   * lease, or a completed key past its TTL that the purge has not removed
+   * yet. The expiry condition makes this safe against concurrent takeovers,
+   * and the new claim token locks the previous holder out of the record.
+   *
+   * @param id          record identifier
+   * @param state       {@link IdempotencyKeys.State#IN_PROGRESS}
+   * @param requestHash payload hash of the new request
+   * @param claimToken  claim token of the new request
+   * @param leaseUntil  end of the new in-progress lease
+   * @param now         current time
+   * @return 1 if the record was taken over, otherwise 0
+   */
+  @Transactional
+  @Modifying
+  @Query("""
+      update IdempotencyKeys k
+         set k.state        = :state,
+             k.requestHash  = :requestHash,
+             k.claimToken   = :claimToken,
+             k.responseBody = null,
+             k.expiresAt    = :leaseUntil
+       where k.id = :id
+         and k.expiresAt < :now
+      """)
+  int takeOver(@Param("id") Long id,
+               @Param("state") IdempotencyKeys.State state,
+               @Param("requestHash") String requestHash,
+               @Param("claimToken") String claimToken,
+               @Param("leaseUntil") LocalDateTime leaseUntil,
+               @Param("now") LocalDateTime now);
+
+  /**
+   * Extends the lease of an in-progress claim before an attempt of its
+   * request.
+   *
+   * @param id         record identifier
+   * @param claimToken claim token of the request
+   * @param state      {@link IdempotencyKeys.State#IN_PROGRESS}
+   * @param leaseUntil end of the extended lease
+   * @return 1 if the request still holds the claim, otherwise 0
+   */
+  @Transactional
+  @Modifying
+  @Query("""
+      update IdempotencyKeys k
+         set k.expiresAt = :leaseUntil
+       where k.id = :id
+         and k.claimToken = :claimToken
+         and k.state = :state
+      """)
+  int renew(@Param("id") Long id,
+            @Param("claimToken") String claimToken,
+            @Param("state") IdempotencyKeys.State state,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+
+  /**
+   * Stores the response of a completed request and extends the record to the
+   * key's TTL, provided the request still holds the claim. Called inside the
+   * request's transaction, so the response is only stored if the request's
+   * own writes commit.
+   *
+   * @param id           record identifier
+   * @param claimToken   claim token of the request
+   * @param state        {@link IdempotencyKeys.State#COMPLETED}
+   * @param responseBody serialized response
+   * @param expiresAt    end of the key's TTL
+   * @return 1 if the claim was completed, 0 if it was taken over
+   */
+  @Transactional
+  @Modifying
+  @Query("""
+      update IdempotencyKeys k
+         set k.state        = :state,
+             k.responseBody = :responseBody,
+             k.expiresAt    = :expiresAt
+       where k.id = :id
+         and k.claimToken = :claimToken
+      """)
+  int complete(@Param("id") Long id,
+               @Param("claimToken") String claimToken,
+               @Param("state") IdempotencyKeys.State state,
+               @Param("responseBody") String responseBody,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+  /**
+   * Releases a claim whose request failed, unless another request has taken
+   * it over since.
+   *
+   * @param id         record identifier
+   * @param claimToken claim token of the failed request
+   * @return number of records deleted
+   */
+  @Transactional
+  @Modifying
+  @Query("""
+      delete from IdempotencyKeys k
+       where k.id = :id
+         and k.claimToken = :claimToken
+      """)
+  int release(@Param("id") Long id,
+              @Param("claimToken") String claimToken);
+
+  /**
+   * Deletes every record past its expiry in one statement, served by the
+   * expires_at index.
+   *
+   * @param now current time
+   * @return number of records deleted
+   */
+  @Transactional
+  @Modifying
+  @Query("delete from IdempotencyKeys k where k.expiresAt < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,486 @@
+package com.project.airhotel.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.common.exception.ConflictException;
+import com.project.airhotel.common.retry.LockRetryExecutor;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Runs a request at most once per (user, Idempotency-Key) and replays its
+ * response to retries. Keys live in two tiers:
+ * <ul>
+ *   <li>in memory, one future per key, so duplicates arriving at this node
+ *   while the first request runs wait on it instead of running again, and
+ *   recent retries are answered without a database read;</li>
+ *   <li>in the idempotency_keys table, whose unique key makes the first
+ *   request's insert a claim across nodes and which keeps the serialized
+ *   response for the key's TTL.</li>
+ * </ul>
+ * Only successful responses are stored, in the same transaction as the
+ * request's own writes, so a key is never left in progress for work that
+ * was committed. When the request fails its claim is released, duplicates
+ * waiting on it see the same error, and a later retry runs again. A claim
+ * abandoned by a crashed node can be taken over once its lease has expired,
+ * since nothing of that request was committed. The lease is renewed before
+ * each attempt of the request, and every claim carries a random token, so a
+ * request that lost its claim to a takeover can neither complete nor release
+ * it. Expired keys are purged in the background.
+ */
+@Component
+public class IdempotencyStore {
+
+  /**
+   * Request header carrying the client's key.
+   */
+  public static final String HEADER = "Idempotency-Key";
+  /**
+   * Response header telling whether the body was replayed.
+   */
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+  /**
+   * Longest accepted key.
+   */
+  static final int MAX_KEY_LENGTH = 255;
+
+  /**
+   * Durable tier.
+   */
+  private final IdempotencyKeysRepository repository;
+  /**
+   * Serializes stored responses with the application's settings.
+   */
+  private final ObjectMapper objectMapper;
+  /**
+   * Runs the request and the completion of its key in one transaction.
+   */
+  private final TransactionOperations transactions;
+  /**
+   * Re-runs that transaction on deadlocks and lock wait timeouts, which the
+   * request can no longer retry on its own inside it.
+   */
+  private final LockRetryExecutor lockRetry;
+  /**
+   * When false every request runs and nothing is stored.
+   */
+  private final boolean enabled;
+  /**
+   * How long a completed key is replayed from the database.
+   */
+  private final long ttlSeconds;
+  /**
+   * How long a completed key is replayed from memory.
+   */
+  private final long memoryTtlNanos;
+  /**
+   * How long an in-progress claim is honored before it may be taken over;
+   * renewed before each attempt, so it must outlast one attempt's lock
+   * waits.
+   */
+  private final long leaseSeconds;
+  /**
+   * How long a duplicate waits for the first request.
+   */
+  private final long waitTimeoutMillis;
+  /**
+   * Pause between database checks while another node runs the request.
+   */
+  private final long pollIntervalMillis;
+  /**
+   * In-memory tier: running and recently completed requests by key.
+   */
+  private final Map<Key, Flight> flights = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs the store.
+   *
+   * @param repository         durable key repository
+   * @param objectMapper       application object mapper
+   * @param transactions       transaction template for guarded requests
+   * @param lockRetry          retry policy for lock failures
+   * @param enabled            whether keys are honored at all
+   * @param ttlSeconds         database TTL of a completed key
+   * @param memoryTtlSeconds   in-memory TTL of a completed key
+   * @param leaseSeconds       lease of an in-progress claim
+   * @param waitTimeoutMillis  maximum wait for a running duplicate
+   * @param pollIntervalMillis database poll interval while waiting
+   */
+  public IdempotencyStore(final IdempotencyKeysRepository repository,
+      final ObjectMapper objectMapper,
+      final TransactionOperations transactions,
+      final LockRetryExecutor lockRetry,
+      @Value("${airhotel.idempotency.enabled:true}") final boolean enabled,
+      @Value("${airhotel.idempotency.ttl-seconds:86400}")
+      final long ttlSeconds,
+      @Value("${airhotel.idempotency.memory-ttl-seconds:600}")
+      final long memoryTtlSeconds,
+      @Value("${airhotel.idempotency.lease-seconds:180}")
+      final long leaseSeconds,
+      @Value("${airhotel.idempotency.wait-timeout-ms:10000}")
+      final long waitTimeoutMillis,
+      @Value("${airhotel.idempotency.poll-interval-ms:100}")
+      final long pollIntervalMillis) {
+    this.repository = repository;
+    this.objectMapper = objectMapper;
+    this.transactions = transactions;
+    this.lockRetry = lockRetry;
+    this.enabled = enabled;
+    this.ttlSeconds = ttlSeconds;
+    this.memoryTtlNanos = TimeUnit.SECONDS.toNanos(memoryTtlSeconds);
+    this.leaseSeconds = leaseSeconds;
+    this.waitTimeoutMillis = waitTimeoutMillis;
+    this.pollIntervalMillis = pollIntervalMillis;
+  }
+
+  /**
+   * Response of a guarded request.
+   *
+   * @param body     response body
+   * @param replayed true if the body was produced by an earlier request
+   * @param <T>      body type
+   */
+  public record Outcome<T>(T body, boolean replayed) {
+  }
+
+  /**
+   * Runs {@code action} unless the user already sent the same request with
+   * the same key, in which case the first request's response is returned.
+   * A duplicate that arrives while the first request runs waits for it.
+   *
+   * @param userId  user that sent the request
+   * @param key     value of the Idempotency-Key header
+   * @param request request payload, compared across retries
+   * @param type    response body type
+   * @param action  the request's work; runs at most once per key
+   * @param <T>     response body type
+   * @return the response and whether it was replayed
+   * @throws BadRequestException if the key is invalid or was used for a
+   *                             different payload
+   * @throws ConflictException   if the first request is still running after
+   *                             the wait timeout
+   */
+  public <T> Outcome<T> execute(final Long userId, final String key,
+      final Object request, final Class<T> type, final Supplier<T> action) {
+    if (!enabled) {
+      return new Outcome<>(action.get(), false);
+    }
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      throw new BadRequestException(HEADER + " must be 1 to "
+          + MAX_KEY_LENGTH + " characters.");
+    }
+    final String hash = hash(request);
+    final Key k = new Key(userId, key);
+    while (true) {
+      final Flight mine = new Flight(hash);
+      final Flight existing = flights.putIfAbsent(k, mine);
+      if (existing == null) {
+        return lead(k, mine, type, action);
+      }
+      if (existing.isExpired(System.nanoTime())) {
+        flights.remove(k, existing);
+        continue;
+      }
+      if (!existing.requestHash.equals(hash)) {
+        throw reused();
+      }
+      return new Outcome<>(read(await(existing), type), true);
+    }
+  }
+
+  /**
+   * Drops expired keys from both tiers.
+   *
+   * @return number of database rows deleted
+   */
+  @Scheduled(fixedDelayString =
+      "${airhotel.idempotency.purge-interval-ms:60000}")
+  public int purgeExpired() {
+    final long now = System.nanoTime();
+    flights.entrySet().removeIf(e -> e.getValue().isExpired(now));
+    return repository.deleteExpired(LocalDateTime.now());
+  }
+
+  /**
+   * Returns the number of keys held in memory.
+   *
+   * @return current in-memory size
+   */
+  public int size() {
+    return flights.size();
+  }
+
+  /**
+   * Runs the request as the first holder of the key on this node, unless
+   * another node already ran it. The request joins a transaction that also
+   * stores its response, so either both commit or neither does.
+   */
+  private <T> Outcome<T> lead(final Key k, final Flight mine,
+      final Class<T> type, final Supplier<T> action) {
+    final Claim claim;
+    try {
+      claim = awaitClaim(k, mine.requestHash);
+    } catch (RuntimeException e) {
+      abandon(k, mine, null, e);
+      throw e;
+    }
+    if (claim.ownedId() == null) {
+      finish(mine, claim.responseBody());
+      return new Outcome<>(read(claim.responseBody(), type), true);
+    }
+
+    final Completed<T> done;
+    try {
+      done = lockRetry.execute(() -> {
+        renew(claim);
+        return transactions.execute(status -> {
+          final T result = action.get();
+          final String body = write(result);
+          if (repository.complete(claim.ownedId(), claim.token(),
+              IdempotencyKeys.State.COMPLETED, body,
+              LocalDateTime.now().plusSeconds(ttlSeconds)) != 1) {
+            throw inProgress();
+          }
+          return new Completed<>(result, body);
+        });
+      });
+    } catch (RuntimeException e) {
+      abandon(k, mine, claim, e);
+      throw e;
+    }
+    finish(mine, done.body());
+    return new Outcome<>(done.result(), false);
+  }
+
+  /**
+   * Claims the key in the database, or waits until the node running the
+   * request has stored its response.
+   *
+   * @return an owned claim or a stored response, never {@link Claim#WAIT}
+   */
+  private Claim awaitClaim(final Key k, final String hash) {
+    final long deadline = System.nanoTime()
+        + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+    while (true) {
+      final Claim claim = claim(k, hash);
+      if (claim != Claim.WAIT) {
+        return claim;
+      }
+      if (System.nanoTime() - deadline > 0) {
+        throw inProgress();
+      }
+      pause();
+    }
+  }
+
+  /**
+   * Tries to claim the key in the database.
+   */
+  private Claim claim(final Key k, final String hash) {
+    final LocalDateTime now = LocalDateTime.now();
+    final String token = UUID.randomUUID().toString();
+    try {
+      final IdempotencyKeys row = repository.saveAndFlush(
+          IdempotencyKeys.builder()
+              .userId(k.userId())
+              .idemKey(k.key())
+              .requestHash(hash)
+              .claimToken(token)
+              .state(IdempotencyKeys.State.IN_PROGRESS)
+              .expiresAt(now.plusSeconds(leaseSeconds))
+              .build());
+      return new Claim(row.getId(), token, null);
+    } catch (DataIntegrityViolationException e) {
+      // Claimed before; inspect the existing row
+    }
+    final IdempotencyKeys row = repository
+        .findByUserIdAndIdemKey(k.userId(), k.key()).orElse(null);
+    if (row == null) {
+      return Claim.WAIT;
+    }
+    if (row.getExpiresAt().isBefore(now)) {
+      final int taken = repository.takeOver(row.getId(),
+          IdempotencyKeys.State.IN_PROGRESS, hash, token,
+          now.plusSeconds(leaseSeconds), now);
+      return taken == 1 ? new Claim(row.getId(), token, null) : Claim.WAIT;
+    }
+    if (!row.getRequestHash().equals(hash)) {
+      throw reused();
+    }
+    if (row.getState() == IdempotencyKeys.State.COMPLETED) {
+      return new Claim(null, null, row.getResponseBody());
+    }
+    return Claim.WAIT;
+  }
+
+  /**
+   * Extends the lease of an owned claim before an attempt of its request.
+   *
+   * @throws ConflictException if another request has taken the claim over
+   */
+  private void renew(final Claim claim) {
+    if (repository.renew(claim.ownedId(), claim.token(),
+        IdempotencyKeys.State.IN_PROGRESS,
+        LocalDateTime.now().plusSeconds(leaseSeconds)) != 1) {
+      throw inProgress();
+    }
+  }
+
+  private void finish(final Flight flight, final String body) {
+    flight.expiresAt = System.nanoTime() + memoryTtlNanos;
+    flight.response.complete(body);
+  }
+
+  /**
+   * Forgets a failed request so that a retry runs again, and hands its error
+   * to the duplicates waiting on it.
+   */
+  private void abandon(final Key k, final Flight flight, final Claim claim,
+      final RuntimeException error) {
+    flights.remove(k, flight);
+    flight.response.completeExceptionally(error);
+    if (claim != null) {
+      repository.release(claim.ownedId(), claim.token());
+    }
+  }
+
+  private String await(final Flight flight) {
+    try {
+      return flight.response.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      throw inProgress();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw inProgress();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof final RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private void pause() {
+    try {
+      Thread.sleep(pollIntervalMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw inProgress();
+    }
+  }
+
+  private String hash(final Object request) {
+    try {
+      final byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(objectMapper.writeValueAsBytes(request));
+      return HexFormat.of().formatHex(digest);
+    } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Cannot fingerprint request", e);
+    }
+  }
+
+  private String write(final Object body) {
+    try {
+      return objectMapper.writeValueAsString(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize response", e);
+    }
+  }
+
+  private <T> T read(final String body, final Class<T> type) {
+    try {
+      return objectMapper.readValue(body, type);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot read stored response", e);
+    }
+  }
+
+  private static BadRequestException reused() {
+    return new BadRequestException(HEADER
+        + " was already used for a different request.");
+  }
+
+  private static ConflictException inProgress() {
+    return new ConflictException("A request with this " + HEADER
+        + " is still in progress; retry later.");
+  }
+
+  /**
+   * Key of both tiers.
+   *
+   * @param userId user identifier
+   * @param key    client key
+   */
+  private record Key(Long userId, String key) {
+  }
+
+  /**
+   * Result of a claim attempt: the owned row id and claim token, a stored
+   * response to replay, or neither when another node is running the request.
+   *
+   * @param ownedId      id of the claimed row, or null
+   * @param token        claim token of the owned row, or null
+   * @param responseBody stored response, or null
+   */
+  private record Claim(Long ownedId, String token, String responseBody) {
+    /**
+     * Another node is running the request.
+     */
+    static final Claim WAIT = new Claim(null, null, null);
+  }
+
+  /**
+   * Committed response of a request run under a key.
+   *
+   * @param result response body
+   * @param body   serialized response body
+   * @param <T>    body type
+   */
+  private record Completed<T>(T result, String body) {
+  }
+
+  /**
+   * In-memory state of one key.
+   */
+  private static final class Flight {
+    /**
+     * Payload hash of the request that owns the key.
+     */
+    private final String requestHash;
+    /**
+     * Completed with the serialized response, or with the request's error.
+     */
+    private final CompletableFuture<String> response =
+        new CompletableFuture<>();
+    /**
+     * {@link System#nanoTime()} after which a completed flight is dropped;
+     * written before the response is completed.
+     */
+    private volatile long expiresAt;
+
+    Flight(final String requestHash) {
+      this.requestHash = requestHash;
+    }
+
+    boolean isExpired(final long now) {
+      return response.isDone()
+          && (response.isCompletedExceptionally() || now - expiresAt > 0);
+    }
+  }
+}
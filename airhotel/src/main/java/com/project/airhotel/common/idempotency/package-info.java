@@ -0,0 +1,5 @@
+/**
+ * Idempotency keys for unsafe endpoints: the first request with a key runs,
+ * and retries with the same key replay its stored response.
+ */
+package com.project.airhotel.common.idempotency;
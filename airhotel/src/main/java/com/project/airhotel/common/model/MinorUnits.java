@@ -0,0 +1,41 @@
+package com.project.airhotel.common.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Money amounts as a {@code long} count of minor units, used where prices are
+ * stored in bulk or summed night by night. Amounts are converted from and to
+ * {@link BigDecimal} only where they enter or leave the application: entity
+ * fields and API responses. One minor unit is the smallest step of a price
+ * column, {@code 10^-S2}, whatever the currency.
+ */
+public final class MinorUnits {
+  private MinorUnits() {
+
+  }
+
+  /** Decimal places of stored prices. */
+  public static final int SCALE = ModelConstants.S2;
+
+  /**
+   * Converts an amount to minor units.
+   *
+   * @param amount amount with at most {@link #SCALE} decimals
+   * @return amount in minor units
+   * @throws ArithmeticException if the amount has more decimals or does not
+   *                             fit in a long
+   */
+  public static long of(final BigDecimal amount) {
+    return amount.movePointRight(SCALE).longValueExact();
+  }
+
+  /**
+   * Converts minor units back to an amount.
+   *
+   * @param minor amount in minor units
+   * @return amount with {@link #SCALE} decimals
+   */
+  public static BigDecimal toAmount(final long minor) {
+    return BigDecimal.valueOf(minor, SCALE);
+  }
+}
@@ -0,0 +1,126 @@
+package com.project.airhotel.common.retry;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Re-runs a transactional action when the database aborts it because of a
+ * deadlock or a lock wait timeout. Attempts are bounded and separated by an
+ * exponential backoff with full jitter, so competing callers do not collide
+ * again in lockstep. The action must start its own transaction and reload any
+ * entity it modifies, because the failed attempt has been rolled back.
+ */
+@Component
+public class LockRetryExecutor {
+
+  /**
+   * Total attempts including the first one.
+   */
+  private final int maxAttempts;
+  /**
+   * Upper bound of the backoff before the first retry, in milliseconds.
+   */
+  private final long initialBackoffMs;
+  /**
+   * Upper bound of any single backoff, in milliseconds.
+   */
+  private final long maxBackoffMs;
+  /**
+   * Number of retries performed after a lock failure.
+   */
+  private final AtomicLong retries = new AtomicLong();
+  /**
+   * Number of actions that still failed after the last attempt.
+   */
+  private final AtomicLong giveUps = new AtomicLong();
+
+  /**
+   * Constructs the executor from configuration.
+   *
+   * @param maxAttempts      total attempts including the first one
+   * @param initialBackoffMs backoff bound before the first retry
+   * @param maxBackoffMs     backoff bound for later retries
+   */
+  public LockRetryExecutor(
+      @Value("${airhotel.lock-retry.max-attempts:3}") final int maxAttempts,
+      @Value("${airhotel.lock-retry.initial-backoff-ms:20}")
+      final long initialBackoffMs,
+      @Value("${airhotel.lock-retry.max-backoff-ms:200}")
+      final long maxBackoffMs) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("maxAttempts must be at least 1.");
+    }
+    this.maxAttempts = maxAttempts;
+    this.initialBackoffMs = Math.max(0, initialBackoffMs);
+    this.maxBackoffMs = Math.max(this.initialBackoffMs, maxBackoffMs);
+  }
+
+  /**
+   * Runs the action, retrying it on lock failures. When called inside an
+   * existing transaction the action runs once, since that transaction is
+   * already marked for rollback and only its owner can retry.
+   *
+   * @param action transactional action to run
+   * @param <T>    result type
+   * @return the action result
+   * @throws PessimisticLockingFailureException if every attempt lost a lock
+   */
+  public <T> T execute(final Supplier<T> action) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return action.get();
+    }
+    int attempt = 1;
+    while (true) {
+      try {
+        return action.get();
+      } catch (PessimisticLockingFailureException e) {
+        if (attempt >= maxAttempts) {
+          giveUps.incrementAndGet();
+          throw e;
+        }
+        retries.incrementAndGet();
+        backoff(attempt, e);
+        attempt++;
+      }
+    }
+  }
+
+  /**
+   * Number of retries performed since startup.
+   *
+   * @return retry count
+   */
+  public long getRetryCount() {
+    return retries.get();
+  }
+
+  /**
+   * Number of actions abandoned after exhausting all attempts.
+   *
+   * @return give-up count
+   */
+  public long getGiveUpCount() {
+    return giveUps.get();
+  }
+
+  private void backoff(final int attempt,
+      final PessimisticLockingFailureException cause) {
+    final long bound = Math.min(maxBackoffMs,
+        initialBackoffMs << Math.min(attempt - 1, 20));
+    if (bound <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      giveUps.incrementAndGet();
+      throw cause;
+    }
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * Retry support for write flows that can lose a database lock race, such as
+ * deadlock victims and lock wait timeouts.
+ */
+package com.project.airhotel.common.retry;
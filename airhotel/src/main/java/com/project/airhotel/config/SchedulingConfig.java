@@ -0,0 +1,17 @@
+package com.project.airhotel.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs such as inventory
+ * materialization. Set {@code airhotel.scheduling.enabled=false} to run
+ * without them, for example in tests.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "airhotel.scheduling.enabled",
+    havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,121 @@
+package com.project.airhotel.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.project.airhotel.hotel.domain.Hotels;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.domain.Rooms;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache for reference data read on almost every
+ * request: hotels, room types and rooms. Regions live in a Caffeine-backed
+ * JCache manager owned by this context, each bounded in size and expired
+ * after a TTL, with JCache statistics published over JMX and Hibernate
+ * statistics available from the session factory. Set
+ * {@code airhotel.cache.second-level.enabled=false} to run without it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "airhotel.cache.second-level.enabled",
+    havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+  /**
+   * Creates the JCache manager holding every cache region. A unique URI
+   * keeps regions of separate application contexts in one JVM apart.
+   *
+   * @param maxEntries        maximum entries per entity region
+   * @param ttlSeconds        entity region TTL in seconds
+   * @param queryMaxEntries   maximum cached query results
+   * @param queryTtlSeconds   query result TTL in seconds
+   * @param statisticsEnabled whether JCache statistics are recorded
+   * @return the cache manager
+   */
+  @Bean(destroyMethod = "close")
+  public CacheManager secondLevelCacheManager(
+      @Value("${airhotel.cache.second-level.max-entries:10000}")
+      final long maxEntries,
+      @Value("${airhotel.cache.second-level.ttl-seconds:3600}")
+      final long ttlSeconds,
+      @Value("${airhotel.cache.second-level.query-max-entries:2000}")
+      final long queryMaxEntries,
+      @Value("${airhotel.cache.second-level.query-ttl-seconds:300}")
+      final long queryTtlSeconds,
+      @Value("${airhotel.cache.statistics-enabled:true}")
+      final boolean statisticsEnabled) {
+    final CacheManager manager = Caching
+        .getCachingProvider(CaffeineCachingProvider.class.getName())
+        .getCacheManager(
+            URI.create("airhotel-second-level-" + UUID.randomUUID()),
+            getClass().getClassLoader());
+    final long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    createRegion(manager, Hotels.CACHE_REGION, maxEntries, ttlNanos,
+        statisticsEnabled);
+    createRegion(manager, RoomTypes.CACHE_REGION, maxEntries, ttlNanos,
+        statisticsEnabled);
+    createRegion(manager, Rooms.CACHE_REGION, maxEntries, ttlNanos,
+        statisticsEnabled);
+    createRegion(manager,
+        RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+        queryMaxEntries, TimeUnit.SECONDS.toNanos(queryTtlSeconds),
+        statisticsEnabled);
+    // Update timestamps must outlive every cached query result, so they are
+    // neither expired nor size-bounded (one entry per table).
+    final CaffeineConfiguration<Object, Object> timestamps =
+        new CaffeineConfiguration<>();
+    timestamps.setStatisticsEnabled(statisticsEnabled);
+    manager.createCache(
+        RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+        timestamps);
+    return manager;
+  }
+
+  /**
+   * Points Hibernate at the cache manager and enables the entity and query
+   * caches.
+   *
+   * @param secondLevelCacheManager the cache manager holding the regions
+   * @param statisticsEnabled       whether Hibernate statistics are
+   *                                generated
+   * @return the customizer applied to the JPA properties
+   */
+  @Bean
+  public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+      final CacheManager secondLevelCacheManager,
+      @Value("${airhotel.cache.statistics-enabled:true}")
+      final boolean statisticsEnabled) {
+    return properties -> {
+      properties.put("hibernate.cache.use_second_level_cache", "true");
+      properties.put("hibernate.cache.use_query_cache", "true");
+      properties.put("hibernate.cache.region.factory_class", "jcache");
+      properties.put("hibernate.javax.cache.cache_manager",
+          secondLevelCacheManager);
+      properties.put("hibernate.generate_statistics",
+          String.valueOf(statisticsEnabled));
+    };
+  }
+
+  private static void createRegion(final CacheManager manager,
+                                   final String name,
+                                   final long maxEntries,
+                                   final long ttlNanos,
+                                   final boolean statisticsEnabled) {
+    final CaffeineConfiguration<Object, Object> config =
+        new CaffeineConfiguration<>();
+    config.setMaximumSize(OptionalLong.of(maxEntries));
+    config.setExpireAfterWrite(OptionalLong.of(ttlNanos));
+    config.setStatisticsEnabled(statisticsEnabled);
+    manager.createCache(name, config);
+  }
+}
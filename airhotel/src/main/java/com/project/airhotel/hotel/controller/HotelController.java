@@ -1,5 +1,6 @@
 package com.project.airhotel.hotel.controller;
 
+import com.project.airhotel.hotel.dto.HotelSuggestResponse;
 import com.project.airhotel.hotel.service.HotelService;
 import java.time.LocalDate;
 import java.util.List;
@@ -105,6 +106,24 @@ public final class HotelController {
     return hotelService.searchHotelsByCityFuzzy(city);
   }
 
+  /**
+   * Typeahead suggestions for the search box: the best matching cities,
+   * ranked by hotel count, and hotels, ranked by star rating, as compact
+   * entries.
+   *
+   * <p>Example: {@code GET /hotels/suggest?q=new&limit=5}</p>
+   *
+   * @param q     text typed so far
+   * @param limit maximum number of cities and of hotels, 1 to 10
+   * @return ranked city and hotel suggestions
+   */
+  @GetMapping("/suggest")
+  public HotelSuggestResponse suggest(
+      @RequestParam("q") final String q,
+      @RequestParam(value = "limit", defaultValue = "5") final int limit) {
+    return hotelService.suggest(q, limit);
+  }
+
   /**
    * Searches for hotels by fuzzy city name and filters them by availability
    * within the given stay date range.
@@ -117,8 +136,11 @@ public final class HotelController {
    * @param city      partial or full city name keyword
    * @param startDate inclusive check-in date (ISO yyyy-MM-dd)
    * @param endDate   exclusive check-out date (ISO yyyy-MM-dd)
+   * @param numGuests optional guest count; only room types that can host it
+   *                  are considered
    * @return list of hotels that match the city keyword and are available
-   *         for each date in [startDate, endDate)
+   *         for each date in [startDate, endDate), with the number of
+   *         available room types and the cheapest nightly price
    */
   @GetMapping("/search/available")
   public List<?> searchAvailableHotels(
@@ -128,10 +150,12 @@ public final class HotelController {
       final LocalDate startDate,
       @RequestParam("endDate")
       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-      final LocalDate endDate) {
+      final LocalDate endDate,
+      @RequestParam(value = "numGuests", required = false)
+      final Integer numGuests) {
 
     return hotelService.searchAvailableHotelsByCityAndDates(
-        city, startDate, endDate);
+        city, startDate, endDate, numGuests);
   }
 
 }
@@ -0,0 +1,10 @@
+package com.project.airhotel.hotel.domain;
+
+/**
+ * Published when a hotel is created, updated or deleted, so that in-memory
+ * views of hotel master data can be refreshed once the change is committed.
+ *
+ * @param hotelId id of the hotel
+ */
+public record HotelChangedEvent(Long hotelId) {
+}
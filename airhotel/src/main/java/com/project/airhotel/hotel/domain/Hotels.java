@@ -1,8 +1,10 @@
 package com.project.airhotel.hotel.domain;
 
 import com.project.airhotel.common.model.ModelConstants;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -13,20 +15,32 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 /**
- * Hotel master record including address and star rating.
+ * Hotel master record including address and star rating. Held in the
+ * second-level cache.
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE,
+    region = Hotels.CACHE_REGION)
 @Table(name = "hotels")
+@EntityListeners(HotelsEntityListener.class)
 public class Hotels {
 
+  /**
+   * Second-level cache region holding these entities.
+   */
+  public static final String CACHE_REGION = "hotels";
+
   /**
    * Surrogate primary key.
    */
@@ -0,0 +1,35 @@
+package com.project.airhotel.hotel.domain;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA lifecycle listener for {@link Hotels}. Translates inserts, updates and
+ * deletes into {@link HotelChangedEvent}s. Hibernate resolves the listener
+ * from the Spring context, so the event publisher can be injected.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotelsEntityListener {
+
+  /**
+   * Publisher for application events.
+   */
+  private final ApplicationEventPublisher publisher;
+
+  /**
+   * Publishes a change event after a hotel has been written or removed.
+   *
+   * @param hotel the inserted, updated or deleted hotel
+   */
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void afterWrite(final Hotels hotel) {
+    publisher.publishEvent(new HotelChangedEvent(hotel.getId()));
+  }
+}
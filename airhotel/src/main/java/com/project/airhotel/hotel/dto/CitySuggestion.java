@@ -0,0 +1,23 @@
+package com.project.airhotel.hotel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * City offered by the typeahead endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CitySuggestion {
+  private String city;
+  private String state;
+  private String country;
+  /**
+   * Number of hotels in this city.
+   */
+  private Integer hotelCount;
+}
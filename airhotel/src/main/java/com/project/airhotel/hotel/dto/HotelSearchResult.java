@@ -0,0 +1,37 @@
+package com.project.airhotel.hotel.dto;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One hotel returned by the date-aware city search, with the room types that
+ * can host the whole stay and the cheapest nightly price among them.
+ *
+ * <p>Field order matches the constructor expression used by
+ * {@code HotelsRepository.searchAvailableByCityPrefix}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelSearchResult {
+  private Long id;
+  private String name;
+  private String brand;
+  private String city;
+  private String state;
+  private String country;
+  private BigDecimal starRating;
+  /**
+   * Number of room types with at least one free room on every night.
+   */
+  private Long availableRoomTypes;
+  /**
+   * Lowest nightly price over the stay among the available room types; nights
+   * without a daily price row are charged at the room type's base rate.
+   */
+  private BigDecimal minNightlyPrice;
+}
@@ -0,0 +1,20 @@
+package com.project.airhotel.hotel.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Typeahead result: the best matching cities, ranked by hotel count, and the
+ * best matching hotels, ranked by star rating.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelSuggestResponse {
+  private List<CitySuggestion> cities;
+  private List<HotelSuggestion> hotels;
+}
@@ -0,0 +1,22 @@
+package com.project.airhotel.hotel.dto;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hotel offered by the typeahead endpoint; just enough to render and select
+ * the entry.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelSuggestion {
+  private Long id;
+  private String name;
+  private String city;
+  private BigDecimal starRating;
+}
@@ -1,9 +1,14 @@
 package com.project.airhotel.hotel.repository;
 
 import com.project.airhotel.hotel.domain.Hotels;
+import com.project.airhotel.hotel.dto.HotelSearchResult;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
 import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -20,12 +25,16 @@ import org.springframework.stereotype.Repository;
 public interface HotelsRepository extends JpaRepository<Hotels, Long> {
 
   /**
-   * Checks whether a hotel exists by its unique identifier.
+   * Checks whether a hotel exists by its unique identifier. The result is
+   * kept in the query cache, which is invalidated by any write to hotels.
    *
    * @param id the hotel ID to check
    * @return true if a hotel with the given ID exists, false otherwise
    */
-  boolean existsById(Long id);
+  @Query("select count(h) > 0 from Hotels h where h.id = :id")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE,
+      value = "true"))
+  boolean existsById(@Param("id") Long id);
 
   /**
    * Fuzzy search by city name prefix (case-insensitive).
@@ -46,4 +55,66 @@ public interface HotelsRepository extends JpaRepository<Hotels, Long> {
        where lower(trim(h.city)) like lower(concat(:keyword, '%'))
       """)
   List<Hotels> searchCityByPrefix(@Param("keyword") String keyword);
+
+  /**
+   * Date-aware city search in one aggregate query. A room type qualifies when
+   * it has rooms, fits {@code numGuests} (ignored when null) and has no
+   * inventory row in [start, end) with {@code available <= 0}; nights
+   * without a row have not been booked yet and count as free. Hotels are
+   * returned with the number of qualifying room types and the cheapest
+   * nightly price among them, where a room type whose daily price rows do not
+   * cover every night also contributes its base rate. Daily prices of the
+   * matching hotels are aggregated once per room type and joined in.
+   *
+   * @param keyword   partial city prefix, e.g. "new"
+   * @param start     inclusive check-in date
+   * @param end       exclusive check-out date
+   * @param nights    number of nights in [start, end)
+   * @param numGuests optional minimum room type capacity
+   * @return one row per hotel with at least one qualifying room type
+   */
+  @Query("""
+      select new com.project.airhotel.hotel.dto.HotelSearchResult(
+               h.id, h.name, h.brand, h.city, h.state, h.country,
+               h.starRating, count(rt.id),
+               min(case
+                     when coalesce(dp.pricedNights, 0) < :nights
+                     then least(rt.baseRate,
+                                coalesce(dp.minPrice, rt.baseRate))
+                     else dp.minPrice
+                   end))
+        from Hotels h
+        join RoomTypes rt on rt.hotelId = h.id
+        left join (select p.roomTypeId as roomTypeId,
+                          count(distinct p.stayDate) as pricedNights,
+                          min(p.price) as minPrice
+                     from RoomTypeDailyPrice p
+                     join Hotels ph on ph.id = p.hotelId
+                    where lower(trim(ph.city))
+                            like lower(concat(:keyword, '%'))
+                      and p.stayDate >= :start
+                      and p.stayDate < :end
+                    group by p.roomTypeId) dp
+               on dp.roomTypeId = rt.id
+       where lower(trim(h.city)) like lower(concat(:keyword, '%'))
+         and rt.totalRooms > 0
+         and (:numGuests is null or rt.capacity >= :numGuests)
+         and not exists (
+               select 1
+                 from RoomTypeInventory i
+                where i.hotelId = h.id
+                  and i.roomTypeId = rt.id
+                  and i.stayDate >= :start
+                  and i.stayDate < :end
+                  and i.available <= 0)
+       group by h.id, h.name, h.brand, h.city, h.state, h.country,
+                h.starRating
+       order by h.id
+      """)
+  List<HotelSearchResult> searchAvailableByCityPrefix(
+      @Param("keyword") String keyword,
+      @Param("start") LocalDate start,
+      @Param("end") LocalDate end,
+      @Param("nights") long nights,
+      @Param("numGuests") Integer numGuests);
 }
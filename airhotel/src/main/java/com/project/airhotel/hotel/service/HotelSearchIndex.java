@@ -0,0 +1,556 @@
+package com.project.airhotel.hotel.service;
+
+import com.project.airhotel.hotel.domain.HotelChangedEvent;
+import com.project.airhotel.hotel.domain.Hotels;
+import com.project.airhotel.hotel.dto.CitySuggestion;
+import com.project.airhotel.hotel.dto.HotelSuggestResponse;
+import com.project.airhotel.hotel.dto.HotelSuggestion;
+import com.project.airhotel.hotel.repository.HotelsRepository;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory search index over hotel master data, so that typeahead searches
+ * do not scan the hotels table. Cities and hotel names are folded to lower
+ * case without accents and kept in sorted arrays; a prefix query is a binary
+ * search followed by a scan of the matching run. A city query without any
+ * prefix match is retried with a bounded edit distance, so small typos still
+ * find results. The index is an immutable snapshot that is swapped
+ * atomically: it is built once the application is ready and rebuilt nightly,
+ * and after each committed write to a hotel a new snapshot is derived in
+ * which only that hotel is re-indexed. Each snapshot
+ * also carries a {@link SuggestionTable} for ranked typeahead suggestions.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotelSearchIndex {
+
+  /**
+   * Upper bound on the cities and on the hotels of one suggestion response.
+   */
+  public static final int MAX_SUGGESTIONS = 10;
+
+  /**
+   * Shortest query that is matched with typo tolerance.
+   */
+  static final int MIN_FUZZY_LENGTH = 4;
+  /**
+   * Shortest query that tolerates two edits instead of one.
+   */
+  static final int TWO_EDIT_LENGTH = 8;
+  /**
+   * Combining marks left behind by canonical decomposition.
+   */
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  /**
+   * Runs of characters that are neither letters nor digits.
+   */
+  private static final Pattern SEPARATORS =
+      Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  /**
+   * Repository for hotel entities.
+   */
+  private final HotelsRepository hotelsRepo;
+  /**
+   * Current snapshot; {@code null} until the first build.
+   */
+  private volatile Snapshot snapshot;
+
+  /**
+   * Folds text for matching: accents are stripped, case is lowered and every
+   * run of punctuation or whitespace becomes one space.
+   *
+   * @param text raw city, name or query text, may be null
+   * @return normalized text, empty when nothing searchable remains
+   */
+  static String normalize(final String text) {
+    if (text == null) {
+      return "";
+    }
+    final String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+    final String folded = MARKS.matcher(decomposed).replaceAll("")
+        .toLowerCase(Locale.ROOT);
+    return SEPARATORS.matcher(folded).replaceAll(" ").trim();
+  }
+
+  /**
+   * Returns whether the index has been built and can answer searches.
+   *
+   * @return {@code true} once the first snapshot is available
+   */
+  public boolean isReady() {
+    return snapshot != null;
+  }
+
+  /**
+   * Finds hotels whose city starts with the keyword. When no city does and
+   * the keyword is long enough, the hotels of the cities whose prefix is
+   * closest to the keyword, within one or two edits, are returned instead.
+   *
+   * @param keyword city prefix as typed by the user
+   * @return matching hotels ordered by id, empty if none or not ready
+   */
+  public List<Hotels> searchByCity(final String keyword) {
+    final Snapshot current = snapshot;
+    final String query = normalize(keyword);
+    if (current == null || query.isEmpty()) {
+      return List.of();
+    }
+    final List<Hotels> hits = current.cityPrefix(query);
+    if (!hits.isEmpty() || query.length() < MIN_FUZZY_LENGTH) {
+      return hits;
+    }
+    final int maxEdits = query.length() < TWO_EDIT_LENGTH ? 1 : 2;
+    return current.cityFuzzy(query, maxEdits);
+  }
+
+  /**
+   * Finds hotels with a word in their name that starts with the keyword, so
+   * "ritz" matches "The Ritz-Carlton".
+   *
+   * @param keyword name prefix as typed by the user
+   * @param limit   maximum number of hotels returned
+   * @return matching hotels in name order, empty if none or not ready
+   */
+  public List<Hotels> searchByName(final String keyword, final int limit) {
+    final Snapshot current = snapshot;
+    final String query = normalize(keyword);
+    if (current == null || query.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    return current.namePrefix(query, limit);
+  }
+
+  /**
+   * Suggests cities and hotels for a typeahead query. Cities match on a
+   * prefix of their name and are ranked by hotel count; hotels match on a
+   * prefix of any word of their name and are ranked by star rating.
+   *
+   * @param keyword text typed so far
+   * @param limit   maximum entries per list, capped at
+   *                {@link #MAX_SUGGESTIONS}
+   * @return ranked suggestions, empty lists if none or not ready
+   */
+  public HotelSuggestResponse suggest(final String keyword, final int limit) {
+    final Snapshot current = snapshot;
+    final String query = normalize(keyword);
+    if (current == null || query.isEmpty() || limit <= 0) {
+      return new HotelSuggestResponse(List.of(), List.of());
+    }
+    final int k = Math.min(limit, MAX_SUGGESTIONS);
+    return HotelSuggestResponse.builder()
+        .cities(current.suggestions.cities(query, k).stream()
+            .map(c -> CitySuggestion.builder()
+                .city(c.city())
+                .state(c.state())
+                .country(c.country())
+                .hotelCount(c.hotelCount())
+                .build())
+            .toList())
+        .hotels(current.suggestions.hotels(query, k).stream()
+            .map(h -> HotelSuggestion.builder()
+                .id(h.getId())
+                .name(h.getName())
+                .city(h.getCity())
+                .starRating(h.getStarRating())
+                .build())
+            .toList())
+        .build();
+  }
+
+  /**
+   * Rebuilds the index from every hotel. Runs once the application is ready
+   * and then nightly, which picks up writes that bypassed JPA.
+   *
+   * @return number of indexed hotels
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${airhotel.hotel-search.rebuild-cron:0 45 3 * * *}")
+  public synchronized int rebuildAll() {
+    final List<Hotels> hotels = hotelsRepo.findAll();
+    load(hotels);
+    return hotels.size();
+  }
+
+  /**
+   * Replaces the index with one built from the given hotels.
+   *
+   * @param hotels hotels to index
+   */
+  synchronized void load(final Collection<Hotels> hotels) {
+    snapshot = Snapshot.build(hotels);
+  }
+
+  /**
+   * Re-reads a hotel after a committed write and swaps in a snapshot that
+   * reflects it. Only that hotel's entries are removed and put back, so the
+   * cost of a write does not grow with the number of hotels the way a full
+   * rebuild does. A hotel that no longer exists is dropped. The hotel is
+   * read under the same lock as the swap, so a slower handler of an earlier
+   * write cannot put back an older version. Writes arriving before the
+   * first build are covered by that build.
+   *
+   * @param event committed hotel change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+  public void onHotelChanged(final HotelChangedEvent event) {
+    if (event.hotelId() == null) {
+      return;
+    }
+    synchronized (this) {
+      final Snapshot current = snapshot;
+      if (current == null) {
+        return;
+      }
+      final Hotels hotel = hotelsRepo.findById(event.hotelId()).orElse(null);
+      snapshot = current.with(event.hotelId(), hotel);
+    }
+  }
+
+  /**
+   * Distance between a query and the closest prefix of a key, counting
+   * insertions, deletions, substitutions and adjacent transpositions.
+   * Computation stops as soon as the distance must exceed {@code maxEdits}.
+   *
+   * @param query    normalized query
+   * @param key      normalized key
+   * @param maxEdits largest distance of interest
+   * @return the distance, or {@code maxEdits + 1} if it is larger
+   */
+  static int prefixDistance(final String query, final String key,
+                            final int maxEdits) {
+    final int m = query.length();
+    final int n = Math.min(key.length(), m + maxEdits);
+    int[] beforePrev = new int[n + 1];
+    int[] prev = new int[n + 1];
+    int[] cur = new int[n + 1];
+    for (int j = 0; j <= n; j++) {
+      prev[j] = j;
+    }
+    for (int i = 1; i <= m; i++) {
+      cur[0] = i;
+      int rowMin = i;
+      final char q = query.charAt(i - 1);
+      for (int j = 1; j <= n; j++) {
+        final char k = key.charAt(j - 1);
+        int d = Math.min(prev[j] + 1, cur[j - 1] + 1);
+        d = Math.min(d, prev[j - 1] + (q == k ? 0 : 1));
+        if (i > 1 && j > 1 && q == key.charAt(j - 2)
+            && query.charAt(i - 2) == k) {
+          d = Math.min(d, beforePrev[j - 2] + 1);
+        }
+        cur[j] = d;
+        rowMin = Math.min(rowMin, d);
+      }
+      if (rowMin > maxEdits) {
+        return maxEdits + 1;
+      }
+      final int[] recycled = beforePrev;
+      beforePrev = prev;
+      prev = cur;
+      cur = recycled;
+    }
+    int best = maxEdits + 1;
+    for (int j = 0; j <= n; j++) {
+      best = Math.min(best, prev[j]);
+    }
+    return best;
+  }
+
+  /**
+   * First index whose key is not less than the probe.
+   */
+  static int lowerBound(final String[] keys, final String probe) {
+    int lo = 0;
+    int hi = keys.length;
+    while (lo < hi) {
+      final int mid = (lo + hi) >>> 1;
+      if (keys[mid].compareTo(probe) < 0) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  /**
+   * Immutable search structures built from one set of hotels.
+   */
+  private static final class Snapshot {
+    /**
+     * Indexed hotels keyed by id.
+     */
+    private final Map<Long, Hotels> hotels;
+    /**
+     * Distinct normalized cities in ascending order.
+     */
+    private final String[] cityKeys;
+    /**
+     * Hotels of each city, parallel to {@link #cityKeys}, ordered by id.
+     */
+    private final Hotels[][] cityHotels;
+    /**
+     * Normalized name suffixes starting at a word, in ascending order.
+     */
+    private final String[] nameKeys;
+    /**
+     * Hotel of each name suffix, parallel to {@link #nameKeys}.
+     */
+    private final Hotels[] nameHotels;
+    /**
+     * Ranked typeahead suggestions over the same hotels.
+     */
+    private final SuggestionTable suggestions;
+
+    private Snapshot(final Map<Long, Hotels> hotels, final String[] cityKeys,
+                     final Hotels[][] cityHotels, final String[] nameKeys,
+                     final Hotels[] nameHotels,
+                     final SuggestionTable suggestions) {
+      this.hotels = hotels;
+      this.cityKeys = cityKeys;
+      this.cityHotels = cityHotels;
+      this.nameKeys = nameKeys;
+      this.nameHotels = nameHotels;
+      this.suggestions = suggestions;
+    }
+
+    static Snapshot build(final Collection<Hotels> source) {
+      final Map<Long, Hotels> byId = new HashMap<>();
+      final Map<String, List<Hotels>> byCity = new TreeMap<>();
+      final List<Map.Entry<String, Hotels>> names = new ArrayList<>();
+      for (final Hotels h : source) {
+        if (h.getId() == null) {
+          continue;
+        }
+        byId.put(h.getId(), h);
+        final String city = normalize(h.getCity());
+        if (!city.isEmpty()) {
+          byCity.computeIfAbsent(city, c -> new ArrayList<>()).add(h);
+        }
+        for (final String suffix : nameSuffixes(h)) {
+          names.add(Map.entry(suffix, h));
+        }
+      }
+
+      final String[] cityKeys = byCity.keySet().toArray(new String[0]);
+      final Hotels[][] cityHotels = new Hotels[cityKeys.length][];
+      for (int i = 0; i < cityKeys.length; i++) {
+        final List<Hotels> inCity = byCity.get(cityKeys[i]);
+        inCity.sort(Comparator.comparing(Hotels::getId));
+        cityHotels[i] = inCity.toArray(new Hotels[0]);
+      }
+
+      names.sort(Map.Entry.<String, Hotels>comparingByKey()
+          .thenComparing(e -> e.getValue().getId()));
+      final String[] nameKeys = new String[names.size()];
+      final Hotels[] nameHotels = new Hotels[names.size()];
+      for (int i = 0; i < nameKeys.length; i++) {
+        nameKeys[i] = names.get(i).getKey();
+        nameHotels[i] = names.get(i).getValue();
+      }
+      return new Snapshot(Map.copyOf(byId), cityKeys, cityHotels, nameKeys,
+          nameHotels, SuggestionTable.build(byId.values(), nameKeys,
+              nameHotels));
+    }
+
+    /**
+     * Derives the snapshot in which one hotel is replaced, added or dropped.
+     * The hotel's entries are taken out of the sorted arrays and its new
+     * entries merged back in, so no other hotel is normalized or sorted
+     * again.
+     *
+     * @param id      id of the changed hotel
+     * @param updated the hotel as stored now, or null if it is gone
+     * @return the new snapshot
+     */
+    Snapshot with(final Long id, final Hotels updated) {
+      final Hotels previous = hotels.get(id);
+      if (previous == null && updated == null) {
+        return this;
+      }
+      final Map<Long, Hotels> byId = new HashMap<>(hotels);
+      byId.remove(id);
+      final List<String> cities = new ArrayList<>(Arrays.asList(cityKeys));
+      final List<Hotels[]> rows = new ArrayList<>(Arrays.asList(cityHotels));
+      final Set<String> changedNames = new HashSet<>();
+      if (previous != null) {
+        removeFromCity(cities, rows, previous);
+        changedNames.addAll(nameSuffixes(previous));
+      }
+      final List<String> added = new ArrayList<>();
+      if (updated != null) {
+        byId.put(id, updated);
+        addToCity(cities, rows, updated);
+        added.addAll(nameSuffixes(updated));
+        Collections.sort(added);
+        changedNames.addAll(added);
+      }
+
+      int kept = 0;
+      for (final Hotels h : nameHotels) {
+        if (!id.equals(h.getId())) {
+          kept++;
+        }
+      }
+      final String[] keys = new String[kept + added.size()];
+      final Hotels[] values = new Hotels[keys.length];
+      int n = 0;
+      int a = 0;
+      for (int i = 0; i < nameKeys.length; i++) {
+        if (id.equals(nameHotels[i].getId())) {
+          continue;
+        }
+        while (a < added.size() && compareNames(added.get(a), id,
+            nameKeys[i], nameHotels[i].getId()) < 0) {
+          keys[n] = added.get(a++);
+          values[n++] = updated;
+        }
+        keys[n] = nameKeys[i];
+        values[n++] = nameHotels[i];
+      }
+      while (a < added.size()) {
+        keys[n] = added.get(a++);
+        values[n++] = updated;
+      }
+
+      return new Snapshot(Map.copyOf(byId), cities.toArray(new String[0]),
+          rows.toArray(new Hotels[0][]), keys, values,
+          suggestions.with(previous, updated, city -> {
+            final int i = Collections.binarySearch(cities, city);
+            return i < 0 ? new Hotels[0] : rows.get(i);
+          }, keys, values, changedNames));
+    }
+
+    /**
+     * Normalized name suffixes of a hotel, one per word.
+     */
+    private static List<String> nameSuffixes(final Hotels h) {
+      final String name = normalize(h.getName());
+      final List<String> suffixes = new ArrayList<>();
+      for (int i = 0; i < name.length(); i = nextWord(name, i)) {
+        suffixes.add(name.substring(i));
+      }
+      return suffixes;
+    }
+
+    /**
+     * Name order of the index: by suffix, then by hotel id.
+     */
+    private static int compareNames(final String key, final Long id,
+                                    final String otherKey,
+                                    final Long otherId) {
+      final int byKey = key.compareTo(otherKey);
+      return byKey != 0 ? byKey : id.compareTo(otherId);
+    }
+
+    private static void removeFromCity(final List<String> cities,
+                                       final List<Hotels[]> rows,
+                                       final Hotels h) {
+      final int i = Collections.binarySearch(cities, normalize(h.getCity()));
+      if (i < 0) {
+        return;
+      }
+      final Hotels[] row = Arrays.stream(rows.get(i))
+          .filter(other -> !h.getId().equals(other.getId()))
+          .toArray(Hotels[]::new);
+      if (row.length == 0) {
+        cities.remove(i);
+        rows.remove(i);
+      } else {
+        rows.set(i, row);
+      }
+    }
+
+    private static void addToCity(final List<String> cities,
+                                  final List<Hotels[]> rows,
+                                  final Hotels h) {
+      final String city = normalize(h.getCity());
+      if (city.isEmpty()) {
+        return;
+      }
+      final int i = Collections.binarySearch(cities, city);
+      if (i < 0) {
+        cities.add(-i - 1, city);
+        rows.add(-i - 1, new Hotels[] {h});
+        return;
+      }
+      final List<Hotels> row = new ArrayList<>(Arrays.asList(rows.get(i)));
+      int at = 0;
+      while (at < row.size() && row.get(at).getId() < h.getId()) {
+        at++;
+      }
+      row.add(at, h);
+      rows.set(i, row.toArray(new Hotels[0]));
+    }
+
+    /**
+     * Start of the word after the one at {@code from}, or the length.
+     */
+    private static int nextWord(final String text, final int from) {
+      final int space = text.indexOf(' ', from);
+      return space < 0 ? text.length() : space + 1;
+    }
+
+    List<Hotels> cityPrefix(final String query) {
+      final List<Hotels> hits = new ArrayList<>();
+      for (int i = lowerBound(cityKeys, query);
+           i < cityKeys.length && cityKeys[i].startsWith(query); i++) {
+        hits.addAll(List.of(cityHotels[i]));
+      }
+      hits.sort(Comparator.comparing(Hotels::getId));
+      return hits;
+    }
+
+    List<Hotels> cityFuzzy(final String query, final int maxEdits) {
+      int best = maxEdits + 1;
+      final List<Hotels> hits = new ArrayList<>();
+      for (int i = 0; i < cityKeys.length; i++) {
+        final int d = prefixDistance(query, cityKeys[i],
+            Math.min(best, maxEdits));
+        if (d < best) {
+          best = d;
+          hits.clear();
+        }
+        if (d == best && d <= maxEdits) {
+          hits.addAll(List.of(cityHotels[i]));
+        }
+      }
+      hits.sort(Comparator.comparing(Hotels::getId));
+      return hits;
+    }
+
+    List<Hotels> namePrefix(final String query, final int limit) {
+      final Map<Long, Hotels> hits = new LinkedHashMap<>();
+      for (int i = lowerBound(nameKeys, query);
+           i < nameKeys.length && hits.size() < limit
+               && nameKeys[i].startsWith(query); i++) {
+        hits.putIfAbsent(nameHotels[i].getId(), nameHotels[i]);
+      }
+      return new ArrayList<>(hits.values());
+    }
+  }
+}
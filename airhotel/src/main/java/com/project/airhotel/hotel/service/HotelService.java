@@ -1,6 +1,8 @@
 package com.project.airhotel.hotel.service;
 
 import com.project.airhotel.hotel.domain.Hotels;
+import com.project.airhotel.hotel.dto.HotelSearchResult;
+import com.project.airhotel.hotel.dto.HotelSuggestResponse;
 import com.project.airhotel.hotel.repository.HotelsRepository;
 import com.project.airhotel.room.domain.RoomTypeInventory;
 import com.project.airhotel.room.domain.RoomTypes;
@@ -8,6 +10,7 @@ import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
 import com.project.airhotel.room.repository.RoomTypesRepository;
 import com.project.airhotel.room.repository.RoomsRepository;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +46,11 @@ public final class HotelService {
    */
   private final RoomTypeInventoryRepository roomTypeInventoryRepository;
 
+  /**
+   * In-memory city and hotel name index used for typeahead search.
+   */
+  private final HotelSearchIndex hotelSearchIndex;
+
   /**
    * Constructs the service with all required repositories.
    *
@@ -50,17 +58,20 @@ public final class HotelService {
    * @param roomsRepo       repository for room entities
    * @param roomTypesRepo   repository for room type entities
    * @param roomTypeInvRepo repository for room type inventory
+   * @param searchIndex     in-memory hotel search index
    */
   public HotelService(
       final HotelsRepository hotelsRepo,
       final RoomsRepository roomsRepo,
       final RoomTypesRepository roomTypesRepo,
-      final RoomTypeInventoryRepository roomTypeInvRepo) {
+      final RoomTypeInventoryRepository roomTypeInvRepo,
+      final HotelSearchIndex searchIndex) {
 
     this.hotelsRepository = hotelsRepo;
     this.roomsRepository = roomsRepo;
     this.roomTypesRepository = roomTypesRepo;
     this.roomTypeInventoryRepository = roomTypeInvRepo;
+    this.hotelSearchIndex = searchIndex;
   }
 
   /**
@@ -150,7 +161,10 @@ public final class HotelService {
    *
    * <p>This method returns hotels whose city names <b>start with</b> the
    * provided keyword (case-insensitive). For example, keyword "new" will match "New York", "New
-   * Haven", "New Orleans", but will not match "Renew Hotel".
+   * Haven", "New Orleans", but will not match "Renew Hotel". Matching ignores accents, so "sao"
+   * matches "São Paulo", and a keyword of four or more characters without any prefix match is
+   * retried with typo tolerance. Searches are served by {@link HotelSearchIndex}; the database is
+   * only queried until the index has been built.
    *
    * @param cityKeyword a partial city name prefix, e.g. "new"
    * @return a list of hotels whose city starts with the keyword
@@ -162,26 +176,57 @@ public final class HotelService {
           HttpStatus.BAD_REQUEST,
           "City keyword must not be empty");
     }
+    if (hotelSearchIndex.isReady()) {
+      return hotelSearchIndex.searchByCity(cityKeyword);
+    }
     return hotelsRepository.searchCityByPrefix(cityKeyword.trim());
   }
 
+  /**
+   * Suggests cities and hotels for a typeahead query, served entirely from
+   * {@link HotelSearchIndex}. Cities are ranked by hotel count and hotels by star rating.
+   *
+   * @param query text typed so far, e.g. "new y"
+   * @param limit maximum number of cities and of hotels, between 1 and
+   *     {@link HotelSearchIndex#MAX_SUGGESTIONS}
+   * @return ranked suggestions
+   * @throws ResponseStatusException if the query is blank or the limit is out of range
+   */
+  public HotelSuggestResponse suggest(final String query, final int limit) {
+    if (query == null || query.isBlank()) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "Query must not be empty");
+    }
+    if (limit < 1 || limit > HotelSearchIndex.MAX_SUGGESTIONS) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "limit must be between 1 and " + HotelSearchIndex.MAX_SUGGESTIONS);
+    }
+    return hotelSearchIndex.suggest(query, limit);
+  }
+
   /**
    * Performs a fuzzy city search and filters hotels by availability in the given stay date range.
    *
    * <p>The date range is interpreted as [startDate, endDate), where startDate is inclusive and
-   * endDate is exclusive.</p>
+   * endDate is exclusive. Availability, the guest filter and the cheapest nightly price are all
+   * resolved by one aggregate query over every candidate hotel.</p>
    *
    * @param keyword fuzzy city keyword such as "new"
    * @param startDate inclusive check-in date
    * @param endDate exclusive check-out date
-   * @return hotels that match the city keyword and have at least one available room type on every
-   *     date in the range
-   * @throws ResponseStatusException if keyword is blank or dates are invalid
+   * @param numGuests optional guest count; room types with a smaller capacity are ignored
+   * @return hotels that match the city keyword and have at least one room type with a free room
+   *     on every date in the range
+   * @throws ResponseStatusException if keyword is blank, dates are invalid or numGuests is not
+   *     positive
    */
-  public List<Hotels> searchAvailableHotelsByCityAndDates(
+  public List<HotelSearchResult> searchAvailableHotelsByCityAndDates(
       final String keyword,
       final LocalDate startDate,
-      final LocalDate endDate) {
+      final LocalDate endDate,
+      final Integer numGuests) {
 
     if (keyword == null || keyword.isBlank()) {
       throw new ResponseStatusException(
@@ -197,27 +242,19 @@ public final class HotelService {
       );
     }
 
-    List<Hotels> candidates =
-        hotelsRepository.searchCityByPrefix(keyword.trim());
-
-    return candidates.stream()
-        .filter(hotel ->
-            isHotelAvailable(
-                hotel.getId()))
-        .collect(Collectors.toList());
-  }
+    if (numGuests != null && numGuests <= 0) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "numGuests must be positive"
+      );
+    }
 
-  /**
-   * Checks whether a given hotel has at least one available room for every date in the given range
-   * [startDate, endDate).
-   *
-   * @param hotelId hotel id to check
-   * @return {@code true} if the hotel is available on every day, {@code false} otherwise
-   */
-  private boolean isHotelAvailable(
-      final Long hotelId) {
-    final List<RoomTypes> roomTypesFound = roomTypesRepository.findByHotelId(hotelId);
-    return !roomTypesFound.isEmpty();
+    return hotelsRepository.searchAvailableByCityPrefix(
+        keyword.trim(),
+        startDate,
+        endDate,
+        ChronoUnit.DAYS.between(startDate, endDate),
+        numGuests);
   }
 
 }
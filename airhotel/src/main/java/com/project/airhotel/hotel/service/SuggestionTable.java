@@ -0,0 +1,345 @@
+package com.project.airhotel.hotel.service;
+
+import com.project.airhotel.hotel.domain.Hotels;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Ranked typeahead suggestions precomputed from one snapshot of hotels.
+ * Cities are ranked by hotel count and hotels by star rating. Keys are kept
+ * in sorted arrays, so the entries matching a prefix form one contiguous run.
+ * For every prefix whose run is longer than {@link #SCAN_LIMIT} the best
+ * entries are precomputed; any other prefix is answered by scanning at most
+ * that many entries into a bounded heap. Lookup cost therefore does not grow
+ * with the number of hotels. A change to one hotel derives a new table in
+ * which only the prefixes of that hotel's keys are ranked again.
+ */
+final class SuggestionTable {
+
+  /**
+   * Longest run that is scanned at query time.
+   */
+  static final int SCAN_LIMIT = 256;
+
+  /**
+   * Cities with more hotels first, then alphabetically.
+   */
+  private static final Comparator<CityEntry> CITY_RANK =
+      Comparator.comparingInt(CityEntry::hotelCount).reversed()
+          .thenComparing(CityEntry::groupKey);
+  /**
+   * Hotels with a higher star rating first, then by name and id.
+   */
+  private static final Comparator<Hotels> HOTEL_RANK =
+      Comparator.comparing(Hotels::getStarRating,
+              Comparator.nullsLast(Comparator.reverseOrder()))
+          .thenComparing(Hotels::getName,
+              Comparator.nullsLast(Comparator.naturalOrder()))
+          .thenComparing(Hotels::getId);
+
+  /**
+   * One entry per distinct city, state and country, keyed by city.
+   */
+  private final RankedRuns<CityEntry> cities;
+  /**
+   * One entry per word-start suffix of every hotel name.
+   */
+  private final RankedRuns<Hotels> hotels;
+
+  /**
+   * A city as offered to the user.
+   *
+   * @param key        normalized city, used for prefix matching
+   * @param groupKey   normalized city, state and country
+   * @param city       city as stored on the lowest-id hotel
+   * @param state      state as stored on the lowest-id hotel
+   * @param country    country as stored on the lowest-id hotel
+   * @param hotelCount number of hotels in the city
+   */
+  record CityEntry(String key, String groupKey, String city, String state,
+                   String country, int hotelCount) {
+  }
+
+  private SuggestionTable(final RankedRuns<CityEntry> cities,
+                          final RankedRuns<Hotels> hotels) {
+    this.cities = cities;
+    this.hotels = hotels;
+  }
+
+  /**
+   * Builds the table.
+   *
+   * @param source     every indexed hotel
+   * @param nameKeys   sorted name suffixes of the search index
+   * @param nameHotels hotel of each name suffix
+   * @return the table
+   */
+  static SuggestionTable build(final Collection<Hotels> source,
+                               final String[] nameKeys,
+                               final Hotels[] nameHotels) {
+    final Map<String, List<Hotels>> byGroup = new TreeMap<>();
+    for (final Hotels h : source) {
+      final String group = groupKey(h);
+      if (group != null) {
+        byGroup.computeIfAbsent(group, g -> new ArrayList<>()).add(h);
+      }
+    }
+    final CityEntry[] entries = new CityEntry[byGroup.size()];
+    int i = 0;
+    for (final Map.Entry<String, List<Hotels>> e : byGroup.entrySet()) {
+      entries[i++] = cityEntry(e.getKey(), e.getValue());
+    }
+    return new SuggestionTable(
+        new RankedRuns<>(cityKeys(entries), entries, CITY_RANK,
+            CityEntry::groupKey),
+        new RankedRuns<>(nameKeys, nameHotels, HOTEL_RANK, Hotels::getId));
+  }
+
+  /**
+   * Derives the table after one hotel changed. The city entries of the
+   * hotel's old and new city are recounted from that city's hotels, and
+   * only the prefixes of the affected city keys and name suffixes are
+   * ranked again.
+   *
+   * @param previous     the hotel as indexed so far, or null if it is new
+   * @param updated      the hotel as indexed now, or null if it is gone
+   * @param cityHotels   hotels of a normalized city in the new index
+   * @param nameKeys     sorted name suffixes of the new index
+   * @param nameHotels   hotel of each name suffix
+   * @param changedNames name suffixes of the previous and updated hotel
+   * @return the table for the new index
+   */
+  SuggestionTable with(final Hotels previous, final Hotels updated,
+                       final Function<String, Hotels[]> cityHotels,
+                       final String[] nameKeys, final Hotels[] nameHotels,
+                       final Set<String> changedNames) {
+    final Set<String> groups = new TreeSet<>();
+    final Set<String> changedCities = new HashSet<>();
+    for (final Hotels h : Arrays.asList(previous, updated)) {
+      final String group = h == null ? null : groupKey(h);
+      if (group != null) {
+        groups.add(group);
+        changedCities.add(HotelSearchIndex.normalize(h.getCity()));
+      }
+    }
+    final List<CityEntry> entries = new ArrayList<>(List.of(cities.values));
+    entries.removeIf(e -> groups.contains(e.groupKey()));
+    for (final String group : groups) {
+      final List<Hotels> members = Arrays.stream(
+              cityHotels.apply(group.substring(0, group.indexOf('\u0000'))))
+          .filter(h -> group.equals(groupKey(h)))
+          .toList();
+      if (!members.isEmpty()) {
+        entries.add(cityEntry(group, members));
+      }
+    }
+    entries.sort(Comparator.comparing(CityEntry::groupKey));
+    final CityEntry[] cityEntries = entries.toArray(new CityEntry[0]);
+    return new SuggestionTable(
+        cities.with(cityKeys(cityEntries), cityEntries, changedCities),
+        hotels.with(nameKeys, nameHotels, changedNames));
+  }
+
+  /**
+   * Normalized city, state and country of a hotel, or null without a city.
+   */
+  private static String groupKey(final Hotels h) {
+    final String city = HotelSearchIndex.normalize(h.getCity());
+    if (city.isEmpty()) {
+      return null;
+    }
+    return city + '\u0000' + HotelSearchIndex.normalize(h.getState())
+        + '\u0000' + HotelSearchIndex.normalize(h.getCountry());
+  }
+
+  /**
+   * City entry of a group, spelled as on its lowest-id hotel.
+   */
+  private static CityEntry cityEntry(final String group,
+                                     final List<Hotels> members) {
+    final Hotels first = members.stream()
+        .min(Comparator.comparing(Hotels::getId)).orElseThrow();
+    return new CityEntry(HotelSearchIndex.normalize(first.getCity()), group,
+        first.getCity().trim(), first.getState(), first.getCountry(),
+        members.size());
+  }
+
+  private static String[] cityKeys(final CityEntry[] entries) {
+    final String[] keys = new String[entries.length];
+    for (int i = 0; i < entries.length; i++) {
+      keys[i] = entries[i].key();
+    }
+    return keys;
+  }
+
+  /**
+   * Best cities starting with the query.
+   *
+   * @param query normalized, non-empty query
+   * @param limit maximum number of entries, at most
+   *              {@link HotelSearchIndex#MAX_SUGGESTIONS}
+   * @return cities in rank order
+   */
+  List<CityEntry> cities(final String query, final int limit) {
+    return cities.top(query, limit);
+  }
+
+  /**
+   * Best hotels with a name word starting with the query.
+   *
+   * @param query normalized, non-empty query
+   * @param limit maximum number of entries, at most
+   *              {@link HotelSearchIndex#MAX_SUGGESTIONS}
+   * @return hotels in rank order
+   */
+  List<Hotels> hotels(final String query, final int limit) {
+    return hotels.top(query, limit);
+  }
+
+  /**
+   * Sorted keys with a ranked value each, plus the precomputed best values
+   * of every prefix whose run exceeds {@link #SCAN_LIMIT}.
+   *
+   * @param <T> value type
+   */
+  private static final class RankedRuns<T> {
+    private final String[] keys;
+    private final T[] values;
+    private final Comparator<T> rank;
+    /**
+     * Identity used to drop repeated values, such as a hotel reached through
+     * two words of its name.
+     */
+    private final Function<T, Object> identity;
+    private final Map<String, List<T>> precomputed;
+
+    RankedRuns(final String[] keys, final T[] values,
+               final Comparator<T> rank, final Function<T, Object> identity) {
+      this.keys = keys;
+      this.values = values;
+      this.rank = rank;
+      this.identity = identity;
+      this.precomputed = Map.copyOf(precompute());
+    }
+
+    private RankedRuns(final String[] keys, final T[] values,
+                       final Comparator<T> rank,
+                       final Function<T, Object> identity,
+                       final Map<String, List<T>> precomputed) {
+      this.keys = keys;
+      this.values = values;
+      this.rank = rank;
+      this.identity = identity;
+      this.precomputed = Map.copyOf(precomputed);
+    }
+
+    /**
+     * Runs over new keys and values that differ from these only in the
+     * given keys. A prefix run only changes if one of those keys starts
+     * with the prefix, so every other precomputed entry is kept.
+     */
+    RankedRuns<T> with(final String[] newKeys, final T[] newValues,
+                       final Set<String> changedKeys) {
+      final RankedRuns<T> next = new RankedRuns<>(newKeys, newValues, rank,
+          identity, Map.of());
+      final Map<String, List<T>> table = new HashMap<>(precomputed);
+      final Set<String> prefixes = new HashSet<>();
+      for (final String key : changedKeys) {
+        for (int len = 1; len <= key.length(); len++) {
+          prefixes.add(key.substring(0, len));
+        }
+      }
+      for (final String prefix : prefixes) {
+        final int from = HotelSearchIndex.lowerBound(newKeys, prefix);
+        int to = from;
+        while (to < newKeys.length && newKeys[to].startsWith(prefix)) {
+          to++;
+        }
+        if (to - from > SCAN_LIMIT) {
+          table.put(prefix,
+              next.best(from, to, HotelSearchIndex.MAX_SUGGESTIONS));
+        } else {
+          table.remove(prefix);
+        }
+      }
+      return new RankedRuns<>(newKeys, newValues, rank, identity, table);
+    }
+
+    /**
+     * Walks the long runs depth first: a run of more than
+     * {@link #SCAN_LIMIT} keys sharing a prefix gets its best values stored
+     * and is split by the next character.
+     */
+    private Map<String, List<T>> precompute() {
+      final Map<String, List<T>> table = new HashMap<>();
+      final Deque<int[]> pending = new ArrayDeque<>();
+      pending.push(new int[] {0, keys.length, 1});
+      while (!pending.isEmpty()) {
+        final int[] run = pending.pop();
+        final int end = run[1];
+        final int len = run[2];
+        int i = run[0];
+        while (i < end) {
+          if (keys[i].length() < len) {
+            i++;
+            continue;
+          }
+          final String prefix = keys[i].substring(0, len);
+          int j = i + 1;
+          while (j < end && keys[j].startsWith(prefix)) {
+            j++;
+          }
+          if (j - i > SCAN_LIMIT) {
+            table.put(prefix, best(i, j, HotelSearchIndex.MAX_SUGGESTIONS));
+            pending.push(new int[] {i, j, len + 1});
+          }
+          i = j;
+        }
+      }
+      return table;
+    }
+
+    List<T> top(final String query, final int limit) {
+      final List<T> ranked = precomputed.get(query);
+      if (ranked != null) {
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+      }
+      final int from = HotelSearchIndex.lowerBound(keys, query);
+      int to = from;
+      while (to < keys.length && keys[to].startsWith(query)) {
+        to++;
+      }
+      return best(from, to, limit);
+    }
+
+    private List<T> best(final int from, final int to, final int limit) {
+      final PriorityQueue<T> heap =
+          new PriorityQueue<>(limit + 1, rank.reversed());
+      final Set<Object> seen = new HashSet<>();
+      for (int i = from; i < to; i++) {
+        if (seen.add(identity.apply(values[i]))) {
+          heap.add(values[i]);
+          if (heap.size() > limit) {
+            heap.poll();
+          }
+        }
+      }
+      final List<T> ranked = new ArrayList<>(heap);
+      ranked.sort(rank);
+      return List.copyOf(ranked);
+    }
+  }
+}
@@ -3,12 +3,19 @@ package com.project.airhotel.reservation.controller;
 import com.project.airhotel.reservation.domain.Reservations;
 import com.project.airhotel.reservation.domain.enums.ReservationStatus;
 import com.project.airhotel.reservation.dto.ApplyUpgradeRequest;
+import com.project.airhotel.reservation.dto.ReservationPage;
 import com.project.airhotel.reservation.dto.ReservationUpdateRequest;
+import com.project.airhotel.reservation.dto.StayWindow;
 import com.project.airhotel.reservation.service.ManagerReservationService;
+import com.project.airhotel.reservation.service.ReservationExportService;
+import com.project.airhotel.reservation.service.ReservationExportService.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.List;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -23,8 +30,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Manager-facing REST controller for reservation operations. Exposes endpoints
- * to list, view, update, upgrade, check in, check out, and cancel reservations
- * for a specific hotel.
+ * to list, export, view, update, upgrade, check in, check out, and cancel
+ * reservations for a specific hotel.
  * Base path: /manager/hotels/{hotelId}/reservations
  * All business logic is delegated to ManagerReservationService.
  */
@@ -37,41 +44,97 @@ public class ManagerReservationController {
    * Application service that implements manager-side reservation use cases.
    */
   private final ManagerReservationService reservationService;
+  /**
+   * Streams reservations for reporting exports.
+   */
+  private final ReservationExportService exportService;
 
   /**
-   * Constructs the controller with its required service dependency.
+   * Constructs the controller with its required service dependencies.
    *
    * @param reservationServ manager reservation application service
+   * @param exportServ      reservation export service
    */
   public ManagerReservationController(
-      final ManagerReservationService reservationServ) {
+      final ManagerReservationService reservationServ,
+      final ReservationExportService exportServ) {
     this.reservationService = reservationServ;
+    this.exportService = exportServ;
   }
 
 
   /**
-   * Lists reservations for a hotel with optional filters. If both status and
-   * date range are provided, both filters apply. If only date range is
-   * provided, results are filtered by stay range. If only status is provided,
-   * results are filtered by status. If no filters are provided, returns all
-   * reservations for the hotel.
+   * Lists one page of reservations for a hotel with optional filters, ordered
+   * by check-in date then id (check-out date then id for departures). If
+   * both status and date range are provided, both filters apply; {@code mode}
+   * selects stays contained in the range (the default), overlapping it
+   * (in-house), arriving or departing within it.
+   * Pass the returned {@code nextCursor} as {@code cursor} to fetch the
+   * following page.
    * GET /manager/hotels/{hotelId}/reservations
    *
    * @param hotelId hotel identifier
    * @param status  optional reservation status filter
-   * @param start   optional start of the stay range in ISO date (inclusive)
-   * @param end     optional end of the stay range in ISO date (exclusive)
-   * @return list of reservations matching the filters
+   * @param mode    how stays are matched against the range
+   * @param start   optional first day of the range in ISO date (inclusive)
+   * @param end     optional last day of the range in ISO date (inclusive)
+   * @param cursor  optional cursor of the page to fetch
+   * @param limit   optional page size, capped by the service
+   * @return the page of reservations matching the filters
    */
   @GetMapping
-  public List<Reservations> list(
+  public ReservationPage list(
+      @PathVariable final Long hotelId,
+      @RequestParam(required = false) final ReservationStatus status,
+      @RequestParam(defaultValue = "CONTAINED") final StayWindow.Mode mode,
+      @RequestParam(required = false) @DateTimeFormat(iso =
+          DateTimeFormat.ISO.DATE) final LocalDate start,
+      @RequestParam(required = false) @DateTimeFormat(iso =
+          DateTimeFormat.ISO.DATE) final LocalDate end,
+      @RequestParam(required = false) final String cursor,
+      @RequestParam(required = false) final Integer limit) {
+    return reservationService.listReservations(hotelId, status, mode, start,
+        end, cursor, limit);
+  }
+
+
+  /**
+   * Streams every reservation of a hotel matching the filters as CSV or
+   * NDJSON, in the order of the listing. Rows are written as they are
+   * read, so the export does not hold the result set in memory.
+   * GET /manager/hotels/{hotelId}/reservations/export
+   *
+   * @param hotelId  hotel identifier
+   * @param status   optional reservation status filter
+   * @param mode     how stays are matched against the range
+   * @param start    optional first day of the range in ISO date (inclusive)
+   * @param end      optional last day of the range in ISO date (inclusive)
+   * @param format   {@code csv} (default) or {@code ndjson}
+   * @param response servlet response the rows are written to
+   * @throws IOException when writing the response fails
+   */
+  @GetMapping("/export")
+  public void export(
       @PathVariable final Long hotelId,
       @RequestParam(required = false) final ReservationStatus status,
+      @RequestParam(defaultValue = "CONTAINED") final StayWindow.Mode mode,
       @RequestParam(required = false) @DateTimeFormat(iso =
           DateTimeFormat.ISO.DATE) final LocalDate start,
       @RequestParam(required = false) @DateTimeFormat(iso =
-          DateTimeFormat.ISO.DATE) final LocalDate end) {
-    return reservationService.listReservations(hotelId, status, start, end);
+          DateTimeFormat.ISO.DATE) final LocalDate end,
+      @RequestParam(defaultValue = "csv") final String format,
+      final HttpServletResponse response) throws IOException {
+    final ExportFormat fmt = ExportFormat.parse(format);
+    // Fail while the error can still be rendered as JSON
+    final StayWindow window = exportService.ensureExportable(hotelId, mode,
+        start, end);
+    response.setContentType(fmt.contentType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+        "attachment; filename=\"reservations-" + hotelId + "."
+            + fmt.extension() + "\"");
+    exportService.export(hotelId, status, window, fmt,
+        response.getOutputStream());
   }
 
 
@@ -1,7 +1,12 @@
 package com.project.airhotel.reservation.controller;
 
+import com.project.airhotel.common.idempotency.IdempotencyStore;
 import com.project.airhotel.config.SpringConfig;
+import com.project.airhotel.reservation.dto.CreateHoldRequest;
 import com.project.airhotel.reservation.dto.CreateReservationRequest;
+import com.project.airhotel.reservation.dto.GroupReservationRequest;
+import com.project.airhotel.reservation.dto.GroupReservationResponse;
+import com.project.airhotel.reservation.dto.InventoryHoldResponse;
 import com.project.airhotel.reservation.dto.PatchReservationRequest;
 import com.project.airhotel.reservation.dto.ReservationDetailResponse;
 import com.project.airhotel.reservation.dto.ReservationSummaryResponse;
@@ -21,6 +26,7 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -48,17 +54,25 @@ public class UserReservationController {
    */
   private final AuthUserService authUserService;
 
+  /**
+   * Makes reservation creation safe to retry under an Idempotency-Key.
+   */
+  private final IdempotencyStore idempotencyStore;
+
   /**
    * Constructs the controller with required dependencies.
    *
    * @param serv         application service for user reservations
    * @param authUserServ service to find or create users by email for session
    *                     binding
+   * @param idemStore    idempotency key store for reservation creation
    */
   public UserReservationController(final UserReservationService serv,
-                                   final AuthUserService authUserServ) {
+                                   final AuthUserService authUserServ,
+                                   final IdempotencyStore idemStore) {
     this.service = serv;
     this.authUserService = authUserServ;
+    this.idempotencyStore = idemStore;
   }
 
   /**
@@ -114,20 +128,107 @@ public class UserReservationController {
   /**
    * Creates a reservation for the current user.
    * POST /reservations
+   * With an {@code Idempotency-Key} header the reservation is created at
+   * most once per key: a retry with the same key and payload returns the
+   * first response with {@code Idempotent-Replayed: true}, and a retry sent
+   * while the first request still runs waits for it.
    *
-   * @param auth    Spring Security authentication
-   * @param request HTTP request used for session access
-   * @param req     creation payload
+   * @param auth           Spring Security authentication
+   * @param request        HTTP request used for session access
+   * @param idempotencyKey optional client-chosen key identifying this attempt
+   * @param req            creation payload
    * @return 201 Created with reservation detail in the response body
    */
   @PostMapping
   public ResponseEntity<ReservationDetailResponse> create(
       final Authentication auth,
       final HttpServletRequest request,
+      @RequestHeader(name = IdempotencyStore.HEADER, required = false)
+      final String idempotencyKey,
       @Valid @RequestBody final CreateReservationRequest req) {
     final Long userId = currentUserId(auth, request);
+    if (idempotencyKey == null) {
+      return ResponseEntity.status(HttpStatus.CREATED)
+          .body(service.createReservation(userId, req));
+    }
+    final IdempotencyStore.Outcome<ReservationDetailResponse> outcome =
+        idempotencyStore.execute(userId, idempotencyKey, req,
+            ReservationDetailResponse.class,
+            () -> service.createReservation(userId, req));
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .header(IdempotencyStore.REPLAYED_HEADER,
+            String.valueOf(outcome.replayed()))
+        .body(outcome.body());
+  }
+
+  /**
+   * Books many rooms at once for the current user, one reservation per room,
+   * either all of them or none.
+   * POST /reservations/group
+   * Honors {@code Idempotency-Key} the same way as single reservations.
+   *
+   * @param auth           Spring Security authentication
+   * @param request        HTTP request used for session access
+   * @param idempotencyKey optional client-chosen key identifying this attempt
+   * @param req            group booking payload
+   * @return 201 Created with the created reservations in the response body
+   */
+  @PostMapping("/group")
+  public ResponseEntity<GroupReservationResponse> createGroup(
+      final Authentication auth,
+      final HttpServletRequest request,
+      @RequestHeader(name = IdempotencyStore.HEADER, required = false)
+      final String idempotencyKey,
+      @Valid @RequestBody final GroupReservationRequest req) {
+    final Long userId = currentUserId(auth, request);
+    if (idempotencyKey == null) {
+      return ResponseEntity.status(HttpStatus.CREATED)
+          .body(service.createGroupReservation(userId, req));
+    }
+    final IdempotencyStore.Outcome<GroupReservationResponse> outcome =
+        idempotencyStore.execute(userId, idempotencyKey, req,
+            GroupReservationResponse.class,
+            () -> service.createGroupReservation(userId, req));
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .header(IdempotencyStore.REPLAYED_HEADER,
+            String.valueOf(outcome.replayed()))
+        .body(outcome.body());
+  }
+
+  /**
+   * Holds one room for the current user during checkout. The hold expires
+   * on its own unless converted by creating the reservation with its id.
+   * POST /reservations/holds
+   *
+   * @param auth    Spring Security authentication
+   * @param request HTTP request used for session access
+   * @param req     hotel, room type and stay to hold
+   * @return 201 Created with the hold and its expiry
+   */
+  @PostMapping("/holds")
+  public ResponseEntity<InventoryHoldResponse> createHold(
+      final Authentication auth,
+      final HttpServletRequest request,
+      @Valid @RequestBody final CreateHoldRequest req) {
     return ResponseEntity.status(HttpStatus.CREATED)
-        .body(service.createReservation(userId, req));
+        .body(service.createHold(currentUserId(auth, request), req));
+  }
+
+  /**
+   * Releases a hold of the current user.
+   * DELETE /reservations/holds/{holdId}
+   *
+   * @param auth    Spring Security authentication
+   * @param request HTTP request used for session access
+   * @param holdId  hold identifier
+   * @return 204 No Content
+   */
+  @DeleteMapping("/holds/{holdId}")
+  public ResponseEntity<Void> releaseHold(final Authentication auth,
+                                          final HttpServletRequest request,
+                                          @PathVariable final Long holdId) {
+    service.releaseHold(currentUserId(auth, request), holdId);
+    return ResponseEntity.noContent().build();
   }
 
   /**
@@ -0,0 +1,86 @@
+package com.project.airhotel.reservation.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * Short-lived hold on one room of a room type for a stay, taken while the
+ * guest checks out. Each night of the stay counts one room as blocked in
+ * room_type_inventory until the hold is converted into a reservation,
+ * released by the guest or expired by the reaper. The row is deleted in all
+ * three cases, so every row still present is backing a blocked room.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "inventory_holds", indexes = {
+    @Index(name = "idx_hold_expires_at", columnList = "expires_at"),
+    @Index(name = "idx_hold_user_expires_at",
+        columnList = "user_id, expires_at")
+})
+public class InventoryHolds {
+
+  /**
+   * Surrogate primary key.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /**
+   * User who owns the hold.
+   */
+  @Column(nullable = false)
+  private Long userId;
+
+  /**
+   * Hotel of the held room type.
+   */
+  @Column(nullable = false)
+  private Long hotelId;
+
+  /**
+   * Held room type.
+   */
+  @Column(nullable = false)
+  private Long roomTypeId;
+
+  /**
+   * First night held.
+   */
+  @Column(nullable = false)
+  private LocalDate checkInDate;
+
+  /**
+   * Day after the last night held.
+   */
+  @Column(nullable = false)
+  private LocalDate checkOutDate;
+
+  /**
+   * Time after which the reaper releases the hold.
+   */
+  @Column(nullable = false)
+  private LocalDateTime expiresAt;
+
+  /**
+   * Creation time.
+   */
+  @CreationTimestamp
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+}
@@ -10,6 +10,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import java.math.BigDecimal;
@@ -33,6 +34,14 @@ import org.hibernate.annotations.CreationTimestamp;
 @Table(name = "reservations", uniqueConstraints = {
     @UniqueConstraint(name = "uq_res_client_src_code", columnNames = {
         "client_id", "source_reservation_code"})
+}, indexes = {
+    @Index(name = "idx_res_hotel_checkin_id",
+        columnList = "hotel_id, check_in_date, id"),
+    @Index(name = "idx_res_hotel_status_checkin_id",
+        columnList = "hotel_id, status, check_in_date, id"),
+    @Index(name = "idx_res_hotel_checkout_id",
+        columnList = "hotel_id, check_out_date, id"),
+    @Index(name = "idx_res_hotel_nights", columnList = "hotel_id, nights")
 })
 public class Reservations {
   /**
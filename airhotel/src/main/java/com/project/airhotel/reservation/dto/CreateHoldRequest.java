@@ -0,0 +1,56 @@
+package com.project.airhotel.reservation.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import lombok.Data;
+
+/**
+ * Command object for holding one room of a room type while the guest checks
+ * out. Pass the returned hold id as {@code holdId} when creating the
+ * reservation for the same hotel, room type and dates.
+ */
+@Data
+@Schema(name = "CreateHoldRequest", description = "hold a room during "
+    + "checkout")
+public class CreateHoldRequest {
+
+  /**
+   * Target hotel identifier.
+   */
+  @Schema(description = "hotel ID", example = "1", requiredMode =
+      Schema.RequiredMode.REQUIRED)
+  @NotNull(message = "hotelId cannot be null")
+  private Long hotelId;
+
+  /**
+   * Target room type identifier.
+   */
+  @Schema(description = "room type ID", example = "1", requiredMode =
+      Schema.RequiredMode.REQUIRED)
+  @NotNull(message = "roomTypeId cannot be null")
+  private Long roomTypeId;
+
+  /**
+   * Check-in date in ISO format yyyy-MM-dd.
+   */
+  @Schema(description = "check in date", example = "2025-11-01",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @NotNull(message = "checkInDate cannot be null")
+  @FutureOrPresent(message = "checkInDate must be today or future")
+  @JsonFormat(pattern = "yyyy-MM-dd")
+  private LocalDate checkInDate;
+
+  /**
+   * Check-out date in ISO format yyyy-MM-dd, strictly after checkInDate.
+   */
+  @Schema(description = "check out date", example = "2025-11-03",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @NotNull(message = "checkOutDate cannot be null")
+  @Future(message = "checkOutDate must be in the future")
+  @JsonFormat(pattern = "yyyy-MM-dd")
+  private LocalDate checkOutDate;
+}
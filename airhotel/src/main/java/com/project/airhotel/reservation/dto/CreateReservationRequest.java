@@ -104,4 +104,13 @@ public class CreateReservationRequest {
   @Schema(description = "source reservation code if booked through third "
       + "party", example = "87J2GF")
   private String sourceReservationCode;
+
+  /**
+   * Optional hold taken for this stay. A live hold is converted into the
+   * reservation instead of reserving availability again; a hold that is
+   * gone falls back to a regular booking.
+   */
+  @Schema(description = "hold to convert into this reservation", example =
+      "42")
+  private Long holdId;
 }
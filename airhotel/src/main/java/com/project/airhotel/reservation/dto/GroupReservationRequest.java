@@ -0,0 +1,120 @@
+package com.project.airhotel.reservation.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Command object for a group or block booking: many rooms of one or more room
+ * types in the same hotel, booked together. Every line asks for a number of
+ * identical rooms of one room type and stay; each room becomes its own
+ * reservation. Either all rooms are booked or none is.
+ */
+@Data
+@Schema(name = "GroupReservationRequest", description = "book many rooms at "
+    + "once")
+public class GroupReservationRequest {
+
+  /**
+   * Maximum number of rooms in one group booking, over all lines.
+   */
+  public static final int MAX_ROOMS = 500;
+
+  /**
+   * Maximum number of lines in one group booking.
+   */
+  private static final int MAX_LINES = 100;
+
+  /**
+   * Target hotel identifier.
+   */
+  @Schema(description = "hotel ID", example = "1", requiredMode =
+      Schema.RequiredMode.REQUIRED)
+  @NotNull(message = "hotelId cannot be null")
+  private Long hotelId;
+
+  /**
+   * Currency ISO 4217 code (3 uppercase letters) of every reservation.
+   */
+  @Schema(description = "currency used to pay the invoice", example = "USD",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @Pattern(regexp = "^[A-Z]{3}$", message = "currency must be a 3-letter ISO "
+      + "code")
+  @NotNull(message = "currency cannot be null")
+  private String currency;
+
+  /**
+   * Rooms to book, grouped into lines of identical rooms.
+   */
+  @Schema(requiredMode = Schema.RequiredMode.REQUIRED)
+  @NotEmpty(message = "rooms cannot be empty")
+  @Size(max = MAX_LINES, message = "at most 100 room lines per group")
+  @Valid
+  private List<Line> rooms;
+
+  /**
+   * A number of rooms of one room type for one stay.
+   */
+  @Data
+  @Schema(name = "GroupReservationLine")
+  public static class Line {
+
+    /**
+     * Room type identifier.
+     */
+    @Schema(description = "room type ID", example = "1", requiredMode =
+        Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "roomTypeId cannot be null")
+    private Long roomTypeId;
+
+    /**
+     * Number of rooms of this line.
+     */
+    @Schema(description = "number of rooms", example = "20", requiredMode =
+        Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "quantity cannot be null")
+    @Min(value = 1, message = "quantity must be at least 1")
+    @Max(value = MAX_ROOMS, message = "quantity must be at most 500")
+    private Integer quantity;
+
+    /**
+     * Check-in date in ISO format yyyy-MM-dd.
+     */
+    @Schema(description = "check in date", example = "2025-11-01",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "checkInDate cannot be null")
+    @FutureOrPresent(message = "checkInDate must be today or future")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate checkInDate;
+
+    /**
+     * Check-out date in ISO format yyyy-MM-dd, strictly after checkInDate.
+     */
+    @Schema(description = "check out date", example = "2025-11-03",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "checkOutDate cannot be null")
+    @Future(message = "checkOutDate must be in the future")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate checkOutDate;
+
+    /**
+     * Number of guests in each room of this line.
+     */
+    @Schema(description = "guests per room", example = "2", requiredMode =
+        Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "numGuests cannot be null")
+    @Min(value = 1, message = "numGuests must be at least 1")
+    private Integer numGuests;
+  }
+}
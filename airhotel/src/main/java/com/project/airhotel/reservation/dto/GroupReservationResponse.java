@@ -0,0 +1,25 @@
+package com.project.airhotel.reservation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a group booking: one reservation per booked room, in the order of
+ * the request lines, and the price of all of them together.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "GroupReservationResponse")
+public class GroupReservationResponse {
+
+  /** Created reservations, one per room. */
+  private List<ReservationDetailResponse> reservations;
+
+  /** Sum of the price of every reservation. */
+  private BigDecimal priceTotal;
+}
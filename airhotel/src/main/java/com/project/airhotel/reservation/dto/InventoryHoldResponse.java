@@ -0,0 +1,36 @@
+package com.project.airhotel.reservation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A room held for the current user until {@code expiresAt}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "InventoryHoldResponse")
+public class InventoryHoldResponse {
+
+  /** Hold identifier, passed as holdId when creating the reservation. */
+  private Long id;
+
+  /** Hotel of the held room. */
+  private Long hotelId;
+
+  /** Held room type. */
+  private Long roomTypeId;
+
+  /** First night held. */
+  private LocalDate checkInDate;
+
+  /** Day after the last night held. */
+  private LocalDate checkOutDate;
+
+  /** Time the hold lapses, in UTC. */
+  private Instant expiresAt;
+}
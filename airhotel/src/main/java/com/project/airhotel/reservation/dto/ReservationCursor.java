@@ -0,0 +1,68 @@
+package com.project.airhotel.reservation.dto;
+
+import com.project.airhotel.common.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the manager reservation listing: the sort date and id
+ * of the last reservation already returned. The sort date is the check-in
+ * date, or the check-out date for windows listed by check-out (see
+ * {@link StayWindow#byCheckOut()}). Serialized as an opaque URL-safe string.
+ *
+ * @param date sort date of the last returned reservation
+ * @param id   id of the last returned reservation
+ */
+public record ReservationCursor(LocalDate date, Long id) {
+
+  /**
+   * Cursor pointing after the given list item.
+   *
+   * @param item   last item of a page
+   * @param window date filter of the listing, which decides the sort date
+   * @return the cursor of the following page
+   */
+  public static ReservationCursor after(final ReservationListItem item,
+                                        final StayWindow window) {
+    return new ReservationCursor(window.byCheckOut() ? item.getCheckOutDate()
+        : item.getCheckInDate(), item.getId());
+  }
+
+  /**
+   * Serializes the cursor.
+   *
+   * @return opaque URL-safe cursor string
+   */
+  public String encode() {
+    final String raw = date + ":" + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Parses a cursor produced by {@link #encode()}.
+   *
+   * @param cursor cursor string, may be null or blank
+   * @return the decoded cursor, or null for the first page
+   * @throws BadRequestException when the cursor is malformed
+   */
+  public static ReservationCursor decode(final String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      final String raw = new String(Base64.getUrlDecoder().decode(cursor),
+          StandardCharsets.UTF_8);
+      final int sep = raw.indexOf(':');
+      if (sep < 0) {
+        throw new BadRequestException("Invalid cursor.");
+      }
+      return new ReservationCursor(LocalDate.parse(raw.substring(0, sep)),
+          Long.valueOf(raw.substring(sep + 1)));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new BadRequestException("Invalid cursor.");
+    }
+  }
+}
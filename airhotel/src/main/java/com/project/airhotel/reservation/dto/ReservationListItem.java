@@ -0,0 +1,64 @@
+package com.project.airhotel.reservation.dto;
+
+import com.project.airhotel.reservation.domain.enums.ReservationStatus;
+import com.project.airhotel.reservation.domain.enums.UpgradeStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of the manager reservation listing, projected directly by the
+ * query instead of loading full reservation entities.
+ *
+ * <p>Field order matches the constructor expression used by
+ * {@code ReservationsRepository.findPageByHotelId}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ReservationListItem")
+public class ReservationListItem {
+
+  /** Reservation identifier. */
+  private Long id;
+
+  /** Guest user id, if known. */
+  private Long userId;
+
+  /** Reserved room type id. */
+  private Long roomTypeId;
+
+  /** Assigned room id, if allocated. */
+  private Long roomId;
+
+  /** Current reservation status. */
+  private ReservationStatus status;
+
+  /** Upgrade workflow status. */
+  private UpgradeStatus upgradeStatus;
+
+  /** Check-in date (ISO yyyy-MM-dd). */
+  private LocalDate checkInDate;
+
+  /** Check-out date (ISO yyyy-MM-dd). */
+  private LocalDate checkOutDate;
+
+  /** Number of nights for the stay. */
+  private Integer nights;
+
+  /** Number of guests. */
+  private Integer numGuests;
+
+  /** ISO 4217 currency code. */
+  private String currency;
+
+  /** Total price for the reservation. */
+  private BigDecimal priceTotal;
+
+  /** Creation timestamp of the reservation. */
+  private LocalDateTime createdAt;
+}
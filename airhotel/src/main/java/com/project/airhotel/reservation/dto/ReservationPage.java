@@ -0,0 +1,25 @@
+package com.project.airhotel.reservation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of the manager reservation listing, ordered by check-in date and
+ * id. Pass {@code nextCursor} back as {@code cursor} to fetch the next page;
+ * it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ReservationPage")
+public class ReservationPage {
+
+  /** Reservations on this page. */
+  private List<ReservationListItem> items;
+
+  /** Opaque cursor of the next page, or null when there is none. */
+  private String nextCursor;
+}
@@ -0,0 +1,104 @@
+package com.project.airhotel.reservation.dto;
+
+import com.project.airhotel.common.exception.BadRequestException;
+import java.time.LocalDate;
+import java.util.function.IntSupplier;
+
+/**
+ * Date filter of the manager reservation listing and export, as half-open
+ * bounds on check-in and check-out: {@code checkInFrom <= check_in_date <
+ * checkInBefore} and {@code checkOutFrom <= check_out_date <
+ * checkOutBefore}. A null bound is not applied. Every {@link Mode} maps onto
+ * these bounds so one index-friendly query serves all of them.
+ *
+ * @param checkInFrom    inclusive lower bound of check-in, or null
+ * @param checkInBefore  exclusive upper bound of check-in, or null
+ * @param checkOutFrom   inclusive lower bound of check-out, or null
+ * @param checkOutBefore exclusive upper bound of check-out, or null
+ */
+public record StayWindow(LocalDate checkInFrom, LocalDate checkInBefore,
+                         LocalDate checkOutFrom, LocalDate checkOutBefore) {
+
+  /**
+   * Window that matches every reservation.
+   */
+  public static final StayWindow ANY = new StayWindow(null, null, null, null);
+
+  /**
+   * How a reservation is matched against the requested date range
+   * [start, end]. Both dates are inclusive.
+   */
+  public enum Mode {
+    /**
+     * Stays that lie entirely inside the range: check-in on or after start
+     * and check-out on or before end.
+     */
+    CONTAINED,
+    /**
+     * Stays with at least one night inside the range: check-in on or before
+     * end and check-out after start. With start equal to end this is the
+     * in-house list for that night.
+     */
+    OVERLAPPING,
+    /**
+     * Stays checking in within the range.
+     */
+    ARRIVALS,
+    /**
+     * Stays checking out within the range.
+     */
+    DEPARTURES
+  }
+
+  /**
+   * Builds the window of a mode and date range. The range applies only when
+   * both bounds are given; otherwise every stay matches. Overlapping stays
+   * are additionally bounded below on check-in by the hotel's longest stay:
+   * a stay of at most {@code n} nights that is still in-house on
+   * {@code start} checked in no earlier than {@code start - (n - 1)}. That
+   * keeps the query a range scan on (hotel_id, check_in_date) whose length
+   * follows the result size rather than the hotel's whole history.
+   *
+   * @param mode        match mode; {@link Mode#CONTAINED} when null
+   * @param start       optional first day of the range, inclusive
+   * @param end         optional last day of the range, inclusive
+   * @param longestStay supplies the longest stay of the hotel in nights, or
+   *                    0 when it has none; read only for
+   *                    {@link Mode#OVERLAPPING}
+   * @return the window
+   * @throws BadRequestException if start is after end
+   */
+  public static StayWindow of(final Mode mode,
+                              final LocalDate start,
+                              final LocalDate end,
+                              final IntSupplier longestStay) {
+    if (start == null || end == null) {
+      return ANY;
+    }
+    if (start.isAfter(end)) {
+      throw new BadRequestException("start must not be after end.");
+    }
+    final LocalDate dayAfterEnd = end.plusDays(1);
+    return switch (mode == null ? Mode.CONTAINED : mode) {
+      case CONTAINED -> new StayWindow(start, null, null, dayAfterEnd);
+      case OVERLAPPING -> new StayWindow(
+          start.minusDays(Math.max(longestStay.getAsInt(), 1) - 1L),
+          dayAfterEnd, start.plusDays(1), null);
+      case ARRIVALS -> new StayWindow(start, dayAfterEnd, null, null);
+      case DEPARTURES -> new StayWindow(null, null, start, dayAfterEnd);
+    };
+  }
+
+  /**
+   * Whether the window bounds check-out only, as for departures. Such a
+   * window is listed in (check-out date, id) order, so that its pages are
+   * range scans on (hotel_id, check_out_date, id) rather than scans of every
+   * check-in.
+   *
+   * @return true if only check-out bounds apply
+   */
+  public boolean byCheckOut() {
+    return checkInFrom == null && checkInBefore == null
+        && (checkOutFrom != null || checkOutBefore != null);
+  }
+}
@@ -0,0 +1,71 @@
+package com.project.airhotel.reservation.repository;
+
+import com.project.airhotel.reservation.domain.InventoryHolds;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for InventoryHolds. A hold is claimed by
+ * deleting its row: whoever deletes it, whether conversion, release or the
+ * reaper, is the only one that gives its blocked rooms back or turns them
+ * into a reservation.
+ */
+@Repository
+public interface InventoryHoldsRepository
+    extends JpaRepository<InventoryHolds, Long> {
+
+  /**
+   * Finds a hold owned by the user.
+   *
+   * @param id     hold identifier
+   * @param userId owner identifier
+   * @return the hold if it exists and belongs to the user
+   */
+  Optional<InventoryHolds> findByIdAndUserId(Long id, Long userId);
+
+  /**
+   * Counts the user's holds that have not expired yet.
+   *
+   * @param userId owner identifier
+   * @param now    current time
+   * @return number of live holds
+   */
+  long countByUserIdAndExpiresAtAfter(Long userId, LocalDateTime now);
+
+  /**
+   * Deletes a hold, which claims it for the caller. Waits while the reaper
+   * has the row locked, and then finds nothing to delete.
+   *
+   * @param id hold identifier
+   * @return 1 if the caller claimed the hold, otherwise 0
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("delete from InventoryHolds h where h.id = :id")
+  int claim(@Param("id") Long id);
+
+  /**
+   * Locks the oldest expired holds, in id order, for the reaper.
+   *
+   * @param now      current time
+   * @param pageable batch size
+   * @return expired holds, locked until the transaction ends
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("""
+      select h
+        from InventoryHolds h
+       where h.expiresAt <= :now
+       order by h.id
+      """)
+  List<InventoryHolds> findExpiredForUpdate(@Param("now") LocalDateTime now,
+                                            Pageable pageable);
+}
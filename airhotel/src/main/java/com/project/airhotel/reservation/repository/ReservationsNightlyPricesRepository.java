@@ -0,0 +1,24 @@
+package com.project.airhotel.reservation.repository;
+
+import com.project.airhotel.reservation.domain.ReservationsNightlyPrices;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the nightly price snapshot of reservations.
+ */
+@Repository
+public interface ReservationsNightlyPricesRepository
+    extends JpaRepository<ReservationsNightlyPrices, Long>,
+    ReservationsNightlyPricesRepositoryCustom {
+
+  /**
+   * Snapshot rows of one reservation.
+   *
+   * @param reservationId reservation id
+   * @return rows ordered by stay date
+   */
+  List<ReservationsNightlyPrices> findByReservationIdOrderByStayDateAsc(
+      Long reservationId);
+}
@@ -0,0 +1,29 @@
+package com.project.airhotel.reservation.repository;
+
+import com.project.airhotel.reservation.domain.ReservationsNightlyPrices;
+import java.util.Collection;
+
+/**
+ * Batched writes of nightly price snapshot rows, which entity saves cannot
+ * batch.
+ */
+public interface ReservationsNightlyPricesRepositoryCustom {
+
+  /**
+   * Inserts the rows in one JDBC batch. Ids of the given rows are ignored
+   * and not populated.
+   *
+   * @param rows rows to insert
+   * @return number of rows inserted
+   */
+  int insertAll(Collection<ReservationsNightlyPrices> rows);
+
+  /**
+   * Overwrites room type, price, discount, tax and currency of existing rows,
+   * identified by id, in one JDBC batch.
+   *
+   * @param rows rows to update
+   * @return number of rows updated
+   */
+  int updateAll(Collection<ReservationsNightlyPrices> rows);
+}
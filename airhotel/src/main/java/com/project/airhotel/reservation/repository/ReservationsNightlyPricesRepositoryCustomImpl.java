@@ -0,0 +1,77 @@
+package com.project.airhotel.reservation.repository;
+
+import com.project.airhotel.reservation.domain.ReservationsNightlyPrices;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC-backed implementation of
+ * {@link ReservationsNightlyPricesRepositoryCustom}. Hibernate cannot batch
+ * inserts of entities with IDENTITY ids, so snapshot rows are written with a
+ * plain JDBC batch, which the MySQL driver rewrites into multi-row statements.
+ */
+@RequiredArgsConstructor
+public class ReservationsNightlyPricesRepositoryCustomImpl
+    implements ReservationsNightlyPricesRepositoryCustom {
+
+  private static final String INSERT_SQL = """
+      INSERT INTO reservations_nightly_prices
+          (reservation_id, stay_date, room_type_id, price, discount, tax,
+           currency)
+      VALUES (?, ?, ?, ?, ?, ?, ?)
+      """;
+
+  private static final String UPDATE_SQL = """
+      UPDATE reservations_nightly_prices
+      SET room_type_id = ?, price = ?, discount = ?, tax = ?, currency = ?
+      WHERE id = ?
+      """;
+
+  /**
+   * JDBC access bound to the same transactional data source as JPA.
+   */
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public int insertAll(final Collection<ReservationsNightlyPrices> rows) {
+    if (rows.isEmpty()) {
+      return 0;
+    }
+    final List<Object[]> args = new ArrayList<>(rows.size());
+    for (final ReservationsNightlyPrices p : rows) {
+      args.add(new Object[] {p.getReservationId(),
+          Date.valueOf(p.getStayDate()), p.getRoomTypeId(), p.getPrice(),
+          p.getDiscount(), p.getTax(), p.getCurrency()});
+    }
+    return sum(jdbcTemplate.batchUpdate(INSERT_SQL, args), rows.size());
+  }
+
+  @Override
+  public int updateAll(final Collection<ReservationsNightlyPrices> rows) {
+    if (rows.isEmpty()) {
+      return 0;
+    }
+    final List<Object[]> args = new ArrayList<>(rows.size());
+    for (final ReservationsNightlyPrices p : rows) {
+      args.add(new Object[] {p.getRoomTypeId(), p.getPrice(), p.getDiscount(),
+          p.getTax(), p.getCurrency(), p.getId()});
+    }
+    return sum(jdbcTemplate.batchUpdate(UPDATE_SQL, args), rows.size());
+  }
+
+  private static int sum(final int[] counts, final int expected) {
+    int total = 0;
+    for (final int n : counts) {
+      if (n < 0) {
+        // SUCCESS_NO_INFO (-2) from rewritten batches: all rows were written
+        return expected;
+      }
+      total += n;
+    }
+    return total;
+  }
+}
@@ -2,8 +2,10 @@ package com.project.airhotel.reservation.repository;
 
 import com.project.airhotel.reservation.domain.Reservations;
 import com.project.airhotel.reservation.domain.enums.ReservationStatus;
+import com.project.airhotel.reservation.dto.ReservationListItem;
 import java.time.LocalDate;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,72 +19,112 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface ReservationsRepository extends JpaRepository<Reservations,
-    Long> {
+    Long>, ReservationsRepositoryCustom {
 
   /**
-   * Returns all reservations under a given hotel.
+   * Returns the longest stay booked at a hotel, in nights. Backed by
+   * (hotel_id, nights), so it is a single index lookup; it bounds the
+   * check-in scan of overlapping-stay queries (see {@link
+   * com.project.airhotel.reservation.dto.StayWindow}).
    *
    * @param hotelId hotel identifier
-   * @return list of reservations for the hotel
+   * @return the largest nights value, or 0 when the hotel has none
    */
-  @Query("SELECT r FROM Reservations r WHERE r.hotelId = :hotelId")
-  List<Reservations> findByHotelId(@Param("hotelId") Long hotelId);
+  @Query("SELECT COALESCE(MAX(r.nights), 0) FROM Reservations r"
+      + " WHERE r.hotelId = :hotelId")
+  int findMaxNightsByHotelId(@Param("hotelId") Long hotelId);
 
   /**
-   * Returns reservations under a given hotel filtered by status.
+   * Returns one keyset page of a hotel's reservations as list items, ordered
+   * by check-in date then id. Rows strictly after ({@code afterCheckIn},
+   * {@code afterId}) are returned, so each page is an index range scan on
+   * (hotel_id, check_in_date, id) or (hotel_id, status, check_in_date, id)
+   * regardless of how deep the caller has paged. Null filters are ignored.
+   * The four date bounds are those of a
+   * {@link com.project.airhotel.reservation.dto.StayWindow}; a window
+   * bounded on check-out only (departures) is served by
+   * {@link #findDeparturePageByHotelId} instead.
    *
-   * @param hotelId hotel identifier
-   * @param status  reservation status filter
-   * @return list of reservations for the hotel and status
-   */
-  @Query("SELECT r FROM Reservations r WHERE r.hotelId = :hotelId AND r"
-      + ".status = :status")
-  List<Reservations> findByHotelIdAndStatus(
-      @Param("hotelId") Long hotelId,
-      @Param("status") ReservationStatus status);
-
-  /**
-   * Returns reservations under a hotel within a stay range. Both bounds apply
-   * to check-in and check-out respectively: check_in_date >= start and
-   * check_out_date <= end.
-   *
-   * @param hotelId hotel identifier
-   * @param start   inclusive start date of stay range
-   * @param end     inclusive end date of stay range
-   * @return list of reservations in the date window
+   * @param hotelId        hotel identifier
+   * @param status         optional reservation status filter
+   * @param checkInFrom    optional inclusive lower bound of check-in
+   * @param checkInBefore  optional exclusive upper bound of check-in
+   * @param checkOutFrom   optional inclusive lower bound of check-out
+   * @param checkOutBefore optional exclusive upper bound of check-out
+   * @param afterCheckIn   check-in date of the last row of the previous page,
+   *                       or null for the first page
+   * @param afterId        id of the last row of the previous page
+   * @param page           page request carrying only the page size
+   * @return up to {@code page.getPageSize()} list items
    */
   @Query("""
-      SELECT r FROM Reservations r
-      WHERE r.hotelId = :hotelId
-        AND r.checkInDate >= :start
-        AND r.checkOutDate <= :end
+      SELECT new com.project.airhotel.reservation.dto.ReservationListItem(
+               r.id, r.userId, r.roomTypeId, r.roomId, r.status,
+               r.upgradeStatus, r.checkInDate, r.checkOutDate, r.nights,
+               r.numGuests, r.currency, r.priceTotal, r.createdAt)
+        FROM Reservations r
+       WHERE r.hotelId = :hotelId
+         AND (:status IS NULL OR r.status = :status)
+         AND (:checkInFrom IS NULL OR r.checkInDate >= :checkInFrom)
+         AND (:checkInBefore IS NULL OR r.checkInDate < :checkInBefore)
+         AND (:checkOutFrom IS NULL OR r.checkOutDate >= :checkOutFrom)
+         AND (:checkOutBefore IS NULL OR r.checkOutDate < :checkOutBefore)
+         AND (:afterCheckIn IS NULL
+              OR r.checkInDate > :afterCheckIn
+              OR (r.checkInDate = :afterCheckIn AND r.id > :afterId))
+       ORDER BY r.checkInDate ASC, r.id ASC
       """)
-  List<Reservations> findByHotelIdAndStayRange(@Param("hotelId") Long hotelId,
-                                               @Param("start") LocalDate start,
-                                               @Param("end") LocalDate end);
+  List<ReservationListItem> findPageByHotelId(
+      @Param("hotelId") Long hotelId,
+      @Param("status") ReservationStatus status,
+      @Param("checkInFrom") LocalDate checkInFrom,
+      @Param("checkInBefore") LocalDate checkInBefore,
+      @Param("checkOutFrom") LocalDate checkOutFrom,
+      @Param("checkOutBefore") LocalDate checkOutBefore,
+      @Param("afterCheckIn") LocalDate afterCheckIn,
+      @Param("afterId") Long afterId,
+      Pageable page);
 
   /**
-   * Returns reservations under a hotel filtered by status and stay range.
-   * Applies the same date window semantics as findByHotelIdAndStayRange.
+   * Returns one keyset page of a hotel's reservations that check out within
+   * the given bounds, ordered by check-out date then id. Rows strictly after
+   * ({@code afterCheckOut}, {@code afterId}) are returned, so each page is an
+   * index range scan on (hotel_id, check_out_date, id) regardless of how
+   * deep the caller has paged. Null filters are ignored.
    *
-   * @param hotelId hotel identifier
-   * @param status  reservation status filter
-   * @param start   inclusive start date of stay range
-   * @param end     exclusive end date of stay range
-   * @return list of reservations matching hotel, status, and date window
+   * @param hotelId        hotel identifier
+   * @param status         optional reservation status filter
+   * @param checkOutFrom   optional inclusive lower bound of check-out
+   * @param checkOutBefore optional exclusive upper bound of check-out
+   * @param afterCheckOut  check-out date of the last row of the previous
+   *                       page, or null for the first page
+   * @param afterId        id of the last row of the previous page
+   * @param page           page request carrying only the page size
+   * @return up to {@code page.getPageSize()} list items
    */
   @Query("""
-      SELECT r FROM Reservations r
-      WHERE r.hotelId = :hotelId
-        AND r.status = :status
-        AND r.checkInDate >= :start
-        AND r.checkOutDate <= :end
+      SELECT new com.project.airhotel.reservation.dto.ReservationListItem(
+               r.id, r.userId, r.roomTypeId, r.roomId, r.status,
+               r.upgradeStatus, r.checkInDate, r.checkOutDate, r.nights,
+               r.numGuests, r.currency, r.priceTotal, r.createdAt)
+        FROM Reservations r
+       WHERE r.hotelId = :hotelId
+         AND (:status IS NULL OR r.status = :status)
+         AND (:checkOutFrom IS NULL OR r.checkOutDate >= :checkOutFrom)
+         AND (:checkOutBefore IS NULL OR r.checkOutDate < :checkOutBefore)
+         AND (:afterCheckOut IS NULL
+              OR r.checkOutDate > :afterCheckOut
+              OR (r.checkOutDate = :afterCheckOut AND r.id > :afterId))
+       ORDER BY r.checkOutDate ASC, r.id ASC
       """)
-  List<Reservations> findByHotelIdAndStatusAndStayRange(
+  List<ReservationListItem> findDeparturePageByHotelId(
       @Param("hotelId") Long hotelId,
       @Param("status") ReservationStatus status,
-      @Param("start") LocalDate start,
-      @Param("end") LocalDate end);
+      @Param("checkOutFrom") LocalDate checkOutFrom,
+      @Param("checkOutBefore") LocalDate checkOutBefore,
+      @Param("afterCheckOut") LocalDate afterCheckOut,
+      @Param("afterId") Long afterId,
+      Pageable page);
 
   /**
    * Returns all reservations owned by a given user.
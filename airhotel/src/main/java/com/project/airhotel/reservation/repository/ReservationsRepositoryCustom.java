@@ -0,0 +1,20 @@
+package com.project.airhotel.reservation.repository;
+
+import com.project.airhotel.reservation.domain.Reservations;
+import java.util.List;
+
+/**
+ * Batched inserts of new reservations, which entity saves cannot batch.
+ */
+public interface ReservationsRepositoryCustom {
+
+  /**
+   * Inserts the reservations in one JDBC batch and assigns the generated ids
+   * to the given objects. Creation time is set to now when absent. The
+   * objects are not attached to the persistence context.
+   *
+   * @param reservations new reservations, without id
+   * @return the same reservations, with ids
+   */
+  List<Reservations> insertAll(List<Reservations> reservations);
+}
@@ -0,0 +1,104 @@
+package com.project.airhotel.reservation.repository;
+
+import com.project.airhotel.reservation.domain.Reservations;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+/**
+ * JDBC-backed implementation of {@link ReservationsRepositoryCustom}.
+ * Hibernate cannot batch inserts of entities with IDENTITY ids, so group
+ * bookings write their reservations with a plain JDBC batch, which the MySQL
+ * driver rewrites into multi-row statements, and read the ids back from the
+ * generated keys.
+ */
+@RequiredArgsConstructor
+public class ReservationsRepositoryCustomImpl
+    implements ReservationsRepositoryCustom {
+
+  private static final String INSERT_SQL = """
+      INSERT INTO reservations
+          (client_id, user_id, hotel_id, room_type_id, room_id, status,
+           check_in_date, check_out_date, nights, num_guests, currency,
+           price_total, source_reservation_code, upgrade_status, notes,
+           created_at)
+      VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+      """;
+
+  /**
+   * JDBC access bound to the same transactional data source as JPA.
+   */
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public List<Reservations> insertAll(final List<Reservations> reservations) {
+    if (reservations.isEmpty()) {
+      return reservations;
+    }
+    final LocalDateTime now = LocalDateTime.now();
+    for (final Reservations r : reservations) {
+      if (r.getCreatedAt() == null) {
+        r.setCreatedAt(now);
+      }
+    }
+
+    final KeyHolder keys = new GeneratedKeyHolder();
+    jdbcTemplate.batchUpdate(
+        con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}),
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(final PreparedStatement ps, final int i)
+              throws SQLException {
+            bind(ps, reservations.get(i));
+          }
+
+          @Override
+          public int getBatchSize() {
+            return reservations.size();
+          }
+        }, keys);
+
+    final List<Map<String, Object>> rows = keys.getKeyList();
+    if (rows.size() != reservations.size()) {
+      throw new DataRetrievalFailureException("Expected "
+          + reservations.size() + " generated reservation ids, got "
+          + rows.size() + ".");
+    }
+    for (int i = 0; i < rows.size(); i++) {
+      final Object id = rows.get(i).values().iterator().next();
+      reservations.get(i).setId(((Number) id).longValue());
+    }
+    return reservations;
+  }
+
+  private static void bind(final PreparedStatement ps, final Reservations r)
+      throws SQLException {
+    ps.setObject(1, r.getClientId(), Types.BIGINT);
+    ps.setObject(2, r.getUserId(), Types.BIGINT);
+    ps.setLong(3, r.getHotelId());
+    ps.setLong(4, r.getRoomTypeId());
+    ps.setObject(5, r.getRoomId(), Types.BIGINT);
+    ps.setString(6, r.getStatus().name());
+    ps.setDate(7, Date.valueOf(r.getCheckInDate()));
+    ps.setDate(8, Date.valueOf(r.getCheckOutDate()));
+    ps.setInt(9, r.getNights());
+    ps.setInt(10, r.getNumGuests());
+    ps.setString(11, r.getCurrency());
+    ps.setBigDecimal(12, r.getPriceTotal());
+    ps.setString(13, r.getSourceReservationCode());
+    ps.setString(14, r.getUpgradeStatus().name());
+    ps.setString(15, r.getNotes());
+    ps.setTimestamp(16, Timestamp.valueOf(r.getCreatedAt()));
+  }
+}
@@ -0,0 +1,93 @@
+package com.project.airhotel.reservation.service;
+
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.service.InventoryRowSeeder;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inventory strategy for high-contention sales. Nights are reserved with a
+ * guarded UPDATE that only decrements rows still showing availability, and
+ * the affected-row count tells whether every night succeeded. No row is read
+ * or locked up front, so row locks are held only for the duration of the
+ * UPDATE itself. Enabled with {@code airhotel.inventory.strategy=atomic}.
+ */
+@Component
+@ConditionalOnProperty(name = "airhotel.inventory.strategy",
+    havingValue = "atomic")
+@RequiredArgsConstructor
+public class AtomicInventoryStrategy implements InventoryStrategy {
+
+  /**
+   * Repository for day-level inventory rows.
+   */
+  private final RoomTypeInventoryRepository invRepo;
+  /**
+   * Creates missing inventory rows with out-of-order rooms blocked.
+   */
+  private final InventoryRowSeeder rowSeeder;
+
+  @Override
+  public void apply(final InventoryNetChange change) {
+    if (!change.releaseNights().isEmpty()) {
+      invRepo.releaseOne(change.hotelId(), change.releaseTypeId(),
+          change.releaseNights());
+    }
+    if (!change.reserveNights().isEmpty()) {
+      reserveOrThrow(change.hotelId(), change.reserveTypeId(),
+          change.reserveTotalRooms(), change.reserveNights());
+    }
+  }
+
+  /**
+   * Reserve one room on every night or throw. Throwing leaves the enclosing
+   * transaction to roll back nights that were already decremented.
+   *
+   * @param hotelId    hotel id
+   * @param roomTypeId room type id
+   * @param totalRooms physical room count used for newly created rows
+   * @param nights     nights to reserve
+   */
+  private void reserveOrThrow(final Long hotelId, final Long roomTypeId,
+      final int totalRooms, final NavigableSet<LocalDate> nights) {
+    final int updated = invRepo.reserveOneIfAvailable(hotelId, roomTypeId,
+        nights);
+    if (updated == nights.size()) {
+      return;
+    }
+
+    // Some nights were not decremented: their row is missing or sold out
+    final Set<LocalDate> existing = new HashSet<>(
+        invRepo.findExistingStayDates(hotelId, roomTypeId, nights));
+    final List<LocalDate> missing = new ArrayList<>();
+    for (final LocalDate d : nights) {
+      if (!existing.contains(d)) {
+        missing.add(d);
+      }
+    }
+    if (updated + missing.size() < nights.size()) {
+      throw noAvailability(nights);
+    }
+
+    rowSeeder.insertMissing(hotelId, roomTypeId, totalRooms, missing);
+    if (invRepo.reserveOneIfAvailable(hotelId, roomTypeId, missing)
+        < missing.size()) {
+      throw noAvailability(nights);
+    }
+  }
+
+  private static BadRequestException noAvailability(
+      final NavigableSet<LocalDate> nights) {
+    return new BadRequestException("No availability between "
+        + nights.first() + " and " + nights.last()
+        + " for the target room type.");
+  }
+}
@@ -0,0 +1,53 @@
+package com.project.airhotel.reservation.service;
+
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background job that releases expired inventory holds. Each batch runs in
+ * its own short transaction, so bookings only ever wait on the rows of one
+ * batch, and batches repeat until no expired hold is left.
+ */
+@Component
+public class InventoryHoldReaper {
+
+  /**
+   * Releases the holds of each batch.
+   */
+  private final InventoryHoldService holdService;
+  /**
+   * Maximum number of holds released per transaction.
+   */
+  private final int batchSize;
+
+  /**
+   * Constructs the reaper.
+   *
+   * @param holdService hold service
+   * @param batchSize   maximum number of holds per batch
+   */
+  public InventoryHoldReaper(final InventoryHoldService holdService,
+      @Value("${airhotel.holds.reap-batch-size:500}") final int batchSize) {
+    this.holdService = holdService;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Releases every hold that has expired by now.
+   *
+   * @return number of holds released
+   */
+  @Scheduled(fixedDelayString = "${airhotel.holds.reap-interval-ms:30000}")
+  public int reap() {
+    final LocalDateTime now = LocalDateTime.now();
+    int released = 0;
+    int n;
+    do {
+      n = holdService.reapExpired(now, batchSize);
+      released += n;
+    } while (n == batchSize);
+    return released;
+  }
+}
@@ -0,0 +1,280 @@
+package com.project.airhotel.reservation.service;
+
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.common.exception.NotFoundException;
+import com.project.airhotel.common.guard.EntityGuards;
+import com.project.airhotel.reservation.domain.InventoryHolds;
+import com.project.airhotel.reservation.domain.Reservations;
+import com.project.airhotel.reservation.dto.CreateHoldRequest;
+import com.project.airhotel.reservation.dto.InventoryHoldResponse;
+import com.project.airhotel.reservation.repository.InventoryHoldsRepository;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.service.AvailabilityLedger;
+import com.project.airhotel.room.service.InventoryRowSeeder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Temporary holds on room inventory during checkout. A hold moves one room
+ * of a room type from available to blocked on every night of the stay, with
+ * a guarded update that never waits on a booking in progress, and keeps it
+ * there for a short TTL. Creating the reservation with the hold id converts
+ * the blocked room into a reserved one; otherwise the guest releases the
+ * hold or {@link InventoryHoldReaper} releases it in batches once it has
+ * expired. Whoever deletes the hold row owns its blocked rooms, so each
+ * hold is released or converted exactly once.
+ */
+@Service
+public class InventoryHoldService {
+
+  /**
+   * Repository of holds.
+   */
+  private final InventoryHoldsRepository holdsRepository;
+  /**
+   * Repository for day-level inventory rows.
+   */
+  private final RoomTypeInventoryRepository invRepo;
+  /**
+   * Creates missing inventory rows with out-of-order rooms blocked.
+   */
+  private final InventoryRowSeeder rowSeeder;
+  /**
+   * Resolves hotels and room types, sharing those loaded in the transaction.
+   */
+  private final EntityGuards entityGuards;
+  /**
+   * In-memory availability that mirrors committed inventory changes.
+   */
+  private final AvailabilityLedger ledger;
+  /**
+   * Lifetime of a hold.
+   */
+  private final long ttlSeconds;
+  /**
+   * Maximum number of live holds per user.
+   */
+  private final int maxPerUser;
+
+  /**
+   * Constructs the service.
+   *
+   * @param holdsRepository hold repository
+   * @param invRepo         inventory repository
+   * @param rowSeeder       creates missing inventory rows
+   * @param entityGuards    hotel and room type guards
+   * @param ledger          in-memory availability
+   * @param ttlSeconds      lifetime of a hold in seconds
+   * @param maxPerUser      maximum number of live holds per user
+   */
+  public InventoryHoldService(final InventoryHoldsRepository holdsRepository,
+      final RoomTypeInventoryRepository invRepo,
+      final InventoryRowSeeder rowSeeder,
+      final EntityGuards entityGuards,
+      final AvailabilityLedger ledger,
+      @Value("${airhotel.holds.ttl-seconds:600}") final long ttlSeconds,
+      @Value("${airhotel.holds.max-per-user:5}") final int maxPerUser) {
+    this.holdsRepository = holdsRepository;
+    this.invRepo = invRepo;
+    this.rowSeeder = rowSeeder;
+    this.entityGuards = entityGuards;
+    this.ledger = ledger;
+    this.ttlSeconds = ttlSeconds;
+    this.maxPerUser = maxPerUser;
+  }
+
+  /**
+   * Holds one room of the requested room type on every night of the stay.
+   *
+   * @param userId user taking the hold
+   * @param req    hotel, room type and stay to hold
+   * @return the hold and its expiry
+   * @throws NotFoundException   if the hotel or room type is invalid
+   * @throws BadRequestException if the dates are invalid, the user already
+   *                             has too many holds or any night is sold out
+   */
+  @Transactional
+  public InventoryHoldResponse createHold(final Long userId,
+      final CreateHoldRequest req) {
+    final RoomTypes rt = entityGuards.getRoomTypeInHotelOrThrow(
+        req.getHotelId(), req.getRoomTypeId());
+    final LocalDate in = req.getCheckInDate();
+    final LocalDate out = req.getCheckOutDate();
+    if (in == null || out == null || !out.isAfter(in)) {
+      throw new BadRequestException("Invalid stay date range.");
+    }
+    if (out.isAfter(LocalDate.now().plusYears(1))) {
+      throw new BadRequestException("checkOut must be within one year from "
+          + "today.");
+    }
+    final LocalDateTime now = LocalDateTime.now();
+    if (holdsRepository.countByUserIdAndExpiresAtAfter(userId, now)
+        >= maxPerUser) {
+      throw new BadRequestException("At most " + maxPerUser
+          + " rooms can be held at a time.");
+    }
+
+    final NavigableSet<LocalDate> nights = nights(in, out);
+    rowSeeder.insertMissing(req.getHotelId(), req.getRoomTypeId(),
+        rt.getTotalRooms(), nights);
+    if (invRepo.blockOneIfAvailable(req.getHotelId(), req.getRoomTypeId(),
+        nights) < nights.size()) {
+      throw new BadRequestException("No availability between " + in
+          + " and " + out + " for the target room type.");
+    }
+    ledger.writeThrough(req.getHotelId(),
+        Map.of(req.getRoomTypeId(), nights));
+
+    final InventoryHolds hold = holdsRepository.save(InventoryHolds.builder()
+        .userId(userId)
+        .hotelId(req.getHotelId())
+        .roomTypeId(req.getRoomTypeId())
+        .checkInDate(in)
+        .checkOutDate(out)
+        .expiresAt(now.plusSeconds(ttlSeconds))
+        .build());
+    return toResponse(hold);
+  }
+
+  /**
+   * Releases a hold of the user before it expires.
+   *
+   * @param userId owner of the hold
+   * @param holdId hold identifier
+   * @throws NotFoundException if the user has no such hold
+   */
+  @Transactional
+  public void releaseHold(final Long userId, final Long holdId) {
+    final InventoryHolds hold = holdsRepository.findByIdAndUserId(holdId,
+        userId).orElseThrow(() -> new NotFoundException("Hold not found: "
+        + holdId));
+    if (holdsRepository.claim(hold.getId()) == 0) {
+      // Already released by the reaper
+      return;
+    }
+    final NavigableSet<LocalDate> nights = nights(hold.getCheckInDate(),
+        hold.getCheckOutDate());
+    invRepo.unblockOne(hold.getHotelId(), hold.getRoomTypeId(), nights);
+    ledger.writeThrough(hold.getHotelId(),
+        Map.of(hold.getRoomTypeId(), nights));
+  }
+
+  /**
+   * Converts the user's hold into the inventory of a new reservation: the
+   * held rooms turn from blocked into reserved and the hold is gone. A hold
+   * past its expiry is still converted while the reaper has not released
+   * it, since its rooms are still blocked.
+   *
+   * @param userId owner of the hold and of the reservation
+   * @param holdId hold identifier
+   * @param r      reservation being created, with hotel, room type and dates
+   * @return true if the hold was converted; false if it no longer exists,
+   *         in which case the caller must reserve the stay itself
+   * @throws BadRequestException if the hold is for another hotel, room type
+   *                             or stay
+   */
+  @Transactional
+  public boolean convert(final Long userId, final Long holdId,
+      final Reservations r) {
+    final InventoryHolds hold = holdsRepository.findByIdAndUserId(holdId,
+        userId).orElse(null);
+    if (hold == null) {
+      return false;
+    }
+    if (!Objects.equals(hold.getHotelId(), r.getHotelId())
+        || !Objects.equals(hold.getRoomTypeId(), r.getRoomTypeId())
+        || !hold.getCheckInDate().equals(r.getCheckInDate())
+        || !hold.getCheckOutDate().equals(r.getCheckOutDate())) {
+      throw new BadRequestException("Hold " + holdId + " is for another "
+          + "room type or stay.");
+    }
+    if (holdsRepository.claim(hold.getId()) == 0) {
+      return false;
+    }
+    final NavigableSet<LocalDate> nights = nights(hold.getCheckInDate(),
+        hold.getCheckOutDate());
+    if (invRepo.convertBlockedToReserved(hold.getHotelId(),
+        hold.getRoomTypeId(), nights) < nights.size()) {
+      throw new BadRequestException("Hold " + holdId + " no longer covers "
+          + "every night; book without it.");
+    }
+    return true;
+  }
+
+  /**
+   * Releases one batch of expired holds: locks the oldest expired holds,
+   * deletes them and gives their rooms back with one batched unblock per
+   * room type. Holds are locked before inventory rows, the same order as
+   * conversion, so the two never deadlock. An unblock the driver cannot
+   * confirm rolls the whole batch back, so its holds stay for the next run.
+   *
+   * @param now       current time
+   * @param batchSize maximum number of holds to release
+   * @return number of holds released
+   */
+  @Transactional
+  public int reapExpired(final LocalDateTime now, final int batchSize) {
+    final List<InventoryHolds> expired = holdsRepository.findExpiredForUpdate(
+        now, PageRequest.of(0, batchSize));
+    if (expired.isEmpty()) {
+      return 0;
+    }
+
+    final Map<Long, Map<Long, NavigableMap<LocalDate, Integer>>> counts =
+        new TreeMap<>();
+    final List<Long> ids = new ArrayList<>(expired.size());
+    for (final InventoryHolds h : expired) {
+      ids.add(h.getId());
+      final NavigableMap<LocalDate, Integer> typeCounts = counts
+          .computeIfAbsent(h.getHotelId(), k -> new TreeMap<>())
+          .computeIfAbsent(h.getRoomTypeId(), k -> new TreeMap<>());
+      for (final LocalDate d : nights(h.getCheckInDate(),
+          h.getCheckOutDate())) {
+        typeCounts.merge(d, 1, Integer::sum);
+      }
+    }
+    holdsRepository.deleteAllByIdInBatch(ids);
+
+    for (final Map.Entry<Long, Map<Long, NavigableMap<LocalDate, Integer>>>
+        hotel : counts.entrySet()) {
+      final Map<Long, NavigableSet<LocalDate>> touched = new HashMap<>();
+      for (final Map.Entry<Long, NavigableMap<LocalDate, Integer>> type
+          : hotel.getValue().entrySet()) {
+        invRepo.unblockCounts(hotel.getKey(), type.getKey(), type.getValue());
+        touched.put(type.getKey(), type.getValue().navigableKeySet());
+      }
+      ledger.writeThrough(hotel.getKey(), touched);
+    }
+    return expired.size();
+  }
+
+  private static NavigableSet<LocalDate> nights(final LocalDate in,
+      final LocalDate out) {
+    final NavigableSet<LocalDate> set = new TreeSet<>();
+    for (LocalDate d = in; d.isBefore(out); d = d.plusDays(1)) {
+      set.add(d);
+    }
+    return set;
+  }
+
+  private static InventoryHoldResponse toResponse(final InventoryHolds h) {
+    return new InventoryHoldResponse(h.getId(), h.getHotelId(),
+        h.getRoomTypeId(), h.getCheckInDate(), h.getCheckOutDate(),
+        h.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+  }
+}
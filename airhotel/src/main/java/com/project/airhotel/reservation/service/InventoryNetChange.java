@@ -0,0 +1,57 @@
+package com.project.airhotel.reservation.service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.Objects;
+import org.springframework.lang.Nullable;
+
+/**
+ * Net per-night inventory change of one reservation operation. Nights that
+ * are kept under the same room type are already removed from both sides, so
+ * every listed night needs exactly one room released or reserved.
+ *
+ * @param hotelId           hotel that owns the inventory
+ * @param releaseTypeId     room type whose nights are released, or null
+ * @param releaseNights     nights to release, sorted ascending
+ * @param reserveTypeId     room type whose nights are reserved, or null
+ * @param reserveTotalRooms physical room count of the reserved type, used to
+ *                          initialize missing inventory rows
+ * @param reserveNights     nights to reserve, sorted ascending
+ */
+public record InventoryNetChange(Long hotelId,
+                                 @Nullable Long releaseTypeId,
+                                 NavigableSet<LocalDate> releaseNights,
+                                 @Nullable Long reserveTypeId,
+                                 int reserveTotalRooms,
+                                 NavigableSet<LocalDate> reserveNights) {
+
+  /**
+   * Normalizes null night sets to empty sets.
+   */
+  public InventoryNetChange {
+    releaseNights = releaseNights != null ? releaseNights
+        : Collections.emptyNavigableSet();
+    reserveNights = reserveNights != null ? reserveNights
+        : Collections.emptyNavigableSet();
+  }
+
+  /**
+   * Whether both sides refer to the same room type.
+   *
+   * @return true when nights are released and reserved under one type
+   */
+  public boolean sameType() {
+    return releaseTypeId != null && Objects.equals(releaseTypeId,
+        reserveTypeId);
+  }
+
+  /**
+   * Whether the change has no effect on inventory.
+   *
+   * @return true when no night is released or reserved
+   */
+  public boolean isEmpty() {
+    return releaseNights.isEmpty() && reserveNights.isEmpty();
+  }
+}
@@ -0,0 +1,21 @@
+package com.project.airhotel.reservation.service;
+
+import com.project.airhotel.common.exception.BadRequestException;
+
+/**
+ * Applies a net per-night change to room type inventory. Implementations
+ * differ in how they serialize concurrent bookings of the same nights and are
+ * selected with the {@code airhotel.inventory.strategy} property. They must
+ * run inside the caller's transaction and leave it to roll back the whole
+ * change when any night cannot be reserved.
+ */
+public interface InventoryStrategy {
+
+  /**
+   * Release and reserve the nights described by the change.
+   *
+   * @param change net change to apply
+   * @throws BadRequestException if a night to reserve has no availability
+   */
+  void apply(InventoryNetChange change);
+}
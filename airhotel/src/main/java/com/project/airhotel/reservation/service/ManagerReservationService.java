@@ -3,18 +3,24 @@ package com.project.airhotel.reservation.service;
 import com.project.airhotel.common.exception.BadRequestException;
 import com.project.airhotel.common.exception.NotFoundException;
 import com.project.airhotel.common.guard.EntityGuards;
+import com.project.airhotel.common.retry.LockRetryExecutor;
 import com.project.airhotel.reservation.adapter.ReservationChangeAdapter;
 import com.project.airhotel.reservation.domain.ReservationChange;
 import com.project.airhotel.reservation.domain.Reservations;
 import com.project.airhotel.reservation.domain.enums.ReservationStatus;
 import com.project.airhotel.reservation.domain.enums.UpgradeStatus;
 import com.project.airhotel.reservation.dto.ApplyUpgradeRequest;
+import com.project.airhotel.reservation.dto.ReservationCursor;
+import com.project.airhotel.reservation.dto.ReservationListItem;
+import com.project.airhotel.reservation.dto.ReservationPage;
 import com.project.airhotel.reservation.dto.ReservationUpdateRequest;
+import com.project.airhotel.reservation.dto.StayWindow;
 import com.project.airhotel.reservation.policy.ManagerReservationPolicy;
 import com.project.airhotel.reservation.repository.ReservationsRepository;
 import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 /**
@@ -26,6 +32,15 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class ManagerReservationService {
 
+  /**
+   * Page size used when the caller does not ask for one.
+   */
+  static final int DEFAULT_PAGE_SIZE = 50;
+  /**
+   * Largest page a caller can request.
+   */
+  static final int MAX_PAGE_SIZE = 200;
+
   /**
    * Repository for persisting and querying reservations.
    */
@@ -44,38 +59,62 @@ public class ManagerReservationService {
    * change).
    */
   private final ReservationOrchestrator orchestrator;
+  /**
+   * Retries inventory-touching writes that lose a lock race.
+   */
+  private final LockRetryExecutor lockRetry;
 
   /**
-   * Lists reservations for a hotel with optional filters. If both status and date range are
-   * provided, both filters apply. If only date range is provided, the list is filtered by stay
-   * range. If only status is provided, the list is filtered by status. If neither is provided, all
-   * reservations of the hotel are returned.
+   * Lists one page of a hotel's reservations with optional filters, ordered by check-in date then
+   * id, or by check-out date then id for departures. Status and date range filters apply independently; the range is matched according to
+   * {@code mode} and applies only when both bounds are given. Pages are read by keyset, so the
+   * cost of a page does not grow with its depth.
    *
    * @param hotelId the hotel id to search under (must exist)
    * @param status  optional reservation status filter
-   * @param start   optional start date of the stay range (inclusive)
-   * @param end     optional end date of the stay range (exclusive)
-   * @return list of reservations matching the filters
-   * @throws NotFoundException if the hotel does not exist
+   * @param mode    how stays are matched against the range; contained when null
+   * @param start   optional first day of the range (inclusive)
+   * @param end     optional last day of the range (inclusive)
+   * @param cursor  optional cursor returned with the previous page
+   * @param limit   optional page size, capped at {@link #MAX_PAGE_SIZE}
+   * @return the page and the cursor of the next one
+   * @throws NotFoundException   if the hotel does not exist
+   * @throws BadRequestException if the cursor, limit or range is invalid
    */
-  public List<Reservations> listReservations(final Long hotelId,
+  public ReservationPage listReservations(final Long hotelId,
       final ReservationStatus status,
+      final StayWindow.Mode mode,
       final LocalDate start,
-      final LocalDate end) {
+      final LocalDate end,
+      final String cursor,
+      final Integer limit) {
     entityGuards.ensureHotelExists(hotelId);
-    final boolean hasDates = (start != null && end != null);
-    if (status != null && hasDates) {
-      return reservationsRepository.findByHotelIdAndStatusAndStayRange(hotelId,
-          status, start, end);
-    }
-    if (hasDates) {
-      return reservationsRepository.findByHotelIdAndStayRange(hotelId, start,
-          end);
+    if (limit != null && limit <= 0) {
+      throw new BadRequestException("limit must be positive.");
     }
-    if (status != null) {
-      return reservationsRepository.findByHotelIdAndStatus(hotelId, status);
+    final int size = limit == null ? DEFAULT_PAGE_SIZE
+        : Math.min(limit, MAX_PAGE_SIZE);
+    final ReservationCursor after = ReservationCursor.decode(cursor);
+    final StayWindow window = StayWindow.of(mode, start, end,
+        () -> reservationsRepository.findMaxNightsByHotelId(hotelId));
+
+    // One extra row tells whether another page follows
+    final LocalDate afterDate = after != null ? after.date() : null;
+    final Long afterId = after != null ? after.id() : null;
+    final List<ReservationListItem> rows = window.byCheckOut()
+        ? reservationsRepository.findDeparturePageByHotelId(hotelId, status,
+            window.checkOutFrom(), window.checkOutBefore(), afterDate,
+            afterId, PageRequest.ofSize(size + 1))
+        : reservationsRepository.findPageByHotelId(hotelId, status,
+            window.checkInFrom(), window.checkInBefore(),
+            window.checkOutFrom(), window.checkOutBefore(), afterDate,
+            afterId, PageRequest.ofSize(size + 1));
+    if (rows.size() <= size) {
+      return new ReservationPage(rows, null);
     }
-    return reservationsRepository.findByHotelId(hotelId);
+    final List<ReservationListItem> items = rows.subList(0, size);
+    return new ReservationPage(items,
+        ReservationCursor.after(items.get(size - 1), window).encode());
   }
 
   /**
@@ -114,13 +153,11 @@ public class ManagerReservationService {
       final Long hotelId,
       final Long reservationId,
       final ReservationUpdateRequest req) {
-    final Reservations r = entityGuards.getReservationInHotelOrThrow(hotelId,
-        reservationId);
-
     final var change = ReservationChangeAdapter.fromManagerDto(req);
 
-    return orchestrator.modifyReservation(hotelId, r, change,
-        new ManagerReservationPolicy());
+    return lockRetry.execute(() -> orchestrator.modifyReservation(hotelId,
+        entityGuards.getReservationInHotelOrThrow(hotelId, reservationId),
+        change, new ManagerReservationPolicy()));
   }
 
   /**
@@ -152,9 +189,10 @@ public class ManagerReservationService {
         .newRoomTypeId(req.getNewRoomTypeId())
         .build();
 
-    final Reservations updated = orchestrator.modifyReservation(
-        hotelId, r, change, new ManagerReservationPolicy()
-    );
+    final Reservations updated = lockRetry.execute(
+        () -> orchestrator.modifyReservation(hotelId,
+            entityGuards.getReservationInHotelOrThrow(hotelId, reservationId),
+            change, new ManagerReservationPolicy()));
 
     updated.setUpgradeStatus(UpgradeStatus.APPLIED);
     updated.setUpgradedAt(java.time.LocalDateTime.now());
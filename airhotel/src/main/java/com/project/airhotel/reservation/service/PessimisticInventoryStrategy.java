@@ -0,0 +1,181 @@
+package com.project.airhotel.reservation.service;
+
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.room.domain.RoomTypeInventory;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.service.InventoryRowSeeder;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default inventory strategy. Locks the affected rows with
+ * {@code PESSIMISTIC_WRITE}, checks availability in memory and flushes all
+ * counter changes in one batch. Active unless
+ * {@code airhotel.inventory.strategy} selects another strategy.
+ */
+@Component
+@ConditionalOnProperty(name = "airhotel.inventory.strategy",
+    havingValue = "pessimistic", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PessimisticInventoryStrategy implements InventoryStrategy {
+
+  /**
+   * Repository for day-level inventory rows.
+   */
+  private final RoomTypeInventoryRepository invRepo;
+  /**
+   * Creates missing inventory rows with out-of-order rooms blocked.
+   */
+  private final InventoryRowSeeder rowSeeder;
+
+  @Override
+  public void apply(final InventoryNetChange change) {
+    if (change.isEmpty()) {
+      return;
+    }
+    final Long hotelId = change.hotelId();
+    final NavigableSet<LocalDate> removals = change.releaseNights();
+    final NavigableSet<LocalDate> adds = change.reserveNights();
+
+    // 1) Lock every night that changes; a single select when both sides
+    // share the room type. Rows are always locked in (roomTypeId, stayDate)
+    // order so that overlapping changes cannot deadlock each other
+    final Map<LocalDate, RoomTypeInventory> oldRows;
+    final Map<LocalDate, RoomTypeInventory> newRows;
+    if (change.sameType()) {
+      oldRows = lockRows(hotelId, change.reserveTypeId(),
+          change.reserveTotalRooms(), union(removals, adds), adds);
+      newRows = oldRows;
+    } else if (releaseFirst(change)) {
+      oldRows = lockRows(hotelId, change.releaseTypeId(), 0, removals,
+          Collections.emptySet());
+      newRows = lockRows(hotelId, change.reserveTypeId(),
+          change.reserveTotalRooms(), adds, adds);
+    } else {
+      newRows = lockRows(hotelId, change.reserveTypeId(),
+          change.reserveTotalRooms(), adds, adds);
+      oldRows = lockRows(hotelId, change.releaseTypeId(), 0, removals,
+          Collections.emptySet());
+    }
+
+    // 2) Pre-check: Only check availability for "net new additions"
+    for (final LocalDate d : adds) {
+      final RoomTypeInventory inv = newRows.get(d);
+      final int available =
+          inv.getTotal() - inv.getReserved() - inv.getBlocked();
+      if (available <= 0) {
+        throw new BadRequestException("No availability on " + d + " for the"
+            + " target room type.");
+      }
+    }
+
+    // 3) First net decrease, then net increase
+    final List<RoomTypeInventory> changed = new ArrayList<>(
+        removals.size() + adds.size());
+    for (final LocalDate d : removals) {
+      final RoomTypeInventory inv = oldRows.get(d);
+      if (inv != null) {
+        final int reserved = Math.max(0, inv.getReserved() - 1);
+        inv.setReserved(reserved);
+        inv.setAvailable(Math.max(0,
+            inv.getTotal() - reserved - inv.getBlocked()));
+        changed.add(inv);
+      }
+    }
+    for (final LocalDate d : adds) {
+      final RoomTypeInventory inv = newRows.get(d);
+      inv.setReserved(inv.getReserved() + 1);
+      inv.setAvailable(Math.max(0,
+          inv.getTotal() - inv.getReserved() - inv.getBlocked()));
+      changed.add(inv);
+    }
+
+    // 4) One batched write for every touched row
+    if (!changed.isEmpty()) {
+      invRepo.saveAll(changed);
+    }
+  }
+
+  /**
+   * Whether the released type sorts before the reserved type, which decides
+   * the lock order of a room type change.
+   *
+   * @param change net change spanning two room types
+   * @return true if the released rows must be locked first
+   */
+  private static boolean releaseFirst(final InventoryNetChange change) {
+    if (change.releaseTypeId() == null || change.reserveTypeId() == null) {
+      return true;
+    }
+    return change.releaseTypeId() < change.reserveTypeId();
+  }
+
+  private static NavigableSet<LocalDate> union(final Set<LocalDate> a,
+      final Set<LocalDate> b) {
+    final NavigableSet<LocalDate> all = new TreeSet<>(a);
+    all.addAll(b);
+    return all;
+  }
+
+  /**
+   * Lock the inventory rows of a room type covering the given nights with one range select.
+   * Nights listed in {@code mustExist} that have no row yet are created in one batch insert and the
+   * range is locked again, so the returned map contains a row for each of them.
+   *
+   * @param hotelId    hotel id
+   * @param roomTypeId room type id
+   * @param totalRooms physical room count used for newly created rows
+   * @param nights     nights to lock, may be empty
+   * @param mustExist  subset of nights that must be backed by a row
+   * @return locked rows keyed by stay date
+   */
+  private Map<LocalDate, RoomTypeInventory> lockRows(final Long hotelId,
+      final Long roomTypeId,
+      final int totalRooms,
+      final NavigableSet<LocalDate> nights,
+      final Set<LocalDate> mustExist) {
+    if (nights.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<LocalDate, RoomTypeInventory> rows = lockSpan(hotelId, roomTypeId,
+        nights);
+    final List<LocalDate> missing = new ArrayList<>();
+    for (final LocalDate d : mustExist) {
+      if (!rows.containsKey(d)) {
+        missing.add(d);
+      }
+    }
+    if (!missing.isEmpty()) {
+      rowSeeder.insertMissing(hotelId, roomTypeId, totalRooms, missing);
+      rows = lockSpan(hotelId, roomTypeId, nights);
+      for (final LocalDate d : missing) {
+        if (!rows.containsKey(d)) {
+          throw new IllegalStateException("Inventory row for " + d
+              + " could not be initialized.");
+        }
+      }
+    }
+    return rows;
+  }
+
+  private Map<LocalDate, RoomTypeInventory> lockSpan(final Long hotelId,
+      final Long roomTypeId,
+      final NavigableSet<LocalDate> nights) {
+    final Map<LocalDate, RoomTypeInventory> rows = new HashMap<>();
+    for (final RoomTypeInventory inv : invRepo.findRangeForUpdate(hotelId,
+        roomTypeId, nights.first(), nights.last())) {
+      rows.put(inv.getStayDate(), inv);
+    }
+    return rows;
+  }
+}
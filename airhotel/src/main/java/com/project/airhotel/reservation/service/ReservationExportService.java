@@ -0,0 +1,279 @@
+package com.project.airhotel.reservation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.common.guard.EntityGuards;
+import com.project.airhotel.reservation.domain.enums.ReservationStatus;
+import com.project.airhotel.reservation.dto.ReservationCursor;
+import com.project.airhotel.reservation.dto.ReservationListItem;
+import com.project.airhotel.reservation.dto.StayWindow;
+import com.project.airhotel.reservation.repository.ReservationsRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * Streams a hotel's reservations to an output stream for reporting, as CSV
+ * (RFC 4180) or newline-delimited JSON. Rows are read in keyset batches of
+ * the manager listing, each in its own short read, and written through a
+ * fixed-size buffer, so neither memory use nor the time a connection or
+ * transaction is held depends on how many reservations match or how slowly
+ * the client reads.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReservationExportService {
+
+  /**
+   * Output formats of the export.
+   */
+  public enum ExportFormat {
+    /**
+     * Comma-separated values with a header row.
+     */
+    CSV("text/csv", "csv"),
+    /**
+     * One JSON object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(final String contentType, final String extension) {
+      this.contentType = contentType;
+      this.extension = extension;
+    }
+
+    /**
+     * Media type written to the response.
+     *
+     * @return the content type
+     */
+    public String contentType() {
+      return contentType;
+    }
+
+    /**
+     * File extension suggested to the client.
+     *
+     * @return the extension without a dot
+     */
+    public String extension() {
+      return extension;
+    }
+
+    /**
+     * Parses a format name case-insensitively.
+     *
+     * @param name format name such as {@code csv} or {@code ndjson}
+     * @return the format
+     * @throws BadRequestException when the name is unknown
+     */
+    public static ExportFormat parse(final String name) {
+      try {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException | NullPointerException e) {
+        throw new BadRequestException("Unsupported export format: " + name
+            + ". Allowed values: csv, ndjson.");
+      }
+    }
+  }
+
+  /**
+   * CSV header, in the field order of {@link ReservationListItem}.
+   */
+  static final String CSV_HEADER = "id,user_id,room_type_id,room_id,status,"
+      + "upgrade_status,check_in_date,check_out_date,nights,num_guests,"
+      + "currency,price_total,created_at";
+
+  /**
+   * CSV record separator.
+   */
+  private static final String CRLF = "\r\n";
+
+  /**
+   * Reservations read per query.
+   */
+  static final int BATCH_SIZE = 1000;
+
+  /**
+   * Characters buffered before they are handed to the output stream.
+   */
+  private static final int BUFFER_CHARS = 64 * 1024;
+
+  private final EntityGuards entityGuards;
+  private final ReservationsRepository reservationsRepository;
+  /**
+   * Serializes NDJSON lines with the application's date settings.
+   */
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Ensures the hotel exists and resolves the date range, so callers can
+   * fail before committing response headers.
+   *
+   * @param hotelId hotel identifier
+   * @param mode    how stays are matched against the range; contained when
+   *                null
+   * @param start   optional first day of the range (inclusive)
+   * @param end     optional last day of the range (inclusive)
+   * @return the window to export
+   * @throws BadRequestException if start is after end
+   */
+  public StayWindow ensureExportable(final Long hotelId,
+      final StayWindow.Mode mode,
+      final LocalDate start,
+      final LocalDate end) {
+    entityGuards.ensureHotelExists(hotelId);
+    return StayWindow.of(mode, start, end,
+        () -> reservationsRepository.findMaxNightsByHotelId(hotelId));
+  }
+
+  /**
+   * Writes every reservation of a hotel that matches the filters, in the
+   * order of the manager listing. The date range is matched as in the
+   * listing. Batches are read outside any surrounding transaction, so a
+   * reservation written during a long export may or may not be included.
+   *
+   * @param hotelId hotel identifier
+   * @param status  optional reservation status filter
+   * @param mode    how stays are matched against the range; contained when
+   *                null
+   * @param start   optional first day of the range (inclusive)
+   * @param end     optional last day of the range (inclusive)
+   * @param format  output format
+   * @param out     destination; flushed but not closed
+   * @return number of reservations written
+   * @throws IOException         when writing to {@code out} fails
+   * @throws BadRequestException if start is after end
+   */
+  public long export(final Long hotelId,
+      final ReservationStatus status,
+      final StayWindow.Mode mode,
+      final LocalDate start,
+      final LocalDate end,
+      final ExportFormat format,
+      final OutputStream out) throws IOException {
+    return export(hotelId, status,
+        ensureExportable(hotelId, mode, start, end), format, out);
+  }
+
+  /**
+   * Writes every reservation of a hotel in a window resolved by
+   * {@link #ensureExportable}, as {@link #export(Long, ReservationStatus,
+   * StayWindow.Mode, LocalDate, LocalDate, ExportFormat, OutputStream)}
+   * does.
+   *
+   * @param hotelId hotel identifier
+   * @param status  optional reservation status filter
+   * @param window  stays to export
+   * @param format  output format
+   * @param out     destination; flushed but not closed
+   * @return number of reservations written
+   * @throws IOException when writing to {@code out} fails
+   */
+  public long export(final Long hotelId,
+      final ReservationStatus status,
+      final StayWindow window,
+      final ExportFormat format,
+      final OutputStream out) throws IOException {
+    final Writer writer = new BufferedWriter(
+        new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_CHARS);
+    if (format == ExportFormat.CSV) {
+      writer.write(CSV_HEADER);
+      writer.write(CRLF);
+    }
+    long rows = 0;
+    ReservationCursor after = null;
+    List<ReservationListItem> batch;
+    do {
+      final LocalDate afterDate = after != null ? after.date() : null;
+      final Long afterId = after != null ? after.id() : null;
+      batch = window.byCheckOut()
+          ? reservationsRepository.findDeparturePageByHotelId(hotelId,
+              status, window.checkOutFrom(), window.checkOutBefore(),
+              afterDate, afterId, PageRequest.ofSize(BATCH_SIZE))
+          : reservationsRepository.findPageByHotelId(hotelId, status,
+              window.checkInFrom(), window.checkInBefore(),
+              window.checkOutFrom(), window.checkOutBefore(), afterDate,
+              afterId, PageRequest.ofSize(BATCH_SIZE));
+      for (final ReservationListItem item : batch) {
+        if (format == ExportFormat.CSV) {
+          writeCsv(writer, item);
+          writer.write(CRLF);
+        } else {
+          writer.write(objectMapper.writeValueAsString(item));
+          writer.write('\n');
+        }
+        rows++;
+      }
+      if (!batch.isEmpty()) {
+        after = ReservationCursor.after(batch.get(batch.size() - 1), window);
+      }
+    } while (batch.size() == BATCH_SIZE);
+    writer.flush();
+    return rows;
+  }
+
+  /**
+   * Writes one CSV row, without its line break.
+   */
+  private static void writeCsv(final Writer w, final ReservationListItem r)
+      throws IOException {
+    w.write(cell(r.getId()));
+    w.write(',');
+    w.write(cell(r.getUserId()));
+    w.write(',');
+    w.write(cell(r.getRoomTypeId()));
+    w.write(',');
+    w.write(cell(r.getRoomId()));
+    w.write(',');
+    w.write(cell(r.getStatus()));
+    w.write(',');
+    w.write(cell(r.getUpgradeStatus()));
+    w.write(',');
+    w.write(cell(r.getCheckInDate()));
+    w.write(',');
+    w.write(cell(r.getCheckOutDate()));
+    w.write(',');
+    w.write(cell(r.getNights()));
+    w.write(',');
+    w.write(cell(r.getNumGuests()));
+    w.write(',');
+    w.write(cell(r.getCurrency()));
+    w.write(',');
+    w.write(cell(r.getPriceTotal() == null ? null
+        : r.getPriceTotal().toPlainString()));
+    w.write(',');
+    w.write(cell(r.getCreatedAt()));
+  }
+
+  /**
+   * Formats one CSV field. As RFC 4180 requires, a value containing a comma,
+   * a double quote or a line break is enclosed in double quotes, with every
+   * double quote inside it doubled.
+   */
+  static String cell(final Object value) {
+    if (value == null) {
+      return "";
+    }
+    final String s = value.toString();
+    for (int i = 0; i < s.length(); i++) {
+      final char c = s.charAt(i);
+      if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+        return '"' + s.replace("\"", "\"\"") + '"';
+      }
+    }
+    return s;
+  }
+}
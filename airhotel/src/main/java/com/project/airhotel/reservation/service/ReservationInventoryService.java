@@ -1,20 +1,25 @@
 package com.project.airhotel.reservation.service;
 
 import com.project.airhotel.common.exception.BadRequestException;
-import com.project.airhotel.room.domain.RoomTypeInventory;
+import com.project.airhotel.common.guard.EntityGuards;
 import com.project.airhotel.room.domain.RoomTypes;
 import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
-import com.project.airhotel.room.repository.RoomTypesRepository;
+import com.project.airhotel.room.service.AvailabilityLedger;
+import com.project.airhotel.room.service.InventoryRowSeeder;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
 import java.util.Objects;
-import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Supports atomic adjustments when reservations are created, modified or cancelled,
@@ -25,34 +30,41 @@ import org.springframework.stereotype.Service;
 public class ReservationInventoryService {
 
   /**
-   * Repository for day-level inventory rows.
+   * Resolves room types, sharing those already loaded in the transaction.
+   */
+  private final EntityGuards entityGuards;
+  /**
+   * Applies the net per-night change, selected by
+   * {@code airhotel.inventory.strategy}.
+   */
+  private final InventoryStrategy inventoryStrategy;
+  /**
+   * In-memory availability that mirrors committed inventory changes.
+   */
+  private final AvailabilityLedger ledger;
+  /**
+   * Repository for day-level inventory rows, used by counted reservations.
    */
   private final RoomTypeInventoryRepository invRepo;
   /**
-   * Repository for room type master data.
+   * Creates missing inventory rows with out-of-order rooms blocked.
    */
-  private final RoomTypesRepository roomTypesRepo;
+  private final InventoryRowSeeder rowSeeder;
 
   /**
-   * Create a list of consecutive dates from startInclusive up to but excluding endExclusive.
+   * Create the sorted set of consecutive dates from startInclusive up to but excluding endExclusive.
+   * Keeping nights sorted makes every caller lock inventory rows in ascending stay-date order.
    *
    * @param startInclusive start date inclusive
    * @param endExclusive   end date exclusive
-   * @return ordered list of dates, or an empty list if the range is invalid
+   * @return sorted set of dates, or an empty set if the range is invalid
    */
-  private static Set<LocalDate> toDaySet(final LocalDate startInclusive,
-      final LocalDate endExclusive) {
-    final long days = endExclusive.toEpochDay() - startInclusive.toEpochDay();
-    if (days <= 0) {
-      return Collections.emptySet();
-    }
-    final Set<LocalDate> set = new HashSet<>((int) days * 2);
-    LocalDate cur = startInclusive;
-    for (int i = 0;
-        i < days;
-        i++) {
+  private static NavigableSet<LocalDate> toDaySet(
+      final LocalDate startInclusive, final LocalDate endExclusive) {
+    final NavigableSet<LocalDate> set = new TreeSet<>();
+    for (LocalDate cur = startInclusive; cur.isBefore(endExclusive);
+        cur = cur.plusDays(1)) {
       set.add(cur);
-      cur = cur.plusDays(1);
     }
     return set;
   }
@@ -61,7 +73,10 @@ public class ReservationInventoryService {
    * Unified inventory adjustment entry Allow either side of old/new to be empty (indicating an
    * empty set) Two stages: First, "pre-check net increase" availability, and then "apply net
    * decrease/net increase".
+   * Only nights that actually change are handed to the configured {@link InventoryStrategy}, which
+   * either locks and rewrites the rows or applies guarded conditional updates.
    */
+  @Transactional
   public void applyRangeChangeOrThrow(final Long hotelId,
       @Nullable final Long oldTypeId,
       @Nullable final LocalDate oldIn,
@@ -80,82 +95,100 @@ public class ReservationInventoryService {
       return;
     }
 
-    // 1) Pre-check: Only check availability for "net new additions"
+    // Net decrease = oldDays - (newDays and the same room type)
     // Net increase = newDays - (oldDays and the same room type)
-    if (!newRange.isEmpty()) {
-      precheckNetAddsOrThrow(hotelId, oldRange, newRange);
+    final NavigableSet<LocalDate> removals = netDays(oldRange, newRange);
+    final NavigableSet<LocalDate> adds = netDays(newRange, oldRange);
+    if (removals.isEmpty() && adds.isEmpty()) {
+      return;
     }
 
-    // 2) First net decrease, then net increase
-    if (!oldRange.isEmpty()) {
-      applyNetRemovals(hotelId, oldRange, newRange);
+    inventoryStrategy.apply(new InventoryNetChange(hotelId,
+        oldRange.roomTypeId, removals,
+        newRange.roomTypeId, newRange.totalRooms, adds));
+
+    final Map<Long, NavigableSet<LocalDate>> touched = new HashMap<>();
+    if (!removals.isEmpty()) {
+      touched.put(oldRange.roomTypeId, removals);
     }
-    if (!newRange.isEmpty()) {
-      applyNetAdds(hotelId, oldRange, newRange);
+    if (!adds.isEmpty()) {
+      touched.merge(newRange.roomTypeId, adds, ReservationInventoryService::union);
     }
+    ledger.writeThrough(hotelId, touched);
   }
 
-  private void precheckNetAddsOrThrow(final Long hotelId,
-      final Range oldRange,
-      final Range newRange) {
-    // If the room types are the same and the dates are the same, no net
-    // increase
-    if (oldRange.sameTypeWith(newRange) && oldRange.days.equals(newRange.days)) {
-      return;
-    }
+  /**
+   * Reserve many rooms at once, as counts per room type and night, for group
+   * bookings. Each room type is handled with one batch of guarded updates in
+   * ascending (roomTypeId, stayDate) order, the same lock order as
+   * single-room changes, after any missing rows were created in one batch
+   * insert. This bypasses the configured {@link InventoryStrategy}: a guarded
+   * update that takes the whole count at once needs no row read or lock up
+   * front, and it serializes correctly against both strategies.
+   *
+   * @param hotelId      hotel id
+   * @param countsByType rooms to reserve per night, keyed by room type id
+   * @throws BadRequestException if a room type does not belong to the hotel
+   *                             or any night lacks availability; the caller's
+   *                             transaction must then roll back
+   */
+  @Transactional
+  public void reserveCountsOrThrow(final Long hotelId,
+      final Map<Long, NavigableMap<LocalDate, Integer>> countsByType) {
+    final Map<Long, NavigableSet<LocalDate>> touched = new HashMap<>();
+    for (final Map.Entry<Long, NavigableMap<LocalDate, Integer>> e
+        : new TreeMap<>(countsByType).entrySet()) {
+      final NavigableMap<LocalDate, Integer> counts = e.getValue();
+      if (counts.isEmpty()) {
+        continue;
+      }
+      final Long typeId = e.getKey();
+      final RoomTypes rt = entityGuards.findRoomType(typeId)
+          .orElseThrow(() -> new BadRequestException("Room type not found: "
+              + typeId));
+      if (!Objects.equals(rt.getHotelId(), hotelId)) {
+        throw new BadRequestException("Room type does not belong to hotel: "
+            + hotelId);
+      }
 
-    // Calculate the "net increase" set
-    final boolean sameType = oldRange.sameTypeWith(newRange);
-    for (final LocalDate d : newRange.days) {
-      final boolean alreadyHeldSameType = sameType && oldRange.days.contains(d);
-      if (!alreadyHeldSameType) {
-        final RoomTypeInventory inv = getOrInitInventoryRow(hotelId,
-            newRange.roomTypeId, d);
-        final int available =
-            inv.getTotal() - inv.getReserved() - inv.getBlocked();
-        if (available <= 0) {
-          throw new BadRequestException("No availability on " + d + " for the"
-              + " target room type.");
-        }
+      rowSeeder.insertMissing(hotelId, typeId, rt.getTotalRooms(),
+          counts.keySet());
+      final List<LocalDate> failed = invRepo.reserveCountsIfAvailable(hotelId,
+          typeId, counts);
+      if (!failed.isEmpty()) {
+        final LocalDate night = failed.get(0);
+        throw new BadRequestException("Not enough availability on " + night
+            + " for room type " + typeId + ": " + counts.get(night)
+            + " rooms requested.");
       }
+      touched.put(typeId, counts.navigableKeySet());
+    }
+    if (!touched.isEmpty()) {
+      ledger.writeThrough(hotelId, touched);
     }
   }
 
-  private void applyNetRemovals(final Long hotelId,
-      final Range oldRange,
-      final Range newRangeOrEmpty) {
-    final boolean sameType = oldRange.sameTypeWith(newRangeOrEmpty);
-    for (final LocalDate d : oldRange.days) {
-      final boolean keep = sameType && newRangeOrEmpty.days.contains(d);
-      if (!keep) {
-        invRepo.findForUpdate(hotelId, oldRange.roomTypeId, d).ifPresent(inv -> {
-          final int reserved = Math.max(0, inv.getReserved() - 1);
-          inv.setReserved(reserved);
-          inv.setAvailable(inv.getTotal() - reserved - inv.getBlocked());
-          invRepo.save(inv);
-        });
-      }
+  /**
+   * Nights of {@code side} that are not already covered by {@code other} for the same room type.
+   *
+   * @param side  range whose nights are examined
+   * @param other opposite range of the same change
+   * @return sorted set of nights that need an inventory change
+   */
+  private static NavigableSet<LocalDate> netDays(final Range side,
+      final Range other) {
+    final NavigableSet<LocalDate> net = new TreeSet<>(side.days);
+    if (side.sameTypeWith(other)) {
+      net.removeAll(other.days);
     }
+    return net;
   }
 
-  private void applyNetAdds(final Long hotelId,
-      final Range oldRangeOrEmpty,
-      final Range newRange) {
-    final boolean sameType = oldRangeOrEmpty.sameTypeWith(newRange);
-    final List<RoomTypeInventory> toSave = new ArrayList<>();
-    for (final LocalDate d : newRange.days) {
-      final boolean alreadyHeld = sameType && oldRangeOrEmpty.days.contains(d);
-      if (!alreadyHeld) {
-        final RoomTypeInventory inv = getOrInitInventoryRow(hotelId,
-            newRange.roomTypeId, d);
-        inv.setReserved(inv.getReserved() + 1);
-        inv.setAvailable(inv.getTotal() - inv.getReserved() - inv.getBlocked());
-        toSave.add(inv);
-      }
-    }
-    if (!toSave.isEmpty()) {
-      invRepo.saveAll(toSave);
-    }
+  private static NavigableSet<LocalDate> union(final NavigableSet<LocalDate> a,
+      final NavigableSet<LocalDate> b) {
+    final NavigableSet<LocalDate> all = new TreeSet<>(a);
+    all.addAll(b);
+    return all;
   }
 
   private Range normalizeRange(final String label,
@@ -175,61 +208,28 @@ public class ReservationInventoryService {
       throw new BadRequestException("Invalid " + label + " stay date range.");
     }
     // Verify the legality of the room type's ownership
-    final RoomTypes rt = roomTypesRepo.findById(typeId)
+    final RoomTypes rt = entityGuards.findRoomType(typeId)
         .orElseThrow(() -> new BadRequestException("Room type not found: " + typeId));
     // If the room type does not belong to this hotel, report an error
     if (!Objects.equals(rt.getHotelId(), hotelId)) {
       throw new BadRequestException("Room type does not belong to hotel: " + hotelId);
     }
 
-    // Use a HashSet to store dates for ease of difference
-    return new Range(typeId, toDaySet(in, out));
-  }
-
-  /**
-   * Load an inventory row for a given day with a lock, or create it if missing. The created row
-   * derives total and available from the room type definition.
-   *
-   * @param hotelId    hotel id
-   * @param roomTypeId room type id
-   * @param stayDate   target date
-   * @return existing or newly created inventory row
-   * @throws BadRequestException if the room type does not exist or does not belong to the hotel
-   */
-  private RoomTypeInventory getOrInitInventoryRow(final Long hotelId,
-      final Long roomTypeId,
-      final LocalDate stayDate) {
-    return invRepo.findForUpdate(hotelId, roomTypeId, stayDate)
-        .orElseGet(() -> {
-          final RoomTypes rt = roomTypesRepo.findById(roomTypeId)
-              .orElseThrow(() -> new BadRequestException("Room type not "
-                  + "found: " + roomTypeId));
-          if (!Objects.equals(rt.getHotelId(), hotelId)) {
-            throw new BadRequestException("Room type does not belong to "
-                + "hotel: " + hotelId);
-          }
-          final RoomTypeInventory created = RoomTypeInventory.builder()
-              .hotelId(hotelId)
-              .roomTypeId(roomTypeId)
-              .stayDate(stayDate)
-              .total(rt.getTotalRooms())
-              .reserved(0)
-              .blocked(0)
-              .available(rt.getTotalRooms())
-              .build();
-          return invRepo.save(created);
-        });
+    return new Range(typeId, rt.getTotalRooms(), toDaySet(in, out));
   }
 
-  private record Range(Long roomTypeId, Set<LocalDate> days) {
+  private record Range(Long roomTypeId, int totalRooms,
+                       NavigableSet<LocalDate> days) {
 
-    private Range(@Nullable final Long roomTypeId, final Set<LocalDate> days) {
+    private Range(@Nullable final Long roomTypeId, final int totalRooms,
+        final NavigableSet<LocalDate> days) {
       this.roomTypeId = roomTypeId;
-      this.days = days != null ? days : Collections.emptySet();
+      this.totalRooms = totalRooms;
+      this.days = days != null ? days : Collections.emptyNavigableSet();
     }
 
     static Range empty() {
-      return new Range(null, Collections.emptySet());
+      return new Range(null, 0, Collections.emptyNavigableSet());
     }
 
     boolean isEmpty() {
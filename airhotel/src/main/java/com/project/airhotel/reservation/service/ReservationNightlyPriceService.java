@@ -0,0 +1,112 @@
+package com.project.airhotel.reservation.service;
+
+import com.project.airhotel.reservation.domain.Reservations;
+import com.project.airhotel.reservation.domain.ReservationsNightlyPrices;
+import com.project.airhotel.reservation.repository.ReservationsNightlyPricesRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the per-night price snapshot of a reservation, so that the price
+ * charged for each night survives later changes to daily prices. Only the
+ * nights that differ from the stored snapshot are written: new nights are
+ * batch inserted, nights no longer part of the stay are deleted and nights
+ * whose price, room type or currency changed are batch updated.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReservationNightlyPriceService {
+
+  private final ReservationsNightlyPricesRepository nightlyPricesRepository;
+
+  /**
+   * Brings the snapshot of a persisted reservation in line with the nightly
+   * prices it was just priced at.
+   *
+   * @param r       persisted reservation, with id, room type and currency
+   * @param nightly price per night of the stay, as returned by
+   *                {@link ReservationPricingService#recalcTotalPriceOrThrow}
+   */
+  public void snapshot(final Reservations r,
+                       final Map<LocalDate, BigDecimal> nightly) {
+    if (r.getId() == null || nightly == null || nightly.isEmpty()) {
+      return;
+    }
+    final List<ReservationsNightlyPrices> toUpdate = new ArrayList<>();
+    final List<Long> toDelete = new ArrayList<>();
+    final Map<LocalDate, BigDecimal> toInsert = new TreeMap<>(nightly);
+
+    for (final ReservationsNightlyPrices row : nightlyPricesRepository
+        .findByReservationIdOrderByStayDateAsc(r.getId())) {
+      final BigDecimal price = toInsert.remove(row.getStayDate());
+      if (price == null) {
+        toDelete.add(row.getId());
+      } else if (row.getPrice() == null || price.compareTo(row.getPrice()) != 0
+          || !Objects.equals(row.getRoomTypeId(), r.getRoomTypeId())
+          || !Objects.equals(row.getCurrency(), r.getCurrency())) {
+        // Written through JDBC, so the managed row itself stays untouched
+        toUpdate.add(ReservationsNightlyPrices.builder()
+            .id(row.getId())
+            .reservationId(row.getReservationId())
+            .stayDate(row.getStayDate())
+            .roomTypeId(r.getRoomTypeId())
+            .price(price)
+            .discount(row.getDiscount())
+            .tax(row.getTax())
+            .currency(r.getCurrency())
+            .build());
+      }
+    }
+
+    if (!toDelete.isEmpty()) {
+      nightlyPricesRepository.deleteAllByIdInBatch(toDelete);
+    }
+    nightlyPricesRepository.updateAll(toUpdate);
+    final List<ReservationsNightlyPrices> rows = new ArrayList<>(toInsert.size());
+    for (final Map.Entry<LocalDate, BigDecimal> e : toInsert.entrySet()) {
+      rows.add(ReservationsNightlyPrices.builder()
+          .reservationId(r.getId())
+          .stayDate(e.getKey())
+          .roomTypeId(r.getRoomTypeId())
+          .price(e.getValue())
+          .currency(r.getCurrency())
+          .build());
+    }
+    nightlyPricesRepository.insertAll(rows);
+  }
+
+  /**
+   * Writes the snapshot of reservations that were just inserted and have no
+   * snapshot yet, for all of them in one batch insert.
+   *
+   * @param created   persisted reservations, with id, room type and currency
+   * @param nightlyOf price per night of a reservation's stay
+   */
+  public void snapshotNew(final Collection<Reservations> created,
+                          final Function<Reservations,
+                              Map<LocalDate, BigDecimal>> nightlyOf) {
+    final List<ReservationsNightlyPrices> rows = new ArrayList<>();
+    for (final Reservations r : created) {
+      for (final Map.Entry<LocalDate, BigDecimal> e
+          : nightlyOf.apply(r).entrySet()) {
+        rows.add(ReservationsNightlyPrices.builder()
+            .reservationId(r.getId())
+            .stayDate(e.getKey())
+            .roomTypeId(r.getRoomTypeId())
+            .price(e.getValue())
+            .currency(r.getCurrency())
+            .build());
+      }
+    }
+    nightlyPricesRepository.insertAll(rows);
+  }
+}
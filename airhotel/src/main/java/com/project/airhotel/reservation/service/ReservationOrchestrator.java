@@ -6,10 +6,18 @@ import com.project.airhotel.reservation.domain.ReservationChange;
 import com.project.airhotel.reservation.domain.Reservations;
 import com.project.airhotel.reservation.domain.enums.ReservationStatus;
 import com.project.airhotel.reservation.dto.CreateReservationRequest;
+import com.project.airhotel.reservation.dto.GroupReservationRequest;
 import com.project.airhotel.reservation.policy.ReservationChangePolicy;
 import com.project.airhotel.reservation.repository.ReservationsRepository;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,6 +43,14 @@ public class ReservationOrchestrator {
   private final EntityGuards entityGuards;
   private final ReservationsRepository reservationsRepository;
   private final ReservationPricingService pricingService;
+  /**
+   * Persists the per-night price snapshot.
+   */
+  private final ReservationNightlyPriceService nightlyPriceService;
+  /**
+   * Converts checkout holds into reservations.
+   */
+  private final InventoryHoldService holdService;
 
   /**
    * Modify an existing reservation according to a {@link ReservationChange} and policy.
@@ -99,6 +115,7 @@ public class ReservationOrchestrator {
 
     final boolean needDatesOrTypeChange =
         change.isChangingDates(oldIn, oldOut) || change.isChangingRoomType(oldTypeId);
+    Map<LocalDate, BigDecimal> nightlyPrices = null;
 
     // 4) First recalculate the evening figures,
     // then perform a "net switch" of inventory,
@@ -113,7 +130,7 @@ public class ReservationOrchestrator {
       }
       r.setRoomTypeId(effTypeId);
       nightsService.recalcNightsOrThrow(r, effIn, effOut);
-      pricingService.recalcTotalPriceOrThrow(r);
+      nightlyPrices = pricingService.recalcTotalPriceOrThrow(r);
       inventoryService.applyRangeChangeOrThrow(
           r.getHotelId(),
           oldTypeId, oldIn, oldOut,      // old
@@ -151,14 +168,18 @@ public class ReservationOrchestrator {
       statusService.changeStatus(r, change.newStatus(), null, null);
     }
 
-    // 8) Persistence
-    return reservationsRepository.save(r);
+    // 8) Persistence, then only the nights whose price changed
+    final Reservations saved = reservationsRepository.save(r);
+    nightlyPriceService.snapshot(saved, nightlyPrices);
+    return saved;
   }
 
   /**
    * Create a new reservation and allocate inventory for its stay nights.
    * The method validates inputs, computes nights and price, performs the
-   * inventory reservation, and persists the reservation entity.
+   * inventory reservation, and persists the reservation entity together with
+   * its nightly price snapshot. With a hold id the user's hold for the same
+   * stay is converted instead of reserving availability again.
    *
    * @param userId caller user id
    * @param req    DTO describing the reservation to create
@@ -195,16 +216,135 @@ public class ReservationOrchestrator {
     nightsService.recalcNightsOrThrow(r, req.getCheckInDate(),
         req.getCheckOutDate());
 
-    pricingService.recalcTotalPriceOrThrow(r);
+    final Map<LocalDate, BigDecimal> nightlyPrices =
+        pricingService.recalcTotalPriceOrThrow(r);
 
-    // Unified inventory: Empty -> new
-    inventoryService.applyRangeChangeOrThrow(
-        r.getHotelId(),
-        /* old */ null, null, null,
-        /* new */ r.getRoomTypeId(), r.getCheckInDate(), r.getCheckOutDate()
-    );
+    // A live hold already took the rooms; otherwise empty -> new
+    if (req.getHoldId() == null
+        || !holdService.convert(userId, req.getHoldId(), r)) {
+      inventoryService.applyRangeChangeOrThrow(
+          r.getHotelId(),
+          /* old */ null, null, null,
+          /* new */ r.getRoomTypeId(), r.getCheckInDate(), r.getCheckOutDate()
+      );
+    }
+
+    final Reservations saved = reservationsRepository.save(r);
+    nightlyPriceService.snapshot(saved, nightlyPrices);
+    return saved;
+  }
 
-    return reservationsRepository.save(r);
+  /**
+   * Create one reservation per requested room of a group booking, all or
+   * nothing. Each distinct stay is priced once and shared by its rooms. The
+   * requested rooms are aggregated into counts per room type and night and
+   * reserved in one set-based inventory pass, then all reservations and
+   * their nightly price snapshots are written in one batch insert each. Any
+   * failure rolls back the whole group.
+   *
+   * @param userId caller user id
+   * @param req    group booking with one line per room type and stay
+   * @return the created reservations, in the order of the request lines
+   * @throws BadRequestException if validation fails or any night of any room
+   *                             type lacks availability
+   */
+  @Transactional
+  public List<Reservations> createGroupReservation(final Long userId,
+      final GroupReservationRequest req) {
+    final Long hotelId = req.getHotelId();
+    entityGuards.ensureHotelExists(hotelId);
+    if (req.getRooms() == null || req.getRooms().isEmpty()) {
+      throw new BadRequestException("rooms must not be empty.");
+    }
+    final LocalDate maxCheckOut = LocalDate.now().plusYears(1);
+    int roomCount = 0;
+
+    final Map<Stay, Priced> pricedByStay = new HashMap<>();
+    final Map<Long, NavigableMap<LocalDate, Integer>> counts = new TreeMap<>();
+    final List<Reservations> rooms = new ArrayList<>();
+    for (final GroupReservationRequest.Line line : req.getRooms()) {
+      // Boundary check per line
+      entityGuards.ensureRoomTypeInHotelOrThrow(hotelId, line.getRoomTypeId());
+      if (line.getQuantity() == null || line.getQuantity() <= 0) {
+        throw new BadRequestException("quantity must be positive.");
+      }
+      if (line.getNumGuests() == null || line.getNumGuests() <= 0) {
+        throw new BadRequestException("numGuests must be positive.");
+      }
+      if (line.getCheckOutDate() != null
+          && line.getCheckOutDate().isAfter(maxCheckOut)) {
+        throw new BadRequestException("checkOut must be within one year from "
+            + "today.");
+      }
+      roomCount += line.getQuantity();
+      if (roomCount > GroupReservationRequest.MAX_ROOMS) {
+        throw new BadRequestException("A group booking is limited to "
+            + GroupReservationRequest.MAX_ROOMS + " rooms.");
+      }
+
+      // Nights and price of the line, computed once per distinct stay
+      final Reservations template = Reservations.builder()
+          .userId(userId)
+          .hotelId(hotelId)
+          .roomTypeId(line.getRoomTypeId())
+          .numGuests(line.getNumGuests())
+          .currency(req.getCurrency() != null ? req.getCurrency() : "USD")
+          .build();
+      nightsService.recalcNightsOrThrow(template, line.getCheckInDate(),
+          line.getCheckOutDate());
+      final Priced priced = pricedByStay.computeIfAbsent(Stay.of(template),
+          s -> new Priced(pricingService.recalcTotalPriceOrThrow(template),
+              template.getPriceTotal()));
+      template.setPriceTotal(priced.total());
+
+      final NavigableMap<LocalDate, Integer> typeCounts =
+          counts.computeIfAbsent(line.getRoomTypeId(), k -> new TreeMap<>());
+      for (final LocalDate night : priced.nightly().keySet()) {
+        typeCounts.merge(night, line.getQuantity(), Integer::sum);
+      }
+      for (int i = 0; i < line.getQuantity(); i++) {
+        rooms.add(copyOf(template));
+      }
+    }
+
+    // One guarded pass over every (room type, night) of the group
+    inventoryService.reserveCountsOrThrow(hotelId, counts);
+
+    reservationsRepository.insertAll(rooms);
+    nightlyPriceService.snapshotNew(rooms,
+        r -> pricedByStay.get(Stay.of(r)).nightly());
+    return rooms;
+  }
+
+  private static Reservations copyOf(final Reservations t) {
+    return Reservations.builder()
+        .userId(t.getUserId())
+        .hotelId(t.getHotelId())
+        .roomTypeId(t.getRoomTypeId())
+        .checkInDate(t.getCheckInDate())
+        .checkOutDate(t.getCheckOutDate())
+        .nights(t.getNights())
+        .numGuests(t.getNumGuests())
+        .currency(t.getCurrency())
+        .priceTotal(t.getPriceTotal())
+        .build();
+  }
+
+  /**
+   * Room type and dates that determine the price of a group booking line.
+   */
+  private record Stay(Long roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+
+    static Stay of(final Reservations r) {
+      return new Stay(r.getRoomTypeId(), r.getCheckInDate(),
+          r.getCheckOutDate());
+    }
+  }
+
+  /**
+   * Nightly prices and total of a stay.
+   */
+  private record Priced(Map<LocalDate, BigDecimal> nightly, BigDecimal total) {
   }
 
   /**
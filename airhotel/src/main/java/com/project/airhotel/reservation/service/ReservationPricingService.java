@@ -1,42 +1,89 @@
 package com.project.airhotel.reservation.service;
 
 import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.common.guard.EntityGuards;
+import com.project.airhotel.common.model.MinorUnits;
 import com.project.airhotel.reservation.domain.Reservations;
 import com.project.airhotel.room.domain.RoomTypeDailyPrice;
 import com.project.airhotel.room.domain.RoomTypes;
 import com.project.airhotel.room.repository.RoomTypeDailyPriceRepository;
-import com.project.airhotel.room.repository.RoomTypesRepository;
+import com.project.airhotel.room.service.RateCalendarCache;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
  * Prices are computed by aggregating day-level room-type prices, falling back
- * to the room type base rate when no explicit daily price exists.
+ * to the room type base rate when no explicit daily price exists. Stays inside
+ * the booking window are summed from a cached {@link RateCalendarCache rate
+ * calendar}; anything else reads the price rows of the stay.
+ *
+ * <p>In {@link BaseRateMode#VIRTUAL} mode, the default, the base rate fallback
+ * is computed on the fly and pricing never writes. {@link BaseRateMode#PERSIST}
+ * keeps the historical behavior of storing a base-rate row for every priced
+ * night that had none.
  */
 @Service
-@RequiredArgsConstructor
 public class ReservationPricingService {
 
+  /**
+   * How nights without an explicit daily price are handled.
+   */
+  public enum BaseRateMode {
+    /**
+     * Use the base rate without storing anything.
+     */
+    VIRTUAL,
+    /**
+     * Store a base-rate daily price row for the night.
+     */
+    PERSIST
+  }
+
   private final RoomTypeDailyPriceRepository roomTypeDailyPriceRepository;
-  private final RoomTypesRepository roomTypesRepository;
+  private final EntityGuards entityGuards;
+  private final RateCalendarCache rateCalendarCache;
+  private final BaseRateMode baseRateMode;
+
+  /**
+   * Constructs the service.
+   *
+   * @param dailyPriceRepo repository for daily price rows
+   * @param entityGuards   resolves room types loaded in the transaction
+   * @param rateCache      cached nightly rate calendars
+   * @param baseRateMode   handling of nights without a daily price
+   */
+  public ReservationPricingService(
+      final RoomTypeDailyPriceRepository dailyPriceRepo,
+      final EntityGuards entityGuards,
+      final RateCalendarCache rateCache,
+      @Value("${airhotel.pricing.base-rate-mode:virtual}")
+      final BaseRateMode baseRateMode) {
+    this.roomTypeDailyPriceRepository = dailyPriceRepo;
+    this.entityGuards = entityGuards;
+    this.rateCalendarCache = rateCache;
+    this.baseRateMode = baseRateMode;
+  }
 
   /**
    * Recalculate the total price of a reservation, or throw if the inputs are invalid.
    * The method checks stay dates, retrieves the room type and its base rate,
-   * loads or creates day-level prices for each night, and finally updates the
-   * reservation's {@code priceTotal}.
+   * loads day-level prices for each night, falling back to the base rate, and
+   * finally updates the reservation's {@code priceTotal}. Base-rate rows are
+   * only created in {@link BaseRateMode#PERSIST} mode.
    *
    * @param r reservation whose price should be recalculated
+   * @return price of each night of the stay, ordered by date
    * @throws BadRequestException if dates are invalid or pricing configuration is missing
    */
-  public void recalcTotalPriceOrThrow(final Reservations r) {
+  public Map<LocalDate, BigDecimal> recalcTotalPriceOrThrow(final Reservations r) {
     final LocalDate checkIn = r.getCheckInDate();
     final LocalDate checkOut = r.getCheckOutDate();
     final Long hotelId = r.getHotelId();
@@ -53,7 +100,28 @@ public class ReservationPricingService {
           + "in date.");
     }
 
-    final RoomTypes roomType = roomTypesRepository.findById(roomTypeId)
+    final RateCalendarCache.RateCalendar calendar =
+        rateCalendarCache.find(hotelId, roomTypeId);
+    if (calendar != null && calendar.covers(checkIn, checkOut)) {
+      if (baseRateMode == BaseRateMode.PERSIST) {
+        final List<RoomTypeDailyPrice> toSave = new ArrayList<>();
+        for (LocalDate night : calendar.nightsWithoutPrice(checkIn, checkOut)) {
+          toSave.add(baseRatePrice(hotelId, roomTypeId, night,
+              calendar.baseRate()));
+        }
+        if (!toSave.isEmpty()) {
+          roomTypeDailyPriceRepository.saveAll(toSave);
+        }
+      }
+      final Map<LocalDate, BigDecimal> nightly = new LinkedHashMap<>();
+      for (LocalDate d = checkIn; d.isBefore(checkOut); d = d.plusDays(1)) {
+        nightly.put(d, calendar.price(d));
+      }
+      r.setPriceTotal(calendar.total(checkIn, checkOut));
+      return nightly;
+    }
+
+    final RoomTypes roomType = entityGuards.findRoomType(roomTypeId)
         .orElseThrow(() -> new BadRequestException(
             "Room type not found: " + roomTypeId
         ));
@@ -74,26 +142,25 @@ public class ReservationPricingService {
         dailyPrices.stream()
             .collect(Collectors.toMap(RoomTypeDailyPrice::getStayDate, p -> p));
 
-    BigDecimal total = BigDecimal.ZERO;
+    // Summed in minor units; only the result becomes a BigDecimal again
+    final long baseRateMinor = MinorUnits.of(defaultDailyPrice);
+    long totalMinor = 0;
+    final Map<LocalDate, BigDecimal> nightly = new LinkedHashMap<>();
     final List<RoomTypeDailyPrice> toSave = new ArrayList<>();
 
     LocalDate d = checkIn;
     while (d.isBefore(checkOut)) {
-      RoomTypeDailyPrice p = priceByDate.get(d);
-      if (p == null) {
-        p = RoomTypeDailyPrice.builder()
-            .hotelId(hotelId)
-            .roomTypeId(roomTypeId)
-            .stayDate(d)
-            .price(defaultDailyPrice)
-            .computedFrom("{\"source\":\"BASE_RATE\"}")
-            .build();
-
-        toSave.add(p);
-        priceByDate.put(d, p);
+      final RoomTypeDailyPrice p = priceByDate.get(d);
+      if (p != null) {
+        totalMinor += MinorUnits.of(p.getPrice());
+        nightly.put(d, p.getPrice());
+      } else {
+        totalMinor += baseRateMinor;
+        nightly.put(d, defaultDailyPrice);
+        if (baseRateMode == BaseRateMode.PERSIST) {
+          toSave.add(baseRatePrice(hotelId, roomTypeId, d, defaultDailyPrice));
+        }
       }
-
-      total = total.add(p.getPrice());
       d = d.plusDays(1);
     }
 
@@ -101,7 +168,19 @@ public class ReservationPricingService {
       roomTypeDailyPriceRepository.saveAll(toSave);
     }
 
-    r.setPriceTotal(total);
+    r.setPriceTotal(MinorUnits.toAmount(totalMinor));
+    return nightly;
+  }
+
+  private static RoomTypeDailyPrice baseRatePrice(final Long hotelId,
+      final Long roomTypeId, final LocalDate night, final BigDecimal price) {
+    return RoomTypeDailyPrice.builder()
+        .hotelId(hotelId)
+        .roomTypeId(roomTypeId)
+        .stayDate(night)
+        .price(price)
+        .computedFrom(RoomTypeDailyPrice.COMPUTED_FROM_BASE_RATE)
+        .build();
   }
 
 }
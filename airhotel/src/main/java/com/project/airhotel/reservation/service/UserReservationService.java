@@ -2,11 +2,16 @@ package com.project.airhotel.reservation.service;
 
 import com.project.airhotel.common.exception.BadRequestException;
 import com.project.airhotel.common.exception.NotFoundException;
+import com.project.airhotel.common.retry.LockRetryExecutor;
 import com.project.airhotel.hotel.domain.Hotels;
 import com.project.airhotel.hotel.repository.HotelsRepository;
 import com.project.airhotel.reservation.adapter.ReservationChangeAdapter;
 import com.project.airhotel.reservation.domain.Reservations;
+import com.project.airhotel.reservation.dto.CreateHoldRequest;
 import com.project.airhotel.reservation.dto.CreateReservationRequest;
+import com.project.airhotel.reservation.dto.GroupReservationRequest;
+import com.project.airhotel.reservation.dto.GroupReservationResponse;
+import com.project.airhotel.reservation.dto.InventoryHoldResponse;
 import com.project.airhotel.reservation.dto.PatchReservationRequest;
 import com.project.airhotel.reservation.dto.ReservationDetailResponse;
 import com.project.airhotel.reservation.dto.ReservationSummaryResponse;
@@ -15,6 +20,7 @@ import com.project.airhotel.reservation.policy.UserReservationPolicy;
 import com.project.airhotel.reservation.repository.ReservationsRepository;
 import com.project.airhotel.room.domain.RoomTypes;
 import com.project.airhotel.room.repository.RoomTypesRepository;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -54,6 +60,14 @@ public class UserReservationService {
    * Repository to load room type names.
    */
   private final RoomTypesRepository roomTypesRepository;
+  /**
+   * Retries inventory-touching writes that lose a lock race.
+   */
+  private final LockRetryExecutor lockRetry;
+  /**
+   * Holds rooms while the user checks out.
+   */
+  private final InventoryHoldService holdService;
 
   /**
    * Lists reservations that belong to the given user.
@@ -122,10 +136,61 @@ public class UserReservationService {
   public ReservationDetailResponse createReservation(
       final Long userId,
       final CreateReservationRequest req) {
-    final Reservations saved = orchestrator.createReservation(userId, req);
+    final Reservations saved = lockRetry.execute(
+        () -> orchestrator.createReservation(userId, req));
     return mapper.toDetail(saved);
   }
 
+  /**
+   * Books many rooms for the current user in one transaction, one reservation
+   * per room. Retried as a whole on deadlocks or lock timeouts.
+   *
+   * @param userId id of the reservation owner
+   * @param req    group booking request
+   * @return the created reservations and their combined price
+   * @throws NotFoundException   if the hotel or a room type is invalid
+   * @throws BadRequestException if validation fails or any room lacks
+   *                             availability; nothing is booked then
+   */
+  public GroupReservationResponse createGroupReservation(
+      final Long userId,
+      final GroupReservationRequest req) {
+    final List<Reservations> saved = lockRetry.execute(
+        () -> orchestrator.createGroupReservation(userId, req));
+    BigDecimal total = BigDecimal.ZERO;
+    for (final Reservations r : saved) {
+      total = total.add(r.getPriceTotal());
+    }
+    return new GroupReservationResponse(
+        saved.stream().map(mapper::toDetail).toList(), total);
+  }
+
+  /**
+   * Holds one room for the user while they check out. Pass the hold id with
+   * the reservation to book the held room.
+   *
+   * @param userId id of the hold owner
+   * @param req    hotel, room type and stay to hold
+   * @return the hold and its expiry
+   * @throws NotFoundException   if the hotel or room type is invalid
+   * @throws BadRequestException if the stay cannot be held
+   */
+  public InventoryHoldResponse createHold(final Long userId,
+                                          final CreateHoldRequest req) {
+    return lockRetry.execute(() -> holdService.createHold(userId, req));
+  }
+
+  /**
+   * Releases a hold of the user before it expires.
+   *
+   * @param userId id of the hold owner
+   * @param holdId hold id
+   * @throws NotFoundException if the user has no such hold
+   */
+  public void releaseHold(final Long userId, final Long holdId) {
+    holdService.releaseHold(userId, holdId);
+  }
+
   /**
    * Partially updates a reservation owned by the user. Supported updates: -
    * Date changes: release old inventory, recalc nights, reserve new inventory -
@@ -144,13 +209,18 @@ public class UserReservationService {
       final Long id,
       final PatchReservationRequest req) {
 
-    final Reservations r = reservationsRepository.findByIdAndUserId(id, userId)
-        .orElseThrow(() -> new NotFoundException("Reservation not found: " + id));
-
     final var change = ReservationChangeAdapter.fromUserDto(req);
 
-    final var updated = orchestrator.modifyReservation(r.getHotelId(), r,
-        change, new UserReservationPolicy());
+    // Reload on every attempt: a retried attempt must not see the
+    // modifications of the rolled-back one
+    final var updated = lockRetry.execute(() -> {
+      final Reservations r = reservationsRepository.findByIdAndUserId(id,
+              userId)
+          .orElseThrow(() -> new NotFoundException("Reservation not found: "
+              + id));
+      return orchestrator.modifyReservation(r.getHotelId(), r, change,
+          new UserReservationPolicy());
+    });
     return mapper.toDetail(updated);
   }
 
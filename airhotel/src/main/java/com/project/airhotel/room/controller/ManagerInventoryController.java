@@ -0,0 +1,94 @@
+package com.project.airhotel.room.controller;
+
+import com.project.airhotel.room.dto.InventoryBlockRequest;
+import com.project.airhotel.room.dto.InventoryBlockResponse;
+import com.project.airhotel.room.dto.InventoryCapacityReport;
+import com.project.airhotel.room.service.InventoryBlockService;
+import com.project.airhotel.room.service.InventoryCapacityService;
+import jakarta.validation.Valid;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Manager-facing REST controller for day-level room type inventory. Exposes
+ * endpoints to block and unblock rooms of a room type over a range of nights
+ * and to re-apply a room type's room count to its future nights.
+ * Base path: /manager/hotels/{hotelId}/inventory
+ */
+@Validated
+@RestController
+@RequestMapping("/manager/hotels/{hotelId}/inventory")
+public class ManagerInventoryController {
+
+  /**
+   * Application service that blocks and unblocks inventory.
+   */
+  private final InventoryBlockService blockService;
+  /**
+   * Application service that applies room counts to inventory.
+   */
+  private final InventoryCapacityService capacityService;
+
+  /**
+   * Constructs the controller with its required service dependencies.
+   *
+   * @param blockService    inventory block service
+   * @param capacityService inventory capacity service
+   */
+  public ManagerInventoryController(final InventoryBlockService blockService,
+      final InventoryCapacityService capacityService) {
+    this.blockService = blockService;
+    this.capacityService = capacityService;
+  }
+
+  /**
+   * Blocks rooms of a room type on every night of a range, all or nothing.
+   * POST /manager/hotels/{hotelId}/inventory/block
+   *
+   * @param hotelId hotel identifier
+   * @param req     room type, nights and count to block
+   * @return the blocked range
+   */
+  @PostMapping("/block")
+  public InventoryBlockResponse block(
+      @PathVariable final Long hotelId,
+      @Valid @RequestBody final InventoryBlockRequest req) {
+    return blockService.block(hotelId, req);
+  }
+
+  /**
+   * Unblocks rooms of a room type on every night of a range, all or nothing.
+   * POST /manager/hotels/{hotelId}/inventory/unblock
+   *
+   * @param hotelId hotel identifier
+   * @param req     room type, nights and count to unblock
+   * @return the unblocked range
+   */
+  @PostMapping("/unblock")
+  public InventoryBlockResponse unblock(
+      @PathVariable final Long hotelId,
+      @Valid @RequestBody final InventoryBlockRequest req) {
+    return blockService.unblock(hotelId, req);
+  }
+
+  /**
+   * Re-applies the room count of a room type to all its future nights and
+   * reports the nights on which reservations exceed it.
+   * POST /manager/hotels/{hotelId}/inventory/recompute?roomTypeId=1
+   *
+   * @param hotelId    hotel identifier
+   * @param roomTypeId room type identifier
+   * @return the applied count and the overbooked nights
+   */
+  @PostMapping("/recompute")
+  public InventoryCapacityReport recompute(
+      @PathVariable final Long hotelId,
+      @RequestParam final Long roomTypeId) {
+    return capacityService.recompute(hotelId, roomTypeId);
+  }
+}
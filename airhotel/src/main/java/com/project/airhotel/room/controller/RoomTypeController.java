@@ -1,7 +1,10 @@
 package com.project.airhotel.room.controller;
 
+import com.project.airhotel.room.dto.FlexibleAvailabilityResponse;
 import com.project.airhotel.room.dto.RoomTypeAvailabilityResponse;
+import com.project.airhotel.room.dto.RoomTypeQuoteResponse;
 import com.project.airhotel.room.service.RoomTypeAvailabilityService;
+import com.project.airhotel.room.service.RoomTypeQuoteService;
 import java.time.LocalDate;
 import java.util.List;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -19,10 +22,13 @@ import org.springframework.web.bind.annotation.RestController;
 public class RoomTypeController {
 
   private final RoomTypeAvailabilityService availabilityService;
+  private final RoomTypeQuoteService quoteService;
 
   public RoomTypeController(
-      final RoomTypeAvailabilityService availabilityService) {
+      final RoomTypeAvailabilityService availabilityService,
+      final RoomTypeQuoteService quoteService) {
     this.availabilityService = availabilityService;
+    this.quoteService = quoteService;
   }
 
   /**
@@ -45,4 +51,50 @@ public class RoomTypeController {
     return availabilityService.getAvailability(
         hotelId, checkIn, checkOut, numGuests);
   }
+
+  /**
+   * Returns the nightly price breakdown and total of every room type that is
+   * available for the entire stay window.
+   *
+   * @param hotelId   hotel id
+   * @param checkIn   check-in date (inclusive)
+   * @param checkOut  check-out date (exclusive)
+   * @param numGuests optional guest count filter
+   * @return price quotes of the available room types
+   */
+  @GetMapping("/quotes")
+  public List<RoomTypeQuoteResponse> getQuotes(
+      @PathVariable final Long hotelId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+      final LocalDate checkIn,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+      final LocalDate checkOut,
+      @RequestParam(required = false) final Integer numGuests) {
+    return quoteService.getQuotes(hotelId, checkIn, checkOut, numGuests);
+  }
+
+  /**
+   * Returns, per room type, every check-in date within a window for which a
+   * stay of the given length is available, replacing one availability
+   * request per candidate date.
+   *
+   * @param hotelId     hotel id
+   * @param windowStart earliest check-in date (inclusive)
+   * @param windowEnd   latest check-out date (inclusive)
+   * @param nights      stay length in nights
+   * @param numGuests   optional guest count filter
+   * @return room types with their feasible stays
+   */
+  @GetMapping("/availability/flexible")
+  public List<FlexibleAvailabilityResponse> getFlexibleAvailability(
+      @PathVariable final Long hotelId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+      final LocalDate windowStart,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+      final LocalDate windowEnd,
+      @RequestParam final Integer nights,
+      @RequestParam(required = false) final Integer numGuests) {
+    return availabilityService.getFlexibleAvailability(
+        hotelId, windowStart, windowEnd, nights, numGuests);
+  }
 }
@@ -0,0 +1,14 @@
+package com.project.airhotel.room.domain;
+
+/**
+ * Published when a room type is created or its room count changes, so that
+ * data derived from its capacity, such as day-level inventory, can be brought
+ * up to date once the change is committed.
+ *
+ * @param roomTypeId id of the room type
+ * @param hotelId    hotel that owns the room type
+ * @param totalRooms physical room count after the change
+ */
+public record RoomTypeChangedEvent(Long roomTypeId, Long hotelId,
+                                   int totalRooms) {
+}
@@ -3,6 +3,7 @@ package com.project.airhotel.room.domain;
 import com.project.airhotel.common.model.ModelConstants;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -30,7 +31,14 @@ import org.hibernate.annotations.UpdateTimestamp;
     @UniqueConstraint(name = "uq_price_hotel_type_date", columnNames = {
         "hotel_id", "room_type_id", "stay_date"})
 })
+@EntityListeners(RoomTypeDailyPriceEntityListener.class)
 public class RoomTypeDailyPrice {
+  /**
+   * {@link #computedFrom} of rows that only copy the room type base rate.
+   */
+  public static final String COMPUTED_FROM_BASE_RATE =
+      "{\"source\":\"BASE_RATE\"}";
+
   /**
    * Surrogate primary key.
    */
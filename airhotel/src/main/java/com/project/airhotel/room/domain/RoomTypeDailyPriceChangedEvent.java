@@ -0,0 +1,15 @@
+package com.project.airhotel.room.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a daily price row is inserted, updated or deleted, so that
+ * cached rate calendars can be dropped once the change is committed.
+ *
+ * @param hotelId    hotel that owns the room type
+ * @param roomTypeId room type the price belongs to
+ * @param stayDate   night the price applies to
+ */
+public record RoomTypeDailyPriceChangedEvent(Long hotelId, Long roomTypeId,
+                                             LocalDate stayDate) {
+}
@@ -0,0 +1,38 @@
+package com.project.airhotel.room.domain;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA lifecycle listener for {@link RoomTypeDailyPrice}. Translates inserts,
+ * updates and deletes into {@link RoomTypeDailyPriceChangedEvent}s. Hibernate
+ * resolves the listener from the Spring context, so the event publisher can
+ * be injected.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomTypeDailyPriceEntityListener {
+
+  /**
+   * Publisher for application events.
+   */
+  private final ApplicationEventPublisher publisher;
+
+  /**
+   * Publishes a change event after a daily price has been written or
+   * removed.
+   *
+   * @param price the inserted, updated or deleted price row
+   */
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void afterWrite(final RoomTypeDailyPrice price) {
+    publisher.publishEvent(new RoomTypeDailyPriceChangedEvent(
+        price.getHotelId(), price.getRoomTypeId(), price.getStayDate()));
+  }
+}
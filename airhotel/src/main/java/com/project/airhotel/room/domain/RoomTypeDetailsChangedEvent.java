@@ -0,0 +1,12 @@
+package com.project.airhotel.room.domain;
+
+/**
+ * Published when a room type is updated without a change to its room count,
+ * such as a rename or a new base rate, so that cached rate calendars can be
+ * dropped once the change is committed.
+ *
+ * @param hotelId    hotel that owns the room type
+ * @param roomTypeId id of the room type
+ */
+public record RoomTypeDetailsChangedEvent(Long hotelId, Long roomTypeId) {
+}
@@ -17,7 +17,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 /**
  * Inventory counts for a room type on a date. Available is derived as total
- * minus reserved minus blocked by business logic.
+ * minus reserved minus blocked by business logic. Blocked rooms are held at
+ * checkout, allotted by a manager or out of order; the last two are also
+ * counted on their own, so each is only released by its owner.
  */
 @Data
 @Builder
@@ -72,6 +74,20 @@ public class RoomTypeInventory {
   @Column(nullable = false)
   private Integer blocked;
 
+  /**
+   * Of the blocked rooms, those held back by manager allotments.
+   */
+  @Builder.Default
+  @Column(nullable = false)
+  private Integer allotted = 0;
+
+  /**
+   * Of the blocked rooms, those blocked because a room is out of order.
+   */
+  @Builder.Default
+  @Column(nullable = false)
+  private Integer outOfOrder = 0;
+
   /**
    * Computed available rooms for the date.
    */
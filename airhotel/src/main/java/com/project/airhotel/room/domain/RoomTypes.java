@@ -1,37 +1,56 @@
 package com.project.airhotel.room.domain;
 
 import com.project.airhotel.common.model.ModelConstants;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.persistence.UniqueConstraint;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 
 /**
  * Room type master data for a given hotel, including capacity, bedding
- * information and base pricing.
+ * information and base pricing. Inserts and room count changes publish a
+ * {@link RoomTypeChangedEvent}, other updates a
+ * {@link RoomTypeDetailsChangedEvent}; entities are held in the second-level
+ * cache.
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE,
+    region = RoomTypes.CACHE_REGION)
+@EntityListeners(RoomTypesEntityListener.class)
 @Table(name = "room_types", uniqueConstraints = {
     @UniqueConstraint(name = "uq_room_types_hotel_code", columnNames = {
         "hotel_id", "code"})
 })
 public class RoomTypes {
+  /**
+   * Second-level cache region holding these entities.
+   */
+  public static final String CACHE_REGION = "room-types";
+
   /**
    * Surrogate primary key.
    */
@@ -118,4 +137,13 @@ public class RoomTypes {
   @UpdateTimestamp
   @Column(nullable = false)
   private LocalDateTime updatedAt;
+
+  /**
+   * Room count as last read from or written to the database, kept by
+   * {@link RoomTypesEntityListener} to tell resizes from other updates.
+   */
+  @Transient
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private Integer loadedTotalRooms;
 }
@@ -0,0 +1,72 @@
+package com.project.airhotel.room.domain;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA lifecycle listener for {@link RoomTypes}. Translates inserts and
+ * updates of the room count into {@link RoomTypeChangedEvent}s, and other
+ * updates into {@link RoomTypeDetailsChangedEvent}s, so that renaming or
+ * repricing a room type does not rewrite its inventory. Hibernate resolves
+ * the listener from the Spring context, so the event publisher can be
+ * injected.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomTypesEntityListener {
+
+  /**
+   * Publisher for application events.
+   */
+  private final ApplicationEventPublisher publisher;
+
+  /**
+   * Remembers the stored room count of a loaded room type.
+   *
+   * @param rt the loaded room type
+   */
+  @PostLoad
+  public void afterLoad(final RoomTypes rt) {
+    rt.setLoadedTotalRooms(rt.getTotalRooms());
+  }
+
+  /**
+   * Publishes a change event after a room type has been inserted.
+   *
+   * @param rt the inserted room type
+   */
+  @PostPersist
+  public void afterPersist(final RoomTypes rt) {
+    publishTotal(rt);
+  }
+
+  /**
+   * Publishes a change event after a room type has been updated, carrying
+   * the room count only when it differs from the stored one.
+   *
+   * @param rt the updated room type
+   */
+  @PostUpdate
+  public void afterUpdate(final RoomTypes rt) {
+    if (Objects.equals(rt.getTotalRooms(), rt.getLoadedTotalRooms())) {
+      publisher.publishEvent(new RoomTypeDetailsChangedEvent(rt.getHotelId(),
+          rt.getId()));
+      return;
+    }
+    publishTotal(rt);
+  }
+
+  private void publishTotal(final RoomTypes rt) {
+    if (rt.getTotalRooms() == null) {
+      return;
+    }
+    rt.setLoadedTotalRooms(rt.getTotalRooms());
+    publisher.publishEvent(new RoomTypeChangedEvent(rt.getId(),
+        rt.getHotelId(), rt.getTotalRooms()));
+  }
+}
@@ -2,6 +2,7 @@ package com.project.airhotel.room.domain;
 
 import com.project.airhotel.common.model.ModelConstants;
 import com.project.airhotel.room.domain.enums.RoomStatus;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -16,23 +17,34 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 /**
- * Physical room record within a hotel, including number and status.
+ * Physical room record within a hotel, including number and status. Held in
+ * the second-level cache.
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE,
+    region = Rooms.CACHE_REGION)
 @Table(name = "rooms", uniqueConstraints = {
     @UniqueConstraint(name = "uq_rooms_hotel_roomno", columnNames = {
         "hotel_id", "room_number"})
 })
 public class Rooms {
 
+  /**
+   * Second-level cache region holding these entities.
+   */
+  public static final String CACHE_REGION = "rooms";
+
   /**
    * Surrogate primary key.
    */
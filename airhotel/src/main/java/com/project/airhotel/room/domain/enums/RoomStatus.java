@@ -9,5 +9,15 @@ public enum RoomStatus {
   /** Under maintenance temporarily. */
   MAINTENANCE,
   /** Out of service until further notice. */
-  OUT_OF_SERVICE
+  OUT_OF_SERVICE;
+
+  /**
+   * Whether a room in this state can be sold. Rooms that cannot are kept
+   * blocked in their room type's inventory.
+   *
+   * @return true only for {@link #AVAILABLE}
+   */
+  public boolean isSellable() {
+    return this == AVAILABLE;
+  }
 }
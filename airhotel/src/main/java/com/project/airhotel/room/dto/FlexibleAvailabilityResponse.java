@@ -0,0 +1,29 @@
+package com.project.airhotel.room.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Flexible-date availability of a room type: every check-in date within the
+ * search window for which the whole stay is available.
+ */
+@Data
+@Builder
+public class FlexibleAvailabilityResponse {
+  private Long roomTypeId;
+  private String code;
+  private String name;
+  private String bedType;
+  private Integer capacity;
+  private Integer totalRooms;
+  /**
+   * Base rate if present in the room type definition.
+   */
+  private BigDecimal baseRate;
+  /**
+   * Feasible stays ordered by check-in date.
+   */
+  private List<FlexibleStayOption> options;
+}
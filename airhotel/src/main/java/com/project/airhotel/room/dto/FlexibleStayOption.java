@@ -0,0 +1,23 @@
+package com.project.airhotel.room.dto;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One bookable stay found by a flexible-date search.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlexibleStayOption {
+  private LocalDate checkIn;
+  private LocalDate checkOut;
+  /**
+   * Minimum available count across the nights of this stay.
+   */
+  private Integer available;
+}
@@ -0,0 +1,47 @@
+package com.project.airhotel.room.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import lombok.Data;
+
+/**
+ * Request payload for blocking or unblocking rooms of one room type over a
+ * range of nights, such as a manager allotment. The range runs from startDate
+ * up to, but excluding, endDate, like the nights of a stay.
+ */
+@Data
+public class InventoryBlockRequest {
+
+  /**
+   * Room type whose inventory is changed; must belong to the hotel.
+   */
+  @NotNull(message = "roomTypeId cannot be null")
+  private Long roomTypeId;
+
+  /**
+   * First night of the range in ISO format yyyy-MM-dd.
+   */
+  @NotNull(message = "startDate cannot be null")
+  @FutureOrPresent(message = "startDate must be today or future")
+  @JsonFormat(pattern = "yyyy-MM-dd")
+  private LocalDate startDate;
+
+  /**
+   * Day after the last night of the range, strictly after startDate.
+   */
+  @NotNull(message = "endDate cannot be null")
+  @Future(message = "endDate must be in the future")
+  @JsonFormat(pattern = "yyyy-MM-dd")
+  private LocalDate endDate;
+
+  /**
+   * Rooms to block or unblock on every night.
+   */
+  @NotNull(message = "count cannot be null")
+  @Min(value = 1, message = "count must be at least 1")
+  private Integer count;
+}
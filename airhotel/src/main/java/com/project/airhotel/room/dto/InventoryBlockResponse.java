@@ -0,0 +1,28 @@
+package com.project.airhotel.room.dto;
+
+import java.time.LocalDate;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Outcome of blocking or unblocking rooms of one room type over a range of
+ * nights.
+ */
+@Data
+@Builder
+public class InventoryBlockResponse {
+  private Long roomTypeId;
+  private LocalDate startDate;
+  /**
+   * Day after the last night changed.
+   */
+  private LocalDate endDate;
+  /**
+   * Rooms blocked or unblocked on every night.
+   */
+  private Integer count;
+  /**
+   * Number of nights changed.
+   */
+  private Integer nights;
+}
@@ -0,0 +1,28 @@
+package com.project.airhotel.room.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Outcome of applying a room type's room count to its future inventory.
+ */
+@Data
+@Builder
+public class InventoryCapacityReport {
+  private Long roomTypeId;
+  /**
+   * Room count applied to every night from today on.
+   */
+  private Integer totalRooms;
+  /**
+   * Number of nights recomputed.
+   */
+  private Integer nightsUpdated;
+  /**
+   * Nights on which more rooms are reserved than the room type now has, in
+   * ascending order; these need rebooking.
+   */
+  private List<LocalDate> overbookedNights;
+}
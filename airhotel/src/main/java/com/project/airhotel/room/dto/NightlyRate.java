@@ -0,0 +1,24 @@
+package com.project.airhotel.room.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Price of one night of a quoted stay.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NightlyRate {
+  private LocalDate stayDate;
+  private BigDecimal price;
+  /**
+   * True when the night has no daily price and is charged the base rate.
+   */
+  private Boolean baseRateApplied;
+}
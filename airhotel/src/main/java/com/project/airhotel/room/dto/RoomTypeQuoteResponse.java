@@ -0,0 +1,33 @@
+package com.project.airhotel.room.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Price quote of an available room type for one stay, with the same total a
+ * reservation for that stay would be charged.
+ */
+@Data
+@Builder
+public class RoomTypeQuoteResponse {
+  private Long roomTypeId;
+  private String code;
+  private String name;
+  private String bedType;
+  private Integer capacity;
+  /**
+   * Minimum available count across the nights of the stay.
+   */
+  private Integer available;
+  private BigDecimal baseRate;
+  /**
+   * Sum of the nightly prices.
+   */
+  private BigDecimal total;
+  /**
+   * One entry per night, ordered by date.
+   */
+  private List<NightlyRate> nights;
+}
@@ -2,9 +2,15 @@ package com.project.airhotel.room.repository;
 
 import com.project.airhotel.room.domain.RoomTypeDailyPrice;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository for room type daily price.
@@ -16,4 +22,64 @@ public interface RoomTypeDailyPriceRepository extends JpaRepository<RoomTypeDail
       Long room,
       LocalDate startInclusive,
       LocalDate endInclusive);
+
+  /**
+   * Daily prices of every room type of a hotel over a date range, read in
+   * one query when quoting several room types at once.
+   *
+   * @param hotelId        hotel id
+   * @param startInclusive first stay date
+   * @param endInclusive   last stay date
+   * @return matching rows in no particular order
+   */
+  List<RoomTypeDailyPrice> findByHotelIdAndStayDateBetween(
+      Long hotelId,
+      LocalDate startInclusive,
+      LocalDate endInclusive);
+
+  /**
+   * Ids of rows that were written as a base-rate fallback and still carry
+   * the current base rate of their room type, in ascending order. Rows
+   * whose price differs from the base rate are kept, since they may have
+   * been edited since.
+   *
+   * @param source  pattern matched against {@code computedFrom}
+   * @param afterId only ids greater than this are returned
+   * @param page    batch size
+   * @return ids of redundant rows
+   */
+  @Query("""
+      select p.id from RoomTypeDailyPrice p, RoomTypes rt
+      where rt.id = p.roomTypeId
+        and rt.hotelId = p.hotelId
+        and p.price = rt.baseRate
+        and cast(p.computedFrom as String) like :source
+        and p.id > :afterId
+      order by p.id
+      """)
+  List<Long> findRedundantBaseRateIds(@Param("source") String source,
+                                      @Param("afterId") Long afterId,
+                                      Pageable page);
+
+  /**
+   * Deletes the given rows that are still redundant, re-checking the
+   * predicate of {@link #findRedundantBaseRateIds} so that a row repriced
+   * or edited since it was found is kept. Runs in its own transaction.
+   *
+   * @param ids    candidate ids
+   * @param source pattern matched against {@code computedFrom}
+   * @return number of rows deleted
+   */
+  @Transactional
+  @Modifying
+  @Query("""
+      delete from RoomTypeDailyPrice p
+      where p.id in :ids
+        and cast(p.computedFrom as String) like :source
+        and p.price = (select rt.baseRate from RoomTypes rt
+                       where rt.id = p.roomTypeId
+                         and rt.hotelId = p.hotelId)
+      """)
+  int deleteRedundantBaseRateRows(@Param("ids") Collection<Long> ids,
+                                  @Param("source") String source);
 }
@@ -3,10 +3,12 @@ package com.project.airhotel.room.repository;
 import com.project.airhotel.room.domain.RoomTypeInventory;
 import jakarta.persistence.LockModeType;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -19,7 +21,8 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface RoomTypeInventoryRepository
-    extends JpaRepository<RoomTypeInventory, Long> {
+    extends JpaRepository<RoomTypeInventory, Long>,
+    RoomTypeInventoryRepositoryCustom {
 
   /**
    * Finds a single inventory row for the given hotel, room type, and stay date,
@@ -49,6 +52,34 @@ public interface RoomTypeInventoryRepository
       @Param("roomTypeId") Long roomTypeId,
       @Param("stayDate") LocalDate stayDate);
 
+  /**
+   * Locks every existing inventory row of one room type within a stay-date
+   * interval (inclusive) using a single statement. Rows are returned and
+   * therefore locked in ascending stay-date order, so concurrent callers
+   * working on overlapping ranges always acquire row locks in the same order.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param start      first stay date, inclusive
+   * @param end        last stay date, inclusive
+   * @return locked inventory rows ordered by stay date; dates without a row
+   *         are simply absent
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("""
+         select i
+           from RoomTypeInventory i
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate between :start and :end
+          order by i.stayDate
+         """)
+  List<RoomTypeInventory> findRangeForUpdate(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("start") LocalDate start,
+      @Param("end") LocalDate end);
+
   /**
    * Retrieves room type inventory records for a given hotel and stay date.
    *
@@ -78,4 +109,400 @@ public interface RoomTypeInventoryRepository
       LocalDate end
   );
 
+  /**
+   * Reserves one room on each listed night whose row still has availability,
+   * as a single guarded UPDATE. Nights without a row or with nothing left are
+   * skipped, so a result smaller than the number of nights means the stay
+   * cannot be fully reserved and the caller must roll back.
+   * Like every inventory write, it recomputes availability from the counters
+   * as {@code greatest(total - reserved - blocked, 0)} instead of adjusting
+   * it by a delta, and assigns it first so that MySQL, which evaluates
+   * assignments left to right, reads the old counters.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param stayDates  nights to reserve
+   * @return number of rows that were decremented
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+         update RoomTypeInventory i
+            set i.available = greatest(i.total - i.reserved - i.blocked - 1, 0),
+                i.reserved  = i.reserved + 1
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate in :stayDates
+            and i.available > 0
+         """)
+  int reserveOneIfAvailable(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("stayDates") Collection<LocalDate> stayDates);
+
+  /**
+   * Releases one reserved room on each listed night as a single UPDATE.
+   * Rows without reservations are left unchanged.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param stayDates  nights to release
+   * @return number of rows that were incremented
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+         update RoomTypeInventory i
+            set i.available = greatest(i.total - i.reserved - i.blocked + 1, 0),
+                i.reserved  = i.reserved - 1
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate in :stayDates
+            and i.reserved > 0
+         """)
+  int releaseOne(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("stayDates") Collection<LocalDate> stayDates);
+
+  /**
+   * Blocks one room on each listed night whose row still has availability,
+   * as a single guarded UPDATE, for a checkout hold. A result smaller than
+   * the number of nights means the stay cannot be fully held and the caller
+   * must roll back.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param stayDates  nights to block
+   * @return number of rows that were decremented
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+         update RoomTypeInventory i
+            set i.available = greatest(i.total - i.reserved - i.blocked - 1, 0),
+                i.blocked   = i.blocked + 1
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate in :stayDates
+            and i.available > 0
+         """)
+  int blockOneIfAvailable(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("stayDates") Collection<LocalDate> stayDates);
+
+  /**
+   * Unblocks one room held at checkout on each listed night as a single
+   * UPDATE. Rows whose blocked rooms are all allotted or out of order are
+   * left unchanged.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param stayDates  nights to unblock
+   * @return number of rows that were incremented
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+         update RoomTypeInventory i
+            set i.available = greatest(i.total - i.reserved - i.blocked + 1, 0),
+                i.blocked   = i.blocked - 1
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate in :stayDates
+            and i.blocked - i.allotted - i.outOfOrder > 0
+         """)
+  int unblockOne(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("stayDates") Collection<LocalDate> stayDates);
+
+  /**
+   * Turns one blocked room into a reserved one on each listed night, which
+   * converts a hold into a reservation. Availability is only recomputed from
+   * the counters, which this conversion leaves balanced.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param stayDates  nights of the hold
+   * @return number of rows that were converted
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+         update RoomTypeInventory i
+            set i.available = greatest(i.total - i.reserved - i.blocked, 0),
+                i.blocked   = i.blocked - 1,
+                i.reserved  = i.reserved + 1
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate in :stayDates
+            and i.blocked - i.allotted - i.outOfOrder > 0
+         """)
+  int convertBlockedToReserved(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("stayDates") Collection<LocalDate> stayDates);
+
+  /**
+   * Blocks a number of rooms on every night of a stay-date interval
+   * (inclusive) as a single guarded UPDATE, for a manager allotment, and
+   * counts them as allotted. Nights with fewer rooms available are skipped,
+   * so a result smaller than the number of nights means the range cannot be
+   * fully blocked and the caller must roll back.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param count      rooms to block per night
+   * @param start      first stay date, inclusive
+   * @param end        last stay date, inclusive
+   * @return number of rows that were decremented
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+         update RoomTypeInventory i
+            set i.available = greatest(i.total - i.reserved - i.blocked
+                                       - :count, 0),
+                i.blocked   = i.blocked + :count,
+                i.allotted  = i.allotted + :count
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate between :start and :end
+            and i.available >= :count
+         """)
+  int allotIfAvailable(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("count") int count,
+      @Param("start") LocalDate start,
+      @Param("end") LocalDate end);
+
+  /**
+   * Blocks a number of rooms on every existing night of a stay-date interval
+   * (inclusive) as a single UPDATE, whether or not they are still available,
+   * because rooms went out of order, and counts them as such. Availability
+   * is recomputed from the counters and never drops below zero; nights that
+   * were already sold out stay overbooked.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param count      rooms to block per night
+   * @param start      first stay date, inclusive
+   * @param end        last stay date, inclusive
+   * @return number of rows changed
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+         update RoomTypeInventory i
+            set i.available  = greatest(i.total - i.reserved - i.blocked
+                                        - :count, 0),
+                i.blocked    = i.blocked + :count,
+                i.outOfOrder = i.outOfOrder + :count
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate between :start and :end
+         """)
+  int blockOutOfOrder(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("count") int count,
+      @Param("start") LocalDate start,
+      @Param("end") LocalDate end);
+
+  /**
+   * Releases a number of allotted rooms on every night of a stay-date
+   * interval (inclusive) that still has at least that many allotted, as a
+   * single UPDATE. Rooms held at checkout or out of order are never
+   * released. Availability is recomputed from the counters rather than
+   * incremented, so nights left overbooked by {@link #blockOutOfOrder} do
+   * not become sellable too early.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param count      rooms to release per night
+   * @param start      first stay date, inclusive
+   * @param end        last stay date, inclusive
+   * @return number of rows changed
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+         update RoomTypeInventory i
+            set i.available = greatest(i.total - i.reserved - i.blocked
+                                       + :count, 0),
+                i.blocked   = i.blocked - :count,
+                i.allotted  = i.allotted - :count
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate between :start and :end
+            and i.allotted  >= :count
+         """)
+  int releaseAllotment(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("count") int count,
+      @Param("start") LocalDate start,
+      @Param("end") LocalDate end);
+
+  /**
+   * Releases a number of out-of-order rooms on every night of a stay-date
+   * interval (inclusive) that still has at least that many out of order, as
+   * a single UPDATE. Availability is recomputed from the counters.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param count      rooms to release per night
+   * @param start      first stay date, inclusive
+   * @param end        last stay date, inclusive
+   * @return number of rows changed
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+         update RoomTypeInventory i
+            set i.available  = greatest(i.total - i.reserved - i.blocked
+                                        + :count, 0),
+                i.blocked    = i.blocked - :count,
+                i.outOfOrder = i.outOfOrder - :count
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate between :start and :end
+            and i.outOfOrder >= :count
+         """)
+  int releaseOutOfOrder(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("count") int count,
+      @Param("start") LocalDate start,
+      @Param("end") LocalDate end);
+
+  /**
+   * Returns which of the given nights already have an inventory row.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param stayDates  nights to look up
+   * @return stay dates that are backed by a row
+   */
+  @Query("""
+         select i.stayDate
+           from RoomTypeInventory i
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate in :stayDates
+         """)
+  List<LocalDate> findExistingStayDates(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("stayDates") Collection<LocalDate> stayDates);
+
+  /**
+   * Applies a new physical room count to every row of a room type within a
+   * stay-date interval (inclusive) that does not have it yet, in one
+   * statement. Availability is recomputed from the counters and never drops
+   * below zero. Callers cover long horizons in bounded intervals, each in
+   * its own short transaction.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param total      new physical room count
+   * @param start      first stay date to update, inclusive
+   * @param end        last stay date to update, inclusive
+   * @return number of rows changed
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+         update RoomTypeInventory i
+            set i.available = greatest(:total - i.reserved - i.blocked, 0),
+                i.total     = :total
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate between :start and :end
+            and i.total     <> :total
+         """)
+  int syncTotalBetween(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("total") int total,
+      @Param("start") LocalDate start,
+      @Param("end") LocalDate end);
+
+  /**
+   * Tells whether any row of a room type, from the given night on, has a
+   * room count other than the given one.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param from       first stay date to check, inclusive
+   * @param total      expected physical room count
+   * @return true if some row still needs the count applied
+   */
+  @Query("""
+         select case when count(i) > 0 then true else false end
+           from RoomTypeInventory i
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate  >= :from
+            and i.total     <> :total
+         """)
+  boolean existsTotalOtherThanFrom(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("from") LocalDate from,
+      @Param("total") int total);
+
+  /**
+   * Counts the rows of a room type within a stay-date interval (inclusive).
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param start      first stay date, inclusive
+   * @param end        last stay date, inclusive
+   * @return number of materialized nights in the interval
+   */
+  long countByHotelIdAndRoomTypeIdAndStayDateBetween(Long hotelId,
+      Long roomTypeId, LocalDate start, LocalDate end);
+
+  /**
+   * Returns the nights of a room type, from the given night on, on which
+   * more rooms are reserved than the given room count, that is the nights a
+   * smaller room count would overbook.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param from       first stay date to check, inclusive
+   * @param rooms      room count to check against
+   * @return affected stay dates in ascending order
+   */
+  @Query("""
+         select i.stayDate
+           from RoomTypeInventory i
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate  >= :from
+            and i.reserved   > :rooms
+          order by i.stayDate
+         """)
+  List<LocalDate> findStayDatesReservedAbove(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("from") LocalDate from,
+      @Param("rooms") int rooms);
+
+  /**
+   * Returns the nights of a room type, from the given night on, on which more
+   * rooms are reserved than the room type has.
+   *
+   * @param hotelId    the hotel identifier
+   * @param roomTypeId the room type identifier
+   * @param from       first stay date to check, inclusive
+   * @return overbooked stay dates in ascending order
+   */
+  @Query("""
+         select i.stayDate
+           from RoomTypeInventory i
+          where i.hotelId    = :hotelId
+            and i.roomTypeId = :roomTypeId
+            and i.stayDate  >= :from
+            and i.reserved   > i.total
+          order by i.stayDate
+         """)
+  List<LocalDate> findOverbookedStayDatesFrom(
+      @Param("hotelId") Long hotelId,
+      @Param("roomTypeId") Long roomTypeId,
+      @Param("from") LocalDate from);
 }
@@ -0,0 +1,66 @@
+package com.project.airhotel.room.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+
+/**
+ * Bulk operations on room type inventory that cannot be expressed efficiently
+ * through derived queries or entity saves.
+ */
+public interface RoomTypeInventoryRepositoryCustom {
+
+  /**
+   * Creates inventory rows for the given stay dates in one JDBC batch, with
+   * the rooms of the type that are out of order already blocked. Dates that
+   * already have a row are skipped silently, which makes the call safe when
+   * concurrent transactions initialize the same dates. Services go through
+   * {@link com.project.airhotel.room.service.InventoryRowSeeder}, which
+   * counts the out-of-order rooms.
+   *
+   * @param hotelId    hotel identifier
+   * @param roomTypeId room type identifier
+   * @param total      physical room count to seed total with
+   * @param blocked    out-of-order rooms to block on every new night
+   * @param stayDates  stay dates to initialize
+   * @return number of rows actually inserted
+   */
+  int insertMissingRows(Long hotelId, Long roomTypeId, int total, int blocked,
+                        Collection<LocalDate> stayDates);
+
+  /**
+   * Reserves a number of rooms on each night, in one JDBC batch of guarded
+   * updates applied in ascending stay-date order. A night is only decremented
+   * while its row still has at least the requested count available; nights
+   * without a row or with too little left are skipped and returned, in which
+   * case the caller must roll back. A night whose update count the driver
+   * does not report exactly is never taken as reserved.
+   *
+   * @param hotelId    hotel identifier
+   * @param roomTypeId room type identifier
+   * @param counts     rooms to reserve keyed by stay date
+   * @return stay dates that could not be reserved, in ascending order
+   * @throws org.springframework.dao.DataAccessException if the driver does
+   *         not report an exact update count for some night
+   */
+  List<LocalDate> reserveCountsIfAvailable(Long hotelId, Long roomTypeId,
+                                           NavigableMap<LocalDate, Integer>
+                                               counts);
+
+  /**
+   * Unblocks a number of rooms on each night in one JDBC batch, as when
+   * expired holds are released together. A night is only changed while it
+   * still has at least that many rooms held, so allotments and out-of-order
+   * rooms are never released.
+   *
+   * @param hotelId    hotel identifier
+   * @param roomTypeId room type identifier
+   * @param counts     rooms to unblock keyed by stay date
+   * @return number of nights changed
+   * @throws org.springframework.dao.DataAccessException if the driver does
+   *         not report an exact update count for some night
+   */
+  int unblockCounts(Long hotelId, Long roomTypeId,
+                    NavigableMap<LocalDate, Integer> counts);
+}
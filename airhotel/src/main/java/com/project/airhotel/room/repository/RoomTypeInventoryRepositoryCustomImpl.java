@@ -0,0 +1,151 @@
+package com.project.airhotel.room.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.JdbcUpdateAffectedIncorrectNumberOfRowsException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC-backed implementation of {@link RoomTypeInventoryRepositoryCustom}.
+ * Entity inserts cannot be batched by Hibernate because the inventory id uses
+ * IDENTITY generation, so missing rows are written with a plain JDBC batch
+ * instead. Per-night counts, reserved by group bookings or unblocked when
+ * expired holds are reaped, go through a JDBC batch as well, so the nights
+ * of a room type are sent in one round trip.
+ */
+@RequiredArgsConstructor
+public class RoomTypeInventoryRepositoryCustomImpl
+    implements RoomTypeInventoryRepositoryCustom {
+
+  /**
+   * Insert that ignores rows colliding with uq_inv_hotel_type_date.
+   */
+  private static final String INSERT_IGNORE_SQL = """
+      INSERT IGNORE INTO room_type_inventory
+          (hotel_id, room_type_id, stay_date, total, reserved, blocked,
+           allotted, out_of_order, available, updated_at)
+      VALUES (?, ?, ?, ?, 0, ?, 0, ?, ?, CURRENT_TIMESTAMP)
+      """;
+
+  /**
+   * Reserves a count on one night only if that many rooms are still
+   * available.
+   */
+  private static final String RESERVE_COUNT_SQL = """
+      UPDATE room_type_inventory
+      SET available = GREATEST(total - reserved - blocked - ?, 0),
+          reserved = reserved + ?, updated_at = CURRENT_TIMESTAMP
+      WHERE hotel_id = ? AND room_type_id = ? AND stay_date = ?
+        AND available >= ?
+      """;
+
+  /**
+   * Unblocks a count on one night while that many rooms are held at
+   * checkout, that is blocked but neither allotted nor out of order.
+   */
+  private static final String UNBLOCK_COUNT_SQL = """
+      UPDATE room_type_inventory
+      SET available = GREATEST(total - reserved - blocked + ?, 0),
+          blocked = blocked - ?, updated_at = CURRENT_TIMESTAMP
+      WHERE hotel_id = ? AND room_type_id = ? AND stay_date = ?
+        AND blocked - allotted - out_of_order >= ?
+      """;
+
+  /**
+   * JDBC access bound to the same transactional data source as JPA.
+   */
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public int insertMissingRows(final Long hotelId, final Long roomTypeId,
+                               final int total, final int blocked,
+                               final Collection<LocalDate> stayDates) {
+    if (stayDates.isEmpty()) {
+      return 0;
+    }
+    final int available = Math.max(total - blocked, 0);
+    final List<Object[]> args = new ArrayList<>(stayDates.size());
+    for (final LocalDate d : stayDates) {
+      args.add(new Object[] {hotelId, roomTypeId, Date.valueOf(d), total,
+          blocked, blocked, available});
+    }
+    int inserted = 0;
+    for (final int n : jdbcTemplate.batchUpdate(INSERT_IGNORE_SQL, args)) {
+      // Drivers may report SUCCESS_NO_INFO (-2) for rewritten batches
+      inserted += Math.max(n, 0);
+    }
+    return inserted;
+  }
+
+  @Override
+  public List<LocalDate> reserveCountsIfAvailable(
+      final Long hotelId, final Long roomTypeId,
+      final NavigableMap<LocalDate, Integer> counts) {
+    if (counts.isEmpty()) {
+      return List.of();
+    }
+    final List<LocalDate> nights = new ArrayList<>(counts.keySet());
+    final int[] updated = jdbcTemplate.batchUpdate(RESERVE_COUNT_SQL,
+        countArgs(hotelId, roomTypeId, counts));
+    final List<LocalDate> failed = new ArrayList<>();
+    for (int i = 0; i < updated.length; i++) {
+      if (!matched(RESERVE_COUNT_SQL, updated[i])) {
+        failed.add(nights.get(i));
+      }
+    }
+    return failed;
+  }
+
+  @Override
+  public int unblockCounts(final Long hotelId, final Long roomTypeId,
+                           final NavigableMap<LocalDate, Integer> counts) {
+    if (counts.isEmpty()) {
+      return 0;
+    }
+    int changed = 0;
+    for (final int n : jdbcTemplate.batchUpdate(UNBLOCK_COUNT_SQL,
+        countArgs(hotelId, roomTypeId, counts))) {
+      if (matched(UNBLOCK_COUNT_SQL, n)) {
+        changed++;
+      }
+    }
+    return changed;
+  }
+
+  /**
+   * Whether a guarded single-row update matched its row. Only a count of 1
+   * proves that the guard held; a driver reporting SUCCESS_NO_INFO (-2) or
+   * any other count leaves it unverified, so the update fails closed and the
+   * caller's transaction rolls back. MySQL Connector/J reports exact counts
+   * for UPDATE batches, even with rewriteBatchedStatements.
+   *
+   * @throws JdbcUpdateAffectedIncorrectNumberOfRowsException if the count is
+   *                                                          neither 0 nor 1
+   */
+  private static boolean matched(final String sql, final int count) {
+    if (count == 0 || count == 1) {
+      return count == 1;
+    }
+    throw new JdbcUpdateAffectedIncorrectNumberOfRowsException(sql, 1, count);
+  }
+
+  /**
+   * Arguments of a per-night count statement: the count twice for the SET
+   * clause, the row key, and the count again for the guard.
+   */
+  private static List<Object[]> countArgs(final Long hotelId,
+      final Long roomTypeId, final NavigableMap<LocalDate, Integer> counts) {
+    final List<Object[]> args = new ArrayList<>(counts.size());
+    for (final Map.Entry<LocalDate, Integer> e : counts.entrySet()) {
+      args.add(new Object[] {e.getValue(), e.getValue(), hotelId, roomTypeId,
+          Date.valueOf(e.getKey()), e.getValue()});
+    }
+    return args;
+  }
+}
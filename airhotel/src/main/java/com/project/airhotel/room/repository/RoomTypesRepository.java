@@ -1,8 +1,14 @@
 package com.project.airhotel.room.repository;
 
 import com.project.airhotel.room.domain.RoomTypes;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
@@ -15,11 +21,44 @@ import org.springframework.stereotype.Repository;
 public interface RoomTypesRepository extends JpaRepository<RoomTypes, Long> {
 
   /**
-   * Retrieves all room types associated with a specific hotel.
+   * Retrieves all room types associated with a specific hotel. The id list
+   * is kept in the query cache and the entities in the second-level cache.
    *
    * @param hotelId the unique identifier of the hotel
    * @return a list of {@link RoomTypes} belonging to the specified hotel
    */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE,
+      value = "true"))
   List<RoomTypes> findByHotelId(Long hotelId);
 
+  /**
+   * Adds a delta to the room count of a room type in one statement, as when
+   * a physical room of the type is added or removed; the count never drops
+   * below zero. The row stays locked until the transaction ends, so
+   * concurrent room changes of the type serialize.
+   *
+   * @param roomTypeId the room type identifier
+   * @param delta      rooms added, or removed when negative
+   * @return number of room types updated
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+         update RoomTypes rt
+            set rt.totalRooms = rt.totalRooms + :delta
+          where rt.id = :roomTypeId
+            and rt.totalRooms + :delta >= 0
+         """)
+  int adjustTotalRooms(@Param("roomTypeId") Long roomTypeId,
+                       @Param("delta") int delta);
+
+  /**
+   * Reads the current room count of a room type from the database,
+   * bypassing any copy of the entity in the persistence context.
+   *
+   * @param roomTypeId the room type identifier
+   * @return the room count, or null if the room type does not exist
+   */
+  @Query("select rt.totalRooms from RoomTypes rt where rt.id = :roomTypeId")
+  Integer findTotalRoomsById(@Param("roomTypeId") Long roomTypeId);
+
 }
@@ -34,6 +34,16 @@ public interface RoomsRepository extends JpaRepository<Rooms, Long> {
    */
   long countByHotelIdAndStatus(Long hotelId, RoomStatus status);
 
+  /**
+   * Counts the rooms of a room type whose status differs from the given one,
+   * such as rooms that are not sellable.
+   *
+   * @param roomTypeId room type identifier
+   * @param status     status to exclude
+   * @return the number of rooms of the type in any other status
+   */
+  long countByRoomTypeIdAndStatusNot(Long roomTypeId, RoomStatus status);
+
   /**
    * Returns all rooms that belong to the specified hotel.
    *
@@ -0,0 +1,466 @@
+package com.project.airhotel.room.service;
+
+import com.project.airhotel.room.domain.RoomTypeInventory;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process copy of nightly availability, so that availability searches do
+ * not have to read room_type_inventory. Each hotel is loaded lazily into a
+ * {@link HotelCalendar} holding the available counts of every room type,
+ * indexed by the night's offset from the first day of the window, in a
+ * {@link MinSegmentTree} so that a stay of any length is checked in
+ * O(log n).
+ * Inventory writers call {@link #writeThrough} inside their transaction. The
+ * committed values of the touched rows are read while they are still locked
+ * and applied after commit, each tagged with a ticket that orders writes to
+ * the same row, so late or reordered callbacks never overwrite newer values.
+ * Calendars expire after a TTL and can be invalidated or reloaded at any time.
+ */
+@Component
+public class AvailabilityLedger {
+
+  /**
+   * Nights covered by a calendar: the one-year booking horizon plus the
+   * extra day of a leap year.
+   */
+  static final int WINDOW_DAYS = 366;
+
+  /**
+   * Repository for room type master data.
+   */
+  private final RoomTypesRepository roomTypesRepo;
+  /**
+   * Repository for day-level inventory rows.
+   */
+  private final RoomTypeInventoryRepository invRepo;
+  /**
+   * Whether the ledger is used at all.
+   */
+  private final boolean enabled;
+  /**
+   * Maximum age of a calendar before it is reloaded.
+   */
+  private final long ttlNanos;
+  /**
+   * Loaded or loading calendars keyed by hotel id.
+   */
+  private final Map<Long, HotelCalendar> calendars = new ConcurrentHashMap<>();
+  /**
+   * Source of write tickets; taken while the written rows are still locked.
+   */
+  private final AtomicLong tickets = new AtomicLong();
+
+  /**
+   * Constructs the ledger.
+   *
+   * @param roomTypesRepo room type repository
+   * @param invRepo       inventory repository
+   * @param enabled       whether availability is served from memory
+   * @param ttlSeconds    maximum calendar age in seconds
+   */
+  public AvailabilityLedger(final RoomTypesRepository roomTypesRepo,
+      final RoomTypeInventoryRepository invRepo,
+      @Value("${airhotel.availability.ledger.enabled:true}")
+      final boolean enabled,
+      @Value("${airhotel.availability.ledger.ttl-seconds:300}")
+      final long ttlSeconds) {
+    this.roomTypesRepo = roomTypesRepo;
+    this.invRepo = invRepo;
+    this.enabled = enabled;
+    this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+  }
+
+  /**
+   * Returns the hotel's calendar if it is loaded and still fresh.
+   *
+   * @param hotelId hotel id
+   * @return the calendar, or null if it must be (re)loaded first
+   */
+  public HotelCalendar findFresh(final Long hotelId) {
+    if (!enabled) {
+      return null;
+    }
+    final HotelCalendar c = calendars.get(hotelId);
+    return c != null && c.ready && c.isFresh(System.nanoTime(), today())
+        ? c : null;
+  }
+
+  /**
+   * Returns a fresh calendar for the hotel, loading it from the database if
+   * needed. Concurrent callers share a single load.
+   *
+   * @param hotelId hotel id, which must exist
+   * @return the loaded calendar, or null when the ledger is disabled
+   */
+  public HotelCalendar load(final Long hotelId) {
+    if (!enabled) {
+      return null;
+    }
+    final long now = System.nanoTime();
+    final LocalDate today = today();
+    final HotelCalendar c = calendars.compute(hotelId, (id, cur) ->
+        cur != null && (!cur.ready || cur.isFresh(now, today)) ? cur
+            : new HotelCalendar(today.toEpochDay(), tickets.get()));
+    synchronized (c) {
+      if (!c.ready) {
+        try {
+          fill(hotelId, c);
+        } catch (RuntimeException e) {
+          calendars.remove(hotelId, c);
+          throw e;
+        }
+      }
+    }
+    return c;
+  }
+
+  /**
+   * Drops the hotel's calendar; the next query reloads it.
+   *
+   * @param hotelId hotel id
+   */
+  public void invalidate(final Long hotelId) {
+    calendars.remove(hotelId);
+  }
+
+  /**
+   * Reloads every calendar that is currently held.
+   */
+  public void reloadAll() {
+    for (final Long hotelId : new ArrayList<>(calendars.keySet())) {
+      calendars.remove(hotelId);
+      load(hotelId);
+    }
+  }
+
+  /**
+   * Propagates inventory changes of the current transaction to the ledger
+   * once it commits. Without an active transaction the change is applied
+   * immediately.
+   *
+   * @param hotelId      hotel whose inventory changed
+   * @param nightsByType changed nights keyed by room type id
+   */
+  public void writeThrough(final Long hotelId,
+      final Map<Long, NavigableSet<LocalDate>> nightsByType) {
+    if (!enabled || nightsByType.isEmpty()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      final long ticket = tickets.incrementAndGet();
+      apply(hotelId, ticket, readCells(hotelId, nightsByType));
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          private long ticket;
+          private List<Cell> cells;
+
+          @Override
+          public void beforeCommit(final boolean readOnly) {
+            // Rows are still locked by this transaction, so the values read
+            // here are exactly the ones that will be committed
+            ticket = tickets.incrementAndGet();
+            if (calendars.containsKey(hotelId)) {
+              cells = readCells(hotelId, nightsByType);
+            }
+          }
+
+          @Override
+          public void afterCommit() {
+            if (cells != null) {
+              apply(hotelId, ticket, cells);
+            } else {
+              invalidateIfCreatedSince(hotelId, ticket);
+            }
+          }
+        });
+  }
+
+  private void fill(final Long hotelId, final HotelCalendar c) {
+    final List<RoomTypes> roomTypes = roomTypesRepo.findByHotelId(hotelId);
+    final List<RoomTypeInventory> rows =
+        invRepo.findByHotelIdAndStayDateBetween(hotelId,
+            LocalDate.ofEpochDay(c.baseDay),
+            LocalDate.ofEpochDay(c.baseDay + WINDOW_DAYS - 1));
+    c.populate(roomTypes, rows, System.nanoTime() + ttlNanos);
+  }
+
+  private List<Cell> readCells(final Long hotelId,
+      final Map<Long, NavigableSet<LocalDate>> nightsByType) {
+    final List<Cell> cells = new ArrayList<>();
+    for (final Map.Entry<Long, NavigableSet<LocalDate>> e
+        : nightsByType.entrySet()) {
+      final NavigableSet<LocalDate> nights = e.getValue();
+      if (nights.isEmpty()) {
+        continue;
+      }
+      for (final RoomTypeInventory inv : invRepo.findRangeForUpdate(hotelId,
+          e.getKey(), nights.first(), nights.last())) {
+        if (nights.contains(inv.getStayDate())) {
+          cells.add(new Cell(e.getKey(), inv.getStayDate().toEpochDay(),
+              inv.getAvailable()));
+        }
+      }
+    }
+    return cells;
+  }
+
+  private void apply(final Long hotelId, final long ticket,
+      final List<Cell> cells) {
+    final HotelCalendar c = calendars.get(hotelId);
+    if (c != null && !c.apply(ticket, cells)) {
+      calendars.remove(hotelId, c);
+    }
+  }
+
+  private void invalidateIfCreatedSince(final Long hotelId,
+      final long ticket) {
+    final HotelCalendar c = calendars.get(hotelId);
+    if (c != null && c.createdTicket >= ticket) {
+      // Loaded after this transaction looked, so it may predate the commit
+      calendars.remove(hotelId, c);
+    }
+  }
+
+  private static LocalDate today() {
+    return LocalDate.now();
+  }
+
+  /**
+   * Committed available count of one night.
+   *
+   * @param roomTypeId room type id
+   * @param epochDay   stay date as epoch day
+   * @param available  committed available count
+   */
+  private record Cell(Long roomTypeId, long epochDay, int available) {
+  }
+
+  /**
+   * Availability of one hotel over the window starting at {@code baseDay}.
+   */
+  public static final class HotelCalendar {
+
+    /**
+     * Epoch day of the first night in the window.
+     */
+    private final long baseDay;
+    /**
+     * Ticket counter value when the calendar was created.
+     */
+    private final long createdTicket;
+    /**
+     * Guards the arrays against concurrent reads and write-through.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * Range-minimum index of available counts per room type, indexed by
+     * night offset.
+     */
+    private final Map<Long, MinSegmentTree> available = new HashMap<>();
+    /**
+     * Ticket of the last write applied to each night.
+     */
+    private final Map<Long, long[]> stamps = new HashMap<>();
+    /**
+     * Writes that committed while the calendar was loading.
+     */
+    private final List<Map.Entry<Long, List<Cell>>> pending =
+        new ArrayList<>();
+    /**
+     * Room types of the hotel at load time.
+     */
+    private List<RoomTypes> roomTypes = List.of();
+    /**
+     * Whether the calendar has been populated.
+     */
+    private volatile boolean ready;
+    /**
+     * System nano time after which the calendar is stale.
+     */
+    private volatile long expiresAtNanos;
+
+    HotelCalendar(final long baseDay, final long createdTicket) {
+      this.baseDay = baseDay;
+      this.createdTicket = createdTicket;
+    }
+
+    /**
+     * Room types of the hotel captured at load time.
+     *
+     * @return room types
+     */
+    public List<RoomTypes> roomTypes() {
+      return roomTypes;
+    }
+
+    /**
+     * Whether every night of the stay lies inside the window.
+     *
+     * @param checkIn  check-in date inclusive
+     * @param checkOut check-out date exclusive
+     * @return true if the calendar can answer for the stay
+     */
+    public boolean covers(final LocalDate checkIn, final LocalDate checkOut) {
+      return checkIn.toEpochDay() >= baseDay
+          && checkOut.toEpochDay() - baseDay <= WINDOW_DAYS;
+    }
+
+    /**
+     * Minimum available count over the nights of a stay.
+     *
+     * @param roomTypeId room type id
+     * @param checkIn    check-in date inclusive
+     * @param checkOut   check-out date exclusive
+     * @return the minimum, or empty if the stay is outside the window or
+     *         the room type is unknown
+     */
+    public OptionalInt minAvailable(final Long roomTypeId,
+        final LocalDate checkIn, final LocalDate checkOut) {
+      final long from = checkIn.toEpochDay() - baseDay;
+      final long to = checkOut.toEpochDay() - baseDay;
+      if (from < 0 || to > WINDOW_DAYS || to <= from) {
+        return OptionalInt.empty();
+      }
+      lock.readLock().lock();
+      try {
+        final MinSegmentTree days = available.get(roomTypeId);
+        if (days == null) {
+          return OptionalInt.empty();
+        }
+        return OptionalInt.of(days.min((int) from, (int) to));
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    /**
+     * Copies the nightly available counts of a room type.
+     *
+     * @param roomTypeId room type id
+     * @param from       first night inclusive
+     * @param to         last night exclusive
+     * @return counts indexed from {@code from}, or null if the range is
+     *         outside the window or the room type is unknown
+     */
+    public int[] nightly(final Long roomTypeId, final LocalDate from,
+        final LocalDate to) {
+      if (!covers(from, to) || !to.isAfter(from)) {
+        return null;
+      }
+      final int start = (int) (from.toEpochDay() - baseDay);
+      final int end = (int) (to.toEpochDay() - baseDay);
+      lock.readLock().lock();
+      try {
+        final MinSegmentTree days = available.get(roomTypeId);
+        if (days == null) {
+          return null;
+        }
+        final int[] out = new int[end - start];
+        for (int i = start; i < end; i++) {
+          out[i - start] = days.get(i);
+        }
+        return out;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    boolean isFresh(final long nowNanos, final LocalDate today) {
+      return nowNanos - expiresAtNanos < 0 && today.toEpochDay() == baseDay;
+    }
+
+    void populate(final List<RoomTypes> types,
+        final List<RoomTypeInventory> rows, final long expiresAt) {
+      lock.writeLock().lock();
+      try {
+        final Map<Long, int[]> leaves = new HashMap<>();
+        for (final RoomTypes rt : types) {
+          final int[] days = new int[WINDOW_DAYS];
+          Arrays.fill(days, rt.getTotalRooms() != null
+              ? rt.getTotalRooms() : 0);
+          leaves.put(rt.getId(), days);
+          stamps.put(rt.getId(), new long[WINDOW_DAYS]);
+        }
+        for (final RoomTypeInventory inv : rows) {
+          final int[] days = leaves.get(inv.getRoomTypeId());
+          final long offset = inv.getStayDate().toEpochDay() - baseDay;
+          if (days != null && offset >= 0 && offset < WINDOW_DAYS
+              && inv.getAvailable() != null) {
+            days[(int) offset] = inv.getAvailable();
+          }
+        }
+        leaves.forEach((id, days) ->
+            available.put(id, new MinSegmentTree(days)));
+        roomTypes = List.copyOf(types);
+        for (final Map.Entry<Long, List<Cell>> w : pending) {
+          applyLocked(w.getKey(), w.getValue());
+        }
+        pending.clear();
+        expiresAtNanos = expiresAt;
+        ready = true;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    /**
+     * Applies committed cells, or buffers them while the calendar loads.
+     *
+     * @return false if a cell refers to a room type the calendar does not
+     *         know, in which case the calendar should be dropped
+     */
+    boolean apply(final long ticket, final List<Cell> cells) {
+      lock.writeLock().lock();
+      try {
+        if (!ready) {
+          pending.add(Map.entry(ticket, cells));
+          return true;
+        }
+        return applyLocked(ticket, cells);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    private boolean applyLocked(final long ticket, final List<Cell> cells) {
+      boolean known = true;
+      for (final Cell cell : cells) {
+        final MinSegmentTree days = available.get(cell.roomTypeId());
+        if (days == null) {
+          known = false;
+          continue;
+        }
+        final long offset = cell.epochDay() - baseDay;
+        if (offset < 0 || offset >= WINDOW_DAYS) {
+          continue;
+        }
+        final long[] written = stamps.get(cell.roomTypeId());
+        if (ticket > written[(int) offset]) {
+          written[(int) offset] = ticket;
+          days.set((int) offset, cell.available());
+        }
+      }
+      return known;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.project.airhotel.room.service;
+
+import com.project.airhotel.room.repository.RoomTypeDailyPriceRepository;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * One-off cleanup of daily price rows that only copy the room type base rate.
+ * Pricing used to store such a row for every night it priced without an
+ * explicit price; with the base rate now applied on the fly those rows only
+ * grow the table. Rows are deleted in id-ordered batches so that each delete
+ * stays short, and each delete re-checks that a row is still redundant.
+ * Enabled with {@code airhotel.pricing.compact-base-rate-rows}.
+ */
+@Service
+public class BaseRatePriceCompactor {
+
+  /**
+   * Rows deleted per statement.
+   */
+  static final int BATCH_SIZE = 1000;
+  /**
+   * Matches {@link com.project.airhotel.room.domain.RoomTypeDailyPrice
+   * #COMPUTED_FROM_BASE_RATE} however the database formats or escapes the
+   * JSON value.
+   */
+  static final String BASE_RATE_SOURCE = "%BASE_RATE%";
+
+  /**
+   * Repository for daily price rows.
+   */
+  private final RoomTypeDailyPriceRepository priceRepo;
+  /**
+   * Cached calendars, dropped after rows are deleted.
+   */
+  private final RateCalendarCache rateCalendarCache;
+  /**
+   * Whether {@link #compact()} runs once the application is ready.
+   */
+  private final boolean runOnStartup;
+
+  /**
+   * Constructs the compactor.
+   *
+   * @param priceRepo         daily price repository
+   * @param rateCalendarCache cached nightly rate calendars
+   * @param runOnStartup      whether to compact once the application is ready
+   */
+  public BaseRatePriceCompactor(final RoomTypeDailyPriceRepository priceRepo,
+      final RateCalendarCache rateCalendarCache,
+      @Value("${airhotel.pricing.compact-base-rate-rows:false}")
+      final boolean runOnStartup) {
+    this.priceRepo = priceRepo;
+    this.rateCalendarCache = rateCalendarCache;
+    this.runOnStartup = runOnStartup;
+  }
+
+  /**
+   * Compacts the table on startup when enabled.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (runOnStartup) {
+      compact();
+    }
+  }
+
+  /**
+   * Deletes every redundant base-rate row. Pricing gives the same totals
+   * before and after, since the deleted nights fall back to the same base
+   * rate.
+   *
+   * @return number of rows deleted
+   */
+  public int compact() {
+    int deleted = 0;
+    long afterId = 0L;
+    List<Long> ids = priceRepo.findRedundantBaseRateIds(BASE_RATE_SOURCE,
+        afterId, PageRequest.of(0, BATCH_SIZE));
+    while (!ids.isEmpty()) {
+      deleted += priceRepo.deleteRedundantBaseRateRows(ids,
+          BASE_RATE_SOURCE);
+      afterId = ids.get(ids.size() - 1);
+      ids = priceRepo.findRedundantBaseRateIds(BASE_RATE_SOURCE, afterId,
+          PageRequest.of(0, BATCH_SIZE));
+    }
+    if (deleted > 0) {
+      rateCalendarCache.invalidateAll();
+    }
+    return deleted;
+  }
+}
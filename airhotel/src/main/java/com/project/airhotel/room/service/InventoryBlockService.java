@@ -0,0 +1,181 @@
+package com.project.airhotel.room.service;
+
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.common.exception.ConflictException;
+import com.project.airhotel.common.exception.NotFoundException;
+import com.project.airhotel.common.guard.EntityGuards;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.dto.InventoryBlockRequest;
+import com.project.airhotel.room.dto.InventoryBlockResponse;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Moves rooms between available and blocked in day-level inventory. Managers
+ * block or unblock a count of rooms of one room type over a range of nights,
+ * for allotments held back from sale; rooms that go out of order are blocked
+ * for the whole materialization window until they are sellable again. Each
+ * change is one set-based update over the range.
+ * Allotted and out-of-order rooms are counted apart from the other blocked
+ * rooms, so an unblock only ever releases allotments, and neither releases
+ * rooms held at checkout.
+ */
+@Service
+@Transactional
+public class InventoryBlockService {
+
+  /**
+   * Repository for day-level inventory rows.
+   */
+  private final RoomTypeInventoryRepository invRepo;
+  /**
+   * Creates missing inventory rows with out-of-order rooms blocked.
+   */
+  private final InventoryRowSeeder rowSeeder;
+  /**
+   * Guards that ensure hotel and room type ownership and existence.
+   */
+  private final EntityGuards entityGuards;
+  /**
+   * In-memory availability that mirrors committed inventory changes.
+   */
+  private final AvailabilityLedger ledger;
+
+  /**
+   * Constructs the service.
+   *
+   * @param invRepo         inventory repository
+   * @param rowSeeder       creates missing inventory rows
+   * @param entityGuards    hotel and room type guards
+   * @param ledger          in-memory availability
+   */
+  public InventoryBlockService(final RoomTypeInventoryRepository invRepo,
+      final InventoryRowSeeder rowSeeder,
+      final EntityGuards entityGuards,
+      final AvailabilityLedger ledger) {
+    this.invRepo = invRepo;
+    this.rowSeeder = rowSeeder;
+    this.entityGuards = entityGuards;
+    this.ledger = ledger;
+  }
+
+  /**
+   * Blocks the requested number of rooms on every night of the range as an
+   * allotment, all or nothing.
+   *
+   * @param hotelId hotel identifier
+   * @param req     room type, nights and count to block
+   * @return the blocked range
+   * @throws NotFoundException   if the hotel or room type is invalid
+   * @throws BadRequestException if the range is invalid or any night has
+   *                             fewer rooms available than requested
+   */
+  public InventoryBlockResponse block(final Long hotelId,
+      final InventoryBlockRequest req) {
+    final RoomTypes rt = entityGuards.getRoomTypeInHotelOrThrow(hotelId,
+        req.getRoomTypeId());
+    final NavigableSet<LocalDate> nights = nights(req);
+    rowSeeder.insertMissing(hotelId, rt.getId(), rt.getTotalRooms(), nights);
+    if (invRepo.allotIfAvailable(hotelId, rt.getId(), req.getCount(),
+        nights.first(), nights.last()) < nights.size()) {
+      throw new BadRequestException("Not enough availability to block "
+          + req.getCount() + " rooms on every night between "
+          + req.getStartDate() + " and " + req.getEndDate() + ".");
+    }
+    ledger.writeThrough(hotelId, Map.of(rt.getId(), nights));
+    return toResponse(req, nights);
+  }
+
+  /**
+   * Releases the requested number of allotted rooms on every night of the
+   * range, all or nothing.
+   *
+   * @param hotelId hotel identifier
+   * @param req     room type, nights and count to unblock
+   * @return the unblocked range
+   * @throws NotFoundException   if the hotel or room type is invalid
+   * @throws BadRequestException if the range is invalid
+   * @throws ConflictException   if any night has fewer rooms allotted than
+   *                             requested
+   */
+  public InventoryBlockResponse unblock(final Long hotelId,
+      final InventoryBlockRequest req) {
+    entityGuards.ensureRoomTypeInHotelOrThrow(hotelId, req.getRoomTypeId());
+    final NavigableSet<LocalDate> nights = nights(req);
+    if (invRepo.releaseAllotment(hotelId, req.getRoomTypeId(),
+        req.getCount(), nights.first(), nights.last()) < nights.size()) {
+      throw new ConflictException("Fewer than " + req.getCount()
+          + " rooms are allotted on some night between " + req.getStartDate()
+          + " and " + req.getEndDate() + ".");
+    }
+    ledger.writeThrough(hotelId, Map.of(req.getRoomTypeId(), nights));
+    return toResponse(req, nights);
+  }
+
+  /**
+   * Blocks one room of the room type on every materialized night from today
+   * on, because a room of that type went out of order. Nights already sold
+   * out stay overbooked rather than failing the status change.
+   *
+   * @param hotelId    hotel identifier
+   * @param roomTypeId room type of the room
+   */
+  public void blockOutOfOrderRoom(final Long hotelId, final Long roomTypeId) {
+    final NavigableSet<LocalDate> nights = window();
+    invRepo.blockOutOfOrder(hotelId, roomTypeId, 1, nights.first(),
+        nights.last());
+    ledger.writeThrough(hotelId, Map.of(roomTypeId, nights));
+  }
+
+  /**
+   * Unblocks one room of the room type on every materialized night from
+   * today on, because a room of that type is sellable again or gone.
+   *
+   * @param hotelId    hotel identifier
+   * @param roomTypeId room type of the room
+   */
+  public void releaseOutOfOrderRoom(final Long hotelId,
+      final Long roomTypeId) {
+    final NavigableSet<LocalDate> nights = window();
+    invRepo.releaseOutOfOrder(hotelId, roomTypeId, 1, nights.first(),
+        nights.last());
+    ledger.writeThrough(hotelId, Map.of(roomTypeId, nights));
+  }
+
+  private static NavigableSet<LocalDate> window() {
+    return new TreeSet<>(InventoryMaterializer.window(LocalDate.now()));
+  }
+
+  private static NavigableSet<LocalDate> nights(
+      final InventoryBlockRequest req) {
+    final LocalDate start = req.getStartDate();
+    final LocalDate end = req.getEndDate();
+    if (start == null || end == null || !end.isAfter(start)) {
+      throw new BadRequestException("Invalid date range.");
+    }
+    if (start.isBefore(LocalDate.now())) {
+      throw new BadRequestException("startDate must not be in the past.");
+    }
+    if (end.isAfter(LocalDate.now().plusYears(1))) {
+      throw new BadRequestException("endDate must be within one year from "
+          + "today.");
+    }
+    return new TreeSet<>(start.datesUntil(end).toList());
+  }
+
+  private static InventoryBlockResponse toResponse(
+      final InventoryBlockRequest req, final NavigableSet<LocalDate> nights) {
+    return InventoryBlockResponse.builder()
+        .roomTypeId(req.getRoomTypeId())
+        .startDate(req.getStartDate())
+        .endDate(req.getEndDate())
+        .count(req.getCount())
+        .nights(nights.size())
+        .build();
+  }
+}
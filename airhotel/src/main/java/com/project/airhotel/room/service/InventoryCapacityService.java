@@ -0,0 +1,217 @@
+package com.project.airhotel.room.service;
+
+import com.project.airhotel.common.exception.ConflictException;
+import com.project.airhotel.common.exception.NotFoundException;
+import com.project.airhotel.common.guard.EntityGuards;
+import com.project.airhotel.room.domain.RoomTypeChangedEvent;
+import com.project.airhotel.room.dto.InventoryCapacityReport;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Keeps day-level inventory in line with the room count of each room type.
+ * When a physical room is added, removed or moved between room types, the
+ * room count of the type changes by one, and a removal that would leave
+ * future nights with more reservations than rooms is refused. The change is
+ * published as a {@link RoomTypeChangedEvent}; once it commits, every future
+ * inventory row of the type takes the new count in bounded batches of
+ * nights, each in its own short transaction, the ledger is refreshed and the
+ * nights on which reservations exceed the room count are reported.
+ */
+@Service
+public class InventoryCapacityService {
+
+  /**
+   * Repository for day-level inventory rows.
+   */
+  private final RoomTypeInventoryRepository invRepo;
+  /**
+   * Repository for room type master data.
+   */
+  private final RoomTypesRepository roomTypesRepo;
+  /**
+   * Guards that ensure hotel and room type ownership and existence.
+   */
+  private final EntityGuards entityGuards;
+  /**
+   * In-memory availability that mirrors committed inventory changes.
+   */
+  private final AvailabilityLedger ledger;
+  /**
+   * Publishes room count changes for the post-commit inventory rewrite.
+   */
+  private final ApplicationEventPublisher publisher;
+  /**
+   * Runs each batch of the inventory rewrite in its own transaction.
+   */
+  private final TransactionOperations transactions;
+  /**
+   * Nights rewritten per batch.
+   */
+  private final int batchNights;
+
+  /**
+   * Constructs the service.
+   *
+   * @param invRepo       inventory repository
+   * @param roomTypesRepo room type repository
+   * @param entityGuards  hotel and room type guards
+   * @param ledger        in-memory availability
+   * @param publisher     application event publisher
+   * @param transactions  transaction template for rewrite batches
+   * @param batchNights   nights rewritten per batch
+   */
+  public InventoryCapacityService(final RoomTypeInventoryRepository invRepo,
+      final RoomTypesRepository roomTypesRepo,
+      final EntityGuards entityGuards,
+      final AvailabilityLedger ledger,
+      final ApplicationEventPublisher publisher,
+      final TransactionOperations transactions,
+      @Value("${airhotel.inventory.capacity-batch-nights:31}")
+      final int batchNights) {
+    this.invRepo = invRepo;
+    this.roomTypesRepo = roomTypesRepo;
+    this.entityGuards = entityGuards;
+    this.ledger = ledger;
+    this.publisher = publisher;
+    this.transactions = transactions;
+    this.batchNights = Math.max(1, batchNights);
+  }
+
+  /**
+   * Re-applies the current room count of a room type to its future
+   * inventory, as after a manual correction.
+   *
+   * @param hotelId    hotel identifier
+   * @param roomTypeId room type identifier
+   * @return the applied count and the overbooked nights
+   * @throws NotFoundException if the hotel or room type is invalid
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public InventoryCapacityReport recompute(final Long hotelId,
+      final Long roomTypeId) {
+    entityGuards.ensureRoomTypeInHotelOrThrow(hotelId, roomTypeId);
+    return applyTotal(hotelId, roomTypeId);
+  }
+
+  /**
+   * Counts a room added to a room type.
+   *
+   * @param hotelId    hotel identifier
+   * @param roomTypeId room type of the new room
+   */
+  @Transactional
+  public void roomAdded(final Long hotelId, final Long roomTypeId) {
+    adjust(hotelId, roomTypeId, 1);
+  }
+
+  /**
+   * Stops counting a room removed from a room type.
+   *
+   * @param hotelId    hotel identifier
+   * @param roomTypeId room type of the removed room
+   * @throws ConflictException if fewer rooms than reserved would remain on
+   *                           some future night
+   */
+  @Transactional
+  public void roomRemoved(final Long hotelId, final Long roomTypeId) {
+    adjust(hotelId, roomTypeId, -1);
+  }
+
+  /**
+   * Moves a room from one room type to another. Room types are updated in
+   * id order, so opposite moves cannot deadlock.
+   *
+   * @param hotelId    hotel identifier
+   * @param fromTypeId room type the room left
+   * @param toTypeId   room type the room joined
+   * @throws ConflictException if fewer rooms than reserved would remain on
+   *                           some future night of the room type it left
+   */
+  @Transactional
+  public void roomMoved(final Long hotelId, final Long fromTypeId,
+      final Long toTypeId) {
+    for (final Long id : List.of(Math.min(fromTypeId, toTypeId),
+        Math.max(fromTypeId, toTypeId))) {
+      adjust(hotelId, id, id.equals(fromTypeId) ? -1 : 1);
+    }
+  }
+
+  /**
+   * Applies the current room count of a room type to every inventory row of
+   * the window, one batch of nights per transaction so that no statement
+   * locks a whole year of rows, and refreshes the ledger batch by batch.
+   * Nothing is rewritten when every row already has the count, as after
+   * room type edits that leave it unchanged. Runs outside any caller
+   * transaction.
+   *
+   * @param hotelId    hotel identifier
+   * @param roomTypeId room type identifier
+   * @return the applied count and the overbooked nights
+   * @throws NotFoundException if the room type does not exist
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public InventoryCapacityReport applyTotal(final Long hotelId,
+      final Long roomTypeId) {
+    final Integer totalRooms = roomTypesRepo.findTotalRoomsById(roomTypeId);
+    if (totalRooms == null) {
+      throw new NotFoundException("Room type not found: " + roomTypeId);
+    }
+    final LocalDate today = LocalDate.now();
+    final List<LocalDate> window = InventoryMaterializer.window(today);
+    int updated = 0;
+    final boolean changed = invRepo.existsTotalOtherThanFrom(hotelId,
+        roomTypeId, today, totalRooms);
+    for (int i = 0; changed && i < window.size(); i += batchNights) {
+      final List<LocalDate> batch = window.subList(i,
+          Math.min(i + batchNights, window.size()));
+      updated += transactions.execute(status -> {
+        final int n = invRepo.syncTotalBetween(hotelId, roomTypeId,
+            totalRooms, batch.get(0), batch.get(batch.size() - 1));
+        ledger.writeThrough(hotelId, Map.of(roomTypeId,
+            new TreeSet<>(batch)));
+        return n;
+      });
+    }
+    return InventoryCapacityReport.builder()
+        .roomTypeId(roomTypeId)
+        .totalRooms(totalRooms)
+        .nightsUpdated(updated)
+        .overbookedNights(invRepo.findOverbookedStayDatesFrom(hotelId,
+            roomTypeId, today))
+        .build();
+  }
+
+  /**
+   * Changes the room count of a room type by one room and publishes the new
+   * count for the post-commit inventory rewrite.
+   */
+  private void adjust(final Long hotelId, final Long roomTypeId,
+      final int delta) {
+    if (roomTypesRepo.adjustTotalRooms(roomTypeId, delta) == 0) {
+      return;
+    }
+    final int totalRooms = roomTypesRepo.findTotalRoomsById(roomTypeId);
+    if (delta < 0) {
+      final List<LocalDate> overbooked = invRepo.findStayDatesReservedAbove(
+          hotelId, roomTypeId, LocalDate.now(), totalRooms);
+      if (!overbooked.isEmpty()) {
+        throw new ConflictException("Removing a room of room type "
+            + roomTypeId + " would overbook " + overbooked.size()
+            + " nights, starting " + overbooked.get(0) + ".");
+      }
+    }
+    publisher.publishEvent(new RoomTypeChangedEvent(roomTypeId, hotelId,
+        totalRooms));
+  }
+}
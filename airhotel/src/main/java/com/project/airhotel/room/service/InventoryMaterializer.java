@@ -0,0 +1,153 @@
+package com.project.airhotel.room.service;
+
+import com.project.airhotel.room.domain.RoomTypeChangedEvent;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps day-level inventory rows in place ahead of demand. Every room type
+ * gets one row per night for a rolling one-year window, the same horizon as
+ * the latest allowed check-out, so bookings normally only update existing
+ * rows. Rows are created with batched inserts that skip nights already
+ * present, which makes every run idempotent; room types whose window is
+ * already complete are skipped. New nights start with the room
+ * type's out-of-order rooms blocked, matching the nights blocked when those
+ * rooms went out of order.
+ */
+@Service
+public class InventoryMaterializer {
+
+  /**
+   * Repository for room type master data.
+   */
+  private final RoomTypesRepository roomTypesRepo;
+  /**
+   * Repository for day-level inventory rows.
+   */
+  private final RoomTypeInventoryRepository invRepo;
+  /**
+   * Creates missing inventory rows with out-of-order rooms blocked.
+   */
+  private final InventoryRowSeeder rowSeeder;
+  /**
+   * In-memory availability, dropped when a room type changes.
+   */
+  private final AvailabilityLedger ledger;
+  /**
+   * Applies a changed room count to existing rows.
+   */
+  private final InventoryCapacityService capacityService;
+  /**
+   * Whether {@link #materializeAll()} runs once the application is ready,
+   * following the same switch as the scheduled jobs.
+   */
+  private final boolean runOnStartup;
+
+  /**
+   * Constructs the materializer.
+   *
+   * @param roomTypesRepo   room type repository
+   * @param invRepo         inventory repository
+   * @param rowSeeder       creates missing inventory rows
+   * @param ledger          in-memory availability
+   * @param capacityService capacity pipeline for changed room counts
+   * @param runOnStartup    whether to materialize once the application is
+   *                        ready
+   */
+  public InventoryMaterializer(final RoomTypesRepository roomTypesRepo,
+      final RoomTypeInventoryRepository invRepo,
+      final InventoryRowSeeder rowSeeder,
+      final AvailabilityLedger ledger,
+      final InventoryCapacityService capacityService,
+      @Value("${airhotel.scheduling.enabled:true}")
+      final boolean runOnStartup) {
+    this.roomTypesRepo = roomTypesRepo;
+    this.invRepo = invRepo;
+    this.rowSeeder = rowSeeder;
+    this.ledger = ledger;
+    this.capacityService = capacityService;
+    this.runOnStartup = runOnStartup;
+  }
+
+  /**
+   * Nights of the materialization window: today up to, but excluding, the
+   * latest allowed check-out date.
+   *
+   * @param today first night of the window
+   * @return ordered list of nights
+   */
+  static List<LocalDate> window(final LocalDate today) {
+    final LocalDate end = today.plusYears(1);
+    final List<LocalDate> nights = new ArrayList<>();
+    for (LocalDate d = today; d.isBefore(end); d = d.plusDays(1)) {
+      nights.add(d);
+    }
+    return nights;
+  }
+
+  /**
+   * Materializes the window once the application is ready, unless scheduling
+   * is disabled.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (runOnStartup) {
+      materializeAll();
+    }
+  }
+
+  /**
+   * Materializes the window for every room type whose window still misses
+   * nights. Runs daily, which extends the window by the new last night.
+   *
+   * @return number of rows created
+   */
+  @Scheduled(cron = "${airhotel.inventory.materialize-cron:0 15 3 * * *}")
+  public int materializeAll() {
+    final List<LocalDate> nights = window(LocalDate.now());
+    final LocalDate first = nights.get(0);
+    final LocalDate last = nights.get(nights.size() - 1);
+    int inserted = 0;
+    for (final RoomTypes rt : roomTypesRepo.findAll()) {
+      if (rt.getTotalRooms() != null
+          && invRepo.countByHotelIdAndRoomTypeIdAndStayDateBetween(
+              rt.getHotelId(), rt.getId(), first, last) < nights.size()) {
+        inserted += rowSeeder.insertMissing(rt.getHotelId(), rt.getId(),
+            rt.getTotalRooms(), nights);
+      }
+    }
+    return inserted;
+  }
+
+  /**
+   * Brings the inventory of a created or resized room type up to date after
+   * the change commits: existing future rows take the room type's current
+   * total through the capacity pipeline, in batches outside this
+   * transaction, missing nights of the window are created and the hotel's
+   * ledger is dropped, since it also keeps the room count for nights without
+   * a row.
+   *
+   * @param event committed room type change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void onRoomTypeChanged(final RoomTypeChangedEvent event) {
+    final int totalRooms = capacityService.applyTotal(event.hotelId(),
+        event.roomTypeId()).getTotalRooms();
+    rowSeeder.insertMissing(event.hotelId(), event.roomTypeId(), totalRooms,
+        window(LocalDate.now()));
+    ledger.invalidate(event.hotelId());
+  }
+}
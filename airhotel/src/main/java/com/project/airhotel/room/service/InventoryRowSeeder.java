@@ -0,0 +1,53 @@
+package com.project.airhotel.room.service;
+
+import com.project.airhotel.room.domain.enums.RoomStatus;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomsRepository;
+import java.time.LocalDate;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates missing day-level inventory rows, for the materialized window as
+ * well as lazily for nights a booking, hold or allotment touches first. New
+ * nights start with the room type's out-of-order rooms blocked, matching the
+ * nights blocked when those rooms went out of order, so no caller can seed a
+ * night that sells rooms that cannot be used.
+ */
+@Component
+@RequiredArgsConstructor
+public class InventoryRowSeeder {
+
+  /**
+   * Repository for day-level inventory rows.
+   */
+  private final RoomTypeInventoryRepository invRepo;
+  /**
+   * Repository for physical rooms, counted to seed blocked rooms.
+   */
+  private final RoomsRepository roomsRepo;
+
+  /**
+   * Creates the rows of the given nights that do not exist yet.
+   *
+   * @param hotelId    hotel identifier
+   * @param roomTypeId room type identifier
+   * @param totalRooms physical room count of the room type
+   * @param nights     stay dates to initialize
+   * @return number of rows actually inserted
+   */
+  public int insertMissing(final Long hotelId, final Long roomTypeId,
+      final int totalRooms, final Collection<LocalDate> nights) {
+    if (nights.isEmpty()) {
+      return 0;
+    }
+    return invRepo.insertMissingRows(hotelId, roomTypeId, totalRooms,
+        outOfOrder(roomTypeId), nights);
+  }
+
+  private int outOfOrder(final Long roomTypeId) {
+    return (int) roomsRepo.countByRoomTypeIdAndStatusNot(roomTypeId,
+        RoomStatus.AVAILABLE);
+  }
+}
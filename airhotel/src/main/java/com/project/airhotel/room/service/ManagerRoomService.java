@@ -1,6 +1,7 @@
 package com.project.airhotel.room.service;
 
 import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.common.exception.ConflictException;
 import com.project.airhotel.common.exception.NotFoundException;
 import com.project.airhotel.common.guard.EntityGuards;
 import com.project.airhotel.room.domain.Rooms;
@@ -29,17 +30,32 @@ public class ManagerRoomService {
    * Guards that ensure hotel and room type ownership and existence constraints.
    */
   private final EntityGuards entityGuards;
+  /**
+   * Keeps out-of-order rooms blocked in their room type's inventory.
+   */
+  private final InventoryBlockService inventoryBlockService;
+  /**
+   * Keeps room type capacity and inventory in line with the physical rooms.
+   */
+  private final InventoryCapacityService capacityService;
 
   /**
    * Constructs the manager room service.
    *
-   * @param roomsRepo    repository for Rooms entities
-   * @param entityGuards guards that validate hotel and room-type ownership
+   * @param roomsRepo             repository for Rooms entities
+   * @param entityGuards          guards that validate hotel and room-type
+   *                              ownership
+   * @param inventoryBlockService blocks inventory for out-of-order rooms
+   * @param capacityService       counts rooms in room type capacity
    */
   public ManagerRoomService(final RoomsRepository roomsRepo,
-      final EntityGuards entityGuards) {
+      final EntityGuards entityGuards,
+      final InventoryBlockService inventoryBlockService,
+      final InventoryCapacityService capacityService) {
     this.roomsRepository = roomsRepo;
     this.entityGuards = entityGuards;
+    this.inventoryBlockService = inventoryBlockService;
+    this.capacityService = capacityService;
   }
 
   /**
@@ -63,7 +79,9 @@ public class ManagerRoomService {
   /**
    * Creates a new room under the specified hotel. Validation and side effects: - Ensures the hotel
    * exists - Ensures the room type belongs to the hotel - Enforces room number uniqueness within
-   * the hotel - Persists the new room; status defaults to available when not provided
+   * the hotel - Persists the new room; status defaults to available when not provided - The room
+   * type's capacity grows by one room - A room created out of order is blocked in its room type's
+   * inventory
    *
    * @param hotelId the hotel id where the room will be created
    * @param req     creation request containing room type id, room number, floor, and optional
@@ -88,13 +106,20 @@ public class ManagerRoomService {
     r.setFloor(req.getFloor());
     r.setStatus(req.getStatus() == null ? RoomStatus.AVAILABLE
         : req.getStatus());
-    return roomsRepository.save(r);
+    final Rooms saved = roomsRepository.save(r);
+    capacityService.roomAdded(hotelId, r.getRoomTypeId());
+    if (!r.getStatus().isSellable()) {
+      inventoryBlockService.blockOutOfOrderRoom(hotelId, r.getRoomTypeId());
+    }
+    return saved;
   }
 
   /**
    * Updates an existing room that belongs to the given hotel. Supported updates: - roomTypeId:
    * validated to belong to the same hotel - roomNumber: validated for uniqueness within the hotel -
-   * floor and status: set directly if provided
+   * floor and status: set directly if provided. A room that changes type moves its capacity to the
+   * new type. When the room goes out of order, comes back or changes type while out of order, the
+   * blocked room moves with it in the inventory
    *
    * @param hotelId the hotel id that must own the room
    * @param roomId  the room id to update
@@ -102,10 +127,14 @@ public class ManagerRoomService {
    * @return the persisted room entity after the update
    * @throws NotFoundException   if hotel or room is not found
    * @throws BadRequestException if the new room number already exists in the same hotel
+   * @throws ConflictException   if the room's old type would be left with fewer rooms than
+   *                             reserved on some future night
    */
   public Rooms updateRoom(final Long hotelId, final Long roomId,
       final RoomUpdateRequest req) {
     final Rooms r = entityGuards.getRoomInHotelOrThrow(hotelId, roomId);
+    final Long oldRoomTypeId = r.getRoomTypeId();
+    final boolean wasSellable = r.getStatus().isSellable();
 
     if (req.getRoomTypeId() != null) {
       entityGuards.ensureRoomTypeInHotelOrThrow(hotelId, req.getRoomTypeId());
@@ -126,19 +155,39 @@ public class ManagerRoomService {
     if (req.getStatus() != null) {
       r.setStatus(req.getStatus());
     }
-    return roomsRepository.save(r);
+    final Rooms saved = roomsRepository.save(r);
+
+    final boolean sellable = r.getStatus().isSellable();
+    final boolean moved = !oldRoomTypeId.equals(r.getRoomTypeId());
+    if (moved) {
+      capacityService.roomMoved(hotelId, oldRoomTypeId, r.getRoomTypeId());
+    }
+    if (!wasSellable && (sellable || moved)) {
+      inventoryBlockService.releaseOutOfOrderRoom(hotelId, oldRoomTypeId);
+    }
+    if (!sellable && (wasSellable || moved)) {
+      inventoryBlockService.blockOutOfOrderRoom(hotelId, r.getRoomTypeId());
+    }
+    return saved;
   }
 
   /**
    * Deletes a room that belongs to the given hotel. The room is first resolved and validated
-   * through the guards, then deleted by id.
+   * through the guards, then deleted by id. The room type's capacity shrinks by one room, and
+   * deleting an out-of-order room releases its blocked room.
    *
    * @param hotelId the hotel id that must own the room
    * @param roomId  the room id to delete
    * @throws NotFoundException if hotel or room is not found
+   * @throws ConflictException if the room type would be left with fewer rooms than reserved on
+   *                           some future night
    */
   public void deleteRoom(final Long hotelId, final Long roomId) {
     final Rooms r = entityGuards.getRoomInHotelOrThrow(hotelId, roomId);
     roomsRepository.deleteById(r.getId());
+    capacityService.roomRemoved(hotelId, r.getRoomTypeId());
+    if (!r.getStatus().isSellable()) {
+      inventoryBlockService.releaseOutOfOrderRoom(hotelId, r.getRoomTypeId());
+    }
   }
 }
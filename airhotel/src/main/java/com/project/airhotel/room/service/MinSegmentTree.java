@@ -0,0 +1,78 @@
+package com.project.airhotel.room.service;
+
+/**
+ * Fixed-size range-minimum index over int values, stored as an iterative
+ * segment tree in a single array: leaves live in {@code [n, 2n)} and node
+ * {@code i} holds the minimum of nodes {@code 2i} and {@code 2i + 1}. Point
+ * updates and range queries both take O(log n). Not thread-safe; callers
+ * guard access.
+ */
+final class MinSegmentTree {
+
+  /**
+   * Number of leaves.
+   */
+  private final int size;
+  /**
+   * Internal nodes followed by the leaves.
+   */
+  private final int[] tree;
+
+  /**
+   * Builds the index over a copy of the given values in O(n).
+   *
+   * @param values leaf values
+   */
+  MinSegmentTree(final int[] values) {
+    this.size = values.length;
+    this.tree = new int[2 * size];
+    System.arraycopy(values, 0, tree, size, size);
+    for (int i = size - 1; i > 0; i--) {
+      tree[i] = Math.min(tree[2 * i], tree[2 * i + 1]);
+    }
+  }
+
+  /**
+   * Value of a single leaf.
+   *
+   * @param index leaf index
+   * @return leaf value
+   */
+  int get(final int index) {
+    return tree[size + index];
+  }
+
+  /**
+   * Replaces a leaf and updates its ancestors.
+   *
+   * @param index leaf index
+   * @param value new value
+   */
+  void set(final int index, final int value) {
+    int i = size + index;
+    tree[i] = value;
+    for (i >>= 1; i > 0; i >>= 1) {
+      tree[i] = Math.min(tree[2 * i], tree[2 * i + 1]);
+    }
+  }
+
+  /**
+   * Minimum over the leaves {@code [from, to)}.
+   *
+   * @param from first leaf, inclusive
+   * @param to   last leaf, exclusive
+   * @return the minimum, or {@link Integer#MAX_VALUE} for an empty range
+   */
+  int min(final int from, final int to) {
+    int result = Integer.MAX_VALUE;
+    for (int l = from + size, r = to + size; l < r; l >>= 1, r >>= 1) {
+      if ((l & 1) == 1) {
+        result = Math.min(result, tree[l++]);
+      }
+      if ((r & 1) == 1) {
+        result = Math.min(result, tree[--r]);
+      }
+    }
+    return result;
+  }
+}
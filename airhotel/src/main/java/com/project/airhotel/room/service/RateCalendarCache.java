@@ -0,0 +1,410 @@
+package com.project.airhotel.room.service;
+
+import com.project.airhotel.common.model.MinorUnits;
+import com.project.airhotel.room.domain.RoomTypeChangedEvent;
+import com.project.airhotel.room.domain.RoomTypeDailyPrice;
+import com.project.airhotel.room.domain.RoomTypeDailyPriceChangedEvent;
+import com.project.airhotel.room.domain.RoomTypeDetailsChangedEvent;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.repository.RoomTypeDailyPriceRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bounded in-process cache of nightly rate calendars, so that pricing a stay
+ * does not have to read the room type and its daily price rows. Each
+ * (hotel, room type) pair is loaded into a {@link RateCalendar}: the base rate
+ * and one price per night of the booking window, held in minor units in a
+ * {@code long[]}. The cache keeps the most recently used calendars up to a
+ * maximum size and drops calendars older than a TTL.
+ * Any committed or rolled back write to a daily price or a room type drops the
+ * affected calendar only; a load of that calendar that overlaps such a write
+ * is served to its caller but not cached, so stale prices are never kept.
+ * Calendars are read in their own read-only transaction, so a load that
+ * starts after a write committed sees it even when the caller's transaction
+ * holds an older REPEATABLE READ snapshot.
+ * A room type is only priced from memory for its own hotel.
+ */
+@Component
+public class RateCalendarCache {
+
+  /**
+   * Nights covered by a calendar, matching the availability ledger.
+   */
+  static final int WINDOW_DAYS = AvailabilityLedger.WINDOW_DAYS;
+  /**
+   * Marks a night without an explicit daily price.
+   */
+  static final long NO_PRICE = Long.MIN_VALUE;
+
+  /**
+   * Repository for room type master data.
+   */
+  private final RoomTypesRepository roomTypesRepo;
+  /**
+   * Repository for daily price rows.
+   */
+  private final RoomTypeDailyPriceRepository priceRepo;
+  /**
+   * Runs each load in a new read-only transaction with a fresh snapshot.
+   */
+  private final TransactionOperations loadTransactions;
+  /**
+   * Whether the cache is used at all.
+   */
+  private final boolean enabled;
+  /**
+   * Maximum age of a calendar before it is reloaded.
+   */
+  private final long ttlNanos;
+  /**
+   * Calendars in access order; guarded by {@code this}.
+   */
+  private final Map<Key, RateCalendar> calendars;
+  /**
+   * Token of the latest load in progress per calendar; an invalidation
+   * drops the token, so the overlapping load is not cached. Guarded by
+   * {@code this}.
+   */
+  private final Map<Key, Object> pendingLoads = new HashMap<>();
+  /**
+   * Lookups answered from memory.
+   */
+  private final AtomicLong hits = new AtomicLong();
+  /**
+   * Lookups that had to read the database.
+   */
+  private final AtomicLong misses = new AtomicLong();
+  /**
+   * Calendars dropped to stay within the size bound.
+   */
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * Constructs the cache.
+   *
+   * @param roomTypesRepo room type repository
+   * @param priceRepo     daily price repository
+   * @param txManager     transaction manager for calendar loads
+   * @param enabled       whether calendars are cached
+   * @param maxEntries    maximum number of cached calendars
+   * @param ttlSeconds    maximum calendar age in seconds
+   */
+  public RateCalendarCache(final RoomTypesRepository roomTypesRepo,
+      final RoomTypeDailyPriceRepository priceRepo,
+      final PlatformTransactionManager txManager,
+      @Value("${airhotel.pricing.rate-cache.enabled:true}")
+      final boolean enabled,
+      @Value("${airhotel.pricing.rate-cache.max-entries:5000}")
+      final int maxEntries,
+      @Value("${airhotel.pricing.rate-cache.ttl-seconds:600}")
+      final long ttlSeconds) {
+    this.roomTypesRepo = roomTypesRepo;
+    this.priceRepo = priceRepo;
+    final TransactionTemplate template = new TransactionTemplate(txManager);
+    template.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    template.setReadOnly(true);
+    this.loadTransactions = template;
+    this.enabled = enabled;
+    this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    this.calendars = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(
+          final Map.Entry<Key, RateCalendar> eldest) {
+        final boolean evict = size() > maxEntries;
+        if (evict) {
+          evictions.incrementAndGet();
+        }
+        return evict;
+      }
+    };
+  }
+
+  /**
+   * Returns the rate calendar of a room type, loading it on a miss.
+   *
+   * @param hotelId    hotel id
+   * @param roomTypeId room type id
+   * @return the calendar, or null when the cache is disabled or the room
+   *     type cannot be priced from memory (missing, of another hotel, or
+   *     without base rate)
+   */
+  public RateCalendar find(final Long hotelId, final Long roomTypeId) {
+    if (!enabled) {
+      return null;
+    }
+    final Key key = new Key(hotelId, roomTypeId);
+    final long now = System.nanoTime();
+    final Object token = new Object();
+    synchronized (this) {
+      final RateCalendar cached = calendars.get(key);
+      if (cached != null && now < cached.expiresAt) {
+        hits.incrementAndGet();
+        return cached;
+      }
+      calendars.remove(key);
+      pendingLoads.put(key, token);
+    }
+    misses.incrementAndGet();
+    RateCalendar loaded = null;
+    try {
+      loaded = loadTransactions.execute(
+          status -> load(hotelId, roomTypeId, now));
+    } finally {
+      synchronized (this) {
+        if (pendingLoads.remove(key, token) && loaded != null) {
+          calendars.put(key, loaded);
+        }
+      }
+    }
+    return loaded;
+  }
+
+  /**
+   * Drops the calendar of one room type.
+   *
+   * @param hotelId    hotel id
+   * @param roomTypeId room type id
+   */
+  public void invalidate(final Long hotelId, final Long roomTypeId) {
+    final Key key = new Key(hotelId, roomTypeId);
+    synchronized (this) {
+      calendars.remove(key);
+      pendingLoads.remove(key);
+    }
+  }
+
+  /**
+   * Drops every calendar, e.g. after bulk price changes that bypass JPA.
+   */
+  public void invalidateAll() {
+    synchronized (this) {
+      calendars.clear();
+      pendingLoads.clear();
+    }
+  }
+
+  /**
+   * Drops the calendar of a room type whose daily price changed, once the
+   * writing transaction has completed.
+   *
+   * @param event daily price change
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION,
+      fallbackExecution = true)
+  public void onPriceChanged(final RoomTypeDailyPriceChangedEvent event) {
+    invalidate(event.hotelId(), event.roomTypeId());
+  }
+
+  /**
+   * Drops the calendar of a changed room type, whose base rate may differ,
+   * once the writing transaction has completed.
+   *
+   * @param event room type change
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION,
+      fallbackExecution = true)
+  public void onRoomTypeChanged(final RoomTypeChangedEvent event) {
+    invalidate(event.hotelId(), event.roomTypeId());
+  }
+
+  /**
+   * Drops the calendar of a room type whose details, such as the base rate,
+   * were updated, once the writing transaction has completed.
+   *
+   * @param event room type update without a room count change
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION,
+      fallbackExecution = true)
+  public void onRoomTypeDetailsChanged(
+      final RoomTypeDetailsChangedEvent event) {
+    invalidate(event.hotelId(), event.roomTypeId());
+  }
+
+  /**
+   * Returns the number of lookups answered from memory.
+   *
+   * @return hit count since startup
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * Returns the number of lookups that read the database.
+   *
+   * @return miss count since startup
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * Returns the number of calendars evicted by the size bound.
+   *
+   * @return eviction count since startup
+   */
+  public long getEvictionCount() {
+    return evictions.get();
+  }
+
+  /**
+   * Returns the number of cached calendars.
+   *
+   * @return current size
+   */
+  public synchronized int size() {
+    return calendars.size();
+  }
+
+  private RateCalendar load(final Long hotelId, final Long roomTypeId,
+                            final long now) {
+    final RoomTypes roomType = roomTypesRepo.findById(roomTypeId).orElse(null);
+    if (roomType == null || !hotelId.equals(roomType.getHotelId())
+        || roomType.getBaseRate() == null) {
+      return null;
+    }
+    final LocalDate first = LocalDate.now();
+    final long[] nightly = new long[WINDOW_DAYS];
+    Arrays.fill(nightly, NO_PRICE);
+    for (final RoomTypeDailyPrice p
+        : priceRepo.findByHotelIdAndRoomTypeIdAndStayDateBetween(hotelId,
+            roomTypeId, first, first.plusDays(WINDOW_DAYS - 1))) {
+      final int offset = (int) (p.getStayDate().toEpochDay()
+          - first.toEpochDay());
+      if (p.getPrice() != null && offset >= 0 && offset < WINDOW_DAYS) {
+        nightly[offset] = MinorUnits.of(p.getPrice());
+      }
+    }
+    return new RateCalendar(first.toEpochDay(),
+        MinorUnits.of(roomType.getBaseRate()), nightly, now + ttlNanos);
+  }
+
+  /**
+   * Cache key.
+   *
+   * @param hotelId    hotel id
+   * @param roomTypeId room type id
+   */
+  private record Key(Long hotelId, Long roomTypeId) {
+  }
+
+  /**
+   * Immutable nightly rates of one room type over the booking window.
+   */
+  public static final class RateCalendar {
+    /**
+     * Epoch day of the first night.
+     */
+    private final long baseDay;
+    /**
+     * Base rate in minor units, used for nights without a daily price.
+     */
+    private final long baseRate;
+    /**
+     * Daily price per night offset in minor units, or {@link #NO_PRICE}.
+     */
+    private final long[] nightly;
+    /**
+     * {@link System#nanoTime()} after which the calendar is stale.
+     */
+    private final long expiresAt;
+
+    RateCalendar(final long baseDay, final long baseRate,
+                 final long[] nightly, final long expiresAt) {
+      this.baseDay = baseDay;
+      this.baseRate = baseRate;
+      this.nightly = nightly;
+      this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Whether every night of [checkIn, checkOut) lies inside the calendar.
+     *
+     * @param checkIn  first night
+     * @param checkOut day after the last night
+     * @return true if the stay can be priced from this calendar
+     */
+    public boolean covers(final LocalDate checkIn, final LocalDate checkOut) {
+      return checkIn.toEpochDay() >= baseDay
+          && checkOut.toEpochDay() <= baseDay + nightly.length
+          && checkIn.isBefore(checkOut);
+    }
+
+    /**
+     * Sums the nightly rates of a covered stay.
+     *
+     * @param checkIn  first night
+     * @param checkOut day after the last night
+     * @return total price with {@link MinorUnits#SCALE} decimals
+     */
+    public BigDecimal total(final LocalDate checkIn,
+                            final LocalDate checkOut) {
+      final int from = (int) (checkIn.toEpochDay() - baseDay);
+      final int to = (int) (checkOut.toEpochDay() - baseDay);
+      long sum = 0;
+      for (int i = from; i < to; i++) {
+        sum += nightly[i] == NO_PRICE ? baseRate : nightly[i];
+      }
+      return MinorUnits.toAmount(sum);
+    }
+
+    /**
+     * Rate of one covered night.
+     *
+     * @param night stay date inside the calendar
+     * @return daily price, or the base rate when the night has none
+     */
+    public BigDecimal price(final LocalDate night) {
+      final long v = nightly[(int) (night.toEpochDay() - baseDay)];
+      return MinorUnits.toAmount(v == NO_PRICE ? baseRate : v);
+    }
+
+    /**
+     * Nights of a covered stay that have no explicit daily price.
+     *
+     * @param checkIn  first night
+     * @param checkOut day after the last night
+     * @return the nights in ascending order
+     */
+    public List<LocalDate> nightsWithoutPrice(final LocalDate checkIn,
+                                              final LocalDate checkOut) {
+      final List<LocalDate> nights = new ArrayList<>();
+      final int from = (int) (checkIn.toEpochDay() - baseDay);
+      final int to = (int) (checkOut.toEpochDay() - baseDay);
+      for (int i = from; i < to; i++) {
+        if (nightly[i] == NO_PRICE) {
+          nights.add(LocalDate.ofEpochDay(baseDay + i));
+        }
+      }
+      return nights;
+    }
+
+    /**
+     * Base rate of the room type.
+     *
+     * @return base rate with {@link MinorUnits#SCALE} decimals
+     */
+    public BigDecimal baseRate() {
+      return MinorUnits.toAmount(baseRate);
+    }
+  }
+}
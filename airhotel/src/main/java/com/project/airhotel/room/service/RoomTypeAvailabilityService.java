@@ -4,12 +4,16 @@ import com.project.airhotel.common.exception.BadRequestException;
 import com.project.airhotel.common.guard.EntityGuards;
 import com.project.airhotel.room.domain.RoomTypeInventory;
 import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.dto.FlexibleAvailabilityResponse;
+import com.project.airhotel.room.dto.FlexibleStayOption;
 import com.project.airhotel.room.dto.RoomTypeAvailabilityResponse;
 import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
 import com.project.airhotel.room.repository.RoomTypesRepository;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -18,14 +22,22 @@ import org.springframework.stereotype.Service;
 
 /**
  * Computes room-type availability within a hotel for a given stay window.
+ * Stays inside the {@link AvailabilityLedger} window are answered from memory;
+ * anything else falls back to the inventory table.
  */
 @Service
 @RequiredArgsConstructor
 public class RoomTypeAvailabilityService {
 
+  /**
+   * Longest flexible search window, matching the one-year booking horizon.
+   */
+  static final int MAX_FLEXIBLE_WINDOW_NIGHTS = 366;
+
   private final RoomTypesRepository roomTypesRepository;
   private final RoomTypeInventoryRepository roomTypeInventoryRepository;
   private final EntityGuards entityGuards;
+  private final AvailabilityLedger ledger;
 
   /**
    * Returns room types that have availability for the entire stay window.
@@ -48,14 +60,64 @@ public class RoomTypeAvailabilityService {
       throw new BadRequestException("numGuests must be positive");
     }
 
-    entityGuards.ensureHotelExists(hotelId);
+    AvailabilityLedger.HotelCalendar calendar = ledger.findFresh(hotelId);
+    if (calendar == null) {
+      entityGuards.ensureHotelExists(hotelId);
+      calendar = ledger.load(hotelId);
+    }
 
-    final List<RoomTypes> roomTypes =
-        roomTypesRepository.findByHotelId(hotelId);
+    final List<RoomTypes> roomTypes = calendar != null
+        ? calendar.roomTypes() : roomTypesRepository.findByHotelId(hotelId);
     if (roomTypes.isEmpty()) {
       return List.of();
     }
 
+    final Map<Long, Integer> minByType =
+        calendar != null && calendar.covers(checkIn, checkOut)
+            ? minAvailableFromLedger(calendar, roomTypes, checkIn, checkOut)
+            : minAvailableFromDatabase(hotelId, roomTypes, checkIn, checkOut);
+
+    final List<RoomTypeAvailabilityResponse> result = new ArrayList<>();
+    for (RoomTypes rt : roomTypes) {
+      if (numGuests != null && rt.getCapacity() != null
+          && rt.getCapacity() < numGuests) {
+        continue;
+      }
+      final int minAvailable = minByType.getOrDefault(rt.getId(), 0);
+      if (minAvailable > 0) {
+        result.add(RoomTypeAvailabilityResponse.builder()
+            .roomTypeId(rt.getId())
+            .code(rt.getCode())
+            .name(rt.getName())
+            .bedType(rt.getBedType())
+            .capacity(rt.getCapacity())
+            .totalRooms(rt.getTotalRooms())
+            .available(minAvailable)
+            .baseRate(rt.getBaseRate())
+            .build());
+      }
+    }
+    return result;
+  }
+
+  private Map<Long, Integer> minAvailableFromLedger(
+      final AvailabilityLedger.HotelCalendar calendar,
+      final List<RoomTypes> roomTypes,
+      final LocalDate checkIn,
+      final LocalDate checkOut) {
+    final Map<Long, Integer> minByType = new HashMap<>();
+    for (RoomTypes rt : roomTypes) {
+      calendar.minAvailable(rt.getId(), checkIn, checkOut)
+          .ifPresent(min -> minByType.put(rt.getId(), min));
+    }
+    return minByType;
+  }
+
+  private Map<Long, Integer> minAvailableFromDatabase(
+      final Long hotelId,
+      final List<RoomTypes> roomTypes,
+      final LocalDate checkIn,
+      final LocalDate checkOut) {
     final long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
     final List<LocalDate> stayDates = new ArrayList<>((int) nights);
     LocalDate cursor = checkIn;
@@ -76,12 +138,8 @@ public class RoomTypeAvailabilityService {
                     inv -> inv, (a, b) -> a))
         );
 
-    final List<RoomTypeAvailabilityResponse> result = new ArrayList<>();
+    final Map<Long, Integer> minByType = new HashMap<>();
     for (RoomTypes rt : roomTypes) {
-      if (numGuests != null && rt.getCapacity() != null
-          && rt.getCapacity() < numGuests) {
-        continue;
-      }
       int minAvailable = rt.getTotalRooms();
       final Map<LocalDate, RoomTypeInventory> datedInv =
           invByTypeAndDate.getOrDefault(rt.getId(), Map.of());
@@ -95,22 +153,166 @@ public class RoomTypeAvailabilityService {
           break;
         }
       }
-      if (minAvailable > 0) {
-        result.add(RoomTypeAvailabilityResponse.builder()
+      minByType.put(rt.getId(), minAvailable);
+    }
+    return minByType;
+  }
+
+  /**
+   * Finds, per room type, every check-in date within a window for which a
+   * stay of the given length is available. The nightly counts of the whole
+   * window are read once, from the ledger or with a single inventory range
+   * query, and each room type is scanned in one pass with a sliding-window
+   * minimum.
+   *
+   * @param hotelId     target hotel id
+   * @param windowStart first night that may be booked, inclusive
+   * @param windowEnd   latest check-out date, exclusive bound of the nights
+   * @param nights      stay length in nights
+   * @param numGuests   optional guest count filter
+   * @return room types with at least one feasible stay
+   */
+  public List<FlexibleAvailabilityResponse> getFlexibleAvailability(
+      final Long hotelId,
+      final LocalDate windowStart,
+      final LocalDate windowEnd,
+      final Integer nights,
+      final Integer numGuests) {
+
+    validateDates(windowStart, windowEnd);
+    if (nights == null || nights <= 0) {
+      throw new BadRequestException("nights must be positive");
+    }
+    final long windowNights = ChronoUnit.DAYS.between(windowStart, windowEnd);
+    if (windowNights > MAX_FLEXIBLE_WINDOW_NIGHTS) {
+      throw new BadRequestException("Search window must not exceed "
+          + MAX_FLEXIBLE_WINDOW_NIGHTS + " nights");
+    }
+    if (nights > windowNights) {
+      throw new BadRequestException("nights must fit inside the search window");
+    }
+    if (numGuests != null && numGuests <= 0) {
+      throw new BadRequestException("numGuests must be positive");
+    }
+
+    AvailabilityLedger.HotelCalendar calendar = ledger.findFresh(hotelId);
+    if (calendar == null) {
+      entityGuards.ensureHotelExists(hotelId);
+      calendar = ledger.load(hotelId);
+    }
+    final List<RoomTypes> roomTypes = calendar != null
+        ? calendar.roomTypes() : roomTypesRepository.findByHotelId(hotelId);
+    if (roomTypes.isEmpty()) {
+      return List.of();
+    }
+
+    final Map<Long, int[]> nightlyByType =
+        calendar != null && calendar.covers(windowStart, windowEnd)
+            ? nightlyFromLedger(calendar, roomTypes, windowStart, windowEnd)
+            : nightlyFromDatabase(hotelId, roomTypes, windowStart, windowEnd);
+
+    final List<FlexibleAvailabilityResponse> result = new ArrayList<>();
+    for (RoomTypes rt : roomTypes) {
+      if (numGuests != null && rt.getCapacity() != null
+          && rt.getCapacity() < numGuests) {
+        continue;
+      }
+      final int[] nightly = nightlyByType.get(rt.getId());
+      if (nightly == null) {
+        continue;
+      }
+      final int[] stayMin = slidingMin(nightly, nights);
+      final List<FlexibleStayOption> options = new ArrayList<>();
+      for (int i = 0; i < stayMin.length; i++) {
+        if (stayMin[i] > 0) {
+          final LocalDate checkIn = windowStart.plusDays(i);
+          options.add(new FlexibleStayOption(checkIn,
+              checkIn.plusDays(nights), stayMin[i]));
+        }
+      }
+      if (!options.isEmpty()) {
+        result.add(FlexibleAvailabilityResponse.builder()
             .roomTypeId(rt.getId())
             .code(rt.getCode())
             .name(rt.getName())
             .bedType(rt.getBedType())
             .capacity(rt.getCapacity())
             .totalRooms(rt.getTotalRooms())
-            .available(minAvailable)
             .baseRate(rt.getBaseRate())
+            .options(options)
             .build());
       }
     }
     return result;
   }
 
+  /**
+   * Minimum of every window of {@code k} consecutive values, computed in
+   * O(n) with a monotonic deque of indices whose values increase from head
+   * to tail.
+   *
+   * @param values nightly values
+   * @param k      window length, between 1 and values.length
+   * @return element i is the minimum of values[i, i + k)
+   */
+  static int[] slidingMin(final int[] values, final int k) {
+    final int[] out = new int[values.length - k + 1];
+    final int[] deque = new int[values.length];
+    int head = 0;
+    int tail = 0;
+    for (int i = 0; i < values.length; i++) {
+      while (tail > head && values[deque[tail - 1]] >= values[i]) {
+        tail--;
+      }
+      deque[tail++] = i;
+      if (deque[head] <= i - k) {
+        head++;
+      }
+      if (i >= k - 1) {
+        out[i - k + 1] = values[deque[head]];
+      }
+    }
+    return out;
+  }
+
+  private Map<Long, int[]> nightlyFromLedger(
+      final AvailabilityLedger.HotelCalendar calendar,
+      final List<RoomTypes> roomTypes,
+      final LocalDate from,
+      final LocalDate to) {
+    final Map<Long, int[]> nightlyByType = new HashMap<>();
+    for (RoomTypes rt : roomTypes) {
+      final int[] nightly = calendar.nightly(rt.getId(), from, to);
+      if (nightly != null) {
+        nightlyByType.put(rt.getId(), nightly);
+      }
+    }
+    return nightlyByType;
+  }
+
+  private Map<Long, int[]> nightlyFromDatabase(
+      final Long hotelId,
+      final List<RoomTypes> roomTypes,
+      final LocalDate from,
+      final LocalDate to) {
+    final int length = (int) ChronoUnit.DAYS.between(from, to);
+    final Map<Long, int[]> nightlyByType = new HashMap<>();
+    for (RoomTypes rt : roomTypes) {
+      final int[] nightly = new int[length];
+      Arrays.fill(nightly, rt.getTotalRooms());
+      nightlyByType.put(rt.getId(), nightly);
+    }
+    for (RoomTypeInventory inv : roomTypeInventoryRepository
+        .findByHotelIdAndStayDateBetween(hotelId, from, to.minusDays(1))) {
+      final int[] nightly = nightlyByType.get(inv.getRoomTypeId());
+      if (nightly != null && inv.getAvailable() != null) {
+        nightly[(int) ChronoUnit.DAYS.between(from, inv.getStayDate())] =
+            inv.getAvailable();
+      }
+    }
+    return nightlyByType;
+  }
+
   private void validateDates(final LocalDate checkIn, final LocalDate checkOut) {
     if (checkIn == null || checkOut == null) {
       throw new BadRequestException("checkIn and checkOut are required");
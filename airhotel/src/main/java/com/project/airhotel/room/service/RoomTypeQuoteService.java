@@ -0,0 +1,101 @@
+package com.project.airhotel.room.service;
+
+import com.project.airhotel.common.model.MinorUnits;
+import com.project.airhotel.room.domain.RoomTypeDailyPrice;
+import com.project.airhotel.room.dto.NightlyRate;
+import com.project.airhotel.room.dto.RoomTypeAvailabilityResponse;
+import com.project.airhotel.room.dto.RoomTypeQuoteResponse;
+import com.project.airhotel.room.repository.RoomTypeDailyPriceRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Prices every available room type of a hotel for one stay. The daily prices
+ * of all room types are read with a single range query and grouped in
+ * memory; nights without a daily price are charged the base rate, exactly as
+ * when a reservation is priced. Nothing is written.
+ */
+@Service
+@RequiredArgsConstructor
+public class RoomTypeQuoteService {
+
+  private final RoomTypeAvailabilityService availabilityService;
+  private final RoomTypeDailyPriceRepository roomTypeDailyPriceRepository;
+
+  /**
+   * Returns a nightly breakdown and total for each room type that is
+   * available for the whole stay. Room types without a base rate are left
+   * out, even when every night has a daily price, since reservation pricing
+   * rejects them and they cannot be booked.
+   *
+   * @param hotelId   target hotel id
+   * @param checkIn   check-in date inclusive
+   * @param checkOut  check-out date exclusive
+   * @param numGuests optional guest count filter
+   * @return quotes in the order of the availability result
+   */
+  public List<RoomTypeQuoteResponse> getQuotes(
+      final Long hotelId,
+      final LocalDate checkIn,
+      final LocalDate checkOut,
+      final Integer numGuests) {
+    final List<RoomTypeAvailabilityResponse> available =
+        availabilityService.getAvailability(hotelId, checkIn, checkOut,
+            numGuests).stream()
+            .filter(rt -> rt.getBaseRate() != null)
+            .toList();
+    if (available.isEmpty()) {
+      return List.of();
+    }
+
+    final Map<Long, Map<LocalDate, BigDecimal>> priceByTypeAndDate =
+        new HashMap<>();
+    for (RoomTypeDailyPrice p : roomTypeDailyPriceRepository
+        .findByHotelIdAndStayDateBetween(hotelId, checkIn,
+            checkOut.minusDays(1))) {
+      if (p.getPrice() != null) {
+        priceByTypeAndDate.computeIfAbsent(p.getRoomTypeId(),
+            id -> new HashMap<>()).put(p.getStayDate(), p.getPrice());
+      }
+    }
+
+    final List<RoomTypeQuoteResponse> result = new ArrayList<>();
+    for (RoomTypeAvailabilityResponse rt : available) {
+      result.add(quote(rt, checkIn, checkOut,
+          priceByTypeAndDate.getOrDefault(rt.getRoomTypeId(), Map.of())));
+    }
+    return result;
+  }
+
+  private static RoomTypeQuoteResponse quote(
+      final RoomTypeAvailabilityResponse rt,
+      final LocalDate checkIn,
+      final LocalDate checkOut,
+      final Map<LocalDate, BigDecimal> priceByDate) {
+    final List<NightlyRate> nights = new ArrayList<>();
+    long totalMinor = 0;
+    for (LocalDate d = checkIn; d.isBefore(checkOut); d = d.plusDays(1)) {
+      final BigDecimal daily = priceByDate.get(d);
+      final BigDecimal price = daily != null ? daily : rt.getBaseRate();
+      nights.add(new NightlyRate(d, price, daily == null));
+      totalMinor += MinorUnits.of(price);
+    }
+    return RoomTypeQuoteResponse.builder()
+        .roomTypeId(rt.getRoomTypeId())
+        .code(rt.getCode())
+        .name(rt.getName())
+        .bedType(rt.getBedType())
+        .capacity(rt.getCapacity())
+        .available(rt.getAvailable())
+        .baseRate(rt.getBaseRate())
+        .total(MinorUnits.toAmount(totalMinor))
+        .nights(nights)
+        .build();
+  }
+}
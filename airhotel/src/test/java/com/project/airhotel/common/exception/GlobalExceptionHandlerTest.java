@@ -54,6 +54,14 @@ class GlobalExceptionHandlerTest {
     assertThat(resp.message()).isEqualTo("bad!");
   }
 
+  @Test
+  @DisplayName("ConflictException → 409")
+  void handleConflict() {
+    final var resp = handler.handleConflict(new ConflictException("busy"), req("/x"));
+    assertThat(resp.code()).isEqualTo(409);
+    assertThat(resp.message()).isEqualTo("busy");
+  }
+
   @Test
   @DisplayName("MethodArgumentNotValidException → 400 (details present)")
   void handleMethodArgumentNotValid() {
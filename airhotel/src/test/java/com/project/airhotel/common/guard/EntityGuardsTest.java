@@ -2,8 +2,11 @@ package com.project.airhotel.common.guard;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.project.airhotel.common.exception.BadRequestException;
@@ -22,6 +25,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Unit tests for {@link EntityGuards}.
@@ -357,4 +362,46 @@ class EntityGuardsTest {
         ex.getMessage()
     );
   }
+
+  /**
+   * Inside a transaction, repeated guards read each hotel, room type and room
+   * once and hand the loaded room type to downstream lookups; the memo is
+   * dropped when the transaction completes.
+   */
+  @Test
+  void guards_insideTransaction_shouldReadEachEntityOnce() {
+    final RoomTypes rt = new RoomTypes();
+    rt.setId(ROOM_TYPE_ID);
+    rt.setHotelId(HOTEL_ID);
+    final Rooms room = new Rooms();
+    room.setId(ROOM_ID);
+    room.setHotelId(HOTEL_ID);
+    room.setRoomTypeId(ROOM_TYPE_ID);
+    when(hotelsRepository.existsById(HOTEL_ID)).thenReturn(true);
+    when(roomTypesRepository.findById(ROOM_TYPE_ID)).thenReturn(Optional.of(rt));
+    when(roomsRepository.findById(ROOM_ID)).thenReturn(Optional.of(room));
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      entityGuards.ensureHotelExists(HOTEL_ID);
+      entityGuards.ensureRoomTypeInHotelOrThrow(HOTEL_ID, ROOM_TYPE_ID);
+      entityGuards.ensureRoomBelongsToHotelAndType(HOTEL_ID, ROOM_ID,
+          ROOM_TYPE_ID);
+      entityGuards.ensureRoomBelongsToHotelAndType(HOTEL_ID, ROOM_ID,
+          ROOM_TYPE_ID);
+      assertSame(rt, entityGuards.findRoomType(ROOM_TYPE_ID).orElseThrow());
+    } finally {
+      for (TransactionSynchronization sync
+          : TransactionSynchronizationManager.getSynchronizations()) {
+        sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+      }
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    verify(hotelsRepository, times(1)).existsById(HOTEL_ID);
+    verify(roomTypesRepository, times(1)).findById(ROOM_TYPE_ID);
+    verify(roomsRepository, times(1)).findById(ROOM_ID);
+    assertFalse(TransactionSynchronizationManager.hasResource(
+        GuardContext.class));
+  }
 }
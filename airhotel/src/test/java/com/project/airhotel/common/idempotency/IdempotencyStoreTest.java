@@ -0,0 +1,289 @@
+package com.project.airhotel.common.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.common.exception.ConflictException;
+import com.project.airhotel.common.retry.LockRetryExecutor;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Unit tests for IdempotencyStore.
+ */
+class IdempotencyStoreTest {
+
+  private IdempotencyKeysRepository repository;
+  private IdempotencyStore store;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(IdempotencyKeysRepository.class);
+    when(repository.saveAndFlush(any(IdempotencyKeys.class)))
+        .thenAnswer(inv -> {
+          final IdempotencyKeys row = inv.getArgument(0);
+          row.setId(7L);
+          return row;
+        });
+    when(repository.renew(any(), anyString(), any(), any())).thenReturn(1);
+    when(repository.complete(any(), anyString(), any(), anyString(), any()))
+        .thenReturn(1);
+    store = store(1_000);
+  }
+
+  private IdempotencyStore store(final long waitTimeoutMillis) {
+    return new IdempotencyStore(repository, new ObjectMapper(),
+        TransactionOperations.withoutTransaction(),
+        new LockRetryExecutor(1, 0, 0), true, 3600, 600, 60,
+        waitTimeoutMillis, 5);
+  }
+
+  @Test
+  @DisplayName("Retry with the same key replays the first response")
+  void retry_replaysFromMemory() {
+    final AtomicInteger calls = new AtomicInteger();
+
+    final var first = store.execute(1L, "k", Map.of("a", 1), Map.class,
+        () -> Map.of("id", calls.incrementAndGet()));
+    final var second = store.execute(1L, "k", Map.of("a", 1), Map.class,
+        () -> Map.of("id", calls.incrementAndGet()));
+
+    assertFalse(first.replayed());
+    assertTrue(second.replayed());
+    assertEquals(first.body(), second.body());
+    assertEquals(1, calls.get());
+    verify(repository).complete(eq(7L), anyString(),
+        eq(IdempotencyKeys.State.COMPLETED),
+        eq("{\"id\":1}"), any(LocalDateTime.class));
+    verify(repository, times(1)).saveAndFlush(any());
+  }
+
+  @Test
+  @DisplayName("Same key from another user or with another payload")
+  void key_scopedByUserAndPayload() {
+    store.execute(1L, "k", Map.of("a", 1), Map.class, () -> Map.of("id", 1));
+
+    assertFalse(store.execute(2L, "k", Map.of("a", 1), Map.class,
+        () -> Map.of("id", 2)).replayed());
+    assertThrows(BadRequestException.class, () -> store.execute(1L, "k",
+        Map.of("a", 2), Map.class, () -> Map.of("id", 3)));
+  }
+
+  @Test
+  @DisplayName("Blank or oversized keys are rejected")
+  void key_validated() {
+    assertThrows(BadRequestException.class, () -> store.execute(1L, " ",
+        "x", String.class, () -> "y"));
+    assertThrows(BadRequestException.class, () -> store.execute(1L,
+        "k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1), "x", String.class,
+        () -> "y"));
+  }
+
+  @Test
+  @DisplayName("Concurrent duplicate waits for the first request instead of "
+      + "running again")
+  void concurrentDuplicate_waits() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger calls = new AtomicInteger();
+    final ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      final Future<IdempotencyStore.Outcome<String>> first =
+          pool.submit(() -> store.execute(1L, "k", "req", String.class,
+              () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "created";
+              }));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      final Future<IdempotencyStore.Outcome<String>> second =
+          pool.submit(() -> store.execute(1L, "k", "req", String.class,
+              () -> {
+                calls.incrementAndGet();
+                return "duplicate";
+              }));
+      release.countDown();
+
+      assertEquals("created", first.get(5, TimeUnit.SECONDS).body());
+      final IdempotencyStore.Outcome<String> replay =
+          second.get(5, TimeUnit.SECONDS);
+      assertEquals("created", replay.body());
+      assertTrue(replay.replayed());
+      assertEquals(1, calls.get());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("Failed request releases its claim so a retry runs again")
+  void failure_releasesKey() {
+    assertThrows(BadRequestException.class, () -> store.execute(1L, "k",
+        "req", String.class, () -> {
+          throw new BadRequestException("sold out");
+        }));
+    verify(repository).release(eq(7L), anyString());
+    assertEquals(0, store.size());
+
+    assertEquals("ok", store.execute(1L, "k", "req", String.class,
+        () -> "ok").body());
+  }
+
+  @Test
+  @DisplayName("Failure to store the response fails the request and "
+      + "releases its claim")
+  void completeFails_releasesKey() {
+    when(repository.complete(any(), anyString(), any(), anyString(), any()))
+        .thenThrow(new IllegalStateException("store down"));
+
+    assertThrows(IllegalStateException.class, () -> store.execute(1L, "k",
+        "req", String.class, () -> "created"));
+    verify(repository).release(eq(7L), anyString());
+    assertEquals(0, store.size());
+  }
+
+  @Test
+  @DisplayName("Key completed on another node is replayed from the database")
+  void completedElsewhere_replaysFromDatabase() throws Exception {
+    final String hash = hashOf("req");
+    when(repository.saveAndFlush(any(IdempotencyKeys.class)))
+        .thenThrow(new DataIntegrityViolationException("uq_idem_user_key"));
+    when(repository.findByUserIdAndIdemKey(1L, "k")).thenReturn(Optional.of(
+        IdempotencyKeys.builder().id(3L).userId(1L).idemKey("k")
+            .requestHash(hash).state(IdempotencyKeys.State.COMPLETED)
+            .responseBody("\"stored\"")
+            .expiresAt(LocalDateTime.now().plusHours(1)).build()));
+
+    final var out = store.execute(1L, "k", "req", String.class, () -> "new");
+
+    assertEquals("stored", out.body());
+    assertTrue(out.replayed());
+    verify(repository, never()).complete(any(), any(), any(), anyString(),
+        any());
+  }
+
+  @Test
+  @DisplayName("Key running on another node past the wait timeout is a "
+      + "conflict")
+  void runningElsewhere_timesOut() {
+    store = store(20);
+    when(repository.saveAndFlush(any(IdempotencyKeys.class)))
+        .thenThrow(new DataIntegrityViolationException("uq_idem_user_key"));
+    when(repository.findByUserIdAndIdemKey(1L, "k")).thenAnswer(inv ->
+        Optional.of(IdempotencyKeys.builder().id(3L).userId(1L).idemKey("k")
+            .requestHash(hashOf("req"))
+            .state(IdempotencyKeys.State.IN_PROGRESS)
+            .expiresAt(LocalDateTime.now().plusMinutes(1)).build()));
+
+    assertThrows(ConflictException.class, () -> store.execute(1L, "k", "req",
+        String.class, () -> "new"));
+    assertEquals(0, store.size());
+  }
+
+  @Test
+  @DisplayName("Expired claim is taken over")
+  void expiredClaim_takenOver() throws Exception {
+    when(repository.saveAndFlush(any(IdempotencyKeys.class)))
+        .thenThrow(new DataIntegrityViolationException("uq_idem_user_key"));
+    when(repository.findByUserIdAndIdemKey(1L, "k")).thenReturn(Optional.of(
+        IdempotencyKeys.builder().id(3L).userId(1L).idemKey("k")
+            .requestHash(hashOf("old"))
+            .state(IdempotencyKeys.State.IN_PROGRESS)
+            .expiresAt(LocalDateTime.now().minusMinutes(1)).build()));
+    when(repository.takeOver(eq(3L), eq(IdempotencyKeys.State.IN_PROGRESS),
+        eq(hashOf("req")), anyString(), any(), any())).thenReturn(1);
+
+    final var out = store.execute(1L, "k", "req", String.class, () -> "new");
+
+    assertEquals("new", out.body());
+    assertFalse(out.replayed());
+    verify(repository).complete(eq(3L), anyString(),
+        eq(IdempotencyKeys.State.COMPLETED),
+        eq("\"new\""), any(LocalDateTime.class));
+  }
+
+  @Test
+  @DisplayName("Claim taken over during the request fails it without "
+      + "releasing the new holder's claim")
+  void claimTakenOver_failsWithoutRelease() {
+    final ArgumentCaptor<IdempotencyKeys> inserted =
+        ArgumentCaptor.forClass(IdempotencyKeys.class);
+    when(repository.complete(any(), anyString(), any(), anyString(), any()))
+        .thenReturn(0);
+
+    assertThrows(ConflictException.class, () -> store.execute(1L, "k", "req",
+        String.class, () -> "created"));
+    verify(repository).saveAndFlush(inserted.capture());
+    final String token = inserted.getValue().getClaimToken();
+    verify(repository).complete(eq(7L), eq(token), any(), anyString(), any());
+    verify(repository).release(7L, token);
+    assertEquals(0, store.size());
+  }
+
+  @Test
+  @DisplayName("Lease renewal that finds the claim taken over runs nothing")
+  void renewFails_runsNothing() {
+    final AtomicInteger calls = new AtomicInteger();
+    when(repository.renew(any(), anyString(), any(), any())).thenReturn(0);
+
+    assertThrows(ConflictException.class, () -> store.execute(1L, "k", "req",
+        String.class, () -> "created" + calls.incrementAndGet()));
+    assertEquals(0, calls.get());
+    verify(repository, never()).complete(any(), any(), any(), anyString(),
+        any());
+  }
+
+  @Test
+  @DisplayName("Purge drops expired keys from memory and the database")
+  void purge_dropsExpired() {
+    store = new IdempotencyStore(repository, new ObjectMapper(),
+        TransactionOperations.withoutTransaction(),
+        new LockRetryExecutor(1, 0, 0), true, 3600, 0, 60, 1_000, 5);
+    store.execute(1L, "k", List.of(1), String.class, () -> "ok");
+    when(repository.deleteExpired(any())).thenReturn(4);
+
+    assertEquals(4, store.purgeExpired());
+    assertEquals(0, store.size());
+  }
+
+  private static String hashOf(final Object request) throws Exception {
+    return java.util.HexFormat.of().formatHex(
+        java.security.MessageDigest.getInstance("SHA-256")
+            .digest(new ObjectMapper().writeValueAsBytes(request)));
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
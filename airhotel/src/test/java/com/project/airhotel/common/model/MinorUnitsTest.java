@@ -0,0 +1,28 @@
+package com.project.airhotel.common.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link MinorUnits}.
+ */
+class MinorUnitsTest {
+
+  @Test
+  void of_andToAmount_roundTripStoredPrices() {
+    assertThat(MinorUnits.of(new BigDecimal("150.50"))).isEqualTo(15050L);
+    assertThat(MinorUnits.of(new BigDecimal("80"))).isEqualTo(8000L);
+    assertThat(MinorUnits.of(new BigDecimal("-0.01"))).isEqualTo(-1L);
+    assertThat(MinorUnits.toAmount(15050L)).isEqualTo(new BigDecimal("150.50"));
+    assertThat(MinorUnits.toAmount(0L)).isEqualTo(new BigDecimal("0.00"));
+  }
+
+  @Test
+  void of_rejectsAmountsFinerThanScale() {
+    assertThatThrownBy(() -> MinorUnits.of(new BigDecimal("1.005")))
+        .isInstanceOf(ArithmeticException.class);
+  }
+}
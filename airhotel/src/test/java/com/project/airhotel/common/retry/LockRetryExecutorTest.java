@@ -0,0 +1,91 @@
+package com.project.airhotel.common.retry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for LockRetryExecutor.
+ */
+class LockRetryExecutorTest {
+
+  private final LockRetryExecutor executor = new LockRetryExecutor(3, 1, 2);
+
+  @Test
+  @DisplayName("Success on first attempt: no retry counted")
+  void firstAttemptSucceeds() {
+    assertEquals("ok", executor.execute(() -> "ok"));
+    assertEquals(0, executor.getRetryCount());
+    assertEquals(0, executor.getGiveUpCount());
+  }
+
+  @Test
+  @DisplayName("Lock failure then success: retried once")
+  void retriesLockFailure() {
+    final AtomicInteger calls = new AtomicInteger();
+    final String out = executor.execute(() -> {
+      if (calls.incrementAndGet() == 1) {
+        throw new CannotAcquireLockException("deadlock");
+      }
+      return "ok";
+    });
+    assertEquals("ok", out);
+    assertEquals(2, calls.get());
+    assertEquals(1, executor.getRetryCount());
+  }
+
+  @Test
+  @DisplayName("Every attempt fails: gives up after max attempts")
+  void givesUpAfterMaxAttempts() {
+    final AtomicInteger calls = new AtomicInteger();
+    assertThrows(PessimisticLockingFailureException.class,
+        () -> executor.execute(() -> {
+          calls.incrementAndGet();
+          throw new CannotAcquireLockException("timeout");
+        }));
+    assertEquals(3, calls.get());
+    assertEquals(2, executor.getRetryCount());
+    assertEquals(1, executor.getGiveUpCount());
+  }
+
+  @Test
+  @DisplayName("Other exceptions are not retried")
+  void doesNotRetryOtherExceptions() {
+    final AtomicInteger calls = new AtomicInteger();
+    assertThrows(IllegalStateException.class, () -> executor.execute(() -> {
+      calls.incrementAndGet();
+      throw new IllegalStateException("boom");
+    }));
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  @DisplayName("Inside an active transaction the action runs once")
+  void noRetryInsideTransaction() {
+    final AtomicInteger calls = new AtomicInteger();
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    try {
+      assertThrows(CannotAcquireLockException.class,
+          () -> executor.execute(() -> {
+            calls.incrementAndGet();
+            throw new CannotAcquireLockException("deadlock");
+          }));
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  @DisplayName("maxAttempts below one is rejected")
+  void rejectsInvalidMaxAttempts() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new LockRetryExecutor(0, 1, 1));
+  }
+}
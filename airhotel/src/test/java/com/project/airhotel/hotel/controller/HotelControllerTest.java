@@ -13,7 +13,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.project.airhotel.hotel.controller.HotelController;
 import com.project.airhotel.hotel.domain.Hotels;
+import com.project.airhotel.hotel.dto.CitySuggestion;
+import com.project.airhotel.hotel.dto.HotelSearchResult;
+import com.project.airhotel.hotel.dto.HotelSuggestResponse;
+import com.project.airhotel.hotel.dto.HotelSuggestion;
 import com.project.airhotel.hotel.service.HotelService;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -235,6 +240,48 @@ class HotelControllerTest {
     }
   }
 
+  // ---------- /hotels/suggest ----------
+
+  @Nested
+  @DisplayName("GET " + BASE + "/suggest")
+  class Suggest {
+
+    @Test
+    void shouldReturnCompactSuggestionsWithDefaultLimit() throws Exception {
+      HotelSuggestResponse response = HotelSuggestResponse.builder()
+          .cities(List.of(CitySuggestion.builder()
+              .city("New York").state("NY").country("US").hotelCount(12)
+              .build()))
+          .hotels(List.of(HotelSuggestion.builder()
+              .id(5L).name("The St. Regis New York").city("New York")
+              .starRating(new BigDecimal("5.0"))
+              .build()))
+          .build();
+      when(hotelService.suggest("new", 5)).thenReturn(response);
+
+      mvc.perform(get(BASE + "/suggest").param("q", "new"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.cities[0].city").value("New York"))
+          .andExpect(jsonPath("$.cities[0].hotelCount").value(12))
+          .andExpect(jsonPath("$.hotels[0].id").value(5))
+          .andExpect(jsonPath("$.hotels[0].starRating").value(5.0));
+
+      verify(hotelService).suggest("new", 5);
+    }
+
+    @Test
+    void shouldReturn400WhenServiceRejectsLimit() throws Exception {
+      when(hotelService.suggest("new", 50))
+          .thenThrow(new ResponseStatusException(
+              HttpStatus.BAD_REQUEST, "limit must be between 1 and 10"));
+
+      mvc.perform(get(BASE + "/suggest")
+              .param("q", "new")
+              .param("limit", "50"))
+          .andExpect(status().isBadRequest());
+    }
+  }
+
   // ---------- /hotels/search/available ----------
 
   @Nested
@@ -243,13 +290,18 @@ class HotelControllerTest {
 
     @Test
     void shouldReturnAvailableHotelsWhenAllDatesHaveInventory() throws Exception {
-      Hotels h = mockHotel(13L, "JW Marriott Essex House New York");
-      when(h.getCity()).thenReturn("New York");
+      HotelSearchResult h = HotelSearchResult.builder()
+          .id(13L)
+          .name("JW Marriott Essex House New York")
+          .city("New York")
+          .availableRoomTypes(2L)
+          .minNightlyPrice(new BigDecimal("180.00"))
+          .build();
 
       var start = java.time.LocalDate.of(2026, 1, 10);
       var end = java.time.LocalDate.of(2026, 1, 13);
 
-      when(hotelService.searchAvailableHotelsByCityAndDates("new", start, end))
+      when(hotelService.searchAvailableHotelsByCityAndDates("new", start, end, null))
           .thenReturn(List.of(h));
 
       mvc.perform(get(BASE + "/search/available")
@@ -262,10 +314,31 @@ class HotelControllerTest {
           .andExpect(jsonPath("$.length()").value(1))
           .andExpect(jsonPath("$[0].id").value(13))
           .andExpect(jsonPath("$[0].name")
-              .value("JW Marriott Essex House New York"));
+              .value("JW Marriott Essex House New York"))
+          .andExpect(jsonPath("$[0].availableRoomTypes").value(2))
+          .andExpect(jsonPath("$[0].minNightlyPrice").value(180.00));
 
       verify(hotelService, times(1))
-          .searchAvailableHotelsByCityAndDates("new", start, end);
+          .searchAvailableHotelsByCityAndDates("new", start, end, null);
+    }
+
+    @Test
+    void shouldPassNumGuestsToService() throws Exception {
+      var start = java.time.LocalDate.of(2026, 1, 10);
+      var end = java.time.LocalDate.of(2026, 1, 12);
+
+      when(hotelService.searchAvailableHotelsByCityAndDates("new", start, end, 3))
+          .thenReturn(List.of());
+
+      mvc.perform(get(BASE + "/search/available")
+              .param("city", "new")
+              .param("startDate", "2026-01-10")
+              .param("endDate", "2026-01-12")
+              .param("numGuests", "3"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.length()").value(0));
+
+      verify(hotelService).searchAvailableHotelsByCityAndDates("new", start, end, 3);
     }
 
     @Test
@@ -273,7 +346,7 @@ class HotelControllerTest {
       var start = java.time.LocalDate.of(2026, 1, 10);
       var end = java.time.LocalDate.of(2026, 1, 13);
 
-      when(hotelService.searchAvailableHotelsByCityAndDates("new", start, end))
+      when(hotelService.searchAvailableHotelsByCityAndDates("new", start, end, null))
           .thenReturn(List.of());
 
       mvc.perform(get(BASE + "/search/available")
@@ -283,7 +356,7 @@ class HotelControllerTest {
           .andExpect(status().isOk())
           .andExpect(jsonPath("$.length()").value(0));
 
-      verify(hotelService).searchAvailableHotelsByCityAndDates("new", start, end);
+      verify(hotelService).searchAvailableHotelsByCityAndDates("new", start, end, null);
     }
 
     @Test
@@ -291,7 +364,7 @@ class HotelControllerTest {
       var start = java.time.LocalDate.of(2026, 1, 10);
       var end = java.time.LocalDate.of(2026, 1, 9); // end 在 start 之前
 
-      when(hotelService.searchAvailableHotelsByCityAndDates("new", start, end))
+      when(hotelService.searchAvailableHotelsByCityAndDates("new", start, end, null))
           .thenThrow(new ResponseStatusException(
               HttpStatus.BAD_REQUEST, "Invalid start/end date"));
 
@@ -302,7 +375,7 @@ class HotelControllerTest {
           .andExpect(status().isBadRequest());
 
       verify(hotelService)
-          .searchAvailableHotelsByCityAndDates("new", start, end);
+          .searchAvailableHotelsByCityAndDates("new", start, end, null);
     }
   }
 
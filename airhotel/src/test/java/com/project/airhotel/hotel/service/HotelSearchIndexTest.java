@@ -0,0 +1,195 @@
+package com.project.airhotel.hotel.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.project.airhotel.hotel.domain.HotelChangedEvent;
+import com.project.airhotel.hotel.domain.Hotels;
+import com.project.airhotel.hotel.dto.CitySuggestion;
+import com.project.airhotel.hotel.dto.HotelSuggestResponse;
+import com.project.airhotel.hotel.dto.HotelSuggestion;
+import com.project.airhotel.hotel.repository.HotelsRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link HotelSearchIndex}.
+ */
+class HotelSearchIndexTest {
+
+  private HotelsRepository hotelsRepo;
+  private HotelSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    hotelsRepo = mock(HotelsRepository.class);
+    index = new HotelSearchIndex(hotelsRepo);
+    when(hotelsRepo.findAll()).thenReturn(List.of(
+        hotel(1L, "The Ritz-Carlton", "New York"),
+        hotel(2L, "Newark Airport Inn", "Newark"),
+        hotel(3L, "Copacabana Palace", "Rio de Janeiro"),
+        hotel(4L, "Hotel Unique", "São Paulo"),
+        hotel(5L, "Essex House", "new york "),
+        hotel(6L, "Renew Hotel", "Boston")));
+    index.rebuildAll();
+  }
+
+  @Test
+  void normalize_foldsAccentsCaseAndPunctuation() {
+    assertThat(HotelSearchIndex.normalize("  São-Paulo  ")).isEqualTo("sao paulo");
+    assertThat(HotelSearchIndex.normalize("Zürich")).isEqualTo("zurich");
+    assertThat(HotelSearchIndex.normalize(null)).isEmpty();
+  }
+
+  @Test
+  void searchByCity_notReady_returnsEmpty() {
+    assertThat(new HotelSearchIndex(hotelsRepo).isReady()).isFalse();
+    assertThat(new HotelSearchIndex(hotelsRepo).searchByCity("new")).isEmpty();
+  }
+
+  @Test
+  void searchByCity_prefixMatchesWholeCityOnly() {
+    assertThat(ids(index.searchByCity("NEW"))).containsExactly(1L, 2L, 5L);
+    assertThat(ids(index.searchByCity("new york"))).containsExactly(1L, 5L);
+    assertThat(index.searchByCity("york")).isEmpty();
+  }
+
+  @Test
+  void searchByCity_ignoresAccents() {
+    assertThat(ids(index.searchByCity("sao p"))).containsExactly(4L);
+    assertThat(ids(index.searchByCity("SÃO"))).containsExactly(4L);
+  }
+
+  @Test
+  void searchByCity_toleratesTyposOnLongerQueries() {
+    // transposition
+    assertThat(ids(index.searchByCity("nwe york"))).containsExactly(1L, 5L);
+    // substitution
+    assertThat(ids(index.searchByCity("bostn"))).containsExactly(6L);
+    // two edits need at least eight characters
+    assertThat(ids(index.searchByCity("rio de janero"))).containsExactly(3L);
+    assertThat(index.searchByCity("bxstn")).isEmpty();
+    // short queries are never fuzzy
+    assertThat(index.searchByCity("nwe")).isEmpty();
+  }
+
+  @Test
+  void searchByName_matchesAnyWordPrefixUpToLimit() {
+    assertThat(ids(index.searchByName("ritz", 10))).containsExactly(1L);
+    assertThat(ids(index.searchByName("hotel", 10))).containsExactlyInAnyOrder(4L, 6L);
+    assertThat(ids(index.searchByName("hotel", 1))).hasSize(1);
+  }
+
+  @Test
+  void suggest_ranksCitiesByHotelCountAndHotelsByStars() {
+    index.load(List.of(
+        hotel(1L, "Park Hotel", "Paris", "FR", "4.0"),
+        hotel(2L, "Palace Paris", "Paris", "FR", "5.0"),
+        hotel(3L, "Pacific Inn", "Palo Alto", "US", "3.0"),
+        hotel(4L, "Grand Park", "Paris", "US", null),
+        hotel(5L, "Plaza", "Paris", "FR", "4.5")));
+
+    HotelSuggestResponse shortQuery = index.suggest("p", 10);
+    assertThat(shortQuery.getCities()).extracting(CitySuggestion::getCity,
+            CitySuggestion::getCountry, CitySuggestion::getHotelCount)
+        .containsExactly(tuple("Paris", "FR", 3), tuple("Palo Alto", "US", 1),
+            tuple("Paris", "US", 1));
+    assertThat(shortQuery.getHotels()).extracting(HotelSuggestion::getId)
+        .containsExactly(2L, 5L, 1L, 3L, 4L);
+
+    HotelSuggestResponse longQuery = index.suggest("PAR", 2);
+    assertThat(longQuery.getCities()).extracting(CitySuggestion::getHotelCount)
+        .containsExactly(3, 1);
+    assertThat(longQuery.getHotels()).extracting(HotelSuggestion::getId)
+        .containsExactly(2L, 1L);
+  }
+
+  @Test
+  void suggest_capsLimitAndHandlesNoMatch() {
+    List<Hotels> many = new ArrayList<>();
+    for (long id = 1; id <= 30; id++) {
+      many.add(hotel(id, "Hotel " + id, "City " + id, "US", "3.0"));
+    }
+    index.load(many);
+
+    HotelSuggestResponse capped = index.suggest("ci", 100);
+    assertThat(capped.getCities()).hasSize(HotelSearchIndex.MAX_SUGGESTIONS);
+    assertThat(capped.getHotels()).isEmpty();
+    assertThat(index.suggest("hotel", 100).getHotels())
+        .hasSize(HotelSearchIndex.MAX_SUGGESTIONS);
+    assertThat(index.suggest("zz", 5).getCities()).isEmpty();
+  }
+
+  @Test
+  void prefixDistance_isBoundedByMaxEdits() {
+    assertThat(HotelSearchIndex.prefixDistance("chicgo", "chicago", 2)).isEqualTo(1);
+    assertThat(HotelSearchIndex.prefixDistance("chciago", "chicago", 2)).isEqualTo(1);
+    assertThat(HotelSearchIndex.prefixDistance("miami", "madrid", 1)).isEqualTo(2);
+  }
+
+  @Test
+  void onHotelChanged_updatesAndDropsSingleHotel() {
+    when(hotelsRepo.findById(6L)).thenReturn(Optional.of(
+        hotel(6L, "Renew Hotel", "Bordeaux")));
+    index.onHotelChanged(new HotelChangedEvent(6L));
+
+    assertThat(index.searchByCity("boston")).isEmpty();
+    assertThat(ids(index.searchByCity("bord"))).containsExactly(6L);
+
+    when(hotelsRepo.findById(1L)).thenReturn(Optional.empty());
+    index.onHotelChanged(new HotelChangedEvent(1L));
+
+    assertThat(ids(index.searchByCity("new york"))).containsExactly(5L);
+    assertThat(index.searchByName("ritz", 10)).isEmpty();
+  }
+
+  @Test
+  void onHotelChanged_matchesFullRebuild() {
+    List<Hotels> many = new ArrayList<>();
+    for (long id = 1; id <= SuggestionTable.SCAN_LIMIT + 20; id++) {
+      many.add(hotel(id, "Palace " + id, id % 2 == 0 ? "Paris" : "Parma",
+          "FR", id % 5 + ".0"));
+    }
+    index.load(many);
+
+    Hotels moved = hotel(7L, "Palace Grand", "Paris", "FR", "5.0");
+    many.set(6, moved);
+    when(hotelsRepo.findById(7L)).thenReturn(Optional.of(moved));
+    index.onHotelChanged(new HotelChangedEvent(7L));
+    many.remove(1);
+    when(hotelsRepo.findById(2L)).thenReturn(Optional.empty());
+    index.onHotelChanged(new HotelChangedEvent(2L));
+
+    HotelSearchIndex rebuilt = new HotelSearchIndex(hotelsRepo);
+    rebuilt.load(many);
+    for (String query : List.of("p", "pa", "par", "paris", "palace g")) {
+      assertThat(index.suggest(query, 10)).isEqualTo(rebuilt.suggest(query, 10));
+      assertThat(ids(index.searchByCity(query)))
+          .isEqualTo(ids(rebuilt.searchByCity(query)));
+    }
+    assertThat(index.suggest("p", 1).getHotels()).extracting(HotelSuggestion::getId)
+        .containsExactly(7L);
+  }
+
+  private static Hotels hotel(final Long id, final String name,
+                              final String city) {
+    return Hotels.builder().id(id).name(name).city(city).build();
+  }
+
+  private static Hotels hotel(final Long id, final String name,
+                              final String city, final String country,
+                              final String stars) {
+    return Hotels.builder().id(id).name(name).city(city).country(country)
+        .starRating(stars == null ? null : new BigDecimal(stars)).build();
+  }
+
+  private static List<Long> ids(final List<Hotels> hotels) {
+    return hotels.stream().map(Hotels::getId).toList();
+  }
+}
@@ -3,7 +3,6 @@ package com.project.airhotel.hotel.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -11,6 +10,8 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.project.airhotel.hotel.domain.Hotels;
+import com.project.airhotel.hotel.dto.HotelSearchResult;
+import com.project.airhotel.hotel.dto.HotelSuggestResponse;
 import com.project.airhotel.hotel.repository.HotelsRepository;
 import com.project.airhotel.room.domain.RoomTypeInventory;
 import com.project.airhotel.room.domain.RoomTypes;
@@ -35,6 +36,7 @@ class HotelServiceTest {
   private RoomsRepository roomsRepo;
   private RoomTypesRepository roomTypesRepo;
   private RoomTypeInventoryRepository roomTypeInventoryRepo;
+  private HotelSearchIndex searchIndex;
 
   private HotelService hotelService;
 
@@ -44,9 +46,10 @@ class HotelServiceTest {
     roomsRepo = mock(RoomsRepository.class);
     roomTypesRepo = mock(RoomTypesRepository.class);
     roomTypeInventoryRepo = mock(RoomTypeInventoryRepository.class);
+    searchIndex = mock(HotelSearchIndex.class);
 
     hotelService = new HotelService(
-        hotelsRepo, roomsRepo, roomTypesRepo, roomTypeInventoryRepo);
+        hotelsRepo, roomsRepo, roomTypesRepo, roomTypeInventoryRepo, searchIndex);
   }
 
   // ---------- getById ----------
@@ -193,12 +196,46 @@ class HotelServiceTest {
     verify(hotelsRepo, times(1)).searchCityByPrefix("new");
   }
 
+  @Test
+  void searchHotelsByCityFuzzy_readyIndex_skipsDatabase() {
+    Hotels h = new Hotels();
+    h.setId(6L);
+    h.setCity("São Paulo");
+    when(searchIndex.isReady()).thenReturn(true);
+    when(searchIndex.searchByCity("sao")).thenReturn(List.of(h));
+
+    List<Hotels> result = hotelService.searchHotelsByCityFuzzy("sao");
+
+    assertEquals(List.of(h), result);
+    verifyNoInteractions(hotelsRepo);
+  }
+
   @Test
   void searchHotelsByCityFuzzy_blankKeyword_throwsBadRequest() {
     assertThrows(ResponseStatusException.class,
         () -> hotelService.searchHotelsByCityFuzzy("   "));
   }
 
+  // ---------- suggest ----------
+
+  @Test
+  void suggest_validatesQueryAndLimit() {
+    assertThrows(ResponseStatusException.class, () -> hotelService.suggest(" ", 5));
+    assertThrows(ResponseStatusException.class, () -> hotelService.suggest("new", 0));
+    assertThrows(ResponseStatusException.class,
+        () -> hotelService.suggest("new", HotelSearchIndex.MAX_SUGGESTIONS + 1));
+    verifyNoInteractions(searchIndex);
+  }
+
+  @Test
+  void suggest_delegatesToIndex() {
+    HotelSuggestResponse response = new HotelSuggestResponse(List.of(), List.of());
+    when(searchIndex.suggest("new", 3)).thenReturn(response);
+
+    assertEquals(response, hotelService.suggest("new", 3));
+    verifyNoInteractions(hotelsRepo);
+  }
+
   // ---------- searchAvailableHotelsByCityAndDates ----------
 
   @Test
@@ -208,66 +245,41 @@ class HotelServiceTest {
     LocalDate endBefore = LocalDate.of(2026, 1, 9);
 
     assertThrows(ResponseStatusException.class,
-        () -> hotelService.searchAvailableHotelsByCityAndDates("new", start, endSame));
+        () -> hotelService.searchAvailableHotelsByCityAndDates("new", start, endSame, null));
 
     assertThrows(ResponseStatusException.class,
-        () -> hotelService.searchAvailableHotelsByCityAndDates("new", start, endBefore));
+        () -> hotelService.searchAvailableHotelsByCityAndDates("new", start, endBefore, null));
   }
 
   @Test
-  void searchAvailableHotels_shouldExcludeHotelIfAnyDayIsUnavailable() {
-    // Given
-    final String keyword = "new";
-    final LocalDate start = LocalDate.of(2026, 1, 10);
-    final LocalDate end = LocalDate.of(2026, 1, 13);
-
-    // Candidate hotel from fuzzy search
-    Hotels h = new Hotels();
-    h.setId(13L);
-    h.setCity("New York");
-
-    when(hotelsRepo.searchCityByPrefix(keyword))
-        .thenReturn(List.of(h));
-
-    // Day 1: available > 0
-    RoomTypeInventory invAvailable = RoomTypeInventory.builder()
-        .id(1L)
-        .hotelId(13L)
-        .roomTypeId(15L)
-        .stayDate(start)
-        .total(8)
-        .reserved(0)
-        .blocked(0)
-        .available(8)
-        .build();
+  void searchAvailableHotels_nonPositiveGuests_shouldThrowBadRequest() {
+    LocalDate start = LocalDate.of(2026, 1, 10);
+    LocalDate end = LocalDate.of(2026, 1, 12);
 
-    when(roomTypeInventoryRepo.findByHotelIdAndStayDate(13L, LocalDate.of(2026, 1, 10)))
-        .thenReturn(List.of(invAvailable));
+    assertThrows(ResponseStatusException.class,
+        () -> hotelService.searchAvailableHotelsByCityAndDates("new", start, end, 0));
+    verifyNoInteractions(hotelsRepo);
+  }
 
-    // Day 2: no availability → available == 0
-    RoomTypeInventory invZero = RoomTypeInventory.builder()
-        .id(2L)
-        .hotelId(13L)
-        .roomTypeId(15L)
-        .stayDate(LocalDate.of(2026, 1, 11))
-        .total(8)
-        .reserved(8)
-        .blocked(0)
-        .available(0)
+  @Test
+  void searchAvailableHotels_delegatesToSingleAggregateQuery() {
+    final LocalDate start = LocalDate.of(2026, 1, 10);
+    final LocalDate end = LocalDate.of(2026, 1, 13);
+    HotelSearchResult hit = HotelSearchResult.builder()
+        .id(13L)
+        .city("New York")
+        .availableRoomTypes(2L)
+        .minNightlyPrice(new BigDecimal("180.00"))
         .build();
+    when(hotelsRepo.searchAvailableByCityPrefix("new", start, end, 3L, 2))
+        .thenReturn(List.of(hit));
 
-    when(roomTypeInventoryRepo.findByHotelIdAndStayDate(13L, LocalDate.of(2026, 1, 11)))
-        .thenReturn(List.of(invZero));
+    List<HotelSearchResult> result =
+        hotelService.searchAvailableHotelsByCityAndDates(" new ", start, end, 2);
 
-    // Day 3 won't be checked because service returns false early
-
-    // When
-    List<Hotels> result =
-        hotelService.searchAvailableHotelsByCityAndDates(keyword, start, end);
-
-    // Then
-    assertTrue(result.isEmpty(),
-        "If any date has no available rooms, the hotel must be excluded.");
+    assertEquals(List.of(hit), result);
+    verify(hotelsRepo, times(1))
+        .searchAvailableByCityPrefix("new", start, end, 3L, 2);
+    verifyNoInteractions(roomTypesRepo, roomTypeInventoryRepo);
   }
-
 }
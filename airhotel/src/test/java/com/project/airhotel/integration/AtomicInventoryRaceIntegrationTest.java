@@ -0,0 +1,141 @@
+package com.project.airhotel.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.reservation.service.AtomicInventoryStrategy;
+import com.project.airhotel.reservation.service.InventoryStrategy;
+import com.project.airhotel.reservation.service.ReservationInventoryService;
+import com.project.airhotel.room.domain.RoomTypeInventory;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Races many bookings for the last room of a stay with the atomic inventory
+ * strategy, each on its own thread and all released at once. Runs against its own H2 database and commits for real, so the
+ * guarded updates are exercised across concurrent transactions.
+ */
+@SpringBootTest(properties = {
+    "airhotel.inventory.strategy=atomic",
+    "spring.datasource.url=jdbc:h2:mem:airhotel_race;MODE=MYSQL;"
+        + "DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@ActiveProfiles("test")
+class AtomicInventoryRaceIntegrationTest {
+
+  private static final Long HOTEL_ID = 9L;
+  private static final int BOOKINGS = 200;
+  private static final LocalDate CHECK_IN = LocalDate.of(2031, 3, 1);
+  private static final LocalDate CHECK_OUT = LocalDate.of(2031, 3, 4);
+
+  @Autowired
+  private ReservationInventoryService service;
+
+  @Autowired
+  private InventoryStrategy strategy;
+
+  @Autowired
+  private RoomTypesRepository roomTypesRepository;
+
+  @Autowired
+  private RoomTypeInventoryRepository inventoryRepository;
+
+  private Long roomTypeId;
+
+  @BeforeEach
+  void seedLastRoom() {
+    roomTypeId = roomTypesRepository.save(RoomTypes.builder()
+        .hotelId(HOTEL_ID)
+        .code("STE")
+        .name("Suite")
+        .capacity(2)
+        .bedType("King")
+        .baseRate(new BigDecimal("499.00"))
+        .totalRooms(1)
+        .build()).getId();
+    final List<RoomTypeInventory> rows = new ArrayList<>();
+    for (LocalDate d = CHECK_IN; d.isBefore(CHECK_OUT); d = d.plusDays(1)) {
+      rows.add(RoomTypeInventory.builder()
+          .hotelId(HOTEL_ID)
+          .roomTypeId(roomTypeId)
+          .stayDate(d)
+          .total(1)
+          .reserved(0)
+          .blocked(0)
+          .available(1)
+          .build());
+    }
+    inventoryRepository.saveAll(rows);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    inventoryRepository.deleteAll();
+    roomTypesRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Exactly one of many concurrent bookings gets the last room")
+  void concurrentBookings_neverOversell() throws Exception {
+    assertThat(strategy).isInstanceOf(AtomicInventoryStrategy.class);
+
+    final AtomicInteger successes = new AtomicInteger();
+    final AtomicInteger rejected = new AtomicInteger();
+    final CountDownLatch ready = new CountDownLatch(BOOKINGS);
+    final CountDownLatch start = new CountDownLatch(1);
+    final ExecutorService pool = Executors.newFixedThreadPool(BOOKINGS);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < BOOKINGS; i++) {
+        futures.add(pool.submit(() -> {
+          ready.countDown();
+          start.await();
+          try {
+            service.applyRangeChangeOrThrow(HOTEL_ID, null, null, null,
+                roomTypeId, CHECK_IN, CHECK_OUT);
+            successes.incrementAndGet();
+          } catch (BadRequestException e) {
+            rejected.incrementAndGet();
+          }
+          return null;
+        }));
+      }
+      assertThat(ready.await(30, TimeUnit.SECONDS)).isTrue();
+      start.countDown();
+      for (final Future<?> f : futures) {
+        f.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertThat(successes.get()).isEqualTo(1);
+    assertThat(rejected.get()).isEqualTo(BOOKINGS - 1);
+    final List<RoomTypeInventory> rows =
+        inventoryRepository.findByHotelIdAndStayDateBetween(HOTEL_ID,
+            CHECK_IN, CHECK_OUT.minusDays(1));
+    assertThat(rows).hasSize(3);
+    rows.forEach(row -> {
+      assertThat(row.getReserved()).isEqualTo(1);
+      assertThat(row.getAvailable()).isZero();
+    });
+  }
+}
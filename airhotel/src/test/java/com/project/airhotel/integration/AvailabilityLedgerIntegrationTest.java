@@ -0,0 +1,100 @@
+package com.project.airhotel.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.airhotel.hotel.domain.Hotels;
+import com.project.airhotel.hotel.repository.HotelsRepository;
+import com.project.airhotel.reservation.service.ReservationInventoryService;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.dto.RoomTypeAvailabilityResponse;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import com.project.airhotel.room.service.AvailabilityLedger;
+import com.project.airhotel.room.service.RoomTypeAvailabilityService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifies that committed bookings are written through to the availability
+ * ledger. Uses its own H2 database because the writes are committed.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:"
+    + "airhotel_ledger;MODE=MYSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("test")
+class AvailabilityLedgerIntegrationTest {
+
+  @Autowired
+  private HotelsRepository hotelsRepository;
+
+  @Autowired
+  private RoomTypesRepository roomTypesRepository;
+
+  @Autowired
+  private RoomTypeInventoryRepository inventoryRepository;
+
+  @Autowired
+  private ReservationInventoryService inventoryService;
+
+  @Autowired
+  private RoomTypeAvailabilityService availabilityService;
+
+  @Autowired
+  private AvailabilityLedger ledger;
+
+  @AfterEach
+  void cleanUp() {
+    inventoryRepository.deleteAll();
+    roomTypesRepository.deleteAll();
+    hotelsRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("A committed booking is visible in the cached calendar")
+  void committedBooking_updatesLedger() {
+    final Long hotelId = hotelsRepository.save(Hotels.builder()
+        .name("Ledger Inn")
+        .addressLine1("1 Main St")
+        .city("Springfield")
+        .country("US")
+        .build()).getId();
+    final Long typeId = roomTypesRepository.save(RoomTypes.builder()
+        .hotelId(hotelId)
+        .code("DBL")
+        .name("Double")
+        .capacity(2)
+        .bedType("Queen")
+        .baseRate(new BigDecimal("150.00"))
+        .totalRooms(3)
+        .build()).getId();
+    final LocalDate checkIn = LocalDate.now().plusDays(10);
+    final LocalDate checkOut = checkIn.plusDays(2);
+
+    assertThat(available(hotelId, checkIn, checkOut)).isEqualTo(3);
+    final AvailabilityLedger.HotelCalendar calendar =
+        ledger.findFresh(hotelId);
+    assertThat(calendar).isNotNull();
+
+    inventoryService.applyRangeChangeOrThrow(hotelId, null, null, null,
+        typeId, checkIn, checkOut);
+
+    assertThat(ledger.findFresh(hotelId)).isSameAs(calendar);
+    assertThat(calendar.minAvailable(typeId, checkIn, checkOut).getAsInt())
+        .isEqualTo(2);
+    assertThat(available(hotelId, checkIn, checkOut)).isEqualTo(2);
+  }
+
+  private int available(final Long hotelId, final LocalDate checkIn,
+      final LocalDate checkOut) {
+    final List<RoomTypeAvailabilityResponse> out =
+        availabilityService.getAvailability(hotelId, checkIn, checkOut, null);
+    assertThat(out).hasSize(1);
+    return out.get(0).getAvailable();
+  }
+}
@@ -0,0 +1,115 @@
+package com.project.airhotel.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.airhotel.room.domain.RoomTypeDailyPrice;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.repository.RoomTypeDailyPriceRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import com.project.airhotel.room.service.BaseRatePriceCompactor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifies that compaction deletes only unchanged base-rate rows. Uses its
+ * own H2 database because the writes are committed.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:"
+    + "airhotel_compact;MODE=MYSQL;DB_CLOSE_DELAY=-1;"
+    + "DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("test")
+class BaseRatePriceCompactorIntegrationTest {
+
+  private static final Long HOTEL_ID = 14L;
+  private static final String SOURCE = "%BASE_RATE%";
+
+  @Autowired
+  private RoomTypesRepository roomTypesRepository;
+
+  @Autowired
+  private RoomTypeDailyPriceRepository priceRepository;
+
+  @Autowired
+  private BaseRatePriceCompactor compactor;
+
+  @AfterEach
+  void cleanUp() {
+    priceRepository.deleteAll();
+    roomTypesRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Compaction keeps explicit and edited prices")
+  void compact_deletesOnlyRowsEqualToBaseRate() {
+    final RoomTypes rt = roomTypesRepository.save(RoomTypes.builder()
+        .hotelId(HOTEL_ID)
+        .code("DBL")
+        .name("Double")
+        .capacity(2)
+        .bedType("Queen")
+        .baseRate(new BigDecimal("120.00"))
+        .totalRooms(3)
+        .build());
+    final LocalDate night = LocalDate.now().plusDays(10);
+    priceRepository.save(price(rt, night, "120.00",
+        RoomTypeDailyPrice.COMPUTED_FROM_BASE_RATE));
+    priceRepository.save(price(rt, night.plusDays(1), "120.00",
+        RoomTypeDailyPrice.COMPUTED_FROM_BASE_RATE));
+    final RoomTypeDailyPrice edited = priceRepository.save(price(rt,
+        night.plusDays(2), "99.00", RoomTypeDailyPrice.COMPUTED_FROM_BASE_RATE));
+    final RoomTypeDailyPrice manual = priceRepository.save(price(rt,
+        night.plusDays(3), "120.00", null));
+
+    assertThat(compactor.compact()).isEqualTo(2);
+
+    assertThat(priceRepository.findAll()).extracting(RoomTypeDailyPrice::getId)
+        .containsExactlyInAnyOrder(edited.getId(), manual.getId());
+    assertThat(compactor.compact()).isZero();
+  }
+
+  @Test
+  @DisplayName("A row repriced after it was found is not deleted")
+  void deleteRedundant_keepsRowsEditedSinceFound() {
+    final RoomTypes rt = roomTypesRepository.save(RoomTypes.builder()
+        .hotelId(HOTEL_ID)
+        .code("TWN")
+        .name("Twin")
+        .capacity(2)
+        .bedType("Twin")
+        .baseRate(new BigDecimal("120.00"))
+        .totalRooms(3)
+        .build());
+    final RoomTypeDailyPrice row = priceRepository.save(price(rt,
+        LocalDate.now().plusDays(10), "120.00",
+        RoomTypeDailyPrice.COMPUTED_FROM_BASE_RATE));
+    final List<Long> found = priceRepository.findRedundantBaseRateIds(SOURCE,
+        0L, PageRequest.of(0, 10));
+    row.setPrice(new BigDecimal("140.00"));
+    priceRepository.save(row);
+
+    assertThat(priceRepository.deleteRedundantBaseRateRows(found, SOURCE))
+        .isZero();
+    assertThat(priceRepository.findById(row.getId())).isPresent();
+  }
+
+  private static RoomTypeDailyPrice price(final RoomTypes rt,
+                                          final LocalDate night,
+                                          final String amount,
+                                          final String computedFrom) {
+    return RoomTypeDailyPrice.builder()
+        .hotelId(rt.getHotelId())
+        .roomTypeId(rt.getId())
+        .stayDate(night)
+        .price(new BigDecimal(amount))
+        .computedFrom(computedFrom)
+        .build();
+  }
+}
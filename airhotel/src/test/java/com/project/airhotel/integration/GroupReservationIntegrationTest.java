@@ -0,0 +1,106 @@
+package com.project.airhotel.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.reservation.domain.Reservations;
+import com.project.airhotel.reservation.dto.GroupReservationRequest;
+import com.project.airhotel.reservation.repository.ReservationsNightlyPricesRepository;
+import com.project.airhotel.reservation.repository.ReservationsRepository;
+import com.project.airhotel.reservation.service.ReservationOrchestrator;
+import com.project.airhotel.room.domain.RoomTypeInventory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration test for group bookings, running the batched inventory update
+ * and reservation insert against an in-memory H2 database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class GroupReservationIntegrationTest extends IntegrationTestSupport {
+
+  private static final LocalDate CHECK_IN = LocalDate.now().plusDays(30);
+
+  @Autowired
+  private ReservationOrchestrator orchestrator;
+
+  @Autowired
+  private ReservationsRepository reservationsRepository;
+
+  @Autowired
+  private ReservationsNightlyPricesRepository nightlyPricesRepository;
+
+  @BeforeEach
+  void setUp() {
+    seedHotel("Group Inn", 10);
+  }
+
+  private GroupReservationRequest request(final int... quantities) {
+    final GroupReservationRequest req = new GroupReservationRequest();
+    req.setHotelId(hotelId);
+    req.setCurrency("USD");
+    final List<GroupReservationRequest.Line> lines = new ArrayList<>();
+    for (int i = 0; i < quantities.length; i++) {
+      final GroupReservationRequest.Line line =
+          new GroupReservationRequest.Line();
+      line.setRoomTypeId(roomTypeId);
+      line.setQuantity(quantities[i]);
+      line.setCheckInDate(CHECK_IN.plusDays(i));
+      line.setCheckOutDate(CHECK_IN.plusDays(i + 2));
+      line.setNumGuests(2);
+      lines.add(line);
+    }
+    req.setRooms(lines);
+    return req;
+  }
+
+  @Test
+  @DisplayName("group booking inserts every reservation with its snapshot and "
+      + "reserves the summed counts per night")
+  void group_booksAllRooms() {
+    final List<Reservations> created = orchestrator.createGroupReservation(
+        7L, request(4, 3));
+    entityManager.flush();
+    entityManager.clear();
+
+    assertThat(created).hasSize(7);
+    assertThat(created).extracting(Reservations::getId).doesNotContainNull()
+        .doesNotHaveDuplicates();
+    assertThat(reservationsRepository.findAllById(created.stream()
+        .map(Reservations::getId).toList())).hasSize(7)
+        .allSatisfy(r -> assertThat(r.getUserId()).isEqualTo(7L));
+    assertThat(nightlyPricesRepository.findByReservationIdOrderByStayDateAsc(
+        created.get(0).getId())).hasSize(2);
+
+    final List<RoomTypeInventory> rows =
+        inventoryRepository.findByHotelIdAndStayDateBetween(hotelId, CHECK_IN,
+            CHECK_IN.plusDays(2));
+    assertThat(rows).extracting(RoomTypeInventory::getStayDate,
+            RoomTypeInventory::getReserved, RoomTypeInventory::getAvailable)
+        .containsExactlyInAnyOrder(
+            tuple(CHECK_IN, 4, 6),
+            tuple(CHECK_IN.plusDays(1), 7, 3),
+            tuple(CHECK_IN.plusDays(2), 3, 7));
+  }
+
+  @Test
+  @DisplayName("group booking exceeding one night's capacity names that night")
+  void group_overCapacity_fails() {
+    assertThatThrownBy(() -> orchestrator.createGroupReservation(7L,
+        request(6, 5)))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining(CHECK_IN.plusDays(1).toString());
+  }
+}
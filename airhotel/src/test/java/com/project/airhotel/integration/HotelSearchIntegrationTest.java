@@ -0,0 +1,143 @@
+package com.project.airhotel.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.airhotel.hotel.domain.Hotels;
+import com.project.airhotel.hotel.dto.HotelSearchResult;
+import com.project.airhotel.hotel.repository.HotelsRepository;
+import com.project.airhotel.hotel.service.HotelService;
+import com.project.airhotel.room.domain.RoomTypeDailyPrice;
+import com.project.airhotel.room.domain.RoomTypeInventory;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.repository.RoomTypeDailyPriceRepository;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the aggregate hotel search query against real inventory and price
+ * rows. Uses its own H2 database because the writes are committed.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:"
+    + "airhotel_hotel_search;MODE=MYSQL;DB_CLOSE_DELAY=-1;"
+    + "DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("test")
+class HotelSearchIntegrationTest {
+
+  @Autowired
+  private HotelService hotelService;
+
+  @Autowired
+  private HotelsRepository hotelsRepository;
+
+  @Autowired
+  private RoomTypesRepository roomTypesRepository;
+
+  @Autowired
+  private RoomTypeInventoryRepository inventoryRepository;
+
+  @Autowired
+  private RoomTypeDailyPriceRepository priceRepository;
+
+  @AfterEach
+  void cleanUp() {
+    priceRepository.deleteAll();
+    inventoryRepository.deleteAll();
+    roomTypesRepository.deleteAll();
+    hotelsRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Search filters by every night, capacity and reports the "
+      + "cheapest night")
+  void search_filtersByStayAndGuests() {
+    final LocalDate start = LocalDate.now().plusDays(10);
+    final LocalDate end = start.plusDays(3);
+    final Hotels newYork = hotel("Midtown Inn", "New York");
+    final Hotels newark = hotel("Airport Lodge", "Newark");
+    hotel("Harbor Hotel", "Boston");
+
+    final RoomTypes queen = roomType(newYork, "QN", 2, "200.00");
+    final RoomTypes suite = roomType(newYork, "STE", 4, "300.00");
+    roomType(newark, "DBL", 2, "100.00");
+    price(queen, start, "150.00");
+    price(queen, start.plusDays(1), "250.00");
+    price(queen, start.plusDays(2), "180.00");
+    price(suite, start, "350.00");
+    final RoomTypeInventory soldOut = inventoryRepository
+        .findByHotelIdAndStayDate(newYork.getId(), start.plusDays(1))
+        .stream()
+        .filter(r -> r.getRoomTypeId().equals(queen.getId()))
+        .findFirst()
+        .orElseThrow();
+    soldOut.setReserved(soldOut.getTotal());
+    soldOut.setAvailable(0);
+    inventoryRepository.save(soldOut);
+
+    List<HotelSearchResult> results =
+        hotelService.searchAvailableHotelsByCityAndDates("new", start, end,
+            null);
+    assertThat(results).extracting(HotelSearchResult::getCity)
+        .containsExactly("New York", "Newark");
+    assertThat(results.get(0).getAvailableRoomTypes()).isEqualTo(1L);
+    assertThat(results.get(0).getMinNightlyPrice())
+        .isEqualByComparingTo("300.00");
+    assertThat(results.get(1).getMinNightlyPrice())
+        .isEqualByComparingTo("100.00");
+
+    results = hotelService.searchAvailableHotelsByCityAndDates("new", start,
+        end, 3);
+    assertThat(results).extracting(HotelSearchResult::getCity)
+        .containsExactly("New York");
+
+    soldOut.setReserved(0);
+    soldOut.setAvailable(soldOut.getTotal());
+    inventoryRepository.save(soldOut);
+
+    results = hotelService.searchAvailableHotelsByCityAndDates("new", start,
+        end, 2);
+    assertThat(results).hasSize(2);
+    assertThat(results.get(0).getAvailableRoomTypes()).isEqualTo(2L);
+    assertThat(results.get(0).getMinNightlyPrice())
+        .isEqualByComparingTo("150.00");
+  }
+
+  private Hotels hotel(final String name, final String city) {
+    return hotelsRepository.save(Hotels.builder()
+        .name(name)
+        .addressLine1("1 Main St")
+        .city(city)
+        .country("US")
+        .build());
+  }
+
+  private RoomTypes roomType(final Hotels hotel, final String code,
+                             final int capacity, final String baseRate) {
+    return roomTypesRepository.save(RoomTypes.builder()
+        .hotelId(hotel.getId())
+        .code(code)
+        .name(code)
+        .capacity(capacity)
+        .baseRate(new BigDecimal(baseRate))
+        .totalRooms(2)
+        .build());
+  }
+
+  private void price(final RoomTypes rt, final LocalDate night,
+                     final String amount) {
+    priceRepository.save(RoomTypeDailyPrice.builder()
+        .hotelId(rt.getHotelId())
+        .roomTypeId(rt.getId())
+        .stayDate(night)
+        .price(new BigDecimal(amount))
+        .build());
+  }
+}
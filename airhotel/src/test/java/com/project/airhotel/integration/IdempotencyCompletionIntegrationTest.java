@@ -0,0 +1,119 @@
+package com.project.airhotel.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.airhotel.common.idempotency.IdempotencyKeys;
+import com.project.airhotel.common.idempotency.IdempotencyKeysRepository;
+import com.project.airhotel.common.idempotency.IdempotencyStore;
+import com.project.airhotel.common.retry.LockRetryExecutor;
+import com.project.airhotel.reservation.dto.CreateReservationRequest;
+import com.project.airhotel.reservation.dto.ReservationDetailResponse;
+import com.project.airhotel.reservation.repository.ReservationsRepository;
+import com.project.airhotel.reservation.service.UserReservationService;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks that a reservation and the completion of its Idempotency-Key commit
+ * together. Runs against its own H2 database and commits for real, so a
+ * failed completion must roll the reservation back.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:airhotel_idem;MODE=MYSQL;"
+        + "DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@ActiveProfiles("test")
+class IdempotencyCompletionIntegrationTest extends IntegrationTestSupport {
+
+  private static final Long USER_ID = 42L;
+  private static final LocalDate CHECK_IN = LocalDate.now().plusDays(30);
+
+  @Autowired
+  private UserReservationService reservationService;
+
+  @Autowired
+  private IdempotencyKeysRepository keysRepository;
+
+  @Autowired
+  private ReservationsRepository reservationsRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private LockRetryExecutor lockRetry;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private CreateReservationRequest req;
+
+  @BeforeEach
+  void setUp() {
+    seedHotel("Retry Inn", 3);
+    req = new CreateReservationRequest();
+    req.setHotelId(hotelId);
+    req.setRoomTypeId(roomTypeId);
+    req.setCheckInDate(CHECK_IN);
+    req.setCheckOutDate(CHECK_IN.plusDays(2));
+    req.setNumGuests(2);
+    req.setCurrency("USD");
+  }
+
+  private IdempotencyStore store(final IdempotencyKeysRepository repository,
+      final long leaseSeconds) {
+    return new IdempotencyStore(repository, objectMapper, transactionTemplate,
+        lockRetry, true, 3600, 600, leaseSeconds, 1_000, 5);
+  }
+
+  private IdempotencyStore.Outcome<ReservationDetailResponse> create(
+      final IdempotencyStore store) {
+    return store.execute(USER_ID, "checkout-1", req,
+        ReservationDetailResponse.class,
+        () -> reservationService.createReservation(USER_ID, req));
+  }
+
+  @Test
+  @DisplayName("a request whose key cannot be completed books nothing, so a "
+      + "retry after the lease books exactly once")
+  void completeFails_retryAfterLease_booksOnce() {
+    // A node that cannot store the response and dies before releasing its
+    // claim, whose lease lapses at once
+    final IdempotencyKeysRepository failing = mock(
+        IdempotencyKeysRepository.class,
+        AdditionalAnswers.delegatesTo(keysRepository));
+    doThrow(new IllegalStateException("store down")).when(failing)
+        .complete(any(), any(), any(), any(), any());
+    doReturn(0).when(failing).release(any(), any());
+
+    assertThatThrownBy(() -> create(store(failing, 0)))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(reservationsRepository.count()).isZero();
+    assertThat(keysRepository.findByUserIdAndIdemKey(USER_ID, "checkout-1"))
+        .get().extracting(IdempotencyKeys::getState)
+        .isEqualTo(IdempotencyKeys.State.IN_PROGRESS);
+
+    final IdempotencyStore.Outcome<ReservationDetailResponse> retry =
+        create(store(keysRepository, 60));
+    final IdempotencyStore.Outcome<ReservationDetailResponse> again =
+        create(store(keysRepository, 60));
+
+    assertThat(retry.replayed()).isFalse();
+    assertThat(again.replayed()).isTrue();
+    assertThat(again.body().getId()).isEqualTo(retry.body().getId());
+    assertThat(reservationsRepository.count()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,80 @@
+package com.project.airhotel.integration;
+
+import com.project.airhotel.hotel.domain.Hotels;
+import com.project.airhotel.hotel.repository.HotelsRepository;
+import com.project.airhotel.room.domain.RoomTypeInventory;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Shared setup of the integration tests that book against one hotel: the
+ * hotel with a single standard room type, and a helper that reads its
+ * inventory rows back from the database.
+ */
+abstract class IntegrationTestSupport {
+
+  @Autowired
+  protected HotelsRepository hotelsRepository;
+
+  @Autowired
+  protected RoomTypesRepository roomTypesRepository;
+
+  @Autowired
+  protected RoomTypeInventoryRepository inventoryRepository;
+
+  @Autowired
+  protected EntityManager entityManager;
+
+  protected Long hotelId;
+  protected Long roomTypeId;
+
+  /**
+   * Saves a hotel and its standard room type.
+   *
+   * @param hotelName  name of the hotel
+   * @param totalRooms room count of the room type
+   */
+  protected void seedHotel(final String hotelName, final int totalRooms) {
+    hotelId = hotelsRepository.save(Hotels.builder()
+        .name(hotelName)
+        .addressLine1("1 Main St")
+        .city("Boston")
+        .country("US")
+        .build()).getId();
+    roomTypeId = roomTypesRepository.save(RoomTypes.builder()
+        .hotelId(hotelId)
+        .code("STD")
+        .name("Standard")
+        .capacity(2)
+        .bedType("Queen")
+        .baseRate(new BigDecimal("100.00"))
+        .totalRooms(totalRooms)
+        .build()).getId();
+  }
+
+  /**
+   * Reads the hotel's inventory rows of [from, to] from the database. Inside
+   * a test transaction, pending writes are flushed and the persistence
+   * context cleared first.
+   *
+   * @param from first stay date
+   * @param to   last stay date
+   * @return the rows
+   */
+  protected List<RoomTypeInventory> rows(final LocalDate from,
+      final LocalDate to) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      entityManager.flush();
+      entityManager.clear();
+    }
+    return inventoryRepository.findByHotelIdAndStayDateBetween(hotelId, from,
+        to);
+  }
+}
@@ -0,0 +1,172 @@
+package com.project.airhotel.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.common.exception.ConflictException;
+import com.project.airhotel.reservation.service.ReservationInventoryService;
+import com.project.airhotel.room.domain.RoomTypeInventory;
+import com.project.airhotel.room.domain.Rooms;
+import com.project.airhotel.room.domain.enums.RoomStatus;
+import com.project.airhotel.room.dto.InventoryBlockRequest;
+import com.project.airhotel.room.dto.RoomUpdateRequest;
+import com.project.airhotel.room.dto.RoomsCreateRequest;
+import com.project.airhotel.room.service.InventoryBlockService;
+import com.project.airhotel.room.service.ManagerRoomService;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration test for blocked inventory: manager allotments over a range of
+ * nights and rooms going out of order, against an in-memory H2 database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class InventoryBlockIntegrationTest extends IntegrationTestSupport {
+
+  private static final LocalDate START = LocalDate.now().plusDays(15);
+
+  @Autowired
+  private InventoryBlockService blockService;
+
+  @Autowired
+  private ManagerRoomService roomService;
+
+  @Autowired
+  private ReservationInventoryService reservationInventoryService;
+
+  @BeforeEach
+  void setUp() {
+    seedHotel("Block Inn", 3);
+    inventoryRepository.insertMissingRows(hotelId, roomTypeId, 3, 0,
+        List.of(START, START.plusDays(1)));
+  }
+
+  private InventoryBlockRequest request(final int count) {
+    final InventoryBlockRequest req = new InventoryBlockRequest();
+    req.setRoomTypeId(roomTypeId);
+    req.setStartDate(START);
+    req.setEndDate(START.plusDays(2));
+    req.setCount(count);
+    return req;
+  }
+
+  private List<RoomTypeInventory> rows() {
+    return rows(START, START.plusDays(1));
+  }
+
+  @Test
+  @DisplayName("an allotment blocks and unblocks every night of the range, "
+      + "and never more than is available")
+  void allotment_blocksRange() {
+    blockService.block(hotelId, request(2));
+    assertThat(rows()).extracting(RoomTypeInventory::getBlocked,
+            RoomTypeInventory::getAvailable)
+        .containsOnly(tuple(2, 1));
+
+    blockService.unblock(hotelId, request(1));
+    assertThat(rows()).extracting(RoomTypeInventory::getBlocked,
+            RoomTypeInventory::getAvailable)
+        .containsOnly(tuple(1, 2));
+
+    assertThatThrownBy(() -> blockService.block(hotelId, request(3)))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  @DisplayName("an unblock only releases allotted rooms, never a checkout "
+      + "hold")
+  void unblock_cannotFreeHold() {
+    blockService.block(hotelId, request(1));
+    inventoryRepository.blockOneIfAvailable(hotelId, roomTypeId,
+        List.of(START, START.plusDays(1)));
+
+    assertThatThrownBy(() -> blockService.unblock(hotelId, request(2)))
+        .isInstanceOf(ConflictException.class);
+
+    blockService.unblock(hotelId, request(1));
+    assertThat(rows()).extracting(RoomTypeInventory::getBlocked,
+            RoomTypeInventory::getAllotted, RoomTypeInventory::getAvailable)
+        .containsOnly(tuple(1, 0, 2));
+    assertThatThrownBy(() -> blockService.unblock(hotelId, request(1)))
+        .isInstanceOf(ConflictException.class);
+  }
+
+  @Test
+  @DisplayName("a room out of order is blocked until it is back in service, "
+      + "leaving sold-out nights overbooked in between")
+  void outOfOrderRoom_blockedUntilBack() {
+    final RoomTypeInventory soldOut = inventoryRepository.findForUpdate(
+        hotelId, roomTypeId, START).orElseThrow();
+    soldOut.setReserved(3);
+    soldOut.setAvailable(0);
+    inventoryRepository.save(soldOut);
+
+    Rooms room = null;
+    for (final String number : List.of("101", "102", "103")) {
+      final RoomsCreateRequest create = new RoomsCreateRequest();
+      create.setRoomTypeId(roomTypeId);
+      create.setRoomNumber(number);
+      create.setStatus("103".equals(number) ? RoomStatus.MAINTENANCE
+          : RoomStatus.AVAILABLE);
+      room = roomService.createRoom(hotelId, create);
+    }
+
+    assertThat(rows()).extracting(RoomTypeInventory::getStayDate,
+            RoomTypeInventory::getBlocked, RoomTypeInventory::getAvailable)
+        .containsExactlyInAnyOrder(
+            tuple(START, 1, 0),
+            tuple(START.plusDays(1), 1, 2));
+
+    final RoomUpdateRequest update = new RoomUpdateRequest();
+    update.setStatus(RoomStatus.AVAILABLE);
+    roomService.updateRoom(hotelId, room.getId(), update);
+
+    assertThat(rows()).extracting(RoomTypeInventory::getStayDate,
+            RoomTypeInventory::getBlocked, RoomTypeInventory::getAvailable)
+        .containsExactlyInAnyOrder(
+            tuple(START, 0, 0),
+            tuple(START.plusDays(1), 0, 3));
+  }
+
+  @Test
+  @DisplayName("cancelling on a night overbooked by out-of-order rooms keeps "
+      + "it sold out instead of inventing availability")
+  void outOfOrderRoom_thenCancel_staysSoldOut() {
+    final RoomTypeInventory soldOut = inventoryRepository.findForUpdate(
+        hotelId, roomTypeId, START).orElseThrow();
+    soldOut.setReserved(3);
+    soldOut.setAvailable(0);
+    inventoryRepository.save(soldOut);
+
+    for (final String number : List.of("101", "102", "103")) {
+      final RoomsCreateRequest create = new RoomsCreateRequest();
+      create.setRoomTypeId(roomTypeId);
+      create.setRoomNumber(number);
+      create.setStatus("101".equals(number) ? RoomStatus.AVAILABLE
+          : RoomStatus.OUT_OF_SERVICE);
+      roomService.createRoom(hotelId, create);
+    }
+
+    reservationInventoryService.applyRangeChangeOrThrow(hotelId, roomTypeId,
+        START, START.plusDays(1), null, null, null);
+    inventoryRepository.releaseOne(hotelId, roomTypeId, List.of(START));
+
+    assertThat(rows()).extracting(RoomTypeInventory::getStayDate,
+            RoomTypeInventory::getReserved, RoomTypeInventory::getBlocked,
+            RoomTypeInventory::getAvailable)
+        .containsExactlyInAnyOrder(
+            tuple(START, 1, 2, 0),
+            tuple(START.plusDays(1), 0, 2, 1));
+  }
+}
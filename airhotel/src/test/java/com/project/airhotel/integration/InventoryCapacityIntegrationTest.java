@@ -0,0 +1,130 @@
+package com.project.airhotel.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.project.airhotel.common.exception.ConflictException;
+import com.project.airhotel.room.domain.RoomTypeInventory;
+import com.project.airhotel.room.domain.Rooms;
+import com.project.airhotel.room.dto.InventoryCapacityReport;
+import com.project.airhotel.room.dto.RoomsCreateRequest;
+import com.project.airhotel.room.repository.RoomsRepository;
+import com.project.airhotel.room.service.InventoryCapacityService;
+import com.project.airhotel.room.service.ManagerRoomService;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration test for the capacity pipeline: physical room changes adjust
+ * the room count of their room type and, once committed, recompute its
+ * future inventory. Runs against its own H2 database and commits for real,
+ * since the inventory rewrite only starts after the room change commits.
+ */
+@SpringBootTest(properties = {
+    "airhotel.inventory.capacity-batch-nights=7",
+    "spring.datasource.url=jdbc:h2:mem:airhotel_capacity;MODE=MYSQL;"
+        + "DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@ActiveProfiles("test")
+class InventoryCapacityIntegrationTest extends IntegrationTestSupport {
+
+  private static final LocalDate START = LocalDate.now().plusDays(40);
+
+  @Autowired
+  private InventoryCapacityService capacityService;
+
+  @Autowired
+  private ManagerRoomService roomService;
+
+  @Autowired
+  private RoomsRepository roomsRepository;
+
+  @BeforeEach
+  void setUp() {
+    seedHotel("Capacity Inn", 3);
+    reserve(2);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    roomsRepository.deleteAll();
+    inventoryRepository.deleteAll();
+    roomTypesRepository.deleteAll();
+    hotelsRepository.deleteAll();
+  }
+
+  private void reserve(final int reserved) {
+    final RoomTypeInventory busy = inventoryRepository
+        .findByHotelIdAndStayDate(hotelId, START).get(0);
+    busy.setReserved(reserved);
+    busy.setAvailable(Math.max(busy.getTotal() - reserved, 0));
+    inventoryRepository.save(busy);
+  }
+
+  private Rooms createRoom(final String number) {
+    final RoomsCreateRequest req = new RoomsCreateRequest();
+    req.setRoomTypeId(roomTypeId);
+    req.setRoomNumber(number);
+    return roomService.createRoom(hotelId, req);
+  }
+
+  private List<RoomTypeInventory> rows() {
+    return rows(START, START.plusDays(1));
+  }
+
+  @Test
+  @DisplayName("creating and deleting a room adds and removes one room on "
+      + "top of the seeded count and recomputes every future night")
+  void roomChanges_adjustByOne() {
+    final Rooms room = createRoom("101");
+
+    assertThat(roomTypesRepository.findTotalRoomsById(roomTypeId))
+        .isEqualTo(4);
+    assertThat(rows()).extracting(RoomTypeInventory::getStayDate,
+            RoomTypeInventory::getTotal, RoomTypeInventory::getAvailable)
+        .containsExactlyInAnyOrder(
+            tuple(START, 4, 2),
+            tuple(START.plusDays(1), 4, 4));
+
+    roomService.deleteRoom(hotelId, room.getId());
+
+    assertThat(rows()).extracting(RoomTypeInventory::getStayDate,
+            RoomTypeInventory::getTotal, RoomTypeInventory::getAvailable)
+        .containsExactlyInAnyOrder(
+            tuple(START, 3, 1),
+            tuple(START.plusDays(1), 3, 3));
+    final InventoryCapacityReport report = capacityService.recompute(hotelId,
+        roomTypeId);
+    assertThat(report.getTotalRooms()).isEqualTo(3);
+    assertThat(report.getNightsUpdated()).isZero();
+    assertThat(report.getOverbookedNights()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("deleting a room is refused when reservations would exceed "
+      + "the remaining rooms")
+  void deleteRoom_wouldOverbook_refused() {
+    final Rooms room = createRoom("101");
+    reserve(4);
+
+    assertThatThrownBy(() -> roomService.deleteRoom(hotelId, room.getId()))
+        .isInstanceOf(ConflictException.class);
+
+    assertThat(roomsRepository.findById(room.getId())).isPresent();
+    assertThat(roomTypesRepository.findTotalRoomsById(roomTypeId))
+        .isEqualTo(4);
+    assertThat(rows()).extracting(RoomTypeInventory::getStayDate,
+            RoomTypeInventory::getTotal, RoomTypeInventory::getAvailable)
+        .containsExactlyInAnyOrder(
+            tuple(START, 4, 0),
+            tuple(START.plusDays(1), 4, 4));
+  }
+}
@@ -0,0 +1,124 @@
+package com.project.airhotel.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.project.airhotel.reservation.dto.CreateHoldRequest;
+import com.project.airhotel.reservation.dto.CreateReservationRequest;
+import com.project.airhotel.reservation.dto.InventoryHoldResponse;
+import com.project.airhotel.reservation.repository.InventoryHoldsRepository;
+import com.project.airhotel.reservation.service.InventoryHoldService;
+import com.project.airhotel.reservation.service.ReservationOrchestrator;
+import com.project.airhotel.room.domain.RoomTypeInventory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration test for checkout holds: blocking, conversion into a
+ * reservation and release by the reaper against an in-memory H2 database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class InventoryHoldIntegrationTest extends IntegrationTestSupport {
+
+  private static final LocalDate CHECK_IN = LocalDate.now().plusDays(20);
+
+  @Autowired
+  private InventoryHoldService holdService;
+
+  @Autowired
+  private ReservationOrchestrator orchestrator;
+
+  @Autowired
+  private InventoryHoldsRepository holdsRepository;
+
+  @BeforeEach
+  void setUp() {
+    seedHotel("Hold Inn", 3);
+  }
+
+  private InventoryHoldResponse hold(final Long userId) {
+    final CreateHoldRequest req = new CreateHoldRequest();
+    req.setHotelId(hotelId);
+    req.setRoomTypeId(roomTypeId);
+    req.setCheckInDate(CHECK_IN);
+    req.setCheckOutDate(CHECK_IN.plusDays(2));
+    return holdService.createHold(userId, req);
+  }
+
+  private List<RoomTypeInventory> rows() {
+    return rows(CHECK_IN, CHECK_IN.plusDays(1));
+  }
+
+  @Test
+  @DisplayName("a converted hold turns its blocked rooms into reserved ones")
+  void hold_convertedOnSubmit() {
+    final InventoryHoldResponse held = hold(7L);
+    assertThat(rows()).extracting(RoomTypeInventory::getBlocked,
+            RoomTypeInventory::getAvailable)
+        .containsOnly(tuple(1, 2));
+
+    final CreateReservationRequest req = new CreateReservationRequest();
+    req.setHotelId(hotelId);
+    req.setRoomTypeId(roomTypeId);
+    req.setCheckInDate(CHECK_IN);
+    req.setCheckOutDate(CHECK_IN.plusDays(2));
+    req.setNumGuests(2);
+    req.setCurrency("USD");
+    req.setHoldId(held.getId());
+    orchestrator.createReservation(7L, req);
+
+    assertThat(rows()).extracting(RoomTypeInventory::getReserved,
+            RoomTypeInventory::getBlocked, RoomTypeInventory::getAvailable)
+        .containsOnly(tuple(1, 0, 2));
+    assertThat(holdsRepository.findById(held.getId())).isEmpty();
+  }
+
+  @Test
+  @DisplayName("the reaper releases expired holds in one batch")
+  void expiredHolds_reaped() {
+    hold(7L);
+    hold(8L);
+
+    final int released = holdService.reapExpired(
+        LocalDateTime.now().plusHours(1), 100);
+
+    assertThat(released).isEqualTo(2);
+    assertThat(rows()).extracting(RoomTypeInventory::getBlocked,
+            RoomTypeInventory::getAvailable)
+        .containsOnly(tuple(0, 3));
+    assertThat(holdsRepository.count()).isZero();
+  }
+
+  @Test
+  @DisplayName("a hold expiring on a night overbooked by a forced block "
+      + "does not make it sellable")
+  void expiredHold_afterClamp_staysSoldOut() {
+    hold(7L);
+    final RoomTypeInventory night = inventoryRepository.findForUpdate(
+        hotelId, roomTypeId, CHECK_IN).orElseThrow();
+    night.setReserved(2);
+    night.setAvailable(0);
+    inventoryRepository.save(night);
+    inventoryRepository.blockOutOfOrder(hotelId, roomTypeId, 1, CHECK_IN,
+        CHECK_IN);
+
+    holdService.reapExpired(LocalDateTime.now().plusHours(1), 100);
+
+    assertThat(rows()).extracting(RoomTypeInventory::getStayDate,
+            RoomTypeInventory::getReserved, RoomTypeInventory::getBlocked,
+            RoomTypeInventory::getAvailable)
+        .containsExactlyInAnyOrder(
+            tuple(CHECK_IN, 2, 1, 0),
+            tuple(CHECK_IN.plusDays(1), 0, 0, 3));
+  }
+}
@@ -0,0 +1,76 @@
+package com.project.airhotel.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.airhotel.room.domain.RoomTypeInventory;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifies that committed room type writes materialize the inventory window.
+ * Uses its own H2 database because the writes are committed.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:"
+    + "airhotel_materialize;MODE=MYSQL;DB_CLOSE_DELAY=-1;"
+    + "DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("test")
+class InventoryMaterializerIntegrationTest {
+
+  private static final Long HOTEL_ID = 12L;
+
+  @Autowired
+  private RoomTypesRepository roomTypesRepository;
+
+  @Autowired
+  private RoomTypeInventoryRepository inventoryRepository;
+
+  @AfterEach
+  void cleanUp() {
+    inventoryRepository.deleteAll();
+    roomTypesRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Creating and resizing a room type keeps a year of rows in "
+      + "sync")
+  void createAndResize_materializeWindow() {
+    final RoomTypes rt = roomTypesRepository.save(RoomTypes.builder()
+        .hotelId(HOTEL_ID)
+        .code("TWN")
+        .name("Twin")
+        .capacity(2)
+        .bedType("Twin")
+        .baseRate(new BigDecimal("120.00"))
+        .totalRooms(4)
+        .build());
+
+    final LocalDate today = LocalDate.now();
+    final LocalDate last = today.plusYears(1).minusDays(1);
+    List<RoomTypeInventory> rows =
+        inventoryRepository.findByHotelIdAndStayDateBetween(HOTEL_ID, today,
+            last.plusDays(1));
+    assertThat(rows).hasSize((int) (last.toEpochDay() - today.toEpochDay()
+        + 1));
+    assertThat(rows).allSatisfy(r -> assertThat(r.getAvailable()).isEqualTo(4));
+
+    rt.setTotalRooms(6);
+    roomTypesRepository.save(rt);
+
+    rows = inventoryRepository.findByHotelIdAndStayDateBetween(HOTEL_ID,
+        today, last);
+    assertThat(rows).allSatisfy(r -> {
+      assertThat(r.getTotal()).isEqualTo(6);
+      assertThat(r.getAvailable()).isEqualTo(6);
+    });
+  }
+}
@@ -77,4 +77,31 @@ class ReservationInventoryIntegrationTest {
       assertThat(row.getRoomTypeId()).isEqualTo(roomTypeId);
     });
   }
+
+  @Test
+  @DisplayName("applyRangeChangeOrThrow shifting a stay only moves the changed nights")
+  void applyRangeChange_shift_moves_only_changed_nights() {
+    final LocalDate d1 = LocalDate.of(2030, 3, 1);
+    final LocalDate d4 = LocalDate.of(2030, 3, 4);
+
+    service.applyRangeChangeOrThrow(
+        5L,
+        null, null, null,
+        roomTypeId, d1, d1.plusDays(3)); // nights 1..3
+
+    service.applyRangeChangeOrThrow(
+        5L,
+        roomTypeId, d1, d1.plusDays(3),
+        roomTypeId, d1.plusDays(1), d4.plusDays(1)); // nights 2..4
+
+    final List<RoomTypeInventory> rows =
+        inventoryRepository.findByHotelIdAndStayDateBetween(5L, d1, d4);
+
+    assertThat(rows).hasSize(4);
+    rows.forEach(row -> {
+      final int expected = row.getStayDate().equals(d1) ? 0 : 1;
+      assertThat(row.getReserved()).isEqualTo(expected);
+      assertThat(row.getAvailable()).isEqualTo(5 - expected);
+    });
+  }
 }
@@ -0,0 +1,105 @@
+package com.project.airhotel.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.project.airhotel.reservation.domain.Reservations;
+import com.project.airhotel.reservation.domain.ReservationsNightlyPrices;
+import com.project.airhotel.reservation.domain.enums.ReservationStatus;
+import com.project.airhotel.reservation.repository.ReservationsNightlyPricesRepository;
+import com.project.airhotel.reservation.repository.ReservationsRepository;
+import com.project.airhotel.reservation.service.ReservationNightlyPriceService;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration test for the nightly price snapshot, running the batched JDBC
+ * writes against an in-memory H2 database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ReservationNightlyPriceIntegrationTest {
+
+  private static final LocalDate CHECK_IN = LocalDate.of(2030, 3, 1);
+
+  @Autowired
+  private ReservationNightlyPriceService service;
+
+  @Autowired
+  private ReservationsRepository reservationsRepository;
+
+  @Autowired
+  private ReservationsNightlyPricesRepository nightlyPricesRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Test
+  @DisplayName("snapshot inserts every night, then rewrites only changed nights")
+  void snapshot_insertsThenDiffs() {
+    final Reservations r = new Reservations();
+    r.setHotelId(1L);
+    r.setRoomTypeId(10L);
+    r.setCheckInDate(CHECK_IN);
+    r.setCheckOutDate(CHECK_IN.plusDays(3));
+    r.setNights(3);
+    r.setNumGuests(2);
+    r.setCurrency("USD");
+    r.setPriceTotal(new BigDecimal("330.00"));
+    r.setStatus(ReservationStatus.PENDING);
+    final Reservations saved = reservationsRepository.save(r);
+
+    service.snapshot(saved, prices("100.00", "110.00", "120.00"));
+    final List<ReservationsNightlyPrices> first = reload(saved.getId());
+    assertThat(first).extracting(ReservationsNightlyPrices::getStayDate,
+            ReservationsNightlyPrices::getCurrency)
+        .containsExactly(tuple(CHECK_IN, "USD"),
+            tuple(CHECK_IN.plusDays(1), "USD"),
+            tuple(CHECK_IN.plusDays(2), "USD"));
+
+    // Stay moves one night later: night 1 dropped, night 2 repriced, night 4 added
+    final Map<LocalDate, BigDecimal> moved = new LinkedHashMap<>();
+    moved.put(CHECK_IN.plusDays(1), new BigDecimal("110.00"));
+    moved.put(CHECK_IN.plusDays(2), new BigDecimal("125.00"));
+    moved.put(CHECK_IN.plusDays(3), new BigDecimal("130.00"));
+    service.snapshot(saved, moved);
+
+    final List<ReservationsNightlyPrices> second = reload(saved.getId());
+    assertThat(second).extracting(ReservationsNightlyPrices::getStayDate)
+        .containsExactly(CHECK_IN.plusDays(1), CHECK_IN.plusDays(2),
+            CHECK_IN.plusDays(3));
+    assertThat(second).extracting(ReservationsNightlyPrices::getPrice)
+        .usingElementComparator(BigDecimal::compareTo)
+        .containsExactly(new BigDecimal("110.00"), new BigDecimal("125.00"),
+            new BigDecimal("130.00"));
+    // Unchanged nights keep their row
+    assertThat(second.get(0).getId()).isEqualTo(first.get(1).getId());
+    assertThat(second.get(1).getId()).isEqualTo(first.get(2).getId());
+  }
+
+  private List<ReservationsNightlyPrices> reload(final Long reservationId) {
+    entityManager.flush();
+    entityManager.clear();
+    return nightlyPricesRepository.findByReservationIdOrderByStayDateAsc(
+        reservationId);
+  }
+
+  private static Map<LocalDate, BigDecimal> prices(final String... amounts) {
+    final Map<LocalDate, BigDecimal> nightly = new LinkedHashMap<>();
+    for (int i = 0; i < amounts.length; i++) {
+      nightly.put(CHECK_IN.plusDays(i), new BigDecimal(amounts[i]));
+    }
+    return nightly;
+  }
+}
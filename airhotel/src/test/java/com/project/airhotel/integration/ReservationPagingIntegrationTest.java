@@ -0,0 +1,166 @@
+package com.project.airhotel.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.airhotel.hotel.domain.Hotels;
+import com.project.airhotel.hotel.repository.HotelsRepository;
+import com.project.airhotel.reservation.domain.Reservations;
+import com.project.airhotel.reservation.domain.enums.ReservationStatus;
+import com.project.airhotel.reservation.dto.ReservationListItem;
+import com.project.airhotel.reservation.dto.ReservationPage;
+import com.project.airhotel.reservation.dto.StayWindow;
+import com.project.airhotel.reservation.repository.ReservationsRepository;
+import com.project.airhotel.reservation.service.ManagerReservationService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Walks the keyset-paginated manager listing and its stay-range modes
+ * against an in-memory H2 database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ReservationPagingIntegrationTest {
+
+  private static final LocalDate DAY = LocalDate.of(2030, 5, 1);
+
+  @Autowired
+  private ManagerReservationService service;
+
+  @Autowired
+  private ReservationsRepository reservationsRepository;
+
+  @Autowired
+  private HotelsRepository hotelsRepository;
+
+  private Long hotelId;
+
+  @BeforeEach
+  void createHotel() {
+    hotelId = hotelsRepository.save(Hotels.builder()
+        .name("Paging Inn")
+        .addressLine1("1 Main St")
+        .city("Boston")
+        .country("US")
+        .build()).getId();
+  }
+
+  @Test
+  @DisplayName("Pages follow (checkInDate, id) order without gaps or repeats")
+  void list_walksAllPages() {
+    final List<Long> expected = new ArrayList<>();
+    // Two stays share a check-in date so the id tie-break is exercised
+    expected.add(save(DAY.plusDays(2), ReservationStatus.CONFIRMED));
+    expected.add(0, save(DAY, ReservationStatus.CONFIRMED));
+    expected.add(1, save(DAY, ReservationStatus.PENDING));
+    expected.add(save(DAY.plusDays(3), ReservationStatus.CONFIRMED));
+    expected.add(save(DAY.plusDays(5), ReservationStatus.CONFIRMED));
+
+    final List<Long> seen = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      final ReservationPage page = service.listReservations(hotelId, null,
+          null, null, null, cursor, 2);
+      page.getItems().forEach(i -> seen.add(i.getId()));
+      cursor = page.getNextCursor();
+      pages++;
+    } while (cursor != null);
+
+    assertThat(seen).containsExactlyElementsOf(expected);
+    assertThat(pages).isEqualTo(3);
+
+    final ReservationPage confirmed = service.listReservations(hotelId,
+        ReservationStatus.CONFIRMED, null, null, null, null, 10);
+    assertThat(confirmed.getItems()).extracting(ReservationListItem::getStatus)
+        .containsOnly(ReservationStatus.CONFIRMED);
+    assertThat(confirmed.getItems()).hasSize(4);
+    assertThat(confirmed.getNextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("Stay-range modes match contained, in-house, arriving and "
+      + "departing stays")
+  void list_stayRangeModes() {
+    // Day under test is DAY + 10
+    final LocalDate day = DAY.plusDays(10);
+    final Long longStay = save(DAY, 14, ReservationStatus.CHECKED_IN);
+    final Long straddling = save(day.minusDays(1), 2,
+        ReservationStatus.CHECKED_IN);
+    final Long arriving = save(day, 3, ReservationStatus.CONFIRMED);
+    final Long departing = save(day.minusDays(2), 2,
+        ReservationStatus.CHECKED_IN);
+    final Long contained = save(day, 1, ReservationStatus.CONFIRMED);
+    save(DAY, 1, ReservationStatus.CHECKED_OUT);
+    save(day.plusDays(1), 1, ReservationStatus.CONFIRMED);
+
+    assertThat(ids(StayWindow.Mode.OVERLAPPING, day, day))
+        .containsExactly(longStay, straddling, arriving, contained);
+    assertThat(ids(StayWindow.Mode.ARRIVALS, day, day))
+        .containsExactly(arriving, contained);
+    assertThat(ids(StayWindow.Mode.DEPARTURES, day, day))
+        .containsExactly(departing);
+    assertThat(ids(StayWindow.Mode.CONTAINED, day, day.plusDays(1)))
+        .containsExactly(contained);
+  }
+
+  @Test
+  @DisplayName("Departures are paged in check-out order across days")
+  void list_departures_walkByCheckOut() {
+    final LocalDate day = DAY.plusDays(20);
+    final Long lateLong = save(day.minusDays(6), 7,
+        ReservationStatus.CONFIRMED);
+    final Long early = save(day.minusDays(1), 1, ReservationStatus.CONFIRMED);
+    final Long late = save(day, 1, ReservationStatus.CONFIRMED);
+    final Long earlyLong = save(day.minusDays(5), 5,
+        ReservationStatus.CONFIRMED);
+
+    final List<Long> seen = new ArrayList<>();
+    String cursor = null;
+    do {
+      final ReservationPage page = service.listReservations(hotelId, null,
+          StayWindow.Mode.DEPARTURES, day, day.plusDays(1), cursor, 1);
+      page.getItems().forEach(i -> seen.add(i.getId()));
+      cursor = page.getNextCursor();
+    } while (cursor != null);
+
+    assertThat(seen).containsExactly(early, earlyLong, lateLong, late);
+  }
+
+  private List<Long> ids(final StayWindow.Mode mode, final LocalDate start,
+                         final LocalDate end) {
+    return service.listReservations(hotelId, null, mode, start, end, null,
+            null).getItems().stream()
+        .map(ReservationListItem::getId)
+        .toList();
+  }
+
+  private Long save(final LocalDate checkIn, final ReservationStatus status) {
+    return save(checkIn, 1, status);
+  }
+
+  private Long save(final LocalDate checkIn, final int nights,
+                    final ReservationStatus status) {
+    final Reservations r = new Reservations();
+    r.setHotelId(hotelId);
+    r.setRoomTypeId(1L);
+    r.setCheckInDate(checkIn);
+    r.setCheckOutDate(checkIn.plusDays(nights));
+    r.setNights(nights);
+    r.setNumGuests(1);
+    r.setCurrency("USD");
+    r.setPriceTotal(new BigDecimal("100.00"));
+    r.setStatus(status);
+    return reservationsRepository.save(r).getId();
+  }
+}
@@ -0,0 +1,135 @@
+package com.project.airhotel.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.airhotel.common.guard.EntityGuards;
+import com.project.airhotel.hotel.domain.Hotels;
+import com.project.airhotel.hotel.repository.HotelsRepository;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.domain.Rooms;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import com.project.airhotel.room.repository.RoomsRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Counts the statements issued by the entity guards with a cold and a warm
+ * second-level cache. Uses its own H2 database because the writes are
+ * committed.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:"
+    + "airhotel_second_level_cache;MODE=MYSQL;DB_CLOSE_DELAY=-1;"
+    + "DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+  @Autowired
+  private EntityGuards entityGuards;
+
+  @Autowired
+  private HotelsRepository hotelsRepository;
+
+  @Autowired
+  private RoomTypesRepository roomTypesRepository;
+
+  @Autowired
+  private RoomsRepository roomsRepository;
+
+  @Autowired
+  private RoomTypeInventoryRepository inventoryRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private SessionFactory sessionFactory;
+
+  private Hotels hotel;
+
+  private RoomTypes roomType;
+
+  private Rooms room;
+
+  @BeforeEach
+  void setUp() {
+    sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    hotel = hotelsRepository.save(Hotels.builder()
+        .name("Cache Inn")
+        .addressLine1("1 Main St")
+        .city("New York")
+        .country("US")
+        .build());
+    roomType = roomTypesRepository.save(RoomTypes.builder()
+        .hotelId(hotel.getId())
+        .code("KNG")
+        .name("King")
+        .capacity(2)
+        .baseRate(new BigDecimal("200.00"))
+        .totalRooms(1)
+        .build());
+    room = roomsRepository.save(Rooms.builder()
+        .hotelId(hotel.getId())
+        .roomTypeId(roomType.getId())
+        .roomNumber("101")
+        .build());
+    sessionFactory.getCache().evictAllRegions();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    roomsRepository.deleteAll();
+    inventoryRepository.deleteAll();
+    roomTypesRepository.deleteAll();
+    hotelsRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Guards read the database once, then serve from the cache")
+  void guards_warmCacheIssuesNoStatements() {
+    final Statistics stats = sessionFactory.getStatistics();
+    assertThat(stats.isStatisticsEnabled()).isTrue();
+
+    stats.clear();
+    runGuards();
+    assertThat(stats.getPrepareStatementCount()).isPositive();
+
+    stats.clear();
+    runGuards();
+    assertThat(stats.getPrepareStatementCount()).isZero();
+    assertThat(stats.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(2);
+    assertThat(stats.getQueryCacheHitCount()).isPositive();
+  }
+
+  @Test
+  @DisplayName("A committed update replaces the cached room type")
+  void update_refreshesCachedEntity() {
+    roomTypesRepository.findById(roomType.getId()).orElseThrow();
+
+    final RoomTypes loaded =
+        roomTypesRepository.findById(roomType.getId()).orElseThrow();
+    loaded.setBaseRate(new BigDecimal("250.00"));
+    roomTypesRepository.save(loaded);
+
+    final Statistics stats = sessionFactory.getStatistics();
+    stats.clear();
+    assertThat(roomTypesRepository.findById(roomType.getId()).orElseThrow()
+        .getBaseRate()).isEqualByComparingTo("250.00");
+    assertThat(stats.getPrepareStatementCount()).isZero();
+  }
+
+  private void runGuards() {
+    entityGuards.ensureRoomTypeInHotelOrThrow(hotel.getId(),
+        roomType.getId());
+    entityGuards.ensureRoomBelongsToHotelAndType(hotel.getId(), room.getId(),
+        roomType.getId());
+  }
+}
@@ -9,15 +9,25 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.airhotel.common.exception.BadRequestException;
 import com.project.airhotel.reservation.domain.Reservations;
 import com.project.airhotel.reservation.domain.enums.ReservationStatus;
 import com.project.airhotel.reservation.dto.ApplyUpgradeRequest;
+import com.project.airhotel.reservation.dto.ReservationListItem;
+import com.project.airhotel.reservation.dto.ReservationPage;
+import com.project.airhotel.reservation.dto.StayWindow;
 import com.project.airhotel.reservation.dto.ReservationUpdateRequest;
 import com.project.airhotel.reservation.service.ManagerReservationService;
+import com.project.airhotel.reservation.service.ReservationExportService;
+import com.project.airhotel.reservation.service.ReservationExportService.ExportFormat;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
@@ -45,32 +55,95 @@ class ManagerReservationControllerApiTest {
   @MockBean
   private ManagerReservationService reservationService;
 
+  @MockBean
+  private ReservationExportService exportService;
+
   @Test
   @DisplayName("GET /manager/hotels/{id}/reservations filters by status and dates")
   void list_withFilters_returnsReservations() throws Exception {
-    final Reservations r = new Reservations();
+    final ReservationListItem r = new ReservationListItem();
     r.setId(10L);
     r.setStatus(ReservationStatus.CONFIRMED);
     when(reservationService.listReservations(
         1L,
         ReservationStatus.CONFIRMED,
+        StayWindow.Mode.OVERLAPPING,
         LocalDate.of(2031, 1, 1),
-        LocalDate.of(2031, 1, 5)))
-        .thenReturn(List.of(r));
+        LocalDate.of(2031, 1, 5),
+        "cur",
+        25))
+        .thenReturn(new ReservationPage(List.of(r), "next"));
 
     mvc.perform(get("/manager/hotels/{hotelId}/reservations", 1L)
             .param("status", "CONFIRMED")
+            .param("mode", "OVERLAPPING")
             .param("start", "2031-01-01")
-            .param("end", "2031-01-05"))
+            .param("end", "2031-01-05")
+            .param("cursor", "cur")
+            .param("limit", "25"))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.length()").value(1))
-        .andExpect(jsonPath("$[0].id").value(10));
+        .andExpect(jsonPath("$.items.length()").value(1))
+        .andExpect(jsonPath("$.items[0].id").value(10))
+        .andExpect(jsonPath("$.nextCursor").value("next"));
 
     verify(reservationService).listReservations(
         1L,
         ReservationStatus.CONFIRMED,
+        StayWindow.Mode.OVERLAPPING,
         LocalDate.of(2031, 1, 1),
-        LocalDate.of(2031, 1, 5));
+        LocalDate.of(2031, 1, 5),
+        "cur",
+        25);
+  }
+
+  @Test
+  @DisplayName("GET /manager/hotels/{id}/reservations/export streams NDJSON as an attachment")
+  void export_ndjson_streamsAttachment() throws Exception {
+    when(exportService.ensureExportable(3L, StayWindow.Mode.CONTAINED, null,
+        null)).thenReturn(StayWindow.ANY);
+    when(exportService.export(eq(3L), eq(null), eq(StayWindow.ANY),
+        eq(ExportFormat.NDJSON), any(OutputStream.class)))
+        .thenAnswer(inv -> {
+          final OutputStream out = inv.getArgument(4);
+          out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+          return 1L;
+        });
+
+    mvc.perform(get("/manager/hotels/{hotelId}/reservations/export", 3L)
+            .param("format", "NDJSON"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type",
+            containsString("application/x-ndjson")))
+        .andExpect(header().string("Content-Disposition",
+            "attachment; filename=\"reservations-3.ndjson\""))
+        .andExpect(content().string("{\"id\":1}\n"));
+  }
+
+  @Test
+  @DisplayName("GET /manager/hotels/{id}/reservations/export with start after end returns 400 "
+      + "without attachment headers")
+  void export_invalidRange_returnsBadRequest() throws Exception {
+    when(exportService.ensureExportable(3L, StayWindow.Mode.CONTAINED,
+        LocalDate.of(2031, 1, 5), LocalDate.of(2031, 1, 1)))
+        .thenThrow(new BadRequestException("start must not be after end."));
+
+    mvc.perform(get("/manager/hotels/{hotelId}/reservations/export", 3L)
+            .param("start", "2031-01-05")
+            .param("end", "2031-01-01"))
+        .andExpect(status().isBadRequest())
+        .andExpect(header().doesNotExist("Content-Disposition"))
+        .andExpect(jsonPath("$.message").value(containsString("start")));
+  }
+
+  @Test
+  @DisplayName("GET /manager/hotels/{id}/reservations/export with unknown format returns 400")
+  void export_unknownFormat_returnsBadRequest() throws Exception {
+    mvc.perform(get("/manager/hotels/{hotelId}/reservations/export", 3L)
+            .param("format", "xml"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value(containsString("xml")));
+
+    verifyNoInteractions(exportService);
   }
 
   @Test
@@ -9,6 +9,9 @@ import static org.mockito.Mockito.when;
 import com.project.airhotel.reservation.domain.Reservations;
 import com.project.airhotel.reservation.domain.enums.ReservationStatus;
 import com.project.airhotel.reservation.dto.ApplyUpgradeRequest;
+import com.project.airhotel.reservation.dto.ReservationListItem;
+import com.project.airhotel.reservation.dto.ReservationPage;
+import com.project.airhotel.reservation.dto.StayWindow;
 import com.project.airhotel.reservation.dto.ReservationUpdateRequest;
 import com.project.airhotel.reservation.service.ManagerReservationService;
 import java.time.LocalDate;
@@ -33,18 +36,22 @@ class ManagerReservationControllerTest {
   @Test
   @DisplayName("list delegates filters to service")
   void list_withFilters() {
-    final Reservations r = new Reservations();
+    final ReservationPage page =
+        new ReservationPage(List.of(new ReservationListItem()), "next");
     when(reservationService.listReservations(1L, ReservationStatus.CONFIRMED,
-        LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 5)))
-        .thenReturn(List.of(r));
+        StayWindow.Mode.ARRIVALS, LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 5), "abc", 20))
+        .thenReturn(page);
 
-    final List<Reservations> out = controller.list(
+    final ReservationPage out = controller.list(
         1L,
         ReservationStatus.CONFIRMED,
+        StayWindow.Mode.ARRIVALS,
         LocalDate.of(2025, 12, 1),
-        LocalDate.of(2025, 12, 5));
+        LocalDate.of(2025, 12, 5),
+        "abc",
+        20);
 
-    assertEquals(List.of(r), out);
+    assertSame(page, out);
   }
 
   @Test
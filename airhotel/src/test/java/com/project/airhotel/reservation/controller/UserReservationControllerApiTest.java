@@ -10,10 +10,12 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.airhotel.common.idempotency.IdempotencyStore;
 import com.project.airhotel.config.SpringConfig;
 import com.project.airhotel.reservation.dto.CreateReservationRequest;
 import com.project.airhotel.reservation.dto.ReservationDetailResponse;
@@ -55,6 +57,9 @@ class UserReservationControllerApiTest {
   @MockBean
   private AuthUserService authUserService;
 
+  @MockBean
+  private IdempotencyStore idempotencyStore;
+
 
   @AfterEach
   void clearSecurityContext() {
@@ -110,6 +115,37 @@ class UserReservationControllerApiTest {
         sent.getCheckOutDate().isAfter(sent.getCheckInDate()));
   }
 
+  @Test
+  @DisplayName("POST /reservations with Idempotency-Key replays through the store")
+  void create_withIdempotencyKey_setsReplayedHeader() throws Exception {
+    final ReservationDetailResponse resp = new ReservationDetailResponse();
+    resp.setId(99L);
+    when(idempotencyStore.execute(eq(42L), eq("retry-1"),
+        any(CreateReservationRequest.class),
+        eq(ReservationDetailResponse.class), any()))
+        .thenReturn(new IdempotencyStore.Outcome<>(resp, true));
+
+    final CreateReservationRequest req = new CreateReservationRequest();
+    req.setHotelId(1L);
+    req.setRoomTypeId(2L);
+    req.setCheckInDate(LocalDate.now().plusDays(1));
+    req.setCheckOutDate(LocalDate.now().plusDays(2));
+    req.setNumGuests(1);
+    req.setCurrency("USD");
+    req.setPriceTotal(new BigDecimal("100.00"));
+
+    mvc.perform(post("/reservations")
+            .sessionAttr(SpringConfig.SESSION_USER_ID, 42L)
+            .header(IdempotencyStore.HEADER, "retry-1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(mapper.writeValueAsBytes(req)))
+        .andExpect(status().isCreated())
+        .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+        .andExpect(jsonPath("$.id").value(99));
+
+    verifyNoInteractions(service);
+  }
+
   @Test
   @DisplayName("GET /reservations uses session user id when present")
   void list_usesSessionUserId() throws Exception {
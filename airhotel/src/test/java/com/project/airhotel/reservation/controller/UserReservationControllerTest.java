@@ -4,11 +4,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.project.airhotel.common.idempotency.IdempotencyStore;
+import com.project.airhotel.reservation.dto.CreateHoldRequest;
 import com.project.airhotel.reservation.dto.CreateReservationRequest;
+import com.project.airhotel.reservation.dto.GroupReservationRequest;
+import com.project.airhotel.reservation.dto.GroupReservationResponse;
+import com.project.airhotel.reservation.dto.InventoryHoldResponse;
 import com.project.airhotel.reservation.dto.PatchReservationRequest;
 import com.project.airhotel.reservation.dto.ReservationDetailResponse;
 import com.project.airhotel.reservation.dto.ReservationSummaryResponse;
@@ -49,6 +56,9 @@ class UserReservationControllerTest {
   @Mock
   private OAuth2User principal;
 
+  @Mock
+  private IdempotencyStore idempotencyStore;
+
   @InjectMocks
   private UserReservationController controller;
 
@@ -81,11 +91,71 @@ class UserReservationControllerTest {
     when(service.createReservation(77L, null)).thenReturn(detail);
 
     final ResponseEntity<ReservationDetailResponse> resp =
-        controller.create(authentication, request, null);
+        controller.create(authentication, request, null, null);
 
     assertEquals(201, resp.getStatusCodeValue());
     assertSame(detail, resp.getBody());
     verify(session).setAttribute(any(), any());
+    verifyNoInteractions(idempotencyStore);
+  }
+
+  @Test
+  @DisplayName("create with an idempotency key goes through the store and "
+      + "reports replays")
+  void create_withIdempotencyKey() {
+    when(request.getSession(false)).thenReturn(session);
+    when(session.getAttribute(any())).thenReturn(5L);
+    final ReservationDetailResponse detail = new ReservationDetailResponse();
+    when(idempotencyStore.execute(eq(5L), eq("key-1"), any(),
+        eq(ReservationDetailResponse.class), any()))
+        .thenReturn(new IdempotencyStore.Outcome<>(detail, true));
+
+    final ResponseEntity<ReservationDetailResponse> resp =
+        controller.create(authentication, request, "key-1", null);
+
+    assertEquals(201, resp.getStatusCodeValue());
+    assertSame(detail, resp.getBody());
+    assertEquals("true", resp.getHeaders()
+        .getFirst(IdempotencyStore.REPLAYED_HEADER));
+    verify(service, never()).createReservation(any(), any());
+  }
+
+  @Test
+  @DisplayName("createGroup delegates with resolved user id and returns 201")
+  void createGroup_delegates() {
+    when(request.getSession(false)).thenReturn(session);
+    when(session.getAttribute(any())).thenReturn(5L);
+    final GroupReservationRequest req = new GroupReservationRequest();
+    final GroupReservationResponse body = new GroupReservationResponse();
+    when(service.createGroupReservation(5L, req)).thenReturn(body);
+
+    final ResponseEntity<GroupReservationResponse> resp =
+        controller.createGroup(authentication, request, null, req);
+
+    assertEquals(201, resp.getStatusCodeValue());
+    assertSame(body, resp.getBody());
+    verifyNoInteractions(idempotencyStore);
+  }
+
+  @Test
+  @DisplayName("createHold returns 201 and releaseHold 204 for the session "
+      + "user")
+  void holds_delegate() {
+    when(request.getSession(false)).thenReturn(session);
+    when(session.getAttribute(any())).thenReturn(5L);
+    final CreateHoldRequest req = new CreateHoldRequest();
+    final InventoryHoldResponse hold = new InventoryHoldResponse();
+    when(service.createHold(5L, req)).thenReturn(hold);
+
+    final ResponseEntity<InventoryHoldResponse> created =
+        controller.createHold(authentication, request, req);
+    final ResponseEntity<Void> released =
+        controller.releaseHold(authentication, request, 42L);
+
+    assertEquals(201, created.getStatusCodeValue());
+    assertSame(hold, created.getBody());
+    assertEquals(204, released.getStatusCodeValue());
+    verify(service).releaseHold(5L, 42L);
   }
 
   @Test
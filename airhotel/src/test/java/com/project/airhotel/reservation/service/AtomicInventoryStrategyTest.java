@@ -0,0 +1,140 @@
+package com.project.airhotel.reservation.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.room.domain.enums.RoomStatus;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomsRepository;
+import com.project.airhotel.room.service.InventoryRowSeeder;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for AtomicInventoryStrategy.
+ */
+@ExtendWith(MockitoExtension.class)
+class AtomicInventoryStrategyTest {
+
+  private static final Long HOTEL_ID = 1L;
+  private static final Long TYPE_ID = 11L;
+  private static final LocalDate D1 = LocalDate.of(2030, 1, 1);
+  private static final LocalDate D2 = LocalDate.of(2030, 1, 2);
+
+  @Mock
+  private RoomTypeInventoryRepository invRepo;
+  @Mock
+  private RoomsRepository roomsRepo;
+
+  private AtomicInventoryStrategy strategy;
+
+  @BeforeEach
+  void setUp() {
+    strategy = new AtomicInventoryStrategy(invRepo,
+        new InventoryRowSeeder(invRepo, roomsRepo));
+  }
+
+  private static NavigableSet<LocalDate> nights(final LocalDate... days) {
+    return new TreeSet<>(List.of(days));
+  }
+
+  private static InventoryNetChange reserve(
+      final NavigableSet<LocalDate> nights) {
+    return new InventoryNetChange(HOTEL_ID, null, null, TYPE_ID, 5, nights);
+  }
+
+  @Test
+  @DisplayName("Reserve: every night decremented by one guarded update")
+  void reserve_allNightsUpdated() {
+    final NavigableSet<LocalDate> n = nights(D1, D2);
+    when(invRepo.reserveOneIfAvailable(HOTEL_ID, TYPE_ID, n)).thenReturn(2);
+
+    strategy.apply(reserve(n));
+
+    verify(invRepo).reserveOneIfAvailable(HOTEL_ID, TYPE_ID, n);
+    verifyNoMoreInteractions(invRepo);
+  }
+
+  @Test
+  @DisplayName("Reserve: missing rows are created with out-of-order rooms "
+      + "blocked and reserved in a second update")
+  void reserve_missingRows_insertedAndRetried() {
+    final NavigableSet<LocalDate> n = nights(D1, D2);
+    when(roomsRepo.countByRoomTypeIdAndStatusNot(TYPE_ID,
+        RoomStatus.AVAILABLE)).thenReturn(2L);
+    when(invRepo.reserveOneIfAvailable(HOTEL_ID, TYPE_ID, n)).thenReturn(1);
+    when(invRepo.findExistingStayDates(HOTEL_ID, TYPE_ID, n))
+        .thenReturn(List.of(D1));
+    when(invRepo.reserveOneIfAvailable(HOTEL_ID, TYPE_ID, List.of(D2)))
+        .thenReturn(1);
+
+    strategy.apply(reserve(n));
+
+    verify(invRepo).insertMissingRows(HOTEL_ID, TYPE_ID, 5, 2, List.of(D2));
+  }
+
+  @Test
+  @DisplayName("Reserve: an existing sold-out night fails the whole change")
+  void reserve_soldOut_throws() {
+    final NavigableSet<LocalDate> n = nights(D1, D2);
+    when(invRepo.reserveOneIfAvailable(HOTEL_ID, TYPE_ID, n)).thenReturn(1);
+    when(invRepo.findExistingStayDates(HOTEL_ID, TYPE_ID, n))
+        .thenReturn(List.of(D1, D2));
+
+    assertThrows(BadRequestException.class, () -> strategy.apply(reserve(n)));
+    verify(invRepo, never()).insertMissingRows(anyLong(), anyLong(), anyInt(),
+        anyInt(), anyCollection());
+  }
+
+  @Test
+  @DisplayName("Reserve: newly created row taken by a concurrent booking "
+      + "fails")
+  void reserve_missingRowLostRace_throws() {
+    final NavigableSet<LocalDate> n = nights(D1);
+    when(invRepo.reserveOneIfAvailable(HOTEL_ID, TYPE_ID, n)).thenReturn(0);
+    when(invRepo.findExistingStayDates(HOTEL_ID, TYPE_ID, n))
+        .thenReturn(Collections.emptyList());
+    when(invRepo.reserveOneIfAvailable(HOTEL_ID, TYPE_ID, List.of(D1)))
+        .thenReturn(0);
+
+    assertThrows(BadRequestException.class, () -> strategy.apply(reserve(n)));
+  }
+
+  @Test
+  @DisplayName("Release then reserve across room types")
+  void typeChange_releasesOldAndReservesNew() {
+    final NavigableSet<LocalDate> n = nights(D1);
+    when(invRepo.reserveOneIfAvailable(eq(HOTEL_ID), eq(TYPE_ID),
+        anyCollection())).thenReturn(1);
+
+    strategy.apply(new InventoryNetChange(HOTEL_ID, 22L, n, TYPE_ID, 5, n));
+
+    verify(invRepo).releaseOne(HOTEL_ID, 22L, n);
+    verify(invRepo).reserveOneIfAvailable(HOTEL_ID, TYPE_ID, n);
+  }
+
+  @Test
+  @DisplayName("Empty change touches nothing")
+  void emptyChange_noop() {
+    strategy.apply(new InventoryNetChange(HOTEL_ID, null, null, null, 0,
+        null));
+    verifyNoMoreInteractions(invRepo);
+  }
+}
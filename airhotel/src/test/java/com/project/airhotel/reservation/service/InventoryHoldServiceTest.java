@@ -0,0 +1,179 @@
+package com.project.airhotel.reservation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.common.guard.EntityGuards;
+import com.project.airhotel.reservation.domain.InventoryHolds;
+import com.project.airhotel.reservation.domain.Reservations;
+import com.project.airhotel.reservation.dto.CreateHoldRequest;
+import com.project.airhotel.reservation.repository.InventoryHoldsRepository;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.service.AvailabilityLedger;
+import com.project.airhotel.room.service.InventoryRowSeeder;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for InventoryHoldService.
+ */
+@ExtendWith(MockitoExtension.class)
+class InventoryHoldServiceTest {
+
+  private static final LocalDate IN = LocalDate.now().plusDays(7);
+
+  @Mock
+  private InventoryHoldsRepository holdsRepository;
+  @Mock
+  private RoomTypeInventoryRepository invRepo;
+  @Mock
+  private InventoryRowSeeder rowSeeder;
+  @Mock
+  private EntityGuards entityGuards;
+  @Mock
+  private AvailabilityLedger ledger;
+
+  private InventoryHoldService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new InventoryHoldService(holdsRepository, invRepo, rowSeeder,
+        entityGuards, ledger, 600, 2);
+  }
+
+  private static CreateHoldRequest request() {
+    final CreateHoldRequest req = new CreateHoldRequest();
+    req.setHotelId(1L);
+    req.setRoomTypeId(11L);
+    req.setCheckInDate(IN);
+    req.setCheckOutDate(IN.plusDays(2));
+    return req;
+  }
+
+  private static InventoryHolds hold(final long id, final long roomTypeId,
+      final int nights) {
+    return InventoryHolds.builder().id(id).userId(9L).hotelId(1L)
+        .roomTypeId(roomTypeId).checkInDate(IN)
+        .checkOutDate(IN.plusDays(nights))
+        .expiresAt(LocalDateTime.now().minusMinutes(1)).build();
+  }
+
+  @Test
+  @DisplayName("createHold blocks every night and stores the hold")
+  void createHold_blocksNights() {
+    final RoomTypes rt = new RoomTypes();
+    rt.setTotalRooms(5);
+    when(entityGuards.getRoomTypeInHotelOrThrow(1L, 11L)).thenReturn(rt);
+    when(invRepo.blockOneIfAvailable(eq(1L), eq(11L), anyCollection()))
+        .thenReturn(2);
+    when(holdsRepository.save(any(InventoryHolds.class))).thenAnswer(inv -> {
+      final InventoryHolds h = inv.getArgument(0);
+      h.setId(42L);
+      return h;
+    });
+
+    final var out = service.createHold(9L, request());
+
+    assertEquals(42L, out.getId());
+    assertEquals(IN.plusDays(2), out.getCheckOutDate());
+    final long remaining = Duration.between(Instant.now(), out.getExpiresAt())
+        .toSeconds();
+    assertTrue(remaining > 590 && remaining <= 600);
+    verify(ledger).writeThrough(eq(1L), any());
+  }
+
+  @Test
+  @DisplayName("createHold on a sold-out night throws and stores nothing")
+  void createHold_soldOut() {
+    final RoomTypes rt = new RoomTypes();
+    rt.setTotalRooms(5);
+    when(entityGuards.getRoomTypeInHotelOrThrow(1L, 11L)).thenReturn(rt);
+    when(invRepo.blockOneIfAvailable(eq(1L), eq(11L), anyCollection()))
+        .thenReturn(1);
+
+    assertThrows(BadRequestException.class,
+        () -> service.createHold(9L, request()));
+    verify(holdsRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("createHold beyond the per-user limit throws")
+  void createHold_limit() {
+    when(entityGuards.getRoomTypeInHotelOrThrow(1L, 11L))
+        .thenReturn(new RoomTypes());
+    when(holdsRepository.countByUserIdAndExpiresAtAfter(eq(9L), any()))
+        .thenReturn(2L);
+
+    assertThrows(BadRequestException.class,
+        () -> service.createHold(9L, request()));
+    verify(invRepo, never()).blockOneIfAvailable(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("convert claims a matching hold and moves blocked to reserved")
+  void convert_matchingHold() {
+    when(holdsRepository.findByIdAndUserId(42L, 9L))
+        .thenReturn(Optional.of(hold(42L, 11L, 2)));
+    when(holdsRepository.claim(42L)).thenReturn(1);
+    when(invRepo.convertBlockedToReserved(eq(1L), eq(11L), anyCollection()))
+        .thenReturn(2);
+    final Reservations r = Reservations.builder().hotelId(1L).roomTypeId(11L)
+        .checkInDate(IN).checkOutDate(IN.plusDays(2)).build();
+
+    assertTrue(service.convert(9L, 42L, r));
+  }
+
+  @Test
+  @DisplayName("convert of a reaped hold returns false; a mismatched hold "
+      + "throws")
+  void convert_goneOrMismatched() {
+    final Reservations r = Reservations.builder().hotelId(1L).roomTypeId(11L)
+        .checkInDate(IN).checkOutDate(IN.plusDays(3)).build();
+    when(holdsRepository.findByIdAndUserId(anyLong(), eq(9L)))
+        .thenReturn(Optional.empty())
+        .thenReturn(Optional.of(hold(42L, 11L, 2)));
+
+    assertFalse(service.convert(9L, 41L, r));
+    assertThrows(BadRequestException.class, () -> service.convert(9L, 42L, r));
+    verify(holdsRepository, never()).claim(anyLong());
+  }
+
+  @Test
+  @DisplayName("reapExpired deletes the batch and unblocks summed counts per "
+      + "room type")
+  void reapExpired_aggregates() {
+    when(holdsRepository.findExpiredForUpdate(any(), any())).thenReturn(
+        List.of(hold(1L, 11L, 2), hold(2L, 11L, 1), hold(3L, 12L, 1)));
+
+    assertEquals(3, service.reapExpired(LocalDateTime.now(), 10));
+
+    verify(holdsRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+    verify(invRepo).unblockCounts(1L, 11L,
+        new TreeMap<>(Map.of(IN, 2, IN.plusDays(1), 1)));
+    verify(invRepo).unblockCounts(1L, 12L, new TreeMap<>(Map.of(IN, 1)));
+    verify(ledger).writeThrough(eq(1L), any());
+  }
+}
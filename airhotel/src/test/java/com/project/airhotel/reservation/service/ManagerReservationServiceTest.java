@@ -7,8 +7,10 @@ import static com.project.airhotel.reservation.domain.enums.ReservationStatus.CO
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.any;
@@ -24,12 +26,16 @@ import static org.mockito.Mockito.when;
 
 import com.project.airhotel.common.exception.BadRequestException;
 import com.project.airhotel.common.exception.NotFoundException;
+import com.project.airhotel.common.retry.LockRetryExecutor;
 import com.project.airhotel.common.guard.EntityGuards;
 import com.project.airhotel.reservation.domain.Reservations;
 import com.project.airhotel.reservation.domain.enums.ReservationStatus;
 import com.project.airhotel.reservation.domain.enums.UpgradeStatus;
 import com.project.airhotel.reservation.dto.ApplyUpgradeRequest;
+import com.project.airhotel.reservation.dto.ReservationListItem;
+import com.project.airhotel.reservation.dto.ReservationPage;
 import com.project.airhotel.reservation.dto.ReservationUpdateRequest;
+import com.project.airhotel.reservation.dto.StayWindow;
 import com.project.airhotel.reservation.repository.ReservationsRepository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -40,7 +46,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 /**
  * Unit tests for ManagerReservationService. Each test states which method & which branch is being
@@ -58,6 +66,9 @@ class ManagerReservationServiceTest {
   @Mock
   ReservationOrchestrator orchestrator;
 
+  @Spy
+  private LockRetryExecutor lockRetry = new LockRetryExecutor(3, 0, 0);
+
   @InjectMocks
   ManagerReservationService service;
 
@@ -80,58 +91,155 @@ class ManagerReservationServiceTest {
 
   // ========================== listReservations ==========================
 
+  private static ReservationListItem item(final long id, final LocalDate checkIn) {
+    final ReservationListItem item = new ReservationListItem();
+    item.setId(id);
+    item.setCheckInDate(checkIn);
+    return item;
+  }
+
   @Test
-  @DisplayName("listReservations → status + dates")
+  @DisplayName("listReservations → status + dates, last page has no cursor")
   void listReservations_statusAndDates() {
-    final var expected = List.of(baseRes());
+    final var rows = List.of(item(100L, LocalDate.of(2025, 10, 20)));
     doNothing().when(entityGuards).ensureHotelExists(1L);
-    when(reservationsRepository.findByHotelIdAndStatusAndStayRange(1L, CONFIRMED,
-        LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 31))).thenReturn(expected);
+    when(reservationsRepository.findPageByHotelId(1L, CONFIRMED,
+        LocalDate.of(2025, 10, 1), null, null, LocalDate.of(2025, 11, 1),
+        null, null,
+        PageRequest.ofSize(ManagerReservationService.DEFAULT_PAGE_SIZE + 1)))
+        .thenReturn(rows);
 
-    final var out = service.listReservations(1L, CONFIRMED,
-        LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 31));
+    final ReservationPage out = service.listReservations(1L, CONFIRMED, null,
+        LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 31), null, null);
 
-    assertEquals(expected, out);
+    assertEquals(rows, out.getItems());
+    assertNull(out.getNextCursor());
   }
 
   @Test
-  @DisplayName("listReservations → dates only")
-  void listReservations_datesOnly() {
-    final var expected = List.of(baseRes());
+  @DisplayName("listReservations → only one date bound is ignored")
+  void listReservations_singleDateIgnored() {
     doNothing().when(entityGuards).ensureHotelExists(1L);
-    when(reservationsRepository.findByHotelIdAndStayRange(1L,
-        LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 31)))
-        .thenReturn(expected);
+    when(reservationsRepository.findPageByHotelId(eq(1L), eq(null), eq(null),
+        eq(null), eq(null), eq(null), eq(null), eq(null), any()))
+        .thenReturn(List.of());
 
-    final var out = service.listReservations(1L, null,
-        LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 31));
+    final ReservationPage out = service.listReservations(1L, null,
+        StayWindow.Mode.OVERLAPPING, LocalDate.of(2025, 10, 1), null, null,
+        null);
 
-    assertEquals(expected, out);
+    assertTrue(out.getItems().isEmpty());
   }
 
   @Test
-  @DisplayName("listReservations → status only")
-  void listReservations_statusOnly() {
-    final var expected = List.of(baseRes());
+  @DisplayName("listReservations → full page returns a cursor that resumes after its last row")
+  void listReservations_fullPage_thenCursor() {
+    final LocalDate d1 = LocalDate.of(2025, 10, 20);
+    final LocalDate d2 = LocalDate.of(2025, 10, 21);
     doNothing().when(entityGuards).ensureHotelExists(1L);
-    when(reservationsRepository.findByHotelIdAndStatus(1L, CHECKED_IN))
-        .thenReturn(expected);
+    when(reservationsRepository.findPageByHotelId(1L, null, null, null, null,
+        null, null, null, PageRequest.ofSize(3)))
+        .thenReturn(List.of(item(5L, d1), item(7L, d1), item(2L, d2)));
+
+    final ReservationPage first = service.listReservations(1L, null, null,
+        null, null, null, 2);
 
-    final var out = service.listReservations(1L, CHECKED_IN, null, null);
+    assertEquals(2, first.getItems().size());
+    assertNotNull(first.getNextCursor());
 
-    assertEquals(expected, out);
+    when(reservationsRepository.findPageByHotelId(1L, null, null, null, null,
+        null, d1, 7L, PageRequest.ofSize(3))).thenReturn(List.of(item(2L, d2)));
+
+    final ReservationPage second = service.listReservations(1L, null, null,
+        null, null, first.getNextCursor(), 2);
+
+    assertEquals(List.of(item(2L, d2)), second.getItems());
+    assertNull(second.getNextCursor());
   }
 
   @Test
-  @DisplayName("listReservations → none (fallback)")
-  void listReservations_none() {
-    final var expected = List.of(baseRes());
+  @DisplayName("listReservations → departures are paged by check-out date then id")
+  void listReservations_departures_byCheckOut() {
+    final LocalDate day = LocalDate.of(2025, 10, 1);
+    final ReservationListItem early = item(9L, day.minusDays(3));
+    early.setCheckOutDate(day);
+    final ReservationListItem late = item(4L, day.minusDays(1));
+    late.setCheckOutDate(day);
     doNothing().when(entityGuards).ensureHotelExists(1L);
-    when(reservationsRepository.findByHotelId(1L)).thenReturn(expected);
+    when(reservationsRepository.findDeparturePageByHotelId(1L, null, day,
+        day.plusDays(1), null, null, PageRequest.ofSize(2)))
+        .thenReturn(List.of(late, early));
+    when(reservationsRepository.findDeparturePageByHotelId(1L, null, day,
+        day.plusDays(1), day, 4L, PageRequest.ofSize(2)))
+        .thenReturn(List.of(early));
+
+    final ReservationPage first = service.listReservations(1L, null,
+        StayWindow.Mode.DEPARTURES, day, day, null, 1);
+    final ReservationPage second = service.listReservations(1L, null,
+        StayWindow.Mode.DEPARTURES, day, day, first.getNextCursor(), 1);
+
+    assertEquals(List.of(late), first.getItems());
+    assertEquals(List.of(early), second.getItems());
+    assertNull(second.getNextCursor());
+    verify(reservationsRepository, never()).findPageByHotelId(any(), any(),
+        any(), any(), any(), any(), any(), any(), any());
+  }
 
-    final var out = service.listReservations(1L, null, null, null);
+  @Test
+  @DisplayName("listReservations → limit above the cap is clamped")
+  void listReservations_limitCapped() {
+    doNothing().when(entityGuards).ensureHotelExists(1L);
+    when(reservationsRepository.findPageByHotelId(1L, null, null, null, null,
+        null, null, null, PageRequest.ofSize(ManagerReservationService.MAX_PAGE_SIZE + 1)))
+        .thenReturn(List.of());
+
+    final ReservationPage out = service.listReservations(1L, null, null, null,
+        null, null, 100_000);
 
-    assertEquals(expected, out);
+    assertTrue(out.getItems().isEmpty());
+  }
+
+  @Test
+  @DisplayName("listReservations → overlapping mode bounds check-in by the longest stay")
+  void listReservations_overlapping() {
+    doNothing().when(entityGuards).ensureHotelExists(1L);
+    when(reservationsRepository.findMaxNightsByHotelId(1L)).thenReturn(7);
+    when(reservationsRepository.findPageByHotelId(eq(1L), eq(null),
+        eq(LocalDate.of(2025, 9, 25)), eq(LocalDate.of(2025, 10, 2)),
+        eq(LocalDate.of(2025, 10, 2)), eq(null), eq(null), eq(null), any()))
+        .thenReturn(List.of());
+
+    final ReservationPage out = service.listReservations(1L, null,
+        StayWindow.Mode.OVERLAPPING, LocalDate.of(2025, 10, 1),
+        LocalDate.of(2025, 10, 1), null, null);
+
+    assertTrue(out.getItems().isEmpty());
+  }
+
+  @Test
+  @DisplayName("listReservations → start after end is rejected")
+  void listReservations_invertedRange() {
+    doNothing().when(entityGuards).ensureHotelExists(1L);
+
+    assertThrows(BadRequestException.class,
+        () -> service.listReservations(1L, null, StayWindow.Mode.ARRIVALS,
+            LocalDate.of(2025, 10, 2), LocalDate.of(2025, 10, 1), null,
+            null));
+    verifyNoInteractions(reservationsRepository);
+  }
+
+  @Test
+  @DisplayName("listReservations → non-positive limit or malformed cursor is rejected")
+  void listReservations_invalidPaging() {
+    doNothing().when(entityGuards).ensureHotelExists(1L);
+
+    assertThrows(BadRequestException.class,
+        () -> service.listReservations(1L, null, null, null, null, null,
+            0));
+    assertThrows(BadRequestException.class,
+        () -> service.listReservations(1L, null, null, null, null, "%%%",
+            null));
+    verifyNoInteractions(reservationsRepository);
   }
 
   @Test
@@ -141,8 +249,8 @@ class ManagerReservationServiceTest {
         .when(entityGuards).ensureHotelExists(99L);
 
     assertThrows(NotFoundException.class,
-        () -> service.listReservations(99L, null, null, null));
-
+        () -> service.listReservations(99L, null, null, null, null, null,
+            null));
     verifyNoInteractions(reservationsRepository);
   }
 
@@ -23,6 +23,8 @@ import com.project.airhotel.room.domain.enums.RoomStatus;
 import com.project.airhotel.room.dto.RoomUpdateRequest;
 import com.project.airhotel.room.dto.RoomsCreateRequest;
 import com.project.airhotel.room.repository.RoomsRepository;
+import com.project.airhotel.room.service.InventoryBlockService;
+import com.project.airhotel.room.service.InventoryCapacityService;
 import com.project.airhotel.room.service.ManagerRoomService;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
@@ -45,6 +47,12 @@ class ManagerRoomServiceTest {
   @Mock
   EntityGuards entityGuards;
 
+  @Mock
+  InventoryBlockService inventoryBlockService;
+
+  @Mock
+  InventoryCapacityService capacityService;
+
   @InjectMocks
   ManagerRoomService service;
 
@@ -171,6 +179,7 @@ class ManagerRoomServiceTest {
         "Default status " + "should be 'available'");
 
     assertSame(saved, out);
+    verify(capacityService).roomAdded(hotelId, 11L);
   }
 
   @Test
@@ -249,6 +258,7 @@ class ManagerRoomServiceTest {
     verify(entityGuards, times(1))
         .ensureRoomTypeInHotelOrThrow(hotelId, 22L);
     verify(roomsRepository, times(1)).save(r);
+    verify(capacityService).roomMoved(hotelId, 11L, 22L);
   }
 
   @Test
@@ -314,6 +324,59 @@ class ManagerRoomServiceTest {
     assertEquals(8, r.getFloor());
     assertEquals(RoomStatus.AVAILABLE, r.getStatus());
     verify(roomsRepository, times(1)).save(r);
+    verifyNoInteractions(capacityService);
+  }
+
+  @Test
+  @DisplayName("updateRoom → branch: room goes out of order (blocks one room "
+      + "of its type)")
+  void updateRoom_toMaintenance_blocks() {
+    final Rooms r = baseRoom();
+    when(entityGuards.getRoomInHotelOrThrow(1L, 100L)).thenReturn(r);
+    final RoomUpdateRequest req = mock(RoomUpdateRequest.class);
+    when(req.getStatus()).thenReturn(RoomStatus.MAINTENANCE);
+    when(roomsRepository.save(r)).thenReturn(r);
+
+    service.updateRoom(1L, 100L, req);
+
+    verify(inventoryBlockService).blockOutOfOrderRoom(1L, 11L);
+    verify(inventoryBlockService, never()).releaseOutOfOrderRoom(any(),
+        any());
+  }
+
+  @Test
+  @DisplayName("updateRoom → branch: out-of-order room back in service "
+      + "(releases its blocked room)")
+  void updateRoom_backToAvailable_releases() {
+    final Rooms r = baseRoom();
+    r.setStatus(RoomStatus.OUT_OF_SERVICE);
+    when(entityGuards.getRoomInHotelOrThrow(1L, 100L)).thenReturn(r);
+    final RoomUpdateRequest req = mock(RoomUpdateRequest.class);
+    when(req.getStatus()).thenReturn(RoomStatus.AVAILABLE);
+    when(roomsRepository.save(r)).thenReturn(r);
+
+    service.updateRoom(1L, 100L, req);
+
+    verify(inventoryBlockService).releaseOutOfOrderRoom(1L, 11L);
+    verify(inventoryBlockService, never()).blockOutOfOrderRoom(any(), any());
+  }
+
+  @Test
+  @DisplayName("updateRoom → branch: out-of-order room changes type (moves "
+      + "the blocked room)")
+  void updateRoom_outOfOrderChangesType_movesBlock() {
+    final Rooms r = baseRoom();
+    r.setStatus(RoomStatus.MAINTENANCE);
+    when(entityGuards.getRoomInHotelOrThrow(1L, 100L)).thenReturn(r);
+    final RoomUpdateRequest req = mock(RoomUpdateRequest.class);
+    when(req.getRoomTypeId()).thenReturn(22L);
+    when(req.getStatus()).thenReturn(RoomStatus.OUT_OF_SERVICE);
+    when(roomsRepository.save(r)).thenReturn(r);
+
+    service.updateRoom(1L, 100L, req);
+
+    verify(inventoryBlockService).releaseOutOfOrderRoom(1L, 11L);
+    verify(inventoryBlockService).blockOutOfOrderRoom(1L, 22L);
   }
 
   @Test
@@ -373,6 +436,22 @@ class ManagerRoomServiceTest {
     verify(entityGuards, times(1))
         .getRoomInHotelOrThrow(hotelId, roomId);
     verify(roomsRepository, times(1)).deleteById(100L);
+    verify(capacityService).roomRemoved(hotelId, 11L);
+    verifyNoInteractions(inventoryBlockService);
+  }
+
+  @Test
+  @DisplayName("deleteRoom → branch: out-of-order room (releases its blocked "
+      + "room)")
+  void deleteRoom_outOfOrder_releases() {
+    final Rooms r = baseRoom();
+    r.setStatus(RoomStatus.MAINTENANCE);
+    when(entityGuards.getRoomInHotelOrThrow(1L, 100L)).thenReturn(r);
+
+    service.deleteRoom(1L, 100L);
+
+    verify(roomsRepository).deleteById(100L);
+    verify(inventoryBlockService).releaseOutOfOrderRoom(1L, 11L);
   }
 
   @Test
@@ -0,0 +1,168 @@
+package com.project.airhotel.reservation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.common.exception.NotFoundException;
+import com.project.airhotel.common.guard.EntityGuards;
+import com.project.airhotel.reservation.domain.enums.ReservationStatus;
+import com.project.airhotel.reservation.domain.enums.UpgradeStatus;
+import com.project.airhotel.reservation.dto.ReservationListItem;
+import com.project.airhotel.reservation.dto.StayWindow;
+import com.project.airhotel.reservation.repository.ReservationsRepository;
+import com.project.airhotel.reservation.service.ReservationExportService.ExportFormat;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Unit tests for ReservationExportService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReservationExportServiceTest {
+
+  private static final LocalDate CHECK_IN = LocalDate.of(2030, 4, 1);
+
+  @Mock
+  private EntityGuards entityGuards;
+
+  @Mock
+  private ReservationsRepository reservationsRepository;
+
+  private ReservationExportService service;
+
+  @BeforeEach
+  void setUp() {
+    final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    service = new ReservationExportService(entityGuards,
+        reservationsRepository, mapper);
+  }
+
+  private static final PageRequest BATCH =
+      PageRequest.ofSize(ReservationExportService.BATCH_SIZE);
+
+  private static ReservationListItem item() {
+    return item("USD");
+  }
+
+  private static ReservationListItem item(final String currency) {
+    return new ReservationListItem(5L, 9L, 11L, null,
+        ReservationStatus.CONFIRMED, UpgradeStatus.NOT_ELIGIBLE, CHECK_IN,
+        CHECK_IN.plusDays(2), 2, 2, currency, new BigDecimal("240.00"),
+        LocalDateTime.of(2030, 1, 2, 3, 4, 5));
+  }
+
+  @Test
+  @DisplayName("CSV export writes a header and one row per reservation")
+  void export_csv() throws Exception {
+    when(reservationsRepository.findPageByHotelId(1L, null, CHECK_IN, null,
+        null, CHECK_IN.plusDays(8), null, null, BATCH))
+        .thenReturn(List.of(item()));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    final long rows = service.export(1L, null, null, CHECK_IN,
+        CHECK_IN.plusDays(7), ExportFormat.CSV, out);
+
+    assertEquals(1L, rows);
+    assertEquals(ReservationExportService.CSV_HEADER + "\r\n"
+            + "5,9,11,,CONFIRMED,NOT_ELIGIBLE,2030-04-01,2030-04-03,2,2,USD,"
+            + "240.00,2030-01-02T03:04:05\r\n",
+        out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @DisplayName("CSV fields with a comma, quote or line break are quoted as in "
+      + "RFC 4180")
+  void export_csv_quotesSpecialCharacters() throws Exception {
+    when(reservationsRepository.findPageByHotelId(1L, null, null, null, null,
+        null, null, null, BATCH))
+        .thenReturn(List.of(item("U,S\"D\nX")));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    service.export(1L, null, null, null, null, ExportFormat.CSV, out);
+
+    assertTrue(out.toString(StandardCharsets.UTF_8)
+        .contains(",2,2,\"U,S\"\"D\nX\",240.00,"));
+    assertEquals("", ReservationExportService.cell(null));
+    assertEquals("USD", ReservationExportService.cell("USD"));
+    assertEquals("\"a\rb\"", ReservationExportService.cell("a\rb"));
+  }
+
+  @Test
+  @DisplayName("Export reads full batches by keyset until a short batch")
+  void export_readsInBatches() throws Exception {
+    when(reservationsRepository.findPageByHotelId(1L, null, null, null, null,
+        null, null, null, BATCH))
+        .thenReturn(Collections.nCopies(ReservationExportService.BATCH_SIZE,
+            item()));
+    when(reservationsRepository.findPageByHotelId(1L, null, null, null, null,
+        null, CHECK_IN, 5L, BATCH))
+        .thenReturn(List.of());
+
+    final long rows = service.export(1L, null, null, null, null,
+        ExportFormat.NDJSON, new ByteArrayOutputStream());
+
+    assertEquals(ReservationExportService.BATCH_SIZE, rows);
+    verify(reservationsRepository).findPageByHotelId(1L, null, null, null,
+        null, null, CHECK_IN, 5L, BATCH);
+  }
+
+  @Test
+  @DisplayName("NDJSON export writes one JSON object per line; a single date "
+      + "bound is ignored")
+  void export_ndjson() throws Exception {
+    when(reservationsRepository.findPageByHotelId(1L,
+        ReservationStatus.CONFIRMED, null, null, null, null, null, null,
+        BATCH))
+        .thenReturn(List.of(item(), item()));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    final long rows = service.export(1L, ReservationStatus.CONFIRMED,
+        StayWindow.Mode.DEPARTURES, CHECK_IN, null, ExportFormat.NDJSON, out);
+
+    assertEquals(2L, rows);
+    final String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(lines[0].startsWith("{\"id\":5,"));
+    assertTrue(lines[0].contains("\"checkInDate\":\"2030-04-01\""));
+  }
+
+  @Test
+  @DisplayName("Unknown hotel fails before anything is read")
+  void export_hotelNotFound() {
+    doThrow(new NotFoundException("Hotel does not exist: 9"))
+        .when(entityGuards).ensureHotelExists(9L);
+
+    assertThrows(NotFoundException.class, () -> service.export(9L, null, null,
+        null, null, ExportFormat.CSV, new ByteArrayOutputStream()));
+    verifyNoInteractions(reservationsRepository);
+  }
+
+  @Test
+  @DisplayName("Formats parse case-insensitively and reject unknown names")
+  void format_parse() {
+    assertEquals(ExportFormat.CSV, ExportFormat.parse("csv"));
+    assertEquals(ExportFormat.NDJSON, ExportFormat.parse(" NDJSON "));
+    assertThrows(BadRequestException.class, () -> ExportFormat.parse("xml"));
+  }
+}
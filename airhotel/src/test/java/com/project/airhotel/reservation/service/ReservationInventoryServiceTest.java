@@ -6,9 +6,12 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyCollection;
+import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyList;
-import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -16,18 +19,28 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.common.guard.EntityGuards;
+import com.project.airhotel.hotel.repository.HotelsRepository;
+import com.project.airhotel.reservation.repository.ReservationsRepository;
 import com.project.airhotel.room.domain.RoomTypeInventory;
 import com.project.airhotel.room.domain.RoomTypes;
 import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
 import com.project.airhotel.room.repository.RoomTypesRepository;
+import com.project.airhotel.room.repository.RoomsRepository;
+import com.project.airhotel.room.service.AvailabilityLedger;
+import com.project.airhotel.room.service.InventoryRowSeeder;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -44,9 +57,22 @@ class ReservationInventoryServiceTest {
   private RoomTypeInventoryRepository invRepo;
   @Mock
   private RoomTypesRepository roomTypesRepo;
-  @InjectMocks
+  @Mock
+  private AvailabilityLedger ledger;
   private ReservationInventoryService service;
 
+  @BeforeEach
+  void setUp() {
+    final RoomsRepository roomsRepo = mock(RoomsRepository.class);
+    final EntityGuards guards = new EntityGuards(mock(HotelsRepository.class),
+        roomTypesRepo, mock(ReservationsRepository.class), roomsRepo);
+    final InventoryRowSeeder rowSeeder = new InventoryRowSeeder(invRepo,
+        roomsRepo);
+    service = new ReservationInventoryService(guards,
+        new PessimisticInventoryStrategy(invRepo, rowSeeder), ledger, invRepo,
+        rowSeeder);
+  }
+
   private RoomTypeInventory inv(final int total, final int reserved,
       final int blocked) {
     final RoomTypeInventory i = new RoomTypeInventory();
@@ -156,22 +182,25 @@ class ReservationInventoryServiceTest {
     when(roomTypesRepo.findById(ROOM_TYPE_ID)).thenReturn(
         Optional.of(roomType(HOTEL_ID, ROOM_TYPE_ID, 10)));
 
-    // precheck calls getOrInitInventoryRow → we simulate existing row with
-    // no availability
+    // the range lock returns an existing row with no availability
     final RoomTypeInventory existing = inv(10, 10, 0);
-    when(invRepo.findForUpdate(HOTEL_ID, ROOM_TYPE_ID, in)).thenReturn(Optional.of(existing));
+    existing.setStayDate(in);
+    when(invRepo.findRangeForUpdate(HOTEL_ID, ROOM_TYPE_ID, in, in))
+        .thenReturn(List.of(existing));
 
     final BadRequestException ex = assertThrows(BadRequestException.class,
         () -> service.applyRangeChangeOrThrow(HOTEL_ID, null, null, null,
             ROOM_TYPE_ID, in, out));
     assertTrue(ex.getMessage().contains("No availability"));
 
+    verify(invRepo, never()).insertMissingRows(any(), any(), anyInt(),
+        anyInt(), anyCollection());
     verify(invRepo, never()).saveAll(anyList());
   }
 
   @Test
   @DisplayName("applyRangeChangeOrThrow → init new rows for 2 nights → "
-      + "reserved++ and saved")
+      + "one batch insert, reserved++ and saved")
   void apply_initNew_twoNights_success() {
     final LocalDate in = LocalDate.now();
     final LocalDate d2 = in.plusDays(1);
@@ -179,15 +208,24 @@ class ReservationInventoryServiceTest {
 
     when(roomTypesRepo.findById(ROOM_TYPE_ID)).thenReturn(
         Optional.of(roomType(HOTEL_ID, ROOM_TYPE_ID, 4)));
-    // both days missing initially
-    when(invRepo.findForUpdate(HOTEL_ID, ROOM_TYPE_ID, in)).thenReturn(Optional.empty());
-    when(invRepo.findForUpdate(HOTEL_ID, ROOM_TYPE_ID, d2)).thenReturn(Optional.empty());
-    // invRepo.save used for initialization
-    when(invRepo.save(any(RoomTypeInventory.class))).thenAnswer(inv -> inv.getArgument(0));
+    // both days missing initially, present after the batch insert
+    final RoomTypeInventory r1 = inv(4, 0, 0);
+    r1.setStayDate(in);
+    final RoomTypeInventory r2 = inv(4, 0, 0);
+    r2.setStayDate(d2);
+    when(invRepo.findRangeForUpdate(HOTEL_ID, ROOM_TYPE_ID, in, d2))
+        .thenReturn(List.of())
+        .thenReturn(List.of(r1, r2));
 
     service.applyRangeChangeOrThrow(HOTEL_ID, null, null, null, ROOM_TYPE_ID,
         in, out);
 
+    verify(invRepo).insertMissingRows(HOTEL_ID, ROOM_TYPE_ID, 4, 0,
+        List.of(in, d2));
+    verify(invRepo, times(2)).findRangeForUpdate(HOTEL_ID, ROOM_TYPE_ID, in,
+        d2);
+    verify(invRepo, never()).findForUpdate(any(), any(), any());
+
     @SuppressWarnings("unchecked")
     final ArgumentCaptor<List<RoomTypeInventory>> cap = ArgumentCaptor.forClass(List.class);
     verify(invRepo).saveAll(cap.capture());
@@ -199,19 +237,19 @@ class ReservationInventoryServiceTest {
       assertEquals(4, row.getTotal());
     });
 
-    // Do not assert exact times() on roomTypesRepo.findById due to internal
-    // reuse; at least once is fine.
+    // The room type is resolved once while normalizing the range.
     verify(roomTypesRepo, atLeastOnce()).findById(ROOM_TYPE_ID);
   }
 
   @Test
   @DisplayName("applyRangeChangeOrThrow → mixed old remove + new add over 2 "
-      + "nights")
+      + "nights uses one locked span")
   void apply_mixed_remove_and_add() {
     final LocalDate inOld = LocalDate.now();
     final LocalDate outOld = inOld.plusDays(2); // [d0, d1]
     final LocalDate inNew = inOld.plusDays(1);
     final LocalDate outNew = inOld.plusDays(3); // [d1, d2]
+    final LocalDate d2 = inOld.plusDays(2);
 
     when(roomTypesRepo.findById(ROOM_TYPE_ID))
         .thenReturn(Optional.of(roomType(HOTEL_ID, ROOM_TYPE_ID, 5)));
@@ -220,33 +258,35 @@ class ReservationInventoryServiceTest {
     d0.setStayDate(inOld);
     final RoomTypeInventory d1 = inv(5, 1, 0);
     d1.setStayDate(inOld.plusDays(1));
-    when(invRepo.findForUpdate(HOTEL_ID, ROOM_TYPE_ID, inOld)).thenReturn(Optional.of(d0));
-
-    final LocalDate d2 = inOld.plusDays(2);
-    when(invRepo.findForUpdate(HOTEL_ID, ROOM_TYPE_ID, d2)).thenReturn(Optional.empty());
-    when(invRepo.save(any(RoomTypeInventory.class))).thenAnswer(inv -> inv.getArgument(0));
+    final RoomTypeInventory added = inv(5, 0, 0);
+    added.setStayDate(d2);
+    when(invRepo.findRangeForUpdate(HOTEL_ID, ROOM_TYPE_ID, inOld, d2))
+        .thenReturn(List.of(d0, d1))
+        .thenReturn(List.of(d0, d1, added));
 
     service.applyRangeChangeOrThrow(HOTEL_ID,
         ROOM_TYPE_ID, inOld, outOld,
         ROOM_TYPE_ID, inNew, outNew);
 
-    final ArgumentCaptor<RoomTypeInventory> singleSaveCap =
-        ArgumentCaptor.forClass(RoomTypeInventory.class);
-    verify(invRepo, atLeast(1)).save(singleSaveCap.capture());
+    verify(invRepo).insertMissingRows(HOTEL_ID, ROOM_TYPE_ID, 5, 0,
+        List.of(d2));
 
-    final boolean foundD0Decrement =
-        singleSaveCap.getAllValues().stream().anyMatch(x ->
-            inOld.equals(x.getStayDate()) && x.getReserved() == 1 && x.getAvailable() == (5 - 1));
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<List<RoomTypeInventory>> saveAllCap = ArgumentCaptor.forClass(List.class);
+    verify(invRepo).saveAll(saveAllCap.capture());
+    final List<RoomTypeInventory> saved = saveAllCap.getValue();
+    assertEquals(2, saved.size());
+
+    final boolean foundD0Decrement = saved.stream().anyMatch(x ->
+        inOld.equals(x.getStayDate()) && x.getReserved() == 1 && x.getAvailable() == (5 - 1));
     assertTrue(foundD0Decrement, "Day0 should be decremented to reserved=1");
 
-    final boolean wroteD1 = singleSaveCap.getAllValues().stream()
+    final boolean wroteD1 = saved.stream()
         .anyMatch(x -> inOld.plusDays(1).equals(x.getStayDate()));
     assertFalse(wroteD1, "Day1 should be kept; no save should occur");
+    assertEquals(1, d1.getReserved());
 
-    @SuppressWarnings("unchecked")
-    final ArgumentCaptor<List<RoomTypeInventory>> saveAllCap = ArgumentCaptor.forClass(List.class);
-    verify(invRepo).saveAll(saveAllCap.capture());
-    final RoomTypeInventory addD2 = saveAllCap.getValue().stream()
+    final RoomTypeInventory addD2 = saved.stream()
         .filter(x -> d2.equals(x.getStayDate()))
         .findFirst().orElse(null);
     assertNotNull(addD2);
@@ -254,6 +294,76 @@ class ReservationInventoryServiceTest {
     assertEquals(4, addD2.getAvailable());
   }
 
+  @Test
+  @DisplayName("applyRangeChangeOrThrow → room type change locks old and new "
+      + "type ranges separately")
+  void apply_typeChange_locksBothTypes() {
+    final Long otherType = 12L;
+    final LocalDate in = LocalDate.now();
+    final LocalDate out = in.plusDays(1);
+
+    when(roomTypesRepo.findById(ROOM_TYPE_ID)).thenReturn(
+        Optional.of(roomType(HOTEL_ID, ROOM_TYPE_ID, 5)));
+    when(roomTypesRepo.findById(otherType)).thenReturn(
+        Optional.of(roomType(HOTEL_ID, otherType, 3)));
+
+    final RoomTypeInventory oldRow = inv(5, 1, 0);
+    oldRow.setStayDate(in);
+    final RoomTypeInventory newRow = inv(3, 0, 0);
+    newRow.setRoomTypeId(otherType);
+    newRow.setStayDate(in);
+    when(invRepo.findRangeForUpdate(HOTEL_ID, ROOM_TYPE_ID, in, in))
+        .thenReturn(List.of(oldRow));
+    when(invRepo.findRangeForUpdate(HOTEL_ID, otherType, in, in))
+        .thenReturn(List.of(newRow));
+
+    service.applyRangeChangeOrThrow(HOTEL_ID,
+        ROOM_TYPE_ID, in, out,
+        otherType, in, out);
+
+    assertEquals(0, oldRow.getReserved());
+    assertEquals(5, oldRow.getAvailable());
+    assertEquals(1, newRow.getReserved());
+    assertEquals(2, newRow.getAvailable());
+    verify(invRepo).saveAll(List.of(oldRow, newRow));
+    verify(invRepo, never()).insertMissingRows(any(), any(), anyInt(),
+        anyInt(), anyCollection());
+  }
+
+  @Test
+  @DisplayName("applyRangeChangeOrThrow → downgrade to a lower type id locks "
+      + "the lower type first")
+  void apply_typeChange_locksInRoomTypeIdOrder() {
+    final Long lowerType = 5L;
+    final LocalDate in = LocalDate.now();
+    final LocalDate out = in.plusDays(1);
+
+    when(roomTypesRepo.findById(ROOM_TYPE_ID)).thenReturn(
+        Optional.of(roomType(HOTEL_ID, ROOM_TYPE_ID, 5)));
+    when(roomTypesRepo.findById(lowerType)).thenReturn(
+        Optional.of(roomType(HOTEL_ID, lowerType, 3)));
+
+    final RoomTypeInventory oldRow = inv(5, 1, 0);
+    oldRow.setStayDate(in);
+    final RoomTypeInventory newRow = inv(3, 0, 0);
+    newRow.setRoomTypeId(lowerType);
+    newRow.setStayDate(in);
+    when(invRepo.findRangeForUpdate(HOTEL_ID, ROOM_TYPE_ID, in, in))
+        .thenReturn(List.of(oldRow));
+    when(invRepo.findRangeForUpdate(HOTEL_ID, lowerType, in, in))
+        .thenReturn(List.of(newRow));
+
+    service.applyRangeChangeOrThrow(HOTEL_ID,
+        ROOM_TYPE_ID, in, out,
+        lowerType, in, out);
+
+    final InOrder order = inOrder(invRepo);
+    order.verify(invRepo).findRangeForUpdate(HOTEL_ID, lowerType, in, in);
+    order.verify(invRepo).findRangeForUpdate(HOTEL_ID, ROOM_TYPE_ID, in, in);
+    assertEquals(0, oldRow.getReserved());
+    assertEquals(1, newRow.getReserved());
+  }
+
   // ================ Pure removals ================
 
   @Test
@@ -271,16 +381,17 @@ class ReservationInventoryServiceTest {
 
     when(roomTypesRepo.findById(ROOM_TYPE_ID)).thenReturn(
         Optional.of(roomType(HOTEL_ID, ROOM_TYPE_ID, 5)));
-    when(invRepo.findForUpdate(HOTEL_ID, ROOM_TYPE_ID, in)).thenReturn(Optional.of(day1));
-    when(invRepo.findForUpdate(HOTEL_ID, ROOM_TYPE_ID, d2)).thenReturn(Optional.of(day2));
+    when(invRepo.findRangeForUpdate(HOTEL_ID, ROOM_TYPE_ID, in, d2))
+        .thenReturn(List.of(day1, day2));
 
     service.applyRangeChangeOrThrow(HOTEL_ID, ROOM_TYPE_ID, in, out, null,
         null, null);
 
-    final ArgumentCaptor<RoomTypeInventory> cap =
-        ArgumentCaptor.forClass(RoomTypeInventory.class);
-    verify(invRepo, times(2)).save(cap.capture());
-    final List<RoomTypeInventory> saved = cap.getAllValues();
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<List<RoomTypeInventory>> cap = ArgumentCaptor.forClass(List.class);
+    verify(invRepo).saveAll(cap.capture());
+    final List<RoomTypeInventory> saved = cap.getValue();
+    assertEquals(2, saved.size());
 
     final RoomTypeInventory s1 =
         saved.stream().filter(x -> in.equals(x.getStayDate())).findFirst().orElseThrow();
@@ -291,6 +402,8 @@ class ReservationInventoryServiceTest {
         saved.stream().filter(x -> d2.equals(x.getStayDate())).findFirst().orElseThrow();
     assertEquals(0, s2.getReserved()); // already 0, stays 0
     assertEquals(2, s2.getAvailable()); // 2 - 0 - 0
+    verify(invRepo, never()).insertMissingRows(any(), any(), anyInt(),
+        anyInt(), anyCollection());
   }
 
   @Test
@@ -302,15 +415,16 @@ class ReservationInventoryServiceTest {
 
     when(roomTypesRepo.findById(ROOM_TYPE_ID)).thenReturn(
         Optional.of(roomType(HOTEL_ID, ROOM_TYPE_ID, 5)));
-    when(invRepo.findForUpdate(HOTEL_ID, ROOM_TYPE_ID, in)).thenReturn(Optional.empty());
-    when(invRepo.findForUpdate(HOTEL_ID, ROOM_TYPE_ID, in.plusDays(1))).thenReturn(
-        Optional.empty());
+    when(invRepo.findRangeForUpdate(HOTEL_ID, ROOM_TYPE_ID, in,
+        in.plusDays(1))).thenReturn(List.of());
 
     service.applyRangeChangeOrThrow(HOTEL_ID, ROOM_TYPE_ID, in, out, null,
         null, null);
 
     verify(invRepo, never()).save(any(RoomTypeInventory.class));
     verify(invRepo, never()).saveAll(anyList());
+    verify(invRepo, never()).insertMissingRows(any(), any(), anyInt(),
+        anyInt(), anyCollection());
   }
 
   @Test
@@ -332,4 +446,48 @@ class ReservationInventoryServiceTest {
     verifyNoInteractions(invRepo);
   }
 
+  // ================ reserveCountsOrThrow ================
+
+  @Test
+  @DisplayName("reserveCountsOrThrow → creates missing rows, reserves the "
+      + "counts and writes the ledger through")
+  void reserveCounts_happy() {
+    final LocalDate d = LocalDate.now().plusDays(3);
+    final NavigableMap<LocalDate, Integer> counts =
+        new TreeMap<>(Map.of(d, 4, d.plusDays(1), 2));
+    when(roomTypesRepo.findById(ROOM_TYPE_ID))
+        .thenReturn(Optional.of(roomType(HOTEL_ID, ROOM_TYPE_ID, 5)));
+    when(invRepo.reserveCountsIfAvailable(HOTEL_ID, ROOM_TYPE_ID, counts))
+        .thenReturn(List.of());
+
+    service.reserveCountsOrThrow(HOTEL_ID, Map.of(ROOM_TYPE_ID, counts));
+
+    final InOrder order = inOrder(invRepo, ledger);
+    order.verify(invRepo).insertMissingRows(HOTEL_ID, ROOM_TYPE_ID, 5, 0,
+        counts.keySet());
+    order.verify(invRepo).reserveCountsIfAvailable(HOTEL_ID, ROOM_TYPE_ID,
+        counts);
+    order.verify(ledger).writeThrough(HOTEL_ID,
+        Map.of(ROOM_TYPE_ID, counts.navigableKeySet()));
+  }
+
+  @Test
+  @DisplayName("reserveCountsOrThrow → a night without enough rooms throws "
+      + "and leaves the ledger alone")
+  void reserveCounts_soldOut_throws() {
+    final LocalDate d = LocalDate.now().plusDays(3);
+    final NavigableMap<LocalDate, Integer> counts =
+        new TreeMap<>(Map.of(d, 4, d.plusDays(1), 6));
+    when(roomTypesRepo.findById(ROOM_TYPE_ID))
+        .thenReturn(Optional.of(roomType(HOTEL_ID, ROOM_TYPE_ID, 5)));
+    when(invRepo.reserveCountsIfAvailable(HOTEL_ID, ROOM_TYPE_ID, counts))
+        .thenReturn(List.of(d.plusDays(1)));
+
+    final BadRequestException ex = assertThrows(BadRequestException.class,
+        () -> service.reserveCountsOrThrow(HOTEL_ID,
+            Map.of(ROOM_TYPE_ID, counts)));
+
+    assertTrue(ex.getMessage().contains(d.plusDays(1).toString()));
+    verifyNoInteractions(ledger);
+  }
 }
@@ -0,0 +1,115 @@
+package com.project.airhotel.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.project.airhotel.reservation.domain.Reservations;
+import com.project.airhotel.reservation.domain.ReservationsNightlyPrices;
+import com.project.airhotel.reservation.repository.ReservationsNightlyPricesRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for ReservationNightlyPriceService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReservationNightlyPriceServiceTest {
+
+  private static final LocalDate D1 = LocalDate.of(2026, 4, 1);
+  private static final LocalDate D2 = D1.plusDays(1);
+  private static final LocalDate D3 = D1.plusDays(2);
+
+  @Mock
+  private ReservationsNightlyPricesRepository repository;
+
+  @InjectMocks
+  private ReservationNightlyPriceService service;
+
+  private Reservations reservation() {
+    final Reservations r = new Reservations();
+    r.setId(5L);
+    r.setRoomTypeId(11L);
+    r.setCurrency("USD");
+    return r;
+  }
+
+  private ReservationsNightlyPrices row(final Long id, final LocalDate night,
+                                        final String price) {
+    return ReservationsNightlyPrices.builder()
+        .id(id)
+        .reservationId(5L)
+        .stayDate(night)
+        .roomTypeId(11L)
+        .price(new BigDecimal(price))
+        .currency("USD")
+        .build();
+  }
+
+  @Test
+  @DisplayName("snapshot → first booking inserts every night in one batch")
+  @SuppressWarnings("unchecked")
+  void snapshot_newReservation_insertsAll() {
+    when(repository.findByReservationIdOrderByStayDateAsc(5L)).thenReturn(List.of());
+
+    service.snapshot(reservation(), Map.of(D2, new BigDecimal("90.00"),
+        D1, new BigDecimal("80.00")));
+
+    final ArgumentCaptor<Collection<ReservationsNightlyPrices>> inserted =
+        ArgumentCaptor.forClass(Collection.class);
+    verify(repository).insertAll(inserted.capture());
+    assertThat(inserted.getValue())
+        .extracting(ReservationsNightlyPrices::getStayDate)
+        .containsExactly(D1, D2);
+    verify(repository).updateAll(List.of());
+    verify(repository, never()).deleteAllByIdInBatch(anyCollection());
+  }
+
+  @Test
+  @DisplayName("snapshot → modification writes only the nights that differ")
+  @SuppressWarnings("unchecked")
+  void snapshot_modification_diffsNights() {
+    when(repository.findByReservationIdOrderByStayDateAsc(5L)).thenReturn(List.of(
+        row(1L, D1, "80.00"), row(2L, D2, "90.00"), row(3L, D3, "95.00")));
+
+    service.snapshot(reservation(), Map.of(
+        D2, new BigDecimal("90.0"),
+        D3, new BigDecimal("99.00"),
+        D3.plusDays(1), new BigDecimal("99.00")));
+
+    verify(repository).deleteAllByIdInBatch(List.of(1L));
+    final ArgumentCaptor<Collection<ReservationsNightlyPrices>> updated =
+        ArgumentCaptor.forClass(Collection.class);
+    verify(repository).updateAll(updated.capture());
+    assertThat(updated.getValue()).extracting(ReservationsNightlyPrices::getId)
+        .containsExactly(3L);
+    final ArgumentCaptor<Collection<ReservationsNightlyPrices>> inserted =
+        ArgumentCaptor.forClass(Collection.class);
+    verify(repository).insertAll(inserted.capture());
+    assertThat(inserted.getValue())
+        .extracting(ReservationsNightlyPrices::getStayDate)
+        .containsExactly(D3.plusDays(1));
+  }
+
+  @Test
+  @DisplayName("snapshot → nothing priced means nothing written")
+  void snapshot_noPrices_noop() {
+    service.snapshot(reservation(), null);
+    service.snapshot(reservation(), Map.of());
+
+    verifyNoInteractions(repository);
+  }
+}
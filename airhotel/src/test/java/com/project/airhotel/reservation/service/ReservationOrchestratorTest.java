@@ -16,6 +16,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -26,11 +27,17 @@ import com.project.airhotel.reservation.domain.ReservationChange;
 import com.project.airhotel.reservation.domain.Reservations;
 import com.project.airhotel.reservation.domain.enums.ReservationStatus;
 import com.project.airhotel.reservation.dto.CreateReservationRequest;
+import com.project.airhotel.reservation.dto.GroupReservationRequest;
 import com.project.airhotel.reservation.policy.ReservationChangePolicy;
 import com.project.airhotel.reservation.repository.ReservationsRepository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -59,6 +66,10 @@ class ReservationOrchestratorTest {
   ReservationsRepository reservationsRepository;
   @Mock
   ReservationPricingService pricingService;
+  @Mock
+  ReservationNightlyPriceService nightlyPriceService;
+  @Mock
+  InventoryHoldService holdService;
 
   @InjectMocks
   ReservationOrchestrator orchestrator;
@@ -110,10 +121,12 @@ class ReservationOrchestratorTest {
         eq(in), eq(out));
 
     final BigDecimal expectedTotal = new BigDecimal("3200.00");
+    final Map<LocalDate, BigDecimal> nightly = Map.of(
+        in, new BigDecimal("1600.00"), in.plusDays(1), new BigDecimal("1600.00"));
     Mockito.lenient().doAnswer(inv -> {
       final Reservations r = inv.getArgument(0);
       r.setPriceTotal(expectedTotal);
-      return null;
+      return nightly;
     }).when(pricingService).recalcTotalPriceOrThrow(any(Reservations.class));
 
     when(reservationsRepository.save(any(Reservations.class)))
@@ -132,6 +145,58 @@ class ReservationOrchestratorTest {
 
     verify(nightsService).recalcNightsOrThrow(any(Reservations.class), eq(in), eq(out));
     verify(pricingService).recalcTotalPriceOrThrow(any(Reservations.class));
+    verify(nightlyPriceService).snapshot(saved, nightly);
+    verify(inventoryService).applyRangeChangeOrThrow(1L, null, null, null,
+        11L, in, out);
+  }
+
+  @Test
+  @DisplayName("createReservation → a live hold is converted instead of "
+      + "reserving inventory again")
+  void createReservation_convertsHold() {
+    final LocalDate in = LocalDate.now().plusDays(5);
+    final LocalDate out = in.plusDays(2);
+    final CreateReservationRequest req = new CreateReservationRequest();
+    req.setHotelId(1L);
+    req.setRoomTypeId(11L);
+    req.setNumGuests(2);
+    req.setCurrency("USD");
+    req.setCheckInDate(in);
+    req.setCheckOutDate(out);
+    req.setHoldId(42L);
+    stubNightsAndPricing();
+    when(holdService.convert(eq(9L), eq(42L), any(Reservations.class)))
+        .thenReturn(true);
+    when(reservationsRepository.save(any(Reservations.class)))
+        .thenAnswer(inv -> inv.getArgument(0));
+
+    orchestrator.createReservation(9L, req);
+
+    verifyNoInteractions(inventoryService);
+  }
+
+  @Test
+  @DisplayName("createReservation → a hold that is gone falls back to a "
+      + "regular booking")
+  void createReservation_holdGone_reserves() {
+    final LocalDate in = LocalDate.now().plusDays(5);
+    final LocalDate out = in.plusDays(2);
+    final CreateReservationRequest req = new CreateReservationRequest();
+    req.setHotelId(1L);
+    req.setRoomTypeId(11L);
+    req.setNumGuests(2);
+    req.setCurrency("USD");
+    req.setCheckInDate(in);
+    req.setCheckOutDate(out);
+    req.setHoldId(42L);
+    stubNightsAndPricing();
+    when(holdService.convert(eq(9L), eq(42L), any(Reservations.class)))
+        .thenReturn(false);
+    when(reservationsRepository.save(any(Reservations.class)))
+        .thenAnswer(inv -> inv.getArgument(0));
+
+    orchestrator.createReservation(9L, req);
+
     verify(inventoryService).applyRangeChangeOrThrow(1L, null, null, null,
         11L, in, out);
   }
@@ -160,6 +225,95 @@ class ReservationOrchestratorTest {
     verifyNoInteractions(inventoryService);
   }
 
+  // ===================== createGroupReservation =====================
+
+  private static GroupReservationRequest.Line line(final long roomTypeId,
+      final int quantity, final LocalDate in, final LocalDate out) {
+    final GroupReservationRequest.Line l = new GroupReservationRequest.Line();
+    l.setRoomTypeId(roomTypeId);
+    l.setQuantity(quantity);
+    l.setCheckInDate(in);
+    l.setCheckOutDate(out);
+    l.setNumGuests(2);
+    return l;
+  }
+
+  private void stubNightsAndPricing() {
+    Mockito.lenient().doAnswer(inv -> {
+      final Reservations r = inv.getArgument(0);
+      final LocalDate ci = inv.getArgument(1);
+      final LocalDate co = inv.getArgument(2);
+      r.setCheckInDate(ci);
+      r.setCheckOutDate(co);
+      r.setNights((int) (co.toEpochDay() - ci.toEpochDay()));
+      return r;
+    }).when(nightsService).recalcNightsOrThrow(any(Reservations.class),
+        any(LocalDate.class), any(LocalDate.class));
+    Mockito.lenient().doAnswer(inv -> {
+      final Reservations r = inv.getArgument(0);
+      final Map<LocalDate, BigDecimal> nightly = new LinkedHashMap<>();
+      for (LocalDate d = r.getCheckInDate(); d.isBefore(r.getCheckOutDate());
+          d = d.plusDays(1)) {
+        nightly.put(d, new BigDecimal("100.00"));
+      }
+      r.setPriceTotal(new BigDecimal(100 * nightly.size()));
+      return nightly;
+    }).when(pricingService).recalcTotalPriceOrThrow(any(Reservations.class));
+  }
+
+  @Test
+  @DisplayName("createGroupReservation → one reservation per room, counts "
+      + "aggregated per type and night, each stay priced once")
+  void createGroupReservation_aggregates() {
+    final LocalDate in = LocalDate.now().plusDays(10);
+    final GroupReservationRequest req = new GroupReservationRequest();
+    req.setHotelId(1L);
+    req.setCurrency("EUR");
+    req.setRooms(List.of(
+        line(11L, 3, in, in.plusDays(2)),
+        line(11L, 2, in.plusDays(1), in.plusDays(3)),
+        line(12L, 1, in, in.plusDays(2)),
+        line(11L, 1, in, in.plusDays(2))));
+    stubNightsAndPricing();
+
+    final List<Reservations> out = orchestrator.createGroupReservation(9L,
+        req);
+
+    assertEquals(7, out.size());
+    assertEquals("EUR", out.get(0).getCurrency());
+    assertEquals(new BigDecimal(200), out.get(6).getPriceTotal());
+    // Three distinct stays
+    verify(pricingService, times(3)).recalcTotalPriceOrThrow(
+        any(Reservations.class));
+    final Map<Long, NavigableMap<LocalDate, Integer>> counts = new TreeMap<>();
+    counts.put(11L, new TreeMap<>(Map.of(in, 4, in.plusDays(1), 6,
+        in.plusDays(2), 2)));
+    counts.put(12L, new TreeMap<>(Map.of(in, 1, in.plusDays(1), 1)));
+    final InOrder order = inOrder(inventoryService, reservationsRepository,
+        nightlyPriceService);
+    order.verify(inventoryService).reserveCountsOrThrow(1L, counts);
+    order.verify(reservationsRepository).insertAll(out);
+    order.verify(nightlyPriceService).snapshotNew(eq(out), any());
+  }
+
+  @Test
+  @DisplayName("createGroupReservation → too many rooms fails before "
+      + "inventory is touched")
+  void createGroupReservation_tooManyRooms() {
+    final LocalDate in = LocalDate.now().plusDays(10);
+    final GroupReservationRequest req = new GroupReservationRequest();
+    req.setHotelId(1L);
+    req.setCurrency("USD");
+    req.setRooms(List.of(
+        line(11L, GroupReservationRequest.MAX_ROOMS, in, in.plusDays(1)),
+        line(12L, 1, in, in.plusDays(1))));
+    stubNightsAndPricing();
+
+    assertThrows(BadRequestException.class,
+        () -> orchestrator.createGroupReservation(9L, req));
+    verifyNoInteractions(inventoryService, reservationsRepository);
+  }
+
   // ===================== cancel =====================
 
   @Test
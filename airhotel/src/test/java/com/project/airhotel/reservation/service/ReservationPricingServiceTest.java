@@ -4,25 +4,31 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.common.guard.EntityGuards;
+import com.project.airhotel.hotel.repository.HotelsRepository;
 import com.project.airhotel.reservation.domain.Reservations;
+import com.project.airhotel.reservation.repository.ReservationsRepository;
 import com.project.airhotel.room.domain.RoomTypeDailyPrice;
 import com.project.airhotel.room.domain.RoomTypes;
 import com.project.airhotel.room.repository.RoomTypeDailyPriceRepository;
 import com.project.airhotel.room.repository.RoomTypesRepository;
+import com.project.airhotel.room.repository.RoomsRepository;
+import com.project.airhotel.room.service.RateCalendarCache;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -38,9 +44,25 @@ class ReservationPricingServiceTest {
   @Mock
   private RoomTypesRepository roomTypesRepository;
 
-  @InjectMocks
+  @Mock
+  private RateCalendarCache rateCalendarCache;
+
   private ReservationPricingService pricingService;
 
+  @BeforeEach
+  void setUp() {
+    pricingService = service(ReservationPricingService.BaseRateMode.VIRTUAL);
+  }
+
+  private ReservationPricingService service(
+      final ReservationPricingService.BaseRateMode mode) {
+    final EntityGuards guards = new EntityGuards(mock(HotelsRepository.class),
+        roomTypesRepository, mock(ReservationsRepository.class),
+        mock(RoomsRepository.class));
+    return new ReservationPricingService(roomTypeDailyPriceRepository,
+        guards, rateCalendarCache, mode);
+  }
+
   private Reservations baseReservationWithDates(final LocalDate checkIn,
       final LocalDate checkOut) {
     final Reservations r = new Reservations();
@@ -106,6 +128,24 @@ class ReservationPricingServiceTest {
     verify(roomTypeDailyPriceRepository, never()).saveAll(anyList());
   }
 
+  @Test
+  @DisplayName("recalcTotalPriceOrThrow → cached calendar prices the stay without reading rows")
+  void recalcTotalPrice_cachedCalendar_skipsRepositories() {
+    final LocalDate checkIn = LocalDate.of(2026, 1, 6);
+    final LocalDate checkOut = LocalDate.of(2026, 1, 9);
+    final Reservations r = baseReservationWithDates(checkIn, checkOut);
+    final RateCalendarCache.RateCalendar calendar =
+        mock(RateCalendarCache.RateCalendar.class);
+    when(rateCalendarCache.find(2L, 3L)).thenReturn(calendar);
+    when(calendar.covers(checkIn, checkOut)).thenReturn(true);
+    when(calendar.total(checkIn, checkOut)).thenReturn(new BigDecimal("420.00"));
+
+    pricingService.recalcTotalPriceOrThrow(r);
+
+    assertEquals(new BigDecimal("420.00"), r.getPriceTotal());
+    verifyNoInteractions(roomTypesRepository, roomTypeDailyPriceRepository);
+  }
+
   @Test
   @DisplayName("recalcTotalPriceOrThrow → null dates throw BadRequestException")
   void recalcTotalPrice_nullDates_throw() {
@@ -142,8 +182,8 @@ class ReservationPricingServiceTest {
   }
 
   @Test
-  @DisplayName("recalcTotalPriceOrThrow → no daily prices → use baseRate for all nights")
-  void recalcTotalPrice_noDailyPrices_useBaseRate() {
+  @DisplayName("recalcTotalPriceOrThrow → no daily prices → persist mode stores baseRate rows")
+  void recalcTotalPrice_noDailyPrices_persistMode_savesBaseRate() {
     // Given stay [2026-01-06, 2026-01-08) → dates: 6,7 → 2 nights
     final LocalDate checkIn = LocalDate.of(2026, 1, 6);
     final LocalDate checkOut = LocalDate.of(2026, 1, 8);
@@ -158,7 +198,8 @@ class ReservationPricingServiceTest {
             r.getHotelId(), r.getRoomTypeId(), checkIn, checkOut.minusDays(1)))
         .thenReturn(List.of());
 
-    pricingService.recalcTotalPriceOrThrow(r);
+    service(ReservationPricingService.BaseRateMode.PERSIST)
+        .recalcTotalPriceOrThrow(r);
 
     assertNotNull(r.getPriceTotal());
     assertEquals(new BigDecimal("200.00"), r.getPriceTotal());
@@ -171,7 +212,7 @@ class ReservationPricingServiceTest {
   }
 
   @Test
-  @DisplayName("recalcTotalPriceOrThrow → missing some nightly prices → fallback to baseRate")
+  @DisplayName("recalcTotalPriceOrThrow → missing some nightly prices → fallback to baseRate without writing")
   void recalcTotalPrice_missingDate_fallbackToBaseRate() {
     final LocalDate checkIn = LocalDate.of(2026, 1, 6);
     final LocalDate checkOut = LocalDate.of(2026, 1, 9);
@@ -202,6 +243,35 @@ class ReservationPricingServiceTest {
     verify(roomTypeDailyPriceRepository)
         .findByHotelIdAndRoomTypeIdAndStayDateBetween(
             hotelId, roomTypeId, checkIn, checkOut.minusDays(1));
-    verify(roomTypeDailyPriceRepository).saveAll(anyList());
+    verify(roomTypeDailyPriceRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  @DisplayName("recalcTotalPriceOrThrow → cached calendar in persist mode stores nights without price")
+  void recalcTotalPrice_cachedCalendar_persistMode_savesMissingNights() {
+    final LocalDate checkIn = LocalDate.of(2026, 1, 6);
+    final LocalDate checkOut = LocalDate.of(2026, 1, 8);
+    final Reservations r = baseReservationWithDates(checkIn, checkOut);
+    final RateCalendarCache.RateCalendar calendar =
+        mock(RateCalendarCache.RateCalendar.class);
+    when(rateCalendarCache.find(2L, 3L)).thenReturn(calendar);
+    when(calendar.covers(checkIn, checkOut)).thenReturn(true);
+    when(calendar.nightsWithoutPrice(checkIn, checkOut))
+        .thenReturn(List.of(checkIn));
+    when(calendar.baseRate()).thenReturn(new BigDecimal("100.00"));
+    when(calendar.total(checkIn, checkOut)).thenReturn(new BigDecimal("250.00"));
+
+    service(ReservationPricingService.BaseRateMode.PERSIST)
+        .recalcTotalPriceOrThrow(r);
+
+    assertEquals(new BigDecimal("250.00"), r.getPriceTotal());
+    verify(roomTypeDailyPriceRepository).saveAll(List.of(
+        RoomTypeDailyPrice.builder()
+            .hotelId(2L)
+            .roomTypeId(3L)
+            .stayDate(checkIn)
+            .price(new BigDecimal("100.00"))
+            .computedFrom(RoomTypeDailyPrice.COMPUTED_FROM_BASE_RATE)
+            .build()));
   }
 }
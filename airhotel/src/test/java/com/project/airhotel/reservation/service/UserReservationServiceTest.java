@@ -14,11 +14,13 @@ import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.same;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.project.airhotel.common.exception.BadRequestException;
 import com.project.airhotel.common.exception.NotFoundException;
+import com.project.airhotel.common.retry.LockRetryExecutor;
 import com.project.airhotel.hotel.domain.Hotels;
 import com.project.airhotel.hotel.repository.HotelsRepository;
 import com.project.airhotel.reservation.domain.Reservations;
@@ -40,7 +42,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
 
 /**
  * Unit tests for UserReservationService. Each test states which method & which branch is being
@@ -64,6 +68,9 @@ class UserReservationServiceTest {
   @Mock
   private RoomTypesRepository roomTypesRepository;
 
+  @Spy
+  private LockRetryExecutor lockRetry = new LockRetryExecutor(3, 0, 0);
+
   @InjectMocks
   private UserReservationService service;
 
@@ -187,6 +194,23 @@ class UserReservationServiceTest {
     verify(mapper).toDetail(saved);
   }
 
+  @Test
+  @DisplayName("createReservation → deadlock victim on first attempt → retried and succeeds")
+  void createReservation_retriesAfterLockFailure() {
+    final Long userId = 9L;
+    final CreateReservationRequest req = mock(CreateReservationRequest.class);
+    final Reservations saved = baseReservation();
+    when(orchestrator.createReservation(userId, req))
+        .thenThrow(new CannotAcquireLockException("deadlock"))
+        .thenReturn(saved);
+    when(mapper.toDetail(saved)).thenReturn(mock(ReservationDetailResponse.class));
+
+    service.createReservation(userId, req);
+
+    verify(orchestrator, times(2)).createReservation(userId, req);
+    assertEquals(1L, lockRetry.getRetryCount());
+  }
+
   // ========================= patchMyReservation =========================
 
   @Test
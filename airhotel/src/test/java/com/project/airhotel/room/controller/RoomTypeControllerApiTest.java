@@ -9,8 +9,13 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.project.airhotel.room.dto.FlexibleAvailabilityResponse;
+import com.project.airhotel.room.dto.FlexibleStayOption;
+import com.project.airhotel.room.dto.NightlyRate;
 import com.project.airhotel.room.dto.RoomTypeAvailabilityResponse;
+import com.project.airhotel.room.dto.RoomTypeQuoteResponse;
 import com.project.airhotel.room.service.RoomTypeAvailabilityService;
+import com.project.airhotel.room.service.RoomTypeQuoteService;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -36,6 +41,9 @@ class RoomTypeControllerApiTest {
   @MockBean
   private RoomTypeAvailabilityService availabilityService;
 
+  @MockBean
+  private RoomTypeQuoteService quoteService;
+
   @Test
   @DisplayName("GET /hotels/{id}/room-types/availability returns availability when inputs "
       + "are valid")
@@ -89,4 +97,77 @@ class RoomTypeControllerApiTest {
 
     verifyNoInteractions(availabilityService);
   }
+
+  @Test
+  @DisplayName("GET /hotels/{id}/room-types/availability/flexible returns feasible stays")
+  void getFlexibleAvailability_validInputs_returnsOptions() throws Exception {
+    final LocalDate start = LocalDate.of(2026, 3, 1);
+    final LocalDate end = LocalDate.of(2026, 3, 31);
+    final FlexibleAvailabilityResponse resp = FlexibleAvailabilityResponse.builder()
+        .roomTypeId(7L)
+        .code("DLX")
+        .options(List.of(new FlexibleStayOption(LocalDate.of(2026, 3, 4),
+            LocalDate.of(2026, 3, 7), 2)))
+        .build();
+    when(availabilityService.getFlexibleAvailability(1L, start, end, 3, null))
+        .thenReturn(List.of(resp));
+
+    mvc.perform(get("/hotels/{hotelId}/room-types/availability/flexible", 1L)
+            .param("windowStart", "2026-03-01")
+            .param("windowEnd", "2026-03-31")
+            .param("nights", "3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].roomTypeId").value(7))
+        .andExpect(jsonPath("$[0].options[0].checkIn").value("2026-03-04"))
+        .andExpect(jsonPath("$[0].options[0].available").value(2));
+  }
+
+  @Test
+  @DisplayName("GET /hotels/{id}/room-types/availability/flexible missing nights → 400")
+  void getFlexibleAvailability_missingNights_returnsBadRequest() throws Exception {
+    mvc.perform(get("/hotels/{hotelId}/room-types/availability/flexible", 1L)
+            .param("windowStart", "2026-03-01")
+            .param("windowEnd", "2026-03-31"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value(containsString("nights")));
+
+    verifyNoInteractions(availabilityService);
+  }
+
+  @Test
+  @DisplayName("GET /hotels/{id}/room-types/quotes returns nightly breakdown and total")
+  void getQuotes_validInputs_returnsQuotes() throws Exception {
+    final LocalDate checkIn = LocalDate.of(2026, 1, 1);
+    final LocalDate checkOut = LocalDate.of(2026, 1, 3);
+    final RoomTypeQuoteResponse resp = RoomTypeQuoteResponse.builder()
+        .roomTypeId(7L)
+        .code("DLX")
+        .total(new BigDecimal("349.00"))
+        .nights(List.of(
+            new NightlyRate(checkIn, new BigDecimal("150.00"), false),
+            new NightlyRate(checkIn.plusDays(1), new BigDecimal("199.00"), true)))
+        .build();
+    when(quoteService.getQuotes(1L, checkIn, checkOut, null))
+        .thenReturn(List.of(resp));
+
+    mvc.perform(get("/hotels/{hotelId}/room-types/quotes", 1L)
+            .param("checkIn", "2026-01-01")
+            .param("checkOut", "2026-01-03"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].roomTypeId").value(7))
+        .andExpect(jsonPath("$[0].total").value(349.00))
+        .andExpect(jsonPath("$[0].nights.length()").value(2))
+        .andExpect(jsonPath("$[0].nights[1].baseRateApplied").value(true));
+  }
+
+  @Test
+  @DisplayName("GET /hotels/{id}/room-types/quotes missing checkIn → 400")
+  void getQuotes_missingCheckIn_returnsBadRequest() throws Exception {
+    mvc.perform(get("/hotels/{hotelId}/room-types/quotes", 1L)
+            .param("checkOut", "2026-01-03"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value(containsString("checkIn")));
+
+    verifyNoInteractions(quoteService);
+  }
 }
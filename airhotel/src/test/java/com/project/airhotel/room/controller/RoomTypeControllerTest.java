@@ -5,8 +5,11 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.project.airhotel.room.dto.FlexibleAvailabilityResponse;
 import com.project.airhotel.room.dto.RoomTypeAvailabilityResponse;
+import com.project.airhotel.room.dto.RoomTypeQuoteResponse;
 import com.project.airhotel.room.service.RoomTypeAvailabilityService;
+import com.project.airhotel.room.service.RoomTypeQuoteService;
 import java.time.LocalDate;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
@@ -22,6 +25,9 @@ class RoomTypeControllerTest {
   @Mock
   private RoomTypeAvailabilityService availabilityService;
 
+  @Mock
+  private RoomTypeQuoteService quoteService;
+
   @InjectMocks
   private RoomTypeController controller;
 
@@ -43,4 +49,31 @@ class RoomTypeControllerTest {
     assertEquals(expected, out);
     verify(availabilityService).getAvailability(eq(9L), eq(checkIn), eq(checkOut), eq(guests));
   }
+
+  @Test
+  @DisplayName("getFlexibleAvailability delegates to service with all params")
+  void getFlexibleAvailability_delegates() {
+    final LocalDate start = LocalDate.of(2025, 12, 1);
+    final LocalDate end = LocalDate.of(2025, 12, 31);
+    final List<FlexibleAvailabilityResponse> expected = List.of(
+        FlexibleAvailabilityResponse.builder().roomTypeId(1L).build());
+
+    when(availabilityService.getFlexibleAvailability(9L, start, end, 3, null))
+        .thenReturn(expected);
+
+    assertEquals(expected, controller.getFlexibleAvailability(9L, start, end, 3, null));
+  }
+
+  @Test
+  @DisplayName("getQuotes delegates to service with all params")
+  void getQuotes_delegates() {
+    final LocalDate checkIn = LocalDate.of(2025, 12, 1);
+    final LocalDate checkOut = LocalDate.of(2025, 12, 3);
+    final List<RoomTypeQuoteResponse> expected = List.of(
+        RoomTypeQuoteResponse.builder().roomTypeId(1L).build());
+
+    when(quoteService.getQuotes(9L, checkIn, checkOut, 2)).thenReturn(expected);
+
+    assertEquals(expected, controller.getQuotes(9L, checkIn, checkOut, 2));
+  }
 }
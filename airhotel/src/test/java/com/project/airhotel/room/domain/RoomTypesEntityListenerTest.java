@@ -0,0 +1,77 @@
+package com.project.airhotel.room.domain;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Unit tests for RoomTypesEntityListener.
+ */
+@ExtendWith(MockitoExtension.class)
+class RoomTypesEntityListenerTest {
+
+  @Mock
+  private ApplicationEventPublisher publisher;
+
+  private RoomTypesEntityListener listener;
+  private RoomTypes rt;
+
+  @BeforeEach
+  void setUp() {
+    listener = new RoomTypesEntityListener(publisher);
+    rt = RoomTypes.builder().id(11L).hotelId(1L).totalRooms(4).build();
+  }
+
+  @Test
+  @DisplayName("afterPersist → publishes the room count")
+  void persist_publishesTotal() {
+    listener.afterPersist(rt);
+
+    verify(publisher).publishEvent(new RoomTypeChangedEvent(11L, 1L, 4));
+  }
+
+  @Test
+  @DisplayName("afterUpdate → resize publishes the new room count")
+  void update_resize_publishesTotal() {
+    listener.afterLoad(rt);
+    rt.setTotalRooms(6);
+
+    listener.afterUpdate(rt);
+
+    verify(publisher).publishEvent(new RoomTypeChangedEvent(11L, 1L, 6));
+  }
+
+  @Test
+  @DisplayName("afterUpdate → other edits leave the inventory alone")
+  void update_sameTotal_publishesDetailsOnly() {
+    listener.afterLoad(rt);
+    rt.setName("Renamed");
+
+    listener.afterUpdate(rt);
+
+    verify(publisher).publishEvent(new RoomTypeDetailsChangedEvent(1L, 11L));
+    verify(publisher, never()).publishEvent(any(RoomTypeChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("afterUpdate → a second update compares against the last "
+      + "written count")
+  void update_afterResize_comparesWithWrittenTotal() {
+    listener.afterLoad(rt);
+    rt.setTotalRooms(6);
+    listener.afterUpdate(rt);
+
+    listener.afterUpdate(rt);
+
+    verify(publisher).publishEvent(new RoomTypeChangedEvent(11L, 1L, 6));
+    verify(publisher).publishEvent(new RoomTypeDetailsChangedEvent(1L, 11L));
+  }
+}
@@ -0,0 +1,83 @@
+package com.project.airhotel.room.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.JdbcUpdateAffectedIncorrectNumberOfRowsException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Unit tests for RoomTypeInventoryRepositoryCustomImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class RoomTypeInventoryRepositoryCustomImplTest {
+
+  private static final LocalDate IN = LocalDate.of(2030, 5, 1);
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  private RoomTypeInventoryRepositoryCustomImpl repo;
+
+  @BeforeEach
+  void setUp() {
+    repo = new RoomTypeInventoryRepositoryCustomImpl(jdbcTemplate);
+  }
+
+  private static TreeMap<LocalDate, Integer> counts() {
+    return new TreeMap<>(Map.of(IN, 2, IN.plusDays(1), 2, IN.plusDays(2), 2));
+  }
+
+  @Test
+  @DisplayName("reserveCountsIfAvailable → nights whose guard did not match "
+      + "are returned")
+  void reserveCounts_returnsUnmatchedNights() {
+    when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+        .thenReturn(new int[] {1, 0, 1});
+
+    assertEquals(List.of(IN.plusDays(1)),
+        repo.reserveCountsIfAvailable(1L, 11L, counts()));
+  }
+
+  @Test
+  @DisplayName("reserveCountsIfAvailable → SUCCESS_NO_INFO fails closed")
+  void reserveCounts_noInfo_throws() {
+    when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+        .thenReturn(new int[] {1, -2, 1});
+
+    assertThrows(JdbcUpdateAffectedIncorrectNumberOfRowsException.class,
+        () -> repo.reserveCountsIfAvailable(1L, 11L, counts()));
+  }
+
+  @Test
+  @DisplayName("unblockCounts → counts only nights that matched")
+  void unblockCounts_countsMatched() {
+    when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+        .thenReturn(new int[] {1, 0, 1});
+
+    assertEquals(2, repo.unblockCounts(1L, 11L, counts()));
+  }
+
+  @Test
+  @DisplayName("unblockCounts → SUCCESS_NO_INFO fails closed")
+  void unblockCounts_noInfo_throws() {
+    when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+        .thenReturn(new int[] {-2, -2, -2});
+
+    assertThrows(JdbcUpdateAffectedIncorrectNumberOfRowsException.class,
+        () -> repo.unblockCounts(1L, 11L, counts()));
+  }
+}
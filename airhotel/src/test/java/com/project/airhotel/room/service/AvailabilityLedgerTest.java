@@ -0,0 +1,200 @@
+package com.project.airhotel.room.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.project.airhotel.room.domain.RoomTypeInventory;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for AvailabilityLedger.
+ */
+@ExtendWith(MockitoExtension.class)
+class AvailabilityLedgerTest {
+
+  private static final Long HOTEL_ID = 3L;
+  private static final Long TYPE_ID = 30L;
+
+  @Mock
+  private RoomTypesRepository roomTypesRepo;
+  @Mock
+  private RoomTypeInventoryRepository invRepo;
+
+  private AvailabilityLedger ledger;
+  private LocalDate today;
+
+  @BeforeEach
+  void setUp() {
+    ledger = new AvailabilityLedger(roomTypesRepo, invRepo, true, 300);
+    today = LocalDate.now();
+  }
+
+  @AfterEach
+  void clearSynchronization() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private RoomTypeInventory row(final LocalDate d, final int available) {
+    final RoomTypeInventory inv = new RoomTypeInventory();
+    inv.setHotelId(HOTEL_ID);
+    inv.setRoomTypeId(TYPE_ID);
+    inv.setStayDate(d);
+    inv.setAvailable(available);
+    return inv;
+  }
+
+  private void stubLoad(final RoomTypeInventory... rows) {
+    when(roomTypesRepo.findByHotelId(HOTEL_ID)).thenReturn(List.of(
+        RoomTypes.builder().id(TYPE_ID).hotelId(HOTEL_ID).totalRooms(5)
+            .build()));
+    when(invRepo.findByHotelIdAndStayDateBetween(HOTEL_ID, today,
+        today.plusDays(AvailabilityLedger.WINDOW_DAYS - 1)))
+        .thenReturn(List.of(rows));
+  }
+
+  private Map<Long, NavigableSet<LocalDate>> touched(final LocalDate d) {
+    return Map.of(TYPE_ID, new TreeSet<>(List.of(d)));
+  }
+
+  @Test
+  @DisplayName("load → rows fill the calendar, missing nights use totalRooms")
+  void load_populatesCalendar() {
+    stubLoad(row(today.plusDays(1), 2));
+
+    assertNull(ledger.findFresh(HOTEL_ID));
+    final AvailabilityLedger.HotelCalendar c = ledger.load(HOTEL_ID);
+
+    assertSame(c, ledger.findFresh(HOTEL_ID));
+    assertEquals(5, c.minAvailable(TYPE_ID, today, today.plusDays(1))
+        .getAsInt());
+    assertEquals(2, c.minAvailable(TYPE_ID, today, today.plusDays(3))
+        .getAsInt());
+    assertFalse(c.minAvailable(TYPE_ID, today.minusDays(1), today)
+        .isPresent());
+    assertFalse(c.minAvailable(99L, today, today.plusDays(1)).isPresent());
+  }
+
+  @Test
+  @DisplayName("load → a second load reuses the fresh calendar")
+  void load_reusesFreshCalendar() {
+    stubLoad();
+    final AvailabilityLedger.HotelCalendar c = ledger.load(HOTEL_ID);
+    assertSame(c, ledger.load(HOTEL_ID));
+    verify(roomTypesRepo, times(1)).findByHotelId(HOTEL_ID);
+  }
+
+  @Test
+  @DisplayName("TTL of zero → calendar is never fresh")
+  void zeroTtl_neverFresh() {
+    ledger = new AvailabilityLedger(roomTypesRepo, invRepo, true, 0);
+    stubLoad();
+    assertNotNull(ledger.load(HOTEL_ID));
+    assertNull(ledger.findFresh(HOTEL_ID));
+  }
+
+  @Test
+  @DisplayName("Disabled ledger → never loads")
+  void disabled_returnsNull() {
+    ledger = new AvailabilityLedger(roomTypesRepo, invRepo, false, 300);
+    assertNull(ledger.load(HOTEL_ID));
+    assertNull(ledger.findFresh(HOTEL_ID));
+  }
+
+  @Test
+  @DisplayName("writeThrough without transaction → applied immediately")
+  void writeThrough_noTransaction_appliesNow() {
+    final LocalDate d = today.plusDays(2);
+    stubLoad();
+    final AvailabilityLedger.HotelCalendar c = ledger.load(HOTEL_ID);
+    when(invRepo.findRangeForUpdate(HOTEL_ID, TYPE_ID, d, d))
+        .thenReturn(List.of(row(d, 1)));
+
+    ledger.writeThrough(HOTEL_ID, touched(d));
+
+    assertEquals(1, c.minAvailable(TYPE_ID, d, d.plusDays(1)).getAsInt());
+  }
+
+  @Test
+  @DisplayName("writeThrough → out-of-order commit callbacks keep the newest "
+      + "value")
+  void writeThrough_reorderedCallbacks_keepNewest() {
+    final LocalDate d = today.plusDays(2);
+    stubLoad();
+    final AvailabilityLedger.HotelCalendar c = ledger.load(HOTEL_ID);
+    when(invRepo.findRangeForUpdate(HOTEL_ID, TYPE_ID, d, d))
+        .thenReturn(List.of(row(d, 4)), List.of(row(d, 3)));
+
+    TransactionSynchronizationManager.initSynchronization();
+    ledger.writeThrough(HOTEL_ID, touched(d));
+    ledger.writeThrough(HOTEL_ID, touched(d));
+    final List<TransactionSynchronization> syncs =
+        TransactionSynchronizationManager.getSynchronizations();
+
+    // First transaction commits before the second, callbacks arrive reversed
+    syncs.get(0).beforeCommit(false);
+    syncs.get(1).beforeCommit(false);
+    syncs.get(1).afterCommit();
+    syncs.get(0).afterCommit();
+
+    assertEquals(3, c.minAvailable(TYPE_ID, d, d.plusDays(1)).getAsInt());
+  }
+
+  @Test
+  @DisplayName("writeThrough for an unknown room type → calendar dropped")
+  void writeThrough_unknownType_invalidates() {
+    final LocalDate d = today.plusDays(1);
+    stubLoad();
+    ledger.load(HOTEL_ID);
+    final RoomTypeInventory other = row(d, 1);
+    other.setRoomTypeId(31L);
+    when(invRepo.findRangeForUpdate(HOTEL_ID, 31L, d, d))
+        .thenReturn(List.of(other));
+
+    ledger.writeThrough(HOTEL_ID, Map.of(31L, new TreeSet<>(List.of(d))));
+
+    assertNull(ledger.findFresh(HOTEL_ID));
+  }
+
+  @Test
+  @DisplayName("invalidate → next lookup misses")
+  void invalidate_dropsCalendar() {
+    stubLoad();
+    ledger.load(HOTEL_ID);
+    ledger.invalidate(HOTEL_ID);
+    assertNull(ledger.findFresh(HOTEL_ID));
+  }
+
+  @Test
+  @DisplayName("reloadAll → every held calendar is read again")
+  void reloadAll_reloads() {
+    stubLoad();
+    ledger.load(HOTEL_ID);
+    ledger.reloadAll();
+    verify(roomTypesRepo, times(2)).findByHotelId(HOTEL_ID);
+    assertNotNull(ledger.findFresh(HOTEL_ID));
+  }
+}
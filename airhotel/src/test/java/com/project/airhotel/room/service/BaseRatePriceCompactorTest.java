@@ -0,0 +1,64 @@
+package com.project.airhotel.room.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.project.airhotel.room.repository.RoomTypeDailyPriceRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BaseRatePriceCompactor}.
+ */
+class BaseRatePriceCompactorTest {
+
+  private RoomTypeDailyPriceRepository priceRepo;
+  private RateCalendarCache cache;
+
+  @BeforeEach
+  void setUp() {
+    priceRepo = mock(RoomTypeDailyPriceRepository.class);
+    cache = mock(RateCalendarCache.class);
+  }
+
+  @Test
+  void compact_deletesBatchesUntilNoneLeft() {
+    when(priceRepo.findRedundantBaseRateIds(anyString(), eq(0L), any()))
+        .thenReturn(List.of(3L, 7L));
+    when(priceRepo.findRedundantBaseRateIds(anyString(), eq(7L), any()))
+        .thenReturn(List.of(9L));
+    when(priceRepo.findRedundantBaseRateIds(anyString(), eq(9L), any()))
+        .thenReturn(List.of());
+    when(priceRepo.deleteRedundantBaseRateRows(List.of(3L, 7L),
+        BaseRatePriceCompactor.BASE_RATE_SOURCE)).thenReturn(1);
+    when(priceRepo.deleteRedundantBaseRateRows(List.of(9L),
+        BaseRatePriceCompactor.BASE_RATE_SOURCE)).thenReturn(1);
+
+    int deleted = new BaseRatePriceCompactor(priceRepo, cache, false).compact();
+
+    assertThat(deleted).isEqualTo(2);
+    verify(cache).invalidateAll();
+  }
+
+  @Test
+  void onApplicationReady_runsOnlyWhenEnabled() {
+    new BaseRatePriceCompactor(priceRepo, cache, false).onApplicationReady();
+    verifyNoInteractions(priceRepo, cache);
+
+    when(priceRepo.findRedundantBaseRateIds(anyString(), anyLong(), any()))
+        .thenReturn(List.of());
+    new BaseRatePriceCompactor(priceRepo, cache, true).onApplicationReady();
+    verify(priceRepo).findRedundantBaseRateIds(
+        eq(BaseRatePriceCompactor.BASE_RATE_SOURCE), eq(0L), any());
+    verify(cache, never()).invalidateAll();
+  }
+}
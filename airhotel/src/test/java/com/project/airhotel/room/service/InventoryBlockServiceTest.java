@@ -0,0 +1,118 @@
+package com.project.airhotel.room.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.project.airhotel.common.exception.BadRequestException;
+import com.project.airhotel.common.exception.ConflictException;
+import com.project.airhotel.common.guard.EntityGuards;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.dto.InventoryBlockRequest;
+import com.project.airhotel.room.dto.InventoryBlockResponse;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for InventoryBlockService.
+ */
+@ExtendWith(MockitoExtension.class)
+class InventoryBlockServiceTest {
+
+  private static final LocalDate START = LocalDate.now().plusDays(10);
+
+  @Mock
+  private RoomTypeInventoryRepository invRepo;
+  @Mock
+  private InventoryRowSeeder rowSeeder;
+  @Mock
+  private EntityGuards entityGuards;
+  @Mock
+  private AvailabilityLedger ledger;
+  @InjectMocks
+  private InventoryBlockService service;
+
+  private static InventoryBlockRequest request(final int nights) {
+    final InventoryBlockRequest req = new InventoryBlockRequest();
+    req.setRoomTypeId(11L);
+    req.setStartDate(START);
+    req.setEndDate(START.plusDays(nights));
+    req.setCount(3);
+    return req;
+  }
+
+  @Test
+  @DisplayName("block → one guarded update over the range after missing "
+      + "rows are seeded")
+  void block_updatesRange() {
+    when(entityGuards.getRoomTypeInHotelOrThrow(1L, 11L)).thenReturn(
+        RoomTypes.builder().id(11L).hotelId(1L).totalRooms(8).build());
+    when(invRepo.allotIfAvailable(1L, 11L, 3, START,
+        START.plusDays(4))).thenReturn(5);
+
+    final InventoryBlockResponse out = service.block(1L, request(5));
+
+    assertEquals(5, out.getNights());
+    verify(rowSeeder).insertMissing(eq(1L), eq(11L), eq(8), any());
+    verify(ledger).writeThrough(eq(1L), any());
+  }
+
+  @Test
+  @DisplayName("block → a night short of rooms fails the whole range")
+  void block_notEnough_throws() {
+    when(entityGuards.getRoomTypeInHotelOrThrow(1L, 11L)).thenReturn(
+        RoomTypes.builder().id(11L).hotelId(1L).totalRooms(8).build());
+    when(invRepo.allotIfAvailable(1L, 11L, 3, START,
+        START.plusDays(4))).thenReturn(4);
+
+    assertThrows(BadRequestException.class,
+        () -> service.block(1L, request(5)));
+    verify(ledger, never()).writeThrough(any(), any());
+  }
+
+  @Test
+  @DisplayName("unblock → more than allotted on some night is a conflict")
+  void unblock_notAllotted_throws() {
+    when(invRepo.releaseAllotment(1L, 11L, 3, START, START.plusDays(1)))
+        .thenReturn(1);
+
+    assertThrows(ConflictException.class,
+        () -> service.unblock(1L, request(2)));
+  }
+
+  @Test
+  @DisplayName("unblock → past start date is rejected before any update")
+  void unblock_pastStart_throws() {
+    final InventoryBlockRequest req = request(2);
+    req.setStartDate(LocalDate.now().minusDays(1));
+
+    assertThrows(BadRequestException.class, () -> service.unblock(1L, req));
+    verify(invRepo, never()).releaseAllotment(any(), any(), anyInt(), any(),
+        any());
+  }
+
+  @Test
+  @DisplayName("out-of-order rooms block and release one room over the "
+      + "materialization window")
+  void outOfOrder_coversWindow() {
+    final LocalDate today = LocalDate.now();
+    final LocalDate last = today.plusYears(1).minusDays(1);
+
+    service.blockOutOfOrderRoom(1L, 11L);
+    service.releaseOutOfOrderRoom(1L, 11L);
+
+    verify(invRepo).blockOutOfOrder(1L, 11L, 1, today, last);
+    verify(invRepo).releaseOutOfOrder(1L, 11L, 1, today, last);
+  }
+}
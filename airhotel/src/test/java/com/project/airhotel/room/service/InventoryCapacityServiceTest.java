@@ -0,0 +1,143 @@
+package com.project.airhotel.room.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.project.airhotel.common.exception.ConflictException;
+import com.project.airhotel.common.guard.EntityGuards;
+import com.project.airhotel.room.domain.RoomTypeChangedEvent;
+import com.project.airhotel.room.dto.InventoryCapacityReport;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Unit tests for InventoryCapacityService.
+ */
+@ExtendWith(MockitoExtension.class)
+class InventoryCapacityServiceTest {
+
+  @Mock
+  private RoomTypeInventoryRepository invRepo;
+  @Mock
+  private RoomTypesRepository roomTypesRepo;
+  @Mock
+  private EntityGuards entityGuards;
+  @Mock
+  private AvailabilityLedger ledger;
+  @Mock
+  private ApplicationEventPublisher publisher;
+
+  private InventoryCapacityService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new InventoryCapacityService(invRepo, roomTypesRepo,
+        entityGuards, ledger, publisher,
+        TransactionOperations.withoutTransaction(), 200);
+  }
+
+  @Test
+  @DisplayName("roomAdded → adds one room and publishes the new count")
+  void roomAdded_incrementsAndPublishes() {
+    when(roomTypesRepo.adjustTotalRooms(11L, 1)).thenReturn(1);
+    when(roomTypesRepo.findTotalRoomsById(11L)).thenReturn(41);
+
+    service.roomAdded(1L, 11L);
+
+    verify(publisher).publishEvent(new RoomTypeChangedEvent(11L, 1L, 41));
+    verify(invRepo, never()).findStayDatesReservedAbove(any(), any(), any(),
+        anyInt());
+  }
+
+  @Test
+  @DisplayName("roomRemoved → refused when reservations exceed the "
+      + "remaining rooms on some night")
+  void roomRemoved_wouldOverbook_throws() {
+    final LocalDate over = LocalDate.now().plusDays(3);
+    when(roomTypesRepo.adjustTotalRooms(11L, -1)).thenReturn(1);
+    when(roomTypesRepo.findTotalRoomsById(11L)).thenReturn(2);
+    when(invRepo.findStayDatesReservedAbove(1L, 11L, LocalDate.now(), 2))
+        .thenReturn(List.of(over));
+
+    assertThrows(ConflictException.class,
+        () -> service.roomRemoved(1L, 11L));
+    verify(publisher, never()).publishEvent(any());
+  }
+
+  @Test
+  @DisplayName("roomMoved → adjusts both room types in id order")
+  void roomMoved_idOrder() {
+    when(roomTypesRepo.adjustTotalRooms(any(), anyInt())).thenReturn(1);
+    when(roomTypesRepo.findTotalRoomsById(any())).thenReturn(2);
+
+    service.roomMoved(1L, 22L, 11L);
+
+    final InOrder order = inOrder(roomTypesRepo);
+    order.verify(roomTypesRepo).adjustTotalRooms(11L, 1);
+    order.verify(roomTypesRepo).adjustTotalRooms(22L, -1);
+    verify(publisher, times(2)).publishEvent(any(RoomTypeChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("applyTotal → rewrites the window in batches of nights and "
+      + "reports overbooked nights")
+  void applyTotal_batchesWindow() {
+    final LocalDate today = LocalDate.now();
+    final List<LocalDate> window = InventoryMaterializer.window(today);
+    final LocalDate over = today.plusDays(3);
+    when(roomTypesRepo.findTotalRoomsById(11L)).thenReturn(4);
+    when(invRepo.existsTotalOtherThanFrom(1L, 11L, today, 4)).thenReturn(true);
+    when(invRepo.syncTotalBetween(eq(1L), eq(11L), eq(4), any(), any()))
+        .thenReturn(200, window.size() - 200);
+    when(invRepo.findOverbookedStayDatesFrom(1L, 11L, today))
+        .thenReturn(List.of(over));
+
+    final InventoryCapacityReport report = service.applyTotal(1L, 11L);
+
+    final InOrder order = inOrder(invRepo);
+    order.verify(invRepo).syncTotalBetween(1L, 11L, 4, today,
+        window.get(199));
+    order.verify(invRepo).syncTotalBetween(1L, 11L, 4, window.get(200),
+        window.get(window.size() - 1));
+    verify(ledger, times(2)).writeThrough(eq(1L), any());
+    assertEquals(4, report.getTotalRooms());
+    assertEquals(window.size(), report.getNightsUpdated());
+    assertEquals(List.of(over), report.getOverbookedNights());
+  }
+
+  @Test
+  @DisplayName("applyTotal → rewrites nothing when every row already has "
+      + "the count")
+  void applyTotal_unchanged_skipsRewrite() {
+    final LocalDate today = LocalDate.now();
+    when(roomTypesRepo.findTotalRoomsById(11L)).thenReturn(4);
+    when(invRepo.existsTotalOtherThanFrom(1L, 11L, today, 4))
+        .thenReturn(false);
+
+    final InventoryCapacityReport report = service.applyTotal(1L, 11L);
+
+    verify(invRepo, never()).syncTotalBetween(any(), any(), anyInt(), any(),
+        any());
+    verify(ledger, never()).writeThrough(any(), any());
+    assertEquals(0, report.getNightsUpdated());
+  }
+}
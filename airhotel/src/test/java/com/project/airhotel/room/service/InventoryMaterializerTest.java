@@ -0,0 +1,122 @@
+package com.project.airhotel.room.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.project.airhotel.room.domain.RoomTypeChangedEvent;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.dto.InventoryCapacityReport;
+import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for InventoryMaterializer.
+ */
+@ExtendWith(MockitoExtension.class)
+class InventoryMaterializerTest {
+
+  @Mock
+  private RoomTypesRepository roomTypesRepo;
+  @Mock
+  private RoomTypeInventoryRepository invRepo;
+  @Mock
+  private InventoryRowSeeder rowSeeder;
+  @Mock
+  private AvailabilityLedger ledger;
+  @Mock
+  private InventoryCapacityService capacityService;
+
+  private InventoryMaterializer materializer;
+
+  @BeforeEach
+  void setUp() {
+    materializer = new InventoryMaterializer(roomTypesRepo, invRepo,
+        rowSeeder, ledger, capacityService, true);
+  }
+
+  @Test
+  @DisplayName("window → every night up to the one-year check-out cap")
+  void window_coversOneYear() {
+    final LocalDate today = LocalDate.of(2028, 3, 1);
+    final List<LocalDate> nights = InventoryMaterializer.window(today);
+
+    assertEquals(365, nights.size());
+    assertEquals(today, nights.get(0));
+    assertEquals(LocalDate.of(2029, 2, 28), nights.get(nights.size() - 1));
+  }
+
+  @Test
+  @DisplayName("materializeAll → one batch per room type with its total")
+  void materializeAll_insertsPerRoomType() {
+    final RoomTypes a = RoomTypes.builder().id(1L).hotelId(7L).totalRooms(4)
+        .build();
+    final RoomTypes b = RoomTypes.builder().id(2L).hotelId(7L).totalRooms(9)
+        .build();
+    when(roomTypesRepo.findAll()).thenReturn(List.of(a, b));
+    when(invRepo.countByHotelIdAndRoomTypeIdAndStayDateBetween(eq(7L),
+        eq(1L), any(), any())).thenReturn(0L);
+    when(invRepo.countByHotelIdAndRoomTypeIdAndStayDateBetween(eq(7L),
+        eq(2L), any(), any())).thenReturn(364L);
+    when(rowSeeder.insertMissing(eq(7L), eq(1L), eq(4), anyCollection()))
+        .thenReturn(365);
+    when(rowSeeder.insertMissing(eq(7L), eq(2L), eq(9), anyCollection()))
+        .thenReturn(1);
+
+    assertEquals(366, materializer.materializeAll());
+  }
+
+  @Test
+  @DisplayName("materializeAll → skips room types whose window is complete")
+  void materializeAll_completeWindow_skipped() {
+    final RoomTypes a = RoomTypes.builder().id(1L).hotelId(7L).totalRooms(4)
+        .build();
+    when(roomTypesRepo.findAll()).thenReturn(List.of(a));
+    when(invRepo.countByHotelIdAndRoomTypeIdAndStayDateBetween(eq(7L),
+        eq(1L), any(), any()))
+        .thenReturn((long) InventoryMaterializer.window(LocalDate.now())
+            .size());
+
+    assertEquals(0, materializer.materializeAll());
+    verify(rowSeeder, never()).insertMissing(any(), any(), anyInt(),
+        anyCollection());
+  }
+
+  @Test
+  @DisplayName("onApplicationReady → does nothing when scheduling is "
+      + "disabled")
+  void onApplicationReady_disabled_skips() {
+    new InventoryMaterializer(roomTypesRepo, invRepo, rowSeeder, ledger,
+        capacityService, false).onApplicationReady();
+
+    verifyNoInteractions(roomTypesRepo, invRepo);
+  }
+
+  @Test
+  @DisplayName("onRoomTypeChanged → applies the current total then fills "
+      + "missing nights with it")
+  void onRoomTypeChanged_syncsAndInserts() {
+    when(capacityService.applyTotal(7L, 3L)).thenReturn(
+        InventoryCapacityReport.builder().roomTypeId(3L).totalRooms(8)
+            .build());
+
+    materializer.onRoomTypeChanged(new RoomTypeChangedEvent(3L, 7L, 6));
+
+    verify(rowSeeder).insertMissing(eq(7L), eq(3L), eq(8), anyCollection());
+    verify(ledger).invalidate(7L);
+  }
+}
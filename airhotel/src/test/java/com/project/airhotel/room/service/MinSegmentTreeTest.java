@@ -0,0 +1,81 @@
+package com.project.airhotel.room.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for MinSegmentTree.
+ */
+class MinSegmentTreeTest {
+
+  private static int bruteMin(final int[] values, final int from,
+      final int to) {
+    int min = Integer.MAX_VALUE;
+    for (int i = from; i < to; i++) {
+      min = Math.min(min, values[i]);
+    }
+    return min;
+  }
+
+  private static int[] filled(final int size, final int value) {
+    final int[] values = new int[size];
+    Arrays.fill(values, value);
+    return values;
+  }
+
+  @Test
+  @DisplayName("min → matches a linear scan for every range")
+  void min_matchesLinearScan() {
+    final int[] values = {5, 3, 8, 1, 9, 2, 7};
+    final MinSegmentTree tree = new MinSegmentTree(values);
+    for (int from = 0; from < values.length; from++) {
+      for (int to = from + 1; to <= values.length; to++) {
+        assertEquals(bruteMin(values, from, to), tree.min(from, to));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("set → later queries see the new value")
+  void set_updatesRanges() {
+    final MinSegmentTree tree = new MinSegmentTree(filled(366, 4));
+    tree.set(100, 0);
+    assertEquals(0, tree.min(0, 366));
+    assertEquals(4, tree.min(0, 100));
+    assertEquals(4, tree.min(101, 366));
+    assertEquals(0, tree.get(100));
+    tree.set(100, 6);
+    assertEquals(4, tree.min(0, 366));
+  }
+
+  @Test
+  @DisplayName("empty range → MAX_VALUE")
+  void min_emptyRange() {
+    assertEquals(Integer.MAX_VALUE,
+        new MinSegmentTree(filled(3, 1)).min(2, 2));
+  }
+
+  @Test
+  @DisplayName("random updates and queries agree with a plain array")
+  void randomized_agreesWithArray() {
+    final Random random = new Random(42);
+    final int[] values = new int[366];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextInt(10);
+    }
+    final MinSegmentTree tree = new MinSegmentTree(values);
+    for (int step = 0; step < 2000; step++) {
+      final int i = random.nextInt(values.length);
+      values[i] = random.nextInt(10);
+      tree.set(i, values[i]);
+      final int from = random.nextInt(values.length);
+      final int to = from + 1 + random.nextInt(values.length - from);
+      assertEquals(bruteMin(values, from, to), tree.min(from, to));
+    }
+    assertEquals(values.length, tree.size());
+  }
+}
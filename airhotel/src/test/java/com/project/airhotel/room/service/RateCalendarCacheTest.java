@@ -0,0 +1,192 @@
+package com.project.airhotel.room.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.project.airhotel.room.domain.RoomTypeChangedEvent;
+import com.project.airhotel.room.domain.RoomTypeDailyPrice;
+import com.project.airhotel.room.domain.RoomTypeDailyPriceChangedEvent;
+import com.project.airhotel.room.domain.RoomTypeDetailsChangedEvent;
+import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.repository.RoomTypeDailyPriceRepository;
+import com.project.airhotel.room.repository.RoomTypesRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Unit tests for {@link RateCalendarCache}.
+ */
+class RateCalendarCacheTest {
+
+  private static final Long HOTEL_ID = 2L;
+  private static final Long ROOM_TYPE_ID = 3L;
+
+  private RoomTypesRepository roomTypesRepo;
+  private RoomTypeDailyPriceRepository priceRepo;
+  private PlatformTransactionManager txManager;
+  private RateCalendarCache cache;
+  private LocalDate today;
+
+  @BeforeEach
+  void setUp() {
+    roomTypesRepo = mock(RoomTypesRepository.class);
+    priceRepo = mock(RoomTypeDailyPriceRepository.class);
+    txManager = mock(PlatformTransactionManager.class);
+    cache = new RateCalendarCache(roomTypesRepo, priceRepo, txManager, true, 2,
+        600);
+    today = LocalDate.now();
+    when(roomTypesRepo.findById(anyLong())).thenAnswer(inv -> Optional.of(
+        RoomTypes.builder().id(inv.getArgument(0)).hotelId(HOTEL_ID)
+            .baseRate(new BigDecimal("100.00")).build()));
+    when(priceRepo.findByHotelIdAndRoomTypeIdAndStayDateBetween(eq(HOTEL_ID),
+        eq(ROOM_TYPE_ID), any(), any())).thenReturn(List.of(
+            price(today.plusDays(1), "150.50"),
+            price(today.plusDays(3), "80.25")));
+  }
+
+  @Test
+  void find_sumsExplicitPricesAndBaseRate() {
+    RateCalendarCache.RateCalendar calendar = cache.find(HOTEL_ID, ROOM_TYPE_ID);
+
+    LocalDate checkIn = today;
+    LocalDate checkOut = today.plusDays(4);
+    assertThat(calendar.covers(checkIn, checkOut)).isTrue();
+    assertThat(calendar.total(checkIn, checkOut))
+        .isEqualTo(new BigDecimal("430.75"));
+    assertThat(calendar.nightsWithoutPrice(checkIn, checkOut))
+        .containsExactly(today, today.plusDays(2));
+    assertThat(calendar.baseRate()).isEqualTo(new BigDecimal("100.00"));
+    assertThat(calendar.price(today.plusDays(1)))
+        .isEqualTo(new BigDecimal("150.50"));
+    assertThat(calendar.price(today)).isEqualTo(new BigDecimal("100.00"));
+    assertThat(calendar.covers(today.minusDays(1), today.plusDays(1))).isFalse();
+    assertThat(calendar.covers(today,
+        today.plusDays(RateCalendarCache.WINDOW_DAYS + 1))).isFalse();
+  }
+
+  @Test
+  void find_loadsInNewReadOnlyTransaction() {
+    cache.find(HOTEL_ID, ROOM_TYPE_ID);
+
+    verify(txManager).getTransaction(argThat(def ->
+        def.getPropagationBehavior()
+            == TransactionDefinition.PROPAGATION_REQUIRES_NEW
+            && def.isReadOnly()));
+    verify(txManager).commit(any());
+  }
+
+  @Test
+  void find_countsHitsAndMisses() {
+    cache.find(HOTEL_ID, ROOM_TYPE_ID);
+    cache.find(HOTEL_ID, ROOM_TYPE_ID);
+    cache.find(HOTEL_ID, ROOM_TYPE_ID);
+
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(2);
+    verify(roomTypesRepo, times(1)).findById(ROOM_TYPE_ID);
+  }
+
+  @Test
+  void find_evictsLeastRecentlyUsedBeyondMaxEntries() {
+    cache.find(HOTEL_ID, 10L);
+    cache.find(HOTEL_ID, 11L);
+    cache.find(HOTEL_ID, 10L);
+    cache.find(HOTEL_ID, 12L);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+    cache.find(HOTEL_ID, 10L);
+    assertThat(cache.getHitCount()).isEqualTo(2);
+  }
+
+  @Test
+  void find_expiredCalendarIsReloaded() {
+    RateCalendarCache noTtl =
+        new RateCalendarCache(roomTypesRepo, priceRepo, txManager, true, 10, 0);
+
+    noTtl.find(HOTEL_ID, ROOM_TYPE_ID);
+    noTtl.find(HOTEL_ID, ROOM_TYPE_ID);
+
+    assertThat(noTtl.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  void writeEvents_dropCalendar() {
+    cache.find(HOTEL_ID, ROOM_TYPE_ID);
+    cache.onPriceChanged(new RoomTypeDailyPriceChangedEvent(HOTEL_ID,
+        ROOM_TYPE_ID, today));
+    assertThat(cache.size()).isZero();
+
+    cache.find(HOTEL_ID, ROOM_TYPE_ID);
+    cache.onRoomTypeChanged(new RoomTypeChangedEvent(ROOM_TYPE_ID, HOTEL_ID, 5));
+    assertThat(cache.size()).isZero();
+
+    cache.find(HOTEL_ID, ROOM_TYPE_ID);
+    cache.onRoomTypeDetailsChanged(
+        new RoomTypeDetailsChangedEvent(HOTEL_ID, ROOM_TYPE_ID));
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getMissCount()).isEqualTo(3);
+  }
+
+  @Test
+  void find_disabledOrMissingRoomType_returnsNull() {
+    RateCalendarCache disabled =
+        new RateCalendarCache(roomTypesRepo, priceRepo, txManager, false, 10,
+            600);
+    assertThat(disabled.find(HOTEL_ID, ROOM_TYPE_ID)).isNull();
+
+    when(roomTypesRepo.findById(99L)).thenReturn(Optional.empty());
+    assertThat(cache.find(HOTEL_ID, 99L)).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void find_roomTypeOfOtherHotel_returnsNull() {
+    assertThat(cache.find(99L, ROOM_TYPE_ID)).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void invalidate_onlyBlocksCachingOfThatCalendar() {
+    when(roomTypesRepo.findById(10L)).thenAnswer(inv -> {
+      // another room type changes while this calendar is loading
+      cache.invalidate(HOTEL_ID, ROOM_TYPE_ID);
+      return Optional.of(RoomTypes.builder().id(10L).hotelId(HOTEL_ID)
+          .baseRate(new BigDecimal("90.00")).build());
+    });
+    when(roomTypesRepo.findById(11L)).thenAnswer(inv -> {
+      cache.invalidate(HOTEL_ID, 11L);
+      return Optional.of(RoomTypes.builder().id(11L).hotelId(HOTEL_ID)
+          .baseRate(new BigDecimal("90.00")).build());
+    });
+
+    assertThat(cache.find(HOTEL_ID, 10L)).isNotNull();
+    assertThat(cache.find(HOTEL_ID, 11L)).isNotNull();
+
+    assertThat(cache.size()).isEqualTo(1);
+    cache.find(HOTEL_ID, 10L);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+
+  private RoomTypeDailyPrice price(final LocalDate night, final String amount) {
+    return RoomTypeDailyPrice.builder()
+        .hotelId(HOTEL_ID)
+        .roomTypeId(ROOM_TYPE_ID)
+        .stayDate(night)
+        .price(new BigDecimal(amount))
+        .build();
+  }
+}
@@ -1,16 +1,20 @@
 package com.project.airhotel.room.service;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.project.airhotel.common.exception.BadRequestException;
 import com.project.airhotel.common.guard.EntityGuards;
 import com.project.airhotel.room.domain.RoomTypeInventory;
 import com.project.airhotel.room.domain.RoomTypes;
+import com.project.airhotel.room.dto.FlexibleAvailabilityResponse;
+import com.project.airhotel.room.dto.FlexibleStayOption;
 import com.project.airhotel.room.dto.RoomTypeAvailabilityResponse;
 import com.project.airhotel.room.repository.RoomTypeInventoryRepository;
 import com.project.airhotel.room.repository.RoomTypesRepository;
@@ -36,6 +40,9 @@ class RoomTypeAvailabilityServiceTest {
   @Mock
   private EntityGuards entityGuards;
 
+  @Mock
+  private AvailabilityLedger ledger;
+
   @InjectMocks
   private RoomTypeAvailabilityService service;
 
@@ -152,4 +159,90 @@ class RoomTypeAvailabilityServiceTest {
 
     assertEquals(0, out.size());
   }
+
+  @Test
+  @DisplayName("getAvailability answers from a fresh ledger calendar without the database")
+  void getAvailability_servedFromLedger() {
+    final LocalDate today = LocalDate.now();
+    final AvailabilityLedger.HotelCalendar calendar =
+        new AvailabilityLedger.HotelCalendar(today.toEpochDay(), 0);
+    calendar.populate(List.of(rt(1, 2, 5, "100.00")),
+        List.of(inv(1, today.plusDays(1), 2)), Long.MAX_VALUE);
+    when(ledger.findFresh(6L)).thenReturn(calendar);
+
+    List<RoomTypeAvailabilityResponse> out =
+        service.getAvailability(6L, today, today.plusDays(3), null);
+
+    assertEquals(1, out.size());
+    assertEquals(2, out.get(0).getAvailable());
+    verify(entityGuards, never()).ensureHotelExists(any());
+    verifyNoInteractions(roomTypesRepository, roomTypeInventoryRepository);
+  }
+
+  @Test
+  @DisplayName("slidingMin matches the minimum of every window")
+  void slidingMin_matchesWindows() {
+    assertArrayEquals(new int[] {1, 1, 2, 2},
+        RoomTypeAvailabilityService.slidingMin(new int[] {3, 1, 4, 2, 5}, 2));
+    assertArrayEquals(new int[] {1},
+        RoomTypeAvailabilityService.slidingMin(new int[] {3, 1, 4}, 3));
+    assertArrayEquals(new int[] {3, 1, 4},
+        RoomTypeAvailabilityService.slidingMin(new int[] {3, 1, 4}, 1));
+  }
+
+  @Test
+  @DisplayName("getFlexibleAvailability rejects invalid stay lengths and windows")
+  void getFlexibleAvailability_invalidInputs() {
+    final LocalDate start = LocalDate.of(2026, 5, 1);
+    assertThrows(BadRequestException.class,
+        () -> service.getFlexibleAvailability(1L, start, start.plusDays(5), 0, null));
+    assertThrows(BadRequestException.class,
+        () -> service.getFlexibleAvailability(1L, start, start.plusDays(2), 3, null));
+    assertThrows(BadRequestException.class,
+        () -> service.getFlexibleAvailability(1L, start, start.plusDays(400), 3, null));
+    verify(entityGuards, never()).ensureHotelExists(any());
+  }
+
+  @Test
+  @DisplayName("getFlexibleAvailability lists every feasible check-in from one range fetch")
+  void getFlexibleAvailability_fromDatabase() {
+    final LocalDate start = LocalDate.of(2026, 5, 1);
+    final LocalDate end = LocalDate.of(2026, 5, 6); // nights 1..5
+    when(roomTypesRepository.findByHotelId(2L)).thenReturn(List.of(rt(1, 2, 3, "90.00")));
+    when(roomTypeInventoryRepository.findByHotelIdAndStayDateBetween(2L, start,
+        end.minusDays(1)))
+        .thenReturn(List.of(inv(1, LocalDate.of(2026, 5, 3), 0)));
+
+    final List<FlexibleAvailabilityResponse> out =
+        service.getFlexibleAvailability(2L, start, end, 2, null);
+
+    assertEquals(1, out.size());
+    final List<FlexibleStayOption> options = out.get(0).getOptions();
+    // Night 5/3 is sold out: only 5/1-5/3 and 5/4-5/6 work
+    assertEquals(2, options.size());
+    assertEquals(LocalDate.of(2026, 5, 1), options.get(0).getCheckIn());
+    assertEquals(LocalDate.of(2026, 5, 3), options.get(0).getCheckOut());
+    assertEquals(LocalDate.of(2026, 5, 4), options.get(1).getCheckIn());
+    assertEquals(3, options.get(1).getAvailable());
+  }
+
+  @Test
+  @DisplayName("getFlexibleAvailability uses the ledger calendar when it covers the window")
+  void getFlexibleAvailability_fromLedger() {
+    final LocalDate today = LocalDate.now();
+    final AvailabilityLedger.HotelCalendar calendar =
+        new AvailabilityLedger.HotelCalendar(today.toEpochDay(), 0);
+    calendar.populate(List.of(rt(1, 2, 2, "100.00"), rt(2, 1, 2, "80.00")),
+        List.of(inv(1, today.plusDays(1), 0)), Long.MAX_VALUE);
+    when(ledger.findFresh(6L)).thenReturn(calendar);
+
+    final List<FlexibleAvailabilityResponse> out =
+        service.getFlexibleAvailability(6L, today, today.plusDays(4), 2, 2);
+
+    assertEquals(1, out.size());
+    assertEquals(1L, out.get(0).getRoomTypeId());
+    assertEquals(List.of(today.plusDays(2)),
+        out.get(0).getOptions().stream().map(FlexibleStayOption::getCheckIn).toList());
+    verifyNoInteractions(roomTypesRepository, roomTypeInventoryRepository);
+  }
 }
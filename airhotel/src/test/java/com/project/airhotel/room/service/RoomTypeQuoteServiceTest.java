@@ -0,0 +1,126 @@
+package com.project.airhotel.room.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.project.airhotel.room.domain.RoomTypeDailyPrice;
+import com.project.airhotel.room.dto.NightlyRate;
+import com.project.airhotel.room.dto.RoomTypeAvailabilityResponse;
+import com.project.airhotel.room.dto.RoomTypeQuoteResponse;
+import com.project.airhotel.room.repository.RoomTypeDailyPriceRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RoomTypeQuoteServiceTest {
+
+  private static final Long HOTEL_ID = 4L;
+  private static final LocalDate CHECK_IN = LocalDate.of(2026, 5, 1);
+  private static final LocalDate CHECK_OUT = LocalDate.of(2026, 5, 4);
+
+  @Mock
+  private RoomTypeAvailabilityService availabilityService;
+
+  @Mock
+  private RoomTypeDailyPriceRepository priceRepo;
+
+  @InjectMocks
+  private RoomTypeQuoteService service;
+
+  @Test
+  @DisplayName("getQuotes prices every available type from one range query")
+  void getQuotes_mixesDailyPricesAndBaseRate() {
+    when(availabilityService.getAvailability(HOTEL_ID, CHECK_IN, CHECK_OUT, 2))
+        .thenReturn(List.of(available(1L, "100.00"), available(2L, "80.00")));
+    when(priceRepo.findByHotelIdAndStayDateBetween(HOTEL_ID, CHECK_IN,
+        CHECK_OUT.minusDays(1))).thenReturn(List.of(
+            price(1L, CHECK_IN, "120.00"),
+            price(1L, CHECK_IN.plusDays(2), "90.50"),
+            price(2L, CHECK_IN.plusDays(1), "85.00")));
+
+    final List<RoomTypeQuoteResponse> quotes =
+        service.getQuotes(HOTEL_ID, CHECK_IN, CHECK_OUT, 2);
+
+    assertThat(quotes).extracting(RoomTypeQuoteResponse::getRoomTypeId)
+        .containsExactly(1L, 2L);
+    assertThat(quotes.get(0).getTotal()).isEqualByComparingTo("310.50");
+    assertThat(quotes.get(0).getNights())
+        .extracting(NightlyRate::getStayDate, NightlyRate::getBaseRateApplied)
+        .containsExactly(
+            tuple(CHECK_IN, false),
+            tuple(CHECK_IN.plusDays(1), true),
+            tuple(CHECK_IN.plusDays(2), false));
+    assertThat(quotes.get(1).getTotal()).isEqualByComparingTo("245.00");
+    assertThat(quotes.get(1).getAvailable()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("getQuotes leaves out types without base rate, even with a daily "
+      + "price on every night, as reservations reject them")
+  void getQuotes_noBaseRate_skipped() {
+    when(availabilityService.getAvailability(HOTEL_ID, CHECK_IN, CHECK_OUT, null))
+        .thenReturn(List.of(available(1L, null), available(2L, "80.00")));
+    when(priceRepo.findByHotelIdAndStayDateBetween(any(), any(), any()))
+        .thenReturn(List.of(
+            price(1L, CHECK_IN, "120.00"),
+            price(1L, CHECK_IN.plusDays(1), "120.00"),
+            price(1L, CHECK_IN.plusDays(2), "120.00")));
+
+    assertThat(service.getQuotes(HOTEL_ID, CHECK_IN, CHECK_OUT, null))
+        .extracting(RoomTypeQuoteResponse::getRoomTypeId)
+        .containsExactly(2L);
+  }
+
+  @Test
+  @DisplayName("getQuotes skips the price query when no available type has a "
+      + "base rate")
+  void getQuotes_onlyUnpriceableTypes_noPriceQuery() {
+    when(availabilityService.getAvailability(HOTEL_ID, CHECK_IN, CHECK_OUT, null))
+        .thenReturn(List.of(available(1L, null)));
+
+    assertThat(service.getQuotes(HOTEL_ID, CHECK_IN, CHECK_OUT, null)).isEmpty();
+    verifyNoInteractions(priceRepo);
+  }
+
+  @Test
+  @DisplayName("getQuotes skips the price query when nothing is available")
+  void getQuotes_noAvailability_noPriceQuery() {
+    when(availabilityService.getAvailability(HOTEL_ID, CHECK_IN, CHECK_OUT, null))
+        .thenReturn(List.of());
+
+    assertThat(service.getQuotes(HOTEL_ID, CHECK_IN, CHECK_OUT, null)).isEmpty();
+    verify(availabilityService).getAvailability(HOTEL_ID, CHECK_IN, CHECK_OUT, null);
+    verifyNoInteractions(priceRepo);
+  }
+
+  private static RoomTypeAvailabilityResponse available(final Long id,
+                                                        final String baseRate) {
+    return RoomTypeAvailabilityResponse.builder()
+        .roomTypeId(id)
+        .available(3)
+        .baseRate(baseRate == null ? null : new BigDecimal(baseRate))
+        .build();
+  }
+
+  private static RoomTypeDailyPrice price(final Long roomTypeId,
+                                          final LocalDate night,
+                                          final String amount) {
+    return RoomTypeDailyPrice.builder()
+        .hotelId(HOTEL_ID)
+        .roomTypeId(roomTypeId)
+        .stayDate(night)
+        .price(new BigDecimal(amount))
+        .build();
+  }
+}